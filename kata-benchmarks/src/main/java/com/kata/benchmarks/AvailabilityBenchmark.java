@@ -0,0 +1,149 @@
+package com.kata.benchmarks;
+
+import com.kata.business.EventService;
+import com.kata.business.SeatBookingService;
+import com.kata.business.availability.AvailabilitySnapshot;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.dao.SeatRepository;
+import com.kata.dao.entities.Seat;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de l'endpoint de disponibilité selon la taille de la salle, 10 % des sièges étant verrouillés.
+ * <ul>
+ * <li>{@code jpaEntityQuery} : requête JPA historique ({@code JOIN FETCH} de l'événement), entités filtrées et converties en DTO</li>
+ * <li>{@code jpaProjectionQuery} : projection en lecture seule de l'id, du numéro et du statut, qui charge l'index</li>
+ * <li>{@code indexedSeatList} : liste servie par l'index en mémoire, construite une fois par version</li>
+ * <li>{@code indexedSeatListAfterChange} : un changement de disponibilité suivi d'une nouvelle liste</li>
+ * <li>{@code encodedSnapshot} : octets JSON déjà sérialisés pour la version courante</li>
+ * <li>{@code encodedSnapshotAfterChange} : un changement de disponibilité suivi d'une nouvelle sérialisation</li>
+ * </ul>
+ * L'écart d'allocation entre les deux requêtes JPA, comme l'allocation par siège de la liste
+ * indexée, se lit avec le profileur {@code -prof gc} ({@code gc.alloc.rate.norm}, en octets
+ * par opération).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int seatsPerEvent;
+
+    private BookingFixture fixture;
+    private EventService eventService;
+    private SeatRepository seatRepository;
+    private EntityManagerFactory entityManagerFactory;
+    private HoldExpiryWheel holdExpiryWheel;
+    private HoldStore holdStore;
+    private long eventId;
+    private long toggledSeatId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BookingFixture.start();
+        eventService = fixture.bean(EventService.class);
+        seatRepository = fixture.bean(SeatRepository.class);
+        entityManagerFactory = fixture.bean(EntityManagerFactory.class);
+        holdExpiryWheel = fixture.bean(HoldExpiryWheel.class);
+        holdStore = fixture.holdStore();
+        SeatBookingService seatBookingService = fixture.bean(SeatBookingService.class);
+
+        eventId = fixture.createEvent(seatsPerEvent);
+        List<Long> seatIds = fixture.seatIds(eventId);
+        eventService.getAvailableSeats(eventId);
+        for (int i = 0; i < seatIds.size(); i += 10) {
+            seatBookingService.holdSeat(new SeatReservationRequestDTO(seatIds.get(i), 1L));
+        }
+        toggledSeatId = seatIds.get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<SeatResponseDTO> jpaEntityQuery() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("SELECT s FROM Seat s JOIN FETCH s.event " +
+                            "WHERE s.event.id = :eventId AND s.status = :status", Seat.class)
+                    .setParameter("eventId", eventId)
+                    .setParameter("status", SeatStatus.AVAILABLE)
+                    .getResultStream()
+                    .filter(seat -> holdStore.get(seat.getId()) == null)
+                    .map(this::toDto)
+                    .toList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<SeatResponseDTO> jpaProjectionQuery() {
+        return seatRepository.findSeatStates(eventId).stream()
+                .filter(seat -> SeatStatus.AVAILABLE.name().equals(seat.status()) && holdStore.get(seat.id()) == null)
+                .toList();
+    }
+
+    @Benchmark
+    public List<SeatResponseDTO> indexedSeatList() {
+        return eventService.getAvailableSeats(eventId);
+    }
+
+    @Benchmark
+    public List<SeatResponseDTO> indexedSeatListAfterChange() {
+        toggleHold();
+        return eventService.getAvailableSeats(eventId);
+    }
+
+    @Benchmark
+    public byte[] encodedSnapshot() {
+        return eventService.getAvailabilitySnapshot(eventId).body();
+    }
+
+    @Benchmark
+    public AvailabilitySnapshot encodedSnapshotAfterChange() {
+        toggleHold();
+        return eventService.getAvailabilitySnapshot(eventId);
+    }
+
+    private void toggleHold() {
+        SeatHold hold = holdStore.get(toggledSeatId);
+        if (hold != null) {
+            holdExpiryWheel.expire(toggledSeatId, hold);
+        } else {
+            fixture.bean(SeatBookingService.class).holdSeat(new SeatReservationRequestDTO(toggledSeatId, 1L));
+        }
+    }
+
+    private SeatResponseDTO toDto(Seat seat) {
+        return new SeatResponseDTO(seat.getId(), seat.getSeatNumber(), "AVAILABLE");
+    }
+}
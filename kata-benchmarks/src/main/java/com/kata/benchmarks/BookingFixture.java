@@ -0,0 +1,155 @@
+package com.kata.benchmarks;
+
+import com.kata.KataApplication;
+import com.kata.business.holds.HoldStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Démarre l'application sur une base H2 en mémoire dédiée, sans serveur web ou sur un port
+ * aléatoire (servlet ou WebFlux), et génère des événements bien plus volumineux que {@code data.sql}.
+ */
+public final class BookingFixture implements AutoCloseable {
+
+    public static final int SEATS_PER_ROW = 100;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path holdLog;
+    private final Path saleJournal;
+
+    private BookingFixture(ConfigurableApplicationContext context, Path holdLog, Path saleJournal) {
+        this.context = context;
+        this.holdLog = holdLog;
+        this.saleJournal = saleJournal;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public static BookingFixture start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    /**
+     * Démarre l'application avec son serveur web sur un port libre, voir {@link #port()}.
+     */
+    public static BookingFixture startWeb(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        args.addAll(List.of(extraArgs));
+        return start(WebApplicationType.SERVLET, args.toArray(String[]::new));
+    }
+
+    /**
+     * Démarre l'application en WebFlux sur un port libre, avec le profil {@code reactive}
+     * à passer en argument.
+     */
+    public static BookingFixture startReactiveWeb(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        args.addAll(List.of(extraArgs));
+        return start(WebApplicationType.REACTIVE, args.toArray(String[]::new));
+    }
+
+    private static BookingFixture start(WebApplicationType webApplicationType, String... extraArgs) {
+        String name = "bench-" + UUID.randomUUID();
+        Path holdLog = Path.of(System.getProperty("java.io.tmpdir"), name + ".wal");
+        Path saleJournal = Path.of(System.getProperty("java.io.tmpdir"), name + ".sales");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--app.reactive.r2dbc.url=r2dbc:h2:mem://sa@/" + name + "?options=DB_CLOSE_DELAY=-1",
+                "--app.holds.wal.path=" + holdLog,
+                "--app.sales.journal.path=" + saleJournal,
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KataApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+        return new BookingFixture(context, holdLog, saleJournal);
+    }
+
+    /**
+     * Crée un événement et ses sièges, numérotés par rangée ({@code A1}, {@code A2}, ..., {@code B1}, ...).
+     *
+     * @return l'id de l'événement créé
+     */
+    public long createEvent(int seatCount) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO event (title, date_time) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, "Benchmark " + seatCount);
+            statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now().plusDays(30)));
+            return statement;
+        }, keyHolder);
+        long eventId = keyHolder.getKey().longValue();
+
+        List<Object[]> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new Object[]{eventId, seatNumber(i), "AVAILABLE"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO seat (event_id, seat_number, status) VALUES (?, ?, ?)", seats);
+        return eventId;
+    }
+
+    public List<Long> seatIds(long eventId) {
+        return jdbcTemplate.queryForList("SELECT id FROM seat WHERE event_id = ? ORDER BY id", Long.class, eventId);
+    }
+
+    public void resetSeats(long eventId) {
+        jdbcTemplate.update("UPDATE seat SET status = 'AVAILABLE' WHERE event_id = ?", eventId);
+    }
+
+    public HoldStore holdStore() {
+        return context.getBean(HoldStore.class);
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        try {
+            Files.deleteIfExists(holdLog);
+            Files.deleteIfExists(saleJournal);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String seatNumber(int index) {
+        return rowLabel(index / SEATS_PER_ROW) + (index % SEATS_PER_ROW + 1);
+    }
+
+    private static String rowLabel(int row) {
+        StringBuilder label = new StringBuilder();
+        int value = row;
+        do {
+            label.insert(0, (char) ('A' + value % 26));
+            value = value / 26 - 1;
+        } while (value >= 0);
+        return label.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.kata.benchmarks;
+
+import com.kata.business.BookingOperations;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.holds.HoldStore;
+import com.kata.dto.SeatReservationRequestDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parcours complet d'un achat : verrouillage puis confirmation du paiement d'un siège neuf,
+ * la vente étant écrite en base dans la requête ({@code database}) ou acquittée dès son
+ * inscription au journal des ventes ({@code journal}). Chaque itération porte sur un nouvel
+ * événement, déjà chargé dans l'index de disponibilité.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfirmPaymentBenchmark {
+
+    private static final int SEATS = 200_000;
+    private static final long USER_ID = 1L;
+
+    @Param({"database", "journal"})
+    public String saleMode;
+
+    private BookingFixture fixture;
+    private BookingOperations bookingOperations;
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+    private HoldStore holdStore;
+    private long[] seatIds;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BookingFixture.start("--app.sales.journal.enabled=" + saleMode.equals("journal"));
+        bookingOperations = fixture.bean(BookingOperations.class);
+        seatAvailabilityIndex = fixture.bean(SeatAvailabilityIndex.class);
+        holdStore = fixture.holdStore();
+    }
+
+    @Setup(Level.Iteration)
+    public void newEvent() {
+        long eventId = fixture.createEvent(SEATS);
+        seatIds = fixture.seatIds(eventId).stream().mapToLong(Long::longValue).toArray();
+        seatAvailabilityIndex.availableSeats(eventId);
+        holdStore.forEach(holdStore::remove);
+        cursor.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public boolean holdAndConfirm() {
+        long seatId = seatIds[Math.floorMod(cursor.getAndIncrement(), seatIds.length)];
+        try {
+            bookingOperations.holdSeat(new SeatReservationRequestDTO(seatId, USER_ID));
+            bookingOperations.confirmPayment(seatId, USER_ID);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
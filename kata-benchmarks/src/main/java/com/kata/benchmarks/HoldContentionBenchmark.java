@@ -0,0 +1,104 @@
+package com.kata.benchmarks;
+
+import com.kata.business.SeatBookingService;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.exceptions.SeatNotAvailableException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention sur {@code HoldStore} : chaque opération tente de verrouiller un siège tiré parmi
+ * un petit ensemble de sièges très demandés, puis le relâche en cas de succès.
+ * Le résultat booléen distingue les verrous obtenus des conflits. {@code holdTable} compare
+ * la table à clés primitives ({@code StripedHoldTable}) au stockage à base de {@code ConcurrentHashMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HoldContentionBenchmark {
+
+    private static final int HOT_SEATS = 64;
+    private static final AtomicLong USER_IDS = new AtomicLong();
+
+    @Param({"true", "false"})
+    public boolean holdTable;
+
+    private BookingFixture fixture;
+    private SeatBookingService seatBookingService;
+    private HoldExpiryWheel holdExpiryWheel;
+    private HoldStore holdStore;
+    private long[] seatIds;
+
+    @State(Scope.Thread)
+    public static class User {
+        final long userId = USER_IDS.incrementAndGet();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BookingFixture.start("--app.holds.table.enabled=" + holdTable);
+        seatBookingService = fixture.bean(SeatBookingService.class);
+        holdExpiryWheel = fixture.bean(HoldExpiryWheel.class);
+        holdStore = fixture.holdStore();
+        seatIds = fixture.seatIds(fixture.createEvent(HOT_SEATS)).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean holdAndRelease_1Thread(User user) {
+        return holdAndRelease(user);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean holdAndRelease_8Threads(User user) {
+        return holdAndRelease(user);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean holdAndRelease_64Threads(User user) {
+        return holdAndRelease(user);
+    }
+
+    private boolean holdAndRelease(User user) {
+        long seatId = seatIds[ThreadLocalRandom.current().nextInt(seatIds.length)];
+        try {
+            seatBookingService.holdSeat(new SeatReservationRequestDTO(seatId, user.userId));
+        } catch (SeatNotAvailableException e) {
+            return false;
+        }
+        SeatHold hold = holdStore.get(seatId);
+        if (hold != null) {
+            holdExpiryWheel.expire(seatId, hold);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package com.kata.benchmarks;
+
+import com.kata.business.BookingOperations;
+import com.kata.dto.SeatReservationRequestDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Achats concurrents sur dix événements dont un concentre 90 % du trafic, en traitement direct
+ * ({@code direct}) ou par acteur d'événement ({@code actors}, profil {@code event-actors}).
+ * Chaque opération verrouille puis confirme un siège neuf : les sièges ne sont pas remis à
+ * disposition entre les itérations, l'index en mémoire du mode acteurs les sachant vendus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class HotEventBenchmark {
+
+    private static final int EVENTS = 10;
+    private static final int HOT_SEATS = 200_000;
+    private static final int COLD_SEATS = 20_000;
+    private static final AtomicLong USER_IDS = new AtomicLong();
+
+    @Param({"direct", "actors"})
+    public String mode;
+
+    private BookingFixture fixture;
+    private BookingOperations bookingOperations;
+    private long[][] seatIds;
+    private AtomicInteger[] cursors;
+
+    @State(Scope.Thread)
+    public static class User {
+        final long userId = USER_IDS.incrementAndGet();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = mode.equals("actors")
+                ? BookingFixture.start("--spring.profiles.active=dev,event-actors")
+                : BookingFixture.start();
+        bookingOperations = fixture.bean(BookingOperations.class);
+        seatIds = new long[EVENTS][];
+        cursors = new AtomicInteger[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            long eventId = fixture.createEvent(i == 0 ? HOT_SEATS : COLD_SEATS);
+            seatIds[i] = fixture.seatIds(eventId).stream().mapToLong(Long::longValue).toArray();
+            cursors[i] = new AtomicInteger();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public boolean holdAndConfirm(User user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int event = random.nextInt(10) < 9 ? 0 : 1 + random.nextInt(EVENTS - 1);
+        long[] seats = seatIds[event];
+        long seatId = seats[Math.floorMod(cursors[event].getAndIncrement(), seats.length)];
+        try {
+            bookingOperations.holdSeat(new SeatReservationRequestDTO(seatId, user.userId));
+            bookingOperations.confirmPayment(seatId, user.userId);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kata.benchmarks;
+
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.models.SeatHold;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test de charge HTTP comparant le pool de threads de Tomcat ({@code platform}) au profil
+ * {@code virtual-threads} (threads virtuels et DataSource bornée) et au profil {@code reactive}
+ * (WebFlux sur Netty, sièges lus et vendus par R2DBC).
+ * <p>
+ * 256 clients concurrents, soit plus que les 200 threads par défaut de Tomcat, enchaînent des
+ * requêtes sur un événement de 10 000 sièges. Les verrous obtenus sont relâchés en mémoire pour
+ * garder les sièges disponibles. Le mode {@code SampleTime} donne la latence de queue.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+public class HttpLoadBenchmark {
+
+    private static final int SEATS = 10_000;
+    private static final AtomicLong USER_IDS = new AtomicLong();
+
+    @Param({"platform", "virtual", "reactive"})
+    public String threadMode;
+
+    private BookingFixture fixture;
+    private HoldExpiryWheel holdExpiryWheel;
+    private HoldStore holdStore;
+    private HttpClient httpClient;
+    private long[] seatIds;
+    private URI bookingsUri;
+    private URI seatsUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = switch (threadMode) {
+            case "virtual" -> BookingFixture.startWeb("--spring.profiles.active=dev,virtual-threads");
+            case "reactive" -> BookingFixture.startReactiveWeb("--spring.profiles.active=dev,reactive");
+            default -> BookingFixture.startWeb("--spring.profiles.active=dev");
+        };
+        holdExpiryWheel = fixture.bean(HoldExpiryWheel.class);
+        holdStore = fixture.holdStore();
+        long eventId = fixture.createEvent(SEATS);
+        seatIds = fixture.seatIds(eventId).stream().mapToLong(Long::longValue).toArray();
+        String baseUrl = "http://localhost:" + fixture.port() + "/api/v1";
+        bookingsUri = URI.create(baseUrl + "/bookings");
+        seatsUri = URI.create(baseUrl + "/events/" + eventId + "/seats");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public int holdSeat() throws IOException, InterruptedException {
+        long seatId = seatIds[ThreadLocalRandom.current().nextInt(seatIds.length)];
+        String body = "{\"seatId\":" + seatId + ",\"userId\":" + USER_IDS.incrementAndGet() + "}";
+        HttpRequest request = HttpRequest.newBuilder(bookingsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 201) {
+            SeatHold hold = holdStore.get(seatId);
+            if (hold != null) {
+                holdExpiryWheel.expire(seatId, hold);
+            }
+        }
+        return status;
+    }
+
+    @Benchmark
+    public int availableSeats() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(seatsUri).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kata.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.dto.SeatResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON de la liste de {@link SeatResponseDTO} renvoyée par l'endpoint de disponibilité.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int seats;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<SeatResponseDTO> availableSeats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        availableSeats = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            availableSeats.add(new SeatResponseDTO((long) i + 1, BookingFixture.seatNumber(i), "AVAILABLE"));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeSeatList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(availableSeats);
+    }
+}
@@ -2,8 +2,11 @@ package com.kata;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// Le ConnectionFactory R2DBC est propre au profil reactive (ReactiveSeatRepository) : exposé en bean,
+// il ferait renoncer Spring Boot à la DataSource JDBC dont JPA a besoin.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class KataApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.kata.business;
+
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+
+/**
+ * Opérations de réservation exposées par l'API : verrouillage et confirmation de sièges.
+ * <p>
+ * Implémentées localement par {@link SeatBookingService}, ou, en mode cluster, par un service
+ * qui transmet chaque appel au nœud propriétaire des sièges concernés.
+ * </p>
+ */
+public interface BookingOperations {
+
+    void holdSeat(SeatReservationRequestDTO seatReservation);
+
+    void holdSeats(BatchSeatReservationRequestDTO batchReservation);
+
+    void confirmPayment(Long seatId, Long userId);
+
+    void confirmPayments(BatchSeatReservationRequestDTO checkout);
+}
@@ -1,24 +1,41 @@
 package com.kata.business;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.business.availability.AvailabilitySnapshot;
+import com.kata.business.availability.AvailabilitySnapshotCache;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.feed.SeatChangeFeed;
+import com.kata.business.feed.SeatTransitionSubscription;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.metrics.BookingOperation;
 import com.kata.dao.SeatRepository;
+import com.kata.dto.SeatPageDTO;
 import com.kata.dto.SeatResponseDTO;
-import com.kata.enums.SeatStatus;
-import com.kata.business.models.SeatHold;
+import com.kata.exceptions.EventNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 256;
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final AvailabilitySnapshotCache availabilitySnapshotCache;
+    private final SeatChangeFeed seatChangeFeed;
+    private final BookingMetrics bookingMetrics;
     private final SeatRepository seatRepository;
-    private final Map<Long, SeatHold> holdCache;
+    private final ObjectMapper objectMapper;
 
 
     /**
@@ -26,24 +43,80 @@ public class EventService {
      * Une place est disponible si :
      * 1. Son statut en base est 'AVAILABLE'
      * 2. Elle n'est pas présente dans le cache de verrouillage (ou expirée)
+     * La réponse est servie par {@link SeatAvailabilityIndex}, sans accès à la base.
      * @param eventId l'id de l'évenement
      */
     public List<SeatResponseDTO> getAvailableSeats(Long eventId) {
-        return seatRepository.findByEventIdAndStatus(eventId, SeatStatus.AVAILABLE)
-                .stream()
-                .filter(seat -> !isSeatHeld(seat.getId()))
-                .map(seat -> new SeatResponseDTO(
-                        seat.getId(),
-                        seat.getSeatNumber(),
-                        "AVAILABLE"
-                ))
-                .collect(Collectors.toList());
+        return bookingMetrics.recordResult(BookingOperation.AVAILABILITY,
+                () -> seatAvailabilityIndex.availableSeats(eventId));
+    }
+
+    /**
+     * Récupère une page de sièges disponibles, paginée par id de siège (keyset).
+     * La page est lue dans {@link SeatAvailabilityIndex} : la mémoire utilisée ne dépend que de sa taille.
+     * @param eventId l'id de l'évenement
+     * @param afterSeatId le curseur renvoyé par la page précédente, ou {@code null} pour la première page
+     * @param limit le nombre maximal de sièges
+     */
+    public SeatPageDTO getAvailableSeatsPage(Long eventId, Long afterSeatId, int limit) {
+        return bookingMetrics.recordResult(BookingOperation.AVAILABILITY_PAGE,
+                () -> seatAvailabilityIndex.availableSeatsPage(eventId, afterSeatId, limit));
     }
 
-    private boolean isSeatHeld(Long seatId) {
-        SeatHold hold = holdCache.get(seatId);
-        if (hold == null) return false;
+    /**
+     * Écrit en JSON, au fil de la lecture en base, la liste des sièges disponibles d'un événement.
+     * Les sièges sont lus par un curseur et écrits un à un : la mémoire utilisée reste constante
+     * quelle que soit la taille de la salle. Les sièges verrouillés sont écartés d'après l'index.
+     * @param eventId l'id de l'évenement
+     * @param outputStream le flux de la réponse, qui n'est pas fermé
+     */
+    @Transactional(readOnly = true)
+    public void exportAvailableSeats(Long eventId, OutputStream outputStream) throws IOException {
+        try (Stream<SeatResponseDTO> seats = seatRepository.streamAvailableSeats(eventId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            int written = 0;
+            for (Iterator<SeatResponseDTO> iterator = seats.iterator(); iterator.hasNext(); ) {
+                SeatResponseDTO seat = iterator.next();
+                if (seatAvailabilityIndex.isAvailable(seat.id())) {
+                    generator.writeObject(seat);
+                    if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
 
-        return hold.expiresAt().isAfter(LocalDateTime.now());
+    /**
+     * Récupère la liste des sièges disponibles déjà sérialisée en JSON, avec son ETag.
+     * @param eventId l'id de l'évenement
+     */
+    public AvailabilitySnapshot getAvailabilitySnapshot(Long eventId) {
+        return bookingMetrics.recordResult(BookingOperation.AVAILABILITY_SNAPSHOT,
+                () -> availabilitySnapshotCache.snapshot(eventId));
+    }
+
+    /**
+     * ETag de la disponibilité courante, pour répondre 304 sans sérialiser la liste.
+     * @param eventId l'id de l'évenement
+     */
+    public String getAvailabilityETag(Long eventId) {
+        return availabilitySnapshotCache.currentETag(eventId);
+    }
+
+    /**
+     * Abonne un client aux changements de disponibilité d'un événement.
+     * @param eventId l'id de l'évenement
+     * @param fromVersion dernière version connue du client, ou {@code null} pour le direct uniquement
+     * @throws EventNotFoundException si l'événement est inconnu de l'index de disponibilité
+     */
+    public SeatTransitionSubscription subscribeToSeatTransitions(Long eventId, Long fromVersion) {
+        if (seatAvailabilityIndex.version(eventId) == 0) {
+            throw new EventNotFoundException("Event not found.");
+        }
+        return seatChangeFeed.subscribe(eventId, fromVersion);
     }
-}
\ No newline at end of file
+}
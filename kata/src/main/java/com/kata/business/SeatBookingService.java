@@ -1,69 +1,179 @@
 package com.kata.business;
 
 import com.kata.dao.SeatRepository;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.HoldTransferDTO;
 import com.kata.dto.SeatReservationRequestDTO;
-import com.kata.enums.SeatStatus;
-import com.kata.exceptions.ReservationExpiredException;
-import com.kata.exceptions.SeatAlreadyHoldByAnotherUserException;
 import com.kata.exceptions.SeatAlreadySoldException;
-import com.kata.exceptions.SeatNotAvailableException;
 import com.kata.exceptions.SeatNotFoundException;
-import com.kata.exceptions.SeatNotHoldException;
 import com.kata.dao.entities.Seat;
+import com.kata.business.holds.SeatHolds;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.metrics.BookingOperation;
 import com.kata.business.models.SeatHold;
+import com.kata.business.models.SeatState;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class SeatBookingService {
+public class SeatBookingService implements BookingOperations {
 
     private final SeatRepository seatRepository;
-    private final Map<Long, SeatHold> holdCache;
+    private final SeatHolds seatHolds;
+    private final BookingMetrics bookingMetrics;
 
+    @Override
     @Transactional
     public void holdSeat(SeatReservationRequestDTO seatReservation) {
-        SeatHold currentHold = holdCache.get(seatReservation.seatId());
-        if (currentHold != null && currentHold.expiresAt().isAfter(LocalDateTime.now())) {
-            throw new SeatNotAvailableException("Seat already locked");
-        }
+        bookingMetrics.record(BookingOperation.HOLD, () -> hold(seatReservation));
+    }
+
+    /**
+     * Verrouille plusieurs sièges pour un même utilisateur, en tout ou rien.
+     * Les sièges sont chargés en une seule requête, puis verrouillés dans l'ordre de leurs ids ;
+     * si l'un d'eux échoue, les verrous déjà posés par cet appel sont relâchés et la raison
+     * de l'échec de chaque siège est remontée.
+     */
+    @Override
+    @Transactional
+    public void holdSeats(BatchSeatReservationRequestDTO batchReservation) {
+        bookingMetrics.record(BookingOperation.HOLD_BATCH, () -> holdAll(batchReservation));
+    }
+
+    /**
+     * Confirme le paiement d'un siège verrouillé par l'utilisateur.
+     * La vente est une unique instruction UPDATE conditionnée au statut AVAILABLE : la base
+     * garantit qu'un siège n'est vendu qu'une fois, même si plusieurs instances ne partagent
+     * pas le même cache de verrous. Le verrou n'est retiré, et la vente inscrite, qu'après la
+     * validation de la transaction.
+     */
+    @Override
+    @Transactional
+    public void confirmPayment(Long seatId, Long userId) {
+        bookingMetrics.record(BookingOperation.CONFIRM, () -> confirm(seatId, userId));
+    }
+
+    /**
+     * Confirme le paiement de plusieurs sièges verrouillés par un même utilisateur.
+     * Tous les verrous sont vérifiés avant d'écrire, puis les sièges passent à SOLD en une seule
+     * instruction UPDATE conditionnelle. Si un siège a été vendu entre-temps, le nombre de lignes
+     * modifiées ne correspond pas et toute la transaction est annulée, verrous compris.
+     */
+    @Override
+    @Transactional
+    public void confirmPayments(BatchSeatReservationRequestDTO checkout) {
+        bookingMetrics.record(BookingOperation.CONFIRM_BATCH, () -> confirmAll(checkout));
+    }
 
+    private void hold(SeatReservationRequestDTO seatReservation) {
+        seatHolds.checkNotHeld(seatReservation.seatId());
         Seat seat = seatRepository.findById(seatReservation.seatId())
                 .orElseThrow(() -> new SeatNotFoundException("Seat inexistent"));
+        seatHolds.hold(state(seat), seatReservation.userId());
+    }
+
+    private void holdAll(BatchSeatReservationRequestDTO batchReservation) {
+        List<Long> seatIds = batchReservation.seatIds().stream().distinct().sorted().toList();
+        Map<Long, SeatState> seats = seatRepository.findAllById(seatIds).stream()
+                .collect(Collectors.toMap(Seat::getId, SeatBookingService::state));
+        seatHolds.holdAll(seatIds, seats, batchReservation.userId());
+    }
+
+    private void confirm(Long seatId, Long userId) {
+        SeatHold hold = seatHolds.checkHold(seatId, userId);
 
-        if (seat.getStatus() == SeatStatus.SOLD) {
+        if (seatRepository.markSoldIfAvailable(seatId) == 0) {
+            if (!seatRepository.existsById(seatId)) {
+                throw new SeatNotFoundException("Seat inexistent.");
+            }
             throw new SeatAlreadySoldException("Seat is already sold.");
         }
 
-        holdCache.put(seatReservation.seatId(), new SeatHold(seatReservation.userId(), LocalDateTime.now().plusMinutes(10)));
+        afterCommit(() -> seatHolds.completeSale(Map.of(seatId, hold)));
     }
 
+    private void confirmAll(BatchSeatReservationRequestDTO checkout) {
+        List<Long> seatIds = checkout.seatIds().stream().distinct().sorted().toList();
+        Map<Long, SeatHold> holds = seatHolds.checkHolds(seatIds, checkout.userId());
+        sell(seatIds);
+        afterCommit(() -> seatHolds.completeSale(holds));
+    }
+
+    /**
+     * Vérifie, sans rien modifier, que tous les sièges sont verrouillés par l'utilisateur.
+     * Première étape d'une confirmation groupée répartie sur plusieurs nœuds du cluster.
+     */
+    public void verifyHolds(BatchSeatReservationRequestDTO checkout) {
+        seatHolds.checkHolds(checkout.seatIds().stream().distinct().sorted().toList(), checkout.userId());
+    }
+
+    /**
+     * Passe les sièges à SOLD en une seule instruction UPDATE conditionnelle, sans toucher aux
+     * verrous : ceux-ci peuvent être tenus par d'autres nœuds du cluster.
+     */
     @Transactional
-    public void confirmPayment(Long seatId, Long userId) {
-        SeatHold hold = holdCache.get(seatId);
+    public void sellSeats(List<Long> seatIds) {
+        sell(seatIds.stream().distinct().sorted().toList());
+    }
 
-        if(hold == null) {
-            throw new SeatNotHoldException("Seat not hold");
-        }
+    /**
+     * Termine la vente de sièges déjà passés à SOLD en base : l'index est mis à jour et les
+     * verrous de l'utilisateur sont retirés.
+     */
+    public void completeSale(BatchSeatReservationRequestDTO checkout) {
+        seatHolds.completeSale(checkout.seatIds(), checkout.userId());
+    }
 
-        if (hold.expiresAt().isBefore(LocalDateTime.now())) {
-            holdCache.remove(seatId);
-            throw new ReservationExpiredException("The session is expired.");
-        }
+    /**
+     * Relâche les verrous posés par l'utilisateur sur ces sièges, s'ils existent encore.
+     * Sert à compenser un verrouillage groupé réparti dont une partie a échoué.
+     */
+    public void releaseHolds(BatchSeatReservationRequestDTO batchReservation) {
+        batchReservation.seatIds().forEach(seatId -> seatHolds.release(seatId, batchReservation.userId()));
+    }
 
-        if (!hold.userId().equals(userId)) {
-            throw new SeatAlreadyHoldByAnotherUserException("This seat is already booked by another user.");
-        }
+    /**
+     * Reprend des verrous cédés par un autre nœud du cluster après un changement de membres.
+     * Les verrous expirés entre-temps, ou en conflit avec un verrou déjà posé ici, sont ignorés.
+     */
+    public void adoptHolds(List<HoldTransferDTO> transfers) {
+        seatHolds.adopt(transfers);
+    }
 
-        Seat seat = seatRepository.findById(seatId).orElseThrow(() -> new SeatNotFoundException("Seat inexistent."));
-        seat.setStatus(SeatStatus.SOLD);
+    private void sell(List<Long> seatIds) {
+        int sold = seatRepository.markSoldIfAvailable(seatIds);
+        if (sold != seatIds.size()) {
+            throw new SeatAlreadySoldException("Some seats were sold in the meantime.");
+        }
+    }
 
-        holdCache.remove(seatId);
+    /**
+     * Exécute l'action après la validation de la transaction en cours, ou immédiatement hors
+     * transaction : une vente annulée ne doit ni retirer le verrou, ni marquer le siège vendu
+     * dans l'index, ni être inscrite au registre.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 
-        seatRepository.save(seat);
+    private static SeatState state(Seat seat) {
+        return new SeatState(seat.getId(), seat.getEvent().getId(), seat.getStatus());
     }
-}
\ No newline at end of file
+}
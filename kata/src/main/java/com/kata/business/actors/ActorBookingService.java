@@ -0,0 +1,154 @@
+package com.kata.business.actors;
+
+import com.kata.business.BookingOperations;
+import com.kata.business.SeatBookingService;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.metrics.BookingOperation;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatHoldFailureDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.enums.SeatHoldFailureReason;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.SeatNotFoundException;
+import com.kata.exceptions.SeatNotHoldException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Mode d'exécution où chaque commande de réservation est confiée à l'acteur de l'événement
+ * du siège ({@link EventActor}) ; le thread de la requête attend seulement son résultat.
+ * <p>
+ * Un verrouillage groupé portant sur plusieurs événements est découpé par événement, les
+ * parties déjà verrouillées étant relâchées si une partie échoue. Une confirmation groupée
+ * sur plusieurs événements, rare, vérifie puis termine la vente dans l'acteur de chaque
+ * événement ; seule la vente, protégée par l'instruction UPDATE conditionnelle, est écrite
+ * depuis le thread de la requête.
+ * </p>
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "app.booking.actors", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ActorBookingService implements BookingOperations {
+
+    private final EventActorSystem eventActorSystem;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatBookingService seatBookingService;
+    private final BookingMetrics bookingMetrics;
+
+    @Override
+    public void holdSeat(SeatReservationRequestDTO seatReservation) {
+        bookingMetrics.record(BookingOperation.HOLD, () -> {
+            Long eventId = seatAvailabilityIndex.eventOf(seatReservation.seatId());
+            if (eventId == null) {
+                throw new SeatNotFoundException("Seat inexistent");
+            }
+            await(eventActorSystem.actorOf(eventId)
+                    .hold(List.of(seatReservation.seatId()), seatReservation.userId(), false));
+        });
+    }
+
+    @Override
+    public void holdSeats(BatchSeatReservationRequestDTO batchReservation) {
+        bookingMetrics.record(BookingOperation.HOLD_BATCH, () -> {
+            Map<Long, List<Long>> seatsByEvent = new TreeMap<>();
+            List<SeatHoldFailureDTO> unknown = new ArrayList<>();
+            batchReservation.seatIds().stream().distinct().sorted().forEach(seatId -> {
+                Long eventId = seatAvailabilityIndex.eventOf(seatId);
+                if (eventId == null) {
+                    unknown.add(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.NOT_FOUND));
+                } else {
+                    seatsByEvent.computeIfAbsent(eventId, id -> new ArrayList<>()).add(seatId);
+                }
+            });
+            if (!unknown.isEmpty()) {
+                throw new BatchHoldFailedException("Some seats cannot be held", unknown);
+            }
+
+            List<Map.Entry<Long, List<Long>>> held = new ArrayList<>(seatsByEvent.size());
+            for (Map.Entry<Long, List<Long>> part : seatsByEvent.entrySet()) {
+                try {
+                    await(eventActorSystem.actorOf(part.getKey()).hold(part.getValue(), batchReservation.userId(), true));
+                } catch (RuntimeException e) {
+                    held.forEach(done -> eventActorSystem.actorOf(done.getKey())
+                            .release(done.getValue(), batchReservation.userId()));
+                    throw e;
+                }
+                held.add(part);
+            }
+        });
+    }
+
+    @Override
+    public void confirmPayment(Long seatId, Long userId) {
+        bookingMetrics.record(BookingOperation.CONFIRM, () -> {
+            Long eventId = seatAvailabilityIndex.eventOf(seatId);
+            if (eventId == null) {
+                throw new SeatNotHoldException("Seat not hold");
+            }
+            await(eventActorSystem.actorOf(eventId).confirm(List.of(seatId), userId, false));
+        });
+    }
+
+    @Override
+    public void confirmPayments(BatchSeatReservationRequestDTO checkout) {
+        bookingMetrics.record(BookingOperation.CONFIRM_BATCH, () -> {
+            Map<Long, List<Long>> seatsByEvent = new TreeMap<>();
+            for (Long seatId : checkout.seatIds().stream().distinct().sorted().toList()) {
+                Long eventId = seatAvailabilityIndex.eventOf(seatId);
+                if (eventId == null) {
+                    throw new SeatNotHoldException("Seat not hold");
+                }
+                seatsByEvent.computeIfAbsent(eventId, id -> new ArrayList<>()).add(seatId);
+            }
+            if (seatsByEvent.size() == 1) {
+                Map.Entry<Long, List<Long>> part = seatsByEvent.entrySet().iterator().next();
+                await(eventActorSystem.actorOf(part.getKey()).confirm(part.getValue(), checkout.userId(), true));
+            } else {
+                seatsByEvent.forEach((eventId, seatIds) -> inActor(eventId, () -> seatBookingService
+                        .verifyHolds(new BatchSeatReservationRequestDTO(checkout.userId(), seatIds))));
+                seatBookingService.sellSeats(checkout.seatIds());
+                seatsByEvent.forEach((eventId, seatIds) -> inActor(eventId, () -> seatBookingService
+                        .completeSale(new BatchSeatReservationRequestDTO(checkout.userId(), seatIds))));
+            }
+        });
+    }
+
+    /**
+     * Exécute une étape dans l'acteur de l'événement, seul autorisé à modifier les verrous,
+     * l'échéancier d'expiration et l'index de ses sièges, et attend son résultat.
+     */
+    private void inActor(Long eventId, Runnable step) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        eventActorSystem.actorOf(eventId).execute(() -> {
+            try {
+                step.run();
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        await(result);
+    }
+
+    private static void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.kata.business.actors;
+
+import com.kata.business.SeatBookingService;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldPolicy;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.dto.SeatHoldFailureDTO;
+import com.kata.enums.SeatHoldFailureReason;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.ReservationExpiredException;
+import com.kata.exceptions.SeatAlreadyHoldByAnotherUserException;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotAvailableException;
+import com.kata.exceptions.SeatNotHoldException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Acteur d'un événement : seul à modifier l'état de ses sièges, il traite une à une les
+ * commandes de verrouillage, de confirmation et d'expiration déposées dans sa boîte aux lettres.
+ * <p>
+ * L'acteur n'occupe un thread du pool que lorsqu'il a des commandes en attente, et au plus un
+ * à la fois : les commandes d'un même événement s'exécutent en séquence, sans verrou, tandis
+ * que des événements différents avancent en parallèle.
+ * </p>
+ * <p>
+ * Les ventes ne sont pas écrites une à une : les confirmations validées pendant un passage
+ * sont regroupées et passées à SOLD en une seule instruction UPDATE conditionnelle à la fin
+ * du passage. Si un siège a été vendu hors de l'acteur, chaque confirmation est rejouée seule,
+ * pour conserver leur sémantique tout ou rien.
+ * </p>
+ */
+@Slf4j
+public final class EventActor implements Runnable {
+
+    private final Long eventId;
+    private final Executor executor;
+    private final int batchSize;
+    private final HoldStore holdStore;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatBookingService seatBookingService;
+    private final HoldPolicy holdPolicy;
+    private final MillisClock clock;
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // état confiné au thread qui exécute l'acteur
+    private final List<PendingSale> pendingSales = new ArrayList<>();
+    private final Set<Long> sellingSeats = new HashSet<>();
+
+    EventActor(Long eventId, Executor executor, int batchSize, HoldStore holdStore, HoldExpiryWheel holdExpiryWheel,
+               SeatAvailabilityIndex seatAvailabilityIndex, SeatBookingService seatBookingService,
+               HoldPolicy holdPolicy, MillisClock clock) {
+        this.eventId = eventId;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.holdStore = holdStore;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.seatBookingService = seatBookingService;
+        this.holdPolicy = holdPolicy;
+        this.clock = clock;
+    }
+
+    /**
+     * Verrouille des sièges de l'événement pour un utilisateur, en tout ou rien.
+     *
+     * @param batch {@code true} pour remonter les échecs siège par siège, comme un verrouillage groupé
+     */
+    public CompletableFuture<Void> hold(List<Long> seatIds, Long userId, boolean batch) {
+        return submit(result -> {
+            hold(seatIds, userId, batch, clock.millis());
+            result.complete(null);
+        });
+    }
+
+    /**
+     * Confirme le paiement de sièges verrouillés par l'utilisateur. Le résultat n'est disponible
+     * qu'une fois la vente écrite en base, avec les autres confirmations du même passage.
+     */
+    public CompletableFuture<Void> confirm(List<Long> seatIds, Long userId, boolean batch) {
+        return submit(result -> pendingSales.add(new PendingSale(checkHolds(seatIds, userId), batch, result)));
+    }
+
+    /**
+     * Relâche les verrous de l'utilisateur sur ces sièges, s'ils existent encore.
+     */
+    public CompletableFuture<Void> release(List<Long> seatIds, Long userId) {
+        return submit(result -> {
+            for (Long seatId : seatIds) {
+                SeatHold hold = holdStore.get(seatId);
+                if (hold != null && hold.userId().equals(userId) && !sellingSeats.contains(seatId)
+                        && holdStore.remove(seatId, hold)) {
+                    holdExpiryWheel.cancel(seatId);
+                    seatAvailabilityIndex.refresh(seatId);
+                }
+            }
+            result.complete(null);
+        });
+    }
+
+    /**
+     * Exécute une commande quelconque dans l'acteur, typiquement une expiration de verrou.
+     */
+    public void execute(Runnable command) {
+        tell(command);
+    }
+
+    @Override
+    public void run() {
+        try {
+            Runnable command;
+            for (int processed = 0; processed < batchSize && (command = mailbox.poll()) != null; processed++) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    log.error("Command failed on the actor of event {}", eventId, e);
+                }
+            }
+            flushSales();
+        } finally {
+            scheduled.set(false);
+            if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> submit(Consumer<CompletableFuture<Void>> command) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        tell(() -> {
+            try {
+                command.accept(result);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void tell(Runnable command) {
+        mailbox.add(command);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    private void hold(List<Long> seatIds, Long userId, boolean batch, long now) {
+        List<SeatHoldFailureDTO> failures = new ArrayList<>();
+        for (Long seatId : seatIds) {
+            boolean held = sellingSeats.contains(seatId) || isActive(holdStore.get(seatId), now);
+            if (!batch && held) {
+                throw new SeatNotAvailableException("Seat already locked");
+            }
+            if (seatAvailabilityIndex.isSold(seatId)) {
+                if (!batch) {
+                    throw new SeatAlreadySoldException("Seat is already sold.");
+                }
+                failures.add(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.ALREADY_SOLD));
+            } else if (held) {
+                failures.add(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.ALREADY_HELD));
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new BatchHoldFailedException("Some seats cannot be held", failures);
+        }
+
+        SeatHold newHold = new SeatHold(userId, holdPolicy.expiresAt(eventId));
+        List<Long> acquired = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            if (!tryAcquire(seatId, newHold, now)) {
+                // un autre écrivain a posé un verrou entre la vérification et l'écriture
+                acquired.forEach(done -> undoHold(done, newHold));
+                if (!batch) {
+                    throw new SeatNotAvailableException("Seat already locked");
+                }
+                throw new BatchHoldFailedException("Some seats cannot be held",
+                        List.of(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.ALREADY_HELD)));
+            }
+            acquired.add(seatId);
+            holdExpiryWheel.schedule(seatId, newHold);
+            seatAvailabilityIndex.refresh(seatId);
+        }
+    }
+
+    /**
+     * Pose le verrou si l'entrée est vide ou ne contient qu'un verrou expiré. L'acteur est
+     * normalement le seul écrivain de ses sièges, mais l'écriture reste un compare-and-set :
+     * un échec est traité comme un conflit plutôt qu'ignoré.
+     */
+    private boolean tryAcquire(Long seatId, SeatHold newHold, long now) {
+        SeatHold current = holdStore.putIfAbsent(seatId, newHold);
+        return current == null || (!current.isActiveAt(now) && holdStore.replace(seatId, current, newHold));
+    }
+
+    private void undoHold(Long seatId, SeatHold hold) {
+        if (holdStore.remove(seatId, hold)) {
+            holdExpiryWheel.cancel(seatId);
+            seatAvailabilityIndex.refresh(seatId);
+        }
+    }
+
+    private Map<Long, SeatHold> checkHolds(List<Long> seatIds, Long userId) {
+        long now = clock.millis();
+        Map<Long, SeatHold> holds = new LinkedHashMap<>();
+        for (Long seatId : seatIds) {
+            SeatHold hold = holdStore.get(seatId);
+            if (hold == null) {
+                throw new SeatNotHoldException("Seat not hold");
+            }
+            if (sellingSeats.contains(seatId)) {
+                throw new SeatAlreadySoldException("Seat is already sold.");
+            }
+            if (hold.expiresAt() < now) {
+                holdExpiryWheel.expire(seatId, hold);
+                throw new ReservationExpiredException("The session is expired.");
+            }
+            if (!hold.userId().equals(userId)) {
+                throw new SeatAlreadyHoldByAnotherUserException("This seat is already booked by another user.");
+            }
+            holds.put(seatId, hold);
+        }
+        sellingSeats.addAll(holds.keySet());
+        return holds;
+    }
+
+    private void flushSales() {
+        if (pendingSales.isEmpty()) {
+            return;
+        }
+        List<PendingSale> sales = new ArrayList<>(pendingSales);
+        pendingSales.clear();
+        sellingSeats.clear();
+        try {
+            seatBookingService.sellSeats(sales.stream().flatMap(sale -> sale.holds().keySet().stream()).toList());
+            sales.forEach(this::completeSale);
+        } catch (SeatAlreadySoldException e) {
+            sales.forEach(this::sellAlone);
+        } catch (RuntimeException e) {
+            sales.forEach(sale -> sale.result().completeExceptionally(e));
+        }
+    }
+
+    private void sellAlone(PendingSale sale) {
+        try {
+            seatBookingService.sellSeats(List.copyOf(sale.holds().keySet()));
+            completeSale(sale);
+        } catch (SeatAlreadySoldException e) {
+            sale.result().completeExceptionally(sale.batch() ? e : new SeatAlreadySoldException("Seat is already sold."));
+        } catch (RuntimeException e) {
+            sale.result().completeExceptionally(e);
+        }
+    }
+
+    private void completeSale(PendingSale sale) {
+        sale.holds().forEach((seatId, hold) -> {
+            seatAvailabilityIndex.markSold(seatId);
+            holdExpiryWheel.cancel(seatId);
+            holdStore.remove(seatId, hold);
+        });
+        sale.result().complete(null);
+    }
+
+    private static boolean isActive(SeatHold hold, long now) {
+        return hold != null && hold.isActiveAt(now);
+    }
+
+    private record PendingSale(Map<Long, SeatHold> holds, boolean batch, CompletableFuture<Void> result) {}
+}
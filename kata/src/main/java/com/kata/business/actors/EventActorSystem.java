@@ -0,0 +1,87 @@
+package com.kata.business.actors;
+
+import com.kata.business.SeatBookingService;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryExecutor;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldPolicy;
+import com.kata.business.holds.HoldStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registre des acteurs d'événements et pool de threads partagé qui les exécute.
+ * <p>
+ * Un acteur est créé au premier besoin pour chaque événement. Le pool compte par défaut un
+ * thread par cœur : un événement très demandé occupe au plus un thread, les autres cœurs
+ * restant disponibles pour les autres événements. Les expirations de verrous détectées par
+ * {@link HoldExpiryWheel} sont également confiées à l'acteur de l'événement du siège.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.booking.actors", name = "enabled", havingValue = "true")
+public class EventActorSystem implements HoldExpiryExecutor, DisposableBean {
+
+    private final HoldStore holdStore;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatBookingService seatBookingService;
+    private final HoldPolicy holdPolicy;
+    private final MillisClock clock;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Map<Long, EventActor> actors = new ConcurrentHashMap<>();
+
+    public EventActorSystem(HoldStore holdStore,
+                            HoldExpiryWheel holdExpiryWheel,
+                            SeatAvailabilityIndex seatAvailabilityIndex,
+                            SeatBookingService seatBookingService,
+                            HoldPolicy holdPolicy,
+                            MillisClock clock,
+                            @Value("${app.booking.actors.parallelism:0}") int parallelism,
+                            @Value("${app.booking.actors.batch-size:256}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.holdStore = holdStore;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.seatBookingService = seatBookingService;
+        this.holdPolicy = holdPolicy;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("event-actor-", 0).daemon().factory());
+    }
+
+    public EventActor actorOf(Long eventId) {
+        return actors.computeIfAbsent(eventId, id -> new EventActor(id, executor, batchSize,
+                holdStore, holdExpiryWheel, seatAvailabilityIndex, seatBookingService, holdPolicy, clock));
+    }
+
+    @Override
+    public void execute(Long seatId, Runnable expiry) {
+        Long eventId = seatAvailabilityIndex.eventOf(seatId);
+        if (eventId == null) {
+            expiry.run();
+        } else {
+            actorOf(eventId).execute(expiry);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,220 @@
+package com.kata.business.allocation;
+
+import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatTransitionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plan de salle d'un événement : pour chaque rang, les sièges libres indexés par leur numéro.
+ * <p>
+ * Le rang et le numéro sont lus dans {@code seatNumber} ({@code "B12"} : rang {@code B}, siège 12).
+ * Chaque rang tient un {@link BitSet} des places ouvertes (libres et non réservées par une
+ * allocation en cours) et la longueur de sa plus longue suite de places ouvertes, recalculée
+ * paresseusement : les rangs trop pleins sont écartés sans être parcourus.
+ * </p>
+ * <p>
+ * Le plan est construit à partir d'une photo de la disponibilité, puis tenu à jour par les
+ * transitions de version supérieure ; les transitions reçues pendant la construction sont
+ * rejouées ensuite. Toutes les méthodes sont synchronisées et n'appellent aucun autre composant.
+ * </p>
+ */
+final class EventSeatLayout {
+
+    private static final Pattern SEAT_NUMBER = Pattern.compile("^(.*?)(\\d{1,5})$");
+    private static final Comparator<String> ROW_ORDER = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final TreeMap<String, Row> rows = new TreeMap<>(ROW_ORDER);
+    private final Map<Long, Place> places = new HashMap<>();
+    private final CompletableFuture<Void> initialized = new CompletableFuture<>();
+    private List<SeatTransitionDTO> pending = new ArrayList<>();
+    private long version;
+
+    /**
+     * Initialise le plan avec les sièges libres à la version donnée, puis rejoue les transitions reçues entre-temps.
+     */
+    synchronized void initialize(long snapshotVersion, List<SeatResponseDTO> availableSeats) {
+        for (SeatResponseDTO seat : availableSeats) {
+            Place place = place(seat.id(), seat.seatNumber());
+            if (place != null) {
+                place.row.setFree(place.number, true);
+            }
+        }
+        version = snapshotVersion;
+        List<SeatTransitionDTO> buffered = pending;
+        pending = null;
+        buffered.forEach(this::apply);
+        initialized.complete(null);
+    }
+
+    void fail(Throwable cause) {
+        initialized.completeExceptionally(cause);
+    }
+
+    void awaitInitialized() {
+        initialized.join();
+    }
+
+    synchronized void apply(SeatTransitionDTO transition) {
+        if (pending != null) {
+            pending.add(transition);
+            return;
+        }
+        if (transition.version() <= version) {
+            return;
+        }
+        version = transition.version();
+        Place place = place(transition.seatId(), transition.seatNumber());
+        if (place != null) {
+            place.row.setFree(place.number, transition.type() == SeatTransitionType.RELEASED);
+        }
+    }
+
+    /**
+     * Cherche {@code count} sièges libres et contigus et les réserve pour l'appelant : les allocations
+     * concurrentes ne les proposeront pas tant que {@link #release} n'a pas été appelé. Le premier rang
+     * pouvant accueillir le groupe est retenu, et dans ce rang le bloc le plus proche du centre.
+     *
+     * @return les sièges réservés, dans l'ordre des numéros, ou une liste vide
+     */
+    synchronized List<SeatResponseDTO> claim(int count) {
+        for (Row row : rows.values()) {
+            if (row.longestRun() < count) {
+                continue;
+            }
+            int start = row.bestStart(count);
+            List<SeatResponseDTO> claimed = new ArrayList<>(count);
+            for (int number = start; number < start + count; number++) {
+                row.claim(number);
+                claimed.add(new SeatResponseDTO(row.seatIds[number], row.seatNumbers[number], "HELD"));
+            }
+            return claimed;
+        }
+        return List.of();
+    }
+
+    /**
+     * Libère la réservation d'allocation des sièges ; ceux qui sont encore libres redeviennent proposables.
+     */
+    synchronized void release(List<SeatResponseDTO> seats) {
+        for (SeatResponseDTO seat : seats) {
+            Place place = places.get(seat.id());
+            if (place != null) {
+                place.row.unclaim(place.number);
+            }
+        }
+    }
+
+    private Place place(Long seatId, String seatNumber) {
+        Place place = places.get(seatId);
+        if (place != null || seatNumber == null) {
+            return place;
+        }
+        Matcher matcher = SEAT_NUMBER.matcher(seatNumber);
+        if (!matcher.matches()) {
+            return null;
+        }
+        Row row = rows.computeIfAbsent(matcher.group(1), name -> new Row());
+        int number = Integer.parseInt(matcher.group(2));
+        row.register(number, seatId, seatNumber);
+        place = new Place(row, number);
+        places.put(seatId, place);
+        return place;
+    }
+
+    private record Place(Row row, int number) {}
+
+    private static final class Row {
+        private final BitSet free = new BitSet();
+        private final BitSet claimed = new BitSet();
+        private final BitSet open = new BitSet();
+        private long[] seatIds = new long[0];
+        private String[] seatNumbers = new String[0];
+        private int first = Integer.MAX_VALUE;
+        private int last = -1;
+        private int longestRun = -1;
+
+        void register(int number, long seatId, String seatNumber) {
+            if (number >= seatIds.length) {
+                int length = Math.max(number + 1, seatIds.length * 2);
+                seatIds = Arrays.copyOf(seatIds, length);
+                seatNumbers = Arrays.copyOf(seatNumbers, length);
+            }
+            seatIds[number] = seatId;
+            seatNumbers[number] = seatNumber;
+            first = Math.min(first, number);
+            last = Math.max(last, number);
+        }
+
+        void setFree(int number, boolean isFree) {
+            free.set(number, isFree);
+            updateOpen(number);
+        }
+
+        void claim(int number) {
+            claimed.set(number);
+            updateOpen(number);
+        }
+
+        void unclaim(int number) {
+            claimed.clear(number);
+            updateOpen(number);
+        }
+
+        private void updateOpen(int number) {
+            boolean isOpen = free.get(number) && !claimed.get(number);
+            if (open.get(number) != isOpen) {
+                open.set(number, isOpen);
+                longestRun = -1;
+            }
+        }
+
+        int longestRun() {
+            if (longestRun < 0) {
+                int longest = 0;
+                for (int start = open.nextSetBit(0); start >= 0; start = open.nextSetBit(start)) {
+                    int end = open.nextClearBit(start);
+                    longest = Math.max(longest, end - start);
+                    start = end;
+                }
+                longestRun = longest;
+            }
+            return longestRun;
+        }
+
+        /**
+         * Début du bloc de {@code count} places ouvertes le plus proche du centre du rang.
+         */
+        int bestStart(int count) {
+            double center = (first + last) / 2.0;
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int start = open.nextSetBit(0); start >= 0; start = open.nextSetBit(start)) {
+                int end = open.nextClearBit(start);
+                if (end - start >= count) {
+                    int candidate = (int) Math.round(center - (count - 1) / 2.0);
+                    candidate = Math.max(start, Math.min(candidate, end - count));
+                    double distance = Math.abs(candidate + (count - 1) / 2.0 - center);
+                    if (distance < bestDistance) {
+                        best = candidate;
+                        bestDistance = distance;
+                    }
+                }
+                start = end;
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.kata.business.allocation;
+
+import com.kata.business.BookingOperations;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatHoldFailureDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.EventNotFoundException;
+import com.kata.exceptions.SeatNotAvailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Allocation automatique des meilleurs sièges contigus disponibles.
+ * <p>
+ * Le bloc est choisi en mémoire dans le plan de salle ({@link SeatLayouts}) et réservé le temps
+ * de le verrouiller, de sorte que deux allocations concurrentes ne proposent pas les mêmes sièges.
+ * Le verrouillage passe par {@link BookingOperations#holdSeats}, en tout ou rien. Si un siège a été
+ * pris entre-temps par une réservation directe, un autre bloc est tenté, au plus {@value #MAX_ATTEMPTS} fois.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatAllocationService {
+
+    public static final int MAX_COUNT = 20;
+    static final int MAX_ATTEMPTS = 3;
+
+    private final SeatLayouts seatLayouts;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final BookingOperations bookingOperations;
+
+    /**
+     * Choisit et verrouille {@code count} sièges contigus d'un même rang pour un utilisateur.
+     * @param eventId l'id de l'évenement
+     * @param userId l'id de l'utilisateur
+     * @param count le nombre de sièges, entre 1 et {@link #MAX_COUNT}
+     * @return les sièges verrouillés, dans l'ordre des numéros
+     * @throws EventNotFoundException si l'événement n'existe pas ou n'a aucun siège
+     * @throws SeatNotAvailableException si aucun bloc de {@code count} sièges contigus n'est libre
+     */
+    public List<SeatResponseDTO> allocate(Long eventId, Long userId, int count) {
+        if (seatAvailabilityIndex.version(eventId) == 0) {
+            throw new EventNotFoundException("Event not found.");
+        }
+        EventSeatLayout layout = seatLayouts.layout(eventId, () -> seatAvailabilityIndex.versionedSeats(eventId));
+        List<SeatResponseDTO> taken = new ArrayList<>();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                List<SeatResponseDTO> seats = layout.claim(count);
+                if (seats.isEmpty()) {
+                    throw new SeatNotAvailableException("No block of " + count + " adjacent seats is available.");
+                }
+                try {
+                    bookingOperations.holdSeats(new BatchSeatReservationRequestDTO(userId,
+                            seats.stream().map(SeatResponseDTO::id).toList()));
+                    layout.release(seats);
+                    return seats;
+                } catch (BatchHoldFailedException e) {
+                    // les sièges pris restent écartés jusqu'à la fin de l'allocation, même si leur transition n'est pas encore arrivée
+                    Set<Long> failed = e.getFailures().stream().map(SeatHoldFailureDTO::seatId).collect(Collectors.toSet());
+                    Map<Boolean, List<SeatResponseDTO>> partition = seats.stream()
+                            .collect(Collectors.partitioningBy(seat -> failed.contains(seat.id())));
+                    taken.addAll(partition.get(true));
+                    layout.release(partition.get(false));
+                    if (attempt == MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                } catch (RuntimeException e) {
+                    layout.release(seats);
+                    throw e;
+                }
+            }
+        } finally {
+            layout.release(taken);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.kata.business.allocation;
+
+import com.kata.business.availability.SeatTransitionListener;
+import com.kata.business.availability.VersionedSeats;
+import com.kata.dto.SeatTransitionDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Plans de salle des événements pour lesquels une allocation a été demandée, tenus à jour
+ * par les transitions de disponibilité.
+ */
+@Component
+public class SeatLayouts implements SeatTransitionListener {
+
+    private final Map<Long, EventSeatLayout> layouts = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTransition(Long eventId, SeatTransitionDTO transition) {
+        EventSeatLayout layout = layouts.get(eventId);
+        if (layout != null) {
+            layout.apply(transition);
+        }
+    }
+
+    /**
+     * Plan d'un événement, construit au premier appel : le plan est enregistré avant de lire la
+     * disponibilité afin qu'aucune transition postérieure à la photo ne soit perdue. Les appels
+     * concurrents attendent la fin de la construction.
+     */
+    EventSeatLayout layout(Long eventId, Supplier<VersionedSeats> snapshot) {
+        EventSeatLayout layout = layouts.get(eventId);
+        if (layout == null) {
+            EventSeatLayout created = new EventSeatLayout();
+            layout = layouts.putIfAbsent(eventId, created);
+            if (layout == null) {
+                try {
+                    VersionedSeats seats = snapshot.get();
+                    created.initialize(seats.version(), seats.seats());
+                } catch (RuntimeException e) {
+                    layouts.remove(eventId, created);
+                    created.fail(e);
+                    throw e;
+                }
+                return created;
+            }
+        }
+        layout.awaitInitialized();
+        return layout;
+    }
+}
@@ -0,0 +1,7 @@
+package com.kata.business.availability;
+
+/**
+ * Liste des sièges disponibles déjà sérialisée en JSON pour une version donnée,
+ * avec l'ETag fort correspondant.
+ */
+public record AvailabilitySnapshot(long version, String eTag, byte[] body) {}
@@ -0,0 +1,66 @@
+package com.kata.business.availability;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache des listes de sièges disponibles déjà sérialisées, une entrée par événement.
+ * <p>
+ * La sérialisation JSON n'est payée qu'une fois par version de disponibilité : tant que
+ * la version de {@link SeatAvailabilityIndex} ne bouge pas, les mêmes octets sont resservis.
+ * L'ETag combine un identifiant de démarrage, l'événement et la version, afin qu'un client
+ * ne confonde pas deux états distincts après un redémarrage.
+ * </p>
+ */
+@Component
+public class AvailabilitySnapshotCache {
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AvailabilitySnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public AvailabilitySnapshotCache(SeatAvailabilityIndex seatAvailabilityIndex, ObjectMapper objectMapper) {
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * ETag de l'état courant, calculé sans sérialiser la liste.
+     */
+    public String currentETag(Long eventId) {
+        return eTag(eventId, seatAvailabilityIndex.version(eventId));
+    }
+
+    /**
+     * Snapshot sérialisé de l'état courant ; la sérialisation n'a lieu que si la version a changé.
+     */
+    public AvailabilitySnapshot snapshot(Long eventId) {
+        long version = seatAvailabilityIndex.version(eventId);
+        AvailabilitySnapshot snapshot = snapshots.get(eventId);
+        if (snapshot != null && snapshot.version() >= version) {
+            return snapshot;
+        }
+        return snapshots.compute(eventId, (id, current) ->
+                current != null && current.version() >= version ? current : encode(id));
+    }
+
+    private AvailabilitySnapshot encode(Long eventId) {
+        VersionedSeats versionedSeats = seatAvailabilityIndex.versionedSeats(eventId);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(versionedSeats.seats());
+            return new AvailabilitySnapshot(versionedSeats.version(), eTag(eventId, versionedSeats.version()), body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String eTag(Long eventId, long version) {
+        return "\"" + epoch + "-" + eventId + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,6 @@
+package com.kata.business.availability;
+
+/**
+ * Publié lorsque les sièges d'un événement viennent d'être chargés dans {@link SeatAvailabilityIndex}.
+ */
+public record EventSeatsLoadedEvent(Long eventId) {}
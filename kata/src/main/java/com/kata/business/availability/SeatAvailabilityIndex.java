@@ -0,0 +1,537 @@
+package com.kata.business.availability;
+
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.SeatHoldExpiredEvent;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.ledger.RecoveredSeats;
+import com.kata.business.models.SeatHold;
+import com.kata.business.sales.PendingSales;
+import com.kata.dao.EventRepository;
+import com.kata.dao.SeatRepository;
+import com.kata.dto.SeatPageDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatStatus;
+import com.kata.enums.SeatTransitionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Index en mémoire de la disponibilité des sièges, par événement.
+ * <p>
+ * Chaque événement conserve ses sièges triés par id ; la position d'un siège dans ce
+ * tableau (son ordinal) est son bit dans deux {@link BitSet} : les sièges vendus et les
+ * sièges réservables (ni vendus, ni verrouillés). L'endpoint de disponibilité est ainsi
+ * servi sans accès à la base.
+ * </p>
+ * <p>
+ * L'index est chargé au démarrage depuis {@link SeatRepository}, ou depuis les états reconstruits
+ * par le registre des sièges ({@link RecoveredSeats}) lorsqu'il est actif, complétés des sièges
+ * vendus en base : une vente validée juste avant un arrêt brutal peut manquer au registre. Les ventes pas encore
+ * écrites en base ({@link PendingSales}) comptant comme vendues, puis tenu à jour par
+ * {@code holdSeat}, {@code confirmPayment} et l'expiration des verrous. Plutôt que
+ * d'appliquer des deltas, chaque mise à jour relit l'état du cache de verrous sous le
+ * verrou de l'événement : la dernière mise à jour appliquée reflète toujours l'état courant,
+ * quel que soit l'ordre d'arrivée des notifications concurrentes.
+ * </p>
+ * <p>
+ * Le chargement d'un événement lit la base et le cache de verrous avant que ses sièges ne soient
+ * connus de l'index : les mises à jour qui visent un siège inconnu pendant un chargement sont
+ * mises de côté, puis rejouées sur l'événement chargé s'il contient le siège. Un événement sans
+ * siège est mémorisé un temps ({@link #EMPTY_EVENT_TTL_MILLIS}) pour ne pas relire la base à
+ * chaque requête sur un id inconnu.
+ * </p>
+ * <p>
+ * Chaque événement porte une version, incrémentée à chaque changement effectif de
+ * disponibilité, qui permet aux lecteurs de détecter qu'un état déjà servi est toujours à jour.
+ * Chaque changement est également notifié, avec sa version, aux {@link SeatTransitionListener}, et
+ * chaque événement chargé est annoncé par un {@link EventSeatsLoadedEvent}.
+ * La liste des sièges réservables est construite une fois par version, à partir de DTO créés
+ * au chargement : les lectures répétées d'un état inchangé n'allouent rien.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatAvailabilityIndex {
+
+    static final long EMPTY_EVENT_TTL_MILLIS = 60_000;
+    private static final int MAX_EMPTY_EVENTS = 4096;
+
+    private final SeatRepository seatRepository;
+    private final EventRepository eventRepository;
+    private final HoldStore holdStore;
+    private final List<SeatTransitionListener> transitionListeners;
+    private final MillisClock clock;
+    private final PendingSales pendingSales;
+    private final RecoveredSeats recoveredSeats;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, EventSeats> events = new ConcurrentHashMap<>();
+    private final Map<Long, EventSeats> eventsBySeat = new ConcurrentHashMap<>();
+    private final Map<Long, Loading> loads = new ConcurrentHashMap<>();
+    private final Map<Long, Long> emptyEventsCheckedAt = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        int seats = 0;
+        for (Long eventId : eventRepository.findAllIds()) {
+            EventSeats eventSeats = load(eventId);
+            seats += eventSeats == null ? 0 : eventSeats.seatIds.length;
+        }
+        log.info("Seat availability index warmed up: {} events, {} seats in {} ms",
+                events.size(), seats, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Liste des sièges réservables d'un événement, dans l'ordre des ids.
+     */
+    public List<SeatResponseDTO> availableSeats(Long eventId) {
+        EventSeats eventSeats = eventSeats(eventId);
+        return eventSeats == null ? List.of() : eventSeats.availableSeats();
+    }
+
+    /**
+     * Liste des sièges réservables d'un événement accompagnée de la version de l'état lu.
+     */
+    public VersionedSeats versionedSeats(Long eventId) {
+        EventSeats eventSeats = eventSeats(eventId);
+        return eventSeats == null ? new VersionedSeats(0, List.of()) : eventSeats.versionedSeats();
+    }
+
+    /**
+     * Page de sièges réservables d'un événement, dans l'ordre des ids, à partir d'un curseur.
+     * Seule la page est construite, quelle que soit la taille de la salle.
+     *
+     * @param afterSeatId id du dernier siège de la page précédente, ou {@code null} pour la première page
+     * @param limit nombre maximal de sièges de la page
+     */
+    public SeatPageDTO availableSeatsPage(Long eventId, Long afterSeatId, int limit) {
+        EventSeats eventSeats = eventSeats(eventId);
+        return eventSeats == null ? new SeatPageDTO(List.of(), null) : eventSeats.page(afterSeatId, limit);
+    }
+
+    /**
+     * Version courante de la disponibilité d'un événement, sans construire la liste des sièges.
+     */
+    public long version(Long eventId) {
+        EventSeats eventSeats = eventSeats(eventId);
+        return eventSeats == null ? 0 : eventSeats.version;
+    }
+
+    /**
+     * Nombre de sièges d'un événement actuellement verrouillés : ni vendus, ni réservables.
+     */
+    public int heldSeats(Long eventId) {
+        EventSeats eventSeats = eventSeats(eventId);
+        return eventSeats == null ? 0 : eventSeats.heldSeats();
+    }
+
+    /**
+     * Ids des événements chargés dans l'index.
+     */
+    public Set<Long> loadedEventIds() {
+        return Set.copyOf(events.keySet());
+    }
+
+    /**
+     * Tous les sièges d'un événement déjà chargé, au statut SOLD ou AVAILABLE, avec la version
+     * de l'état lu ; {@code null} si l'événement n'est pas chargé. Un siège verrouillé est
+     * AVAILABLE : les verrous sont lus dans le cache de verrous.
+     */
+    public VersionedSeats seatStates(Long eventId) {
+        EventSeats eventSeats = events.get(eventId);
+        return eventSeats == null ? null : eventSeats.seatStates();
+    }
+
+    /**
+     * Événement auquel appartient un siège, ou {@code null} si le siège n'existe pas.
+     * L'événement est chargé dans l'index s'il ne l'était pas encore.
+     */
+    public Long eventOf(Long seatId) {
+        EventSeats eventSeats = eventsBySeat.get(seatId);
+        if (eventSeats == null) {
+            eventSeats = seatRepository.findById(seatId).map(seat -> eventSeats(seat.getEvent().getId())).orElse(null);
+        }
+        return eventSeats == null ? null : eventSeats.eventId;
+    }
+
+    /**
+     * Événement auquel appartient un siège déjà chargé dans l'index, ou {@code null} sinon.
+     * Ne lit jamais la base : destiné aux contrôles faits avant tout accès à la base.
+     */
+    public Long indexedEventOf(Long seatId) {
+        EventSeats eventSeats = eventsBySeat.get(seatId);
+        return eventSeats == null ? null : eventSeats.eventId;
+    }
+
+    /**
+     * Indique si un siège est réservable. Un siège inconnu de l'index est considéré comme tel :
+     * seul l'état en base fait alors foi.
+     */
+    public boolean isAvailable(Long seatId) {
+        EventSeats eventSeats = eventsBySeat.get(seatId);
+        return eventSeats == null || eventSeats.isAvailable(seatId);
+    }
+
+    /**
+     * Indique si un siège connu de l'index est vendu.
+     */
+    public boolean isSold(Long seatId) {
+        EventSeats eventSeats = eventsBySeat.get(seatId);
+        return eventSeats != null && eventSeats.isSold(seatId);
+    }
+
+    /**
+     * Recalcule la disponibilité d'un siège à partir du cache de verrous.
+     * À appeler après toute pose ou tout retrait de verrou.
+     */
+    public void refresh(Long seatId) {
+        update(seatId, eventSeats -> eventSeats.refresh(seatId, holdStore, clock.millis()));
+    }
+
+    /**
+     * Retire définitivement un siège de la disponibilité après sa vente.
+     */
+    public void markSold(Long seatId) {
+        update(seatId, eventSeats -> eventSeats.markSold(seatId));
+    }
+
+    /**
+     * Applique une transition constatée par le nœud propriétaire du siège, en mode cluster :
+     * le verrou n'existe pas dans le stockage local, l'état est donc repris tel quel.
+     */
+    public void applyRemoteTransition(Long seatId, SeatTransitionType type) {
+        update(seatId, eventSeats -> {
+            if (type == SeatTransitionType.SOLD) {
+                eventSeats.markSold(seatId);
+            } else {
+                eventSeats.setAvailable(seatId, type == SeatTransitionType.RELEASED);
+            }
+        });
+    }
+
+    @EventListener
+    public void onHoldExpired(SeatHoldExpiredEvent event) {
+        refresh(event.seatId());
+    }
+
+    /**
+     * Applique une mise à jour au siège. Un siège inconnu alors qu'un événement est en cours de
+     * chargement peut appartenir à cet événement, dont l'état a peut-être été lu avant la
+     * mise à jour : celle-ci est confiée aux chargements en cours, puis appliquée directement si
+     * le siège est devenu connu entre-temps. Appliquer une mise à jour deux fois est sans effet.
+     */
+    private void update(Long seatId, Consumer<EventSeats> update) {
+        EventSeats eventSeats = eventsBySeat.get(seatId);
+        if (eventSeats == null) {
+            if (loads.isEmpty()) {
+                return;
+            }
+            loads.values().forEach(loading -> loading.updates.add(new SeatUpdate(seatId, update)));
+            eventSeats = eventsBySeat.get(seatId);
+            if (eventSeats == null) {
+                return;
+            }
+        }
+        update.accept(eventSeats);
+    }
+
+    private EventSeats eventSeats(Long eventId) {
+        EventSeats eventSeats = events.get(eventId);
+        return eventSeats != null ? eventSeats : load(eventId);
+    }
+
+    /**
+     * Charge un événement une seule fois même si plusieurs threads le demandent en même temps :
+     * les suivants attendent le chargement en cours plutôt que de relire tous ses sièges.
+     */
+    private EventSeats load(Long eventId) {
+        Long checkedAt = emptyEventsCheckedAt.get(eventId);
+        if (checkedAt != null && clock.millis() - checkedAt < EMPTY_EVENT_TTL_MILLIS) {
+            return null;
+        }
+        Loading loading = new Loading();
+        Loading inFlight = loads.putIfAbsent(eventId, loading);
+        if (inFlight != null) {
+            return inFlight.result.join();
+        }
+        try {
+            EventSeats loaded = doLoad(eventId, loading);
+            loading.result.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            loading.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(eventId, loading);
+        }
+    }
+
+    private EventSeats doLoad(Long eventId, Loading loading) {
+        List<SeatResponseDTO> seats = recoveredSeats.take(eventId);
+        if (seats == null) {
+            seats = seatRepository.findSeatStates(eventId);
+        } else {
+            seats = withSold(seats, seatRepository.findSoldSeatIds(eventId));
+        }
+        if (seats.isEmpty()) {
+            if (emptyEventsCheckedAt.size() >= MAX_EMPTY_EVENTS) {
+                emptyEventsCheckedAt.clear();
+            }
+            emptyEventsCheckedAt.put(eventId, clock.millis());
+            return null;
+        }
+        emptyEventsCheckedAt.remove(eventId);
+        EventSeats loaded = new EventSeats(eventId, seats, holdStore, pendingSales, clock.millis(), transitionListeners);
+        EventSeats existing = events.putIfAbsent(eventId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        // Les mises à jour qui trouvent l'événement attendent le verrou : elles passent après celles mises de côté.
+        loaded.lock.writeLock().lock();
+        try {
+            for (long seatId : loaded.seatIds) {
+                eventsBySeat.put(seatId, loaded);
+            }
+            for (SeatUpdate update : loading.updates) {
+                if (loaded.contains(update.seatId())) {
+                    update.update().accept(loaded);
+                }
+            }
+        } finally {
+            loaded.lock.writeLock().unlock();
+        }
+        eventPublisher.publishEvent(new EventSeatsLoadedEvent(eventId));
+        return loaded;
+    }
+
+    private static List<SeatResponseDTO> withSold(List<SeatResponseDTO> seats, List<Long> soldSeatIds) {
+        if (soldSeatIds.isEmpty()) {
+            return seats;
+        }
+        Set<Long> sold = Set.copyOf(soldSeatIds);
+        List<SeatResponseDTO> reconciled = new ArrayList<>(seats.size());
+        for (SeatResponseDTO seat : seats) {
+            reconciled.add(sold.contains(seat.id()) && !SeatStatus.SOLD.name().equals(seat.status())
+                    ? new SeatResponseDTO(seat.id(), seat.seatNumber(), SeatStatus.SOLD.name())
+                    : seat);
+        }
+        return reconciled;
+    }
+
+    /**
+     * Chargement en cours d'un événement, et mises à jour de sièges inconnus reçues pendant celui-ci.
+     */
+    private static final class Loading {
+        private final CompletableFuture<EventSeats> result = new CompletableFuture<>();
+        private final Queue<SeatUpdate> updates = new ConcurrentLinkedQueue<>();
+    }
+
+    private record SeatUpdate(Long seatId, Consumer<EventSeats> update) {}
+
+    private static final class EventSeats {
+        private final Long eventId;
+        private final List<SeatTransitionListener> transitionListeners;
+        private final long[] seatIds;
+        private final SeatResponseDTO[] availableViews;
+        private final BitSet sold;
+        private final BitSet available;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile long version = 1;
+        private volatile VersionedSeats snapshot;
+
+        EventSeats(Long eventId, List<SeatResponseDTO> seats, HoldStore holdStore, PendingSales pendingSales,
+                   long now, List<SeatTransitionListener> transitionListeners) {
+            this.eventId = eventId;
+            this.transitionListeners = transitionListeners;
+            int size = seats.size();
+            this.seatIds = new long[size];
+            this.availableViews = new SeatResponseDTO[size];
+            this.sold = new BitSet(size);
+            this.available = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                SeatResponseDTO seat = seats.get(i);
+                seatIds[i] = seat.id();
+                availableViews[i] = new SeatResponseDTO(seat.id(), seat.seatNumber(), SeatStatus.AVAILABLE.name());
+                if (SeatStatus.SOLD.name().equals(seat.status()) || pendingSales.contains(seat.id())) {
+                    sold.set(i);
+                } else if (!isHeld(holdStore.get(seat.id()), now)) {
+                    available.set(i);
+                }
+            }
+        }
+
+        List<SeatResponseDTO> availableSeats() {
+            return versionedSeats().seats();
+        }
+
+        /**
+         * Sert la liste construite pour la version courante si elle existe. Deux lecteurs
+         * concurrents peuvent la reconstruire chacun : le dernier à la publier l'emporte,
+         * au pire une lecture suivante la reconstruit encore.
+         */
+        VersionedSeats versionedSeats() {
+            VersionedSeats cached = snapshot;
+            if (cached != null && cached.version() == version) {
+                return cached;
+            }
+            lock.readLock().lock();
+            try {
+                SeatResponseDTO[] result = new SeatResponseDTO[available.cardinality()];
+                int count = 0;
+                for (int i = available.nextSetBit(0); i >= 0; i = available.nextSetBit(i + 1)) {
+                    result[count++] = availableViews[i];
+                }
+                VersionedSeats built = new VersionedSeats(version, Collections.unmodifiableList(Arrays.asList(result)));
+                snapshot = built;
+                return built;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        VersionedSeats seatStates() {
+            lock.readLock().lock();
+            try {
+                List<SeatResponseDTO> seats = new ArrayList<>(seatIds.length);
+                for (int i = 0; i < seatIds.length; i++) {
+                    SeatResponseDTO view = availableViews[i];
+                    seats.add(sold.get(i) ? new SeatResponseDTO(view.id(), view.seatNumber(), SeatStatus.SOLD.name()) : view);
+                }
+                return new VersionedSeats(version, seats);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        SeatPageDTO page(Long afterSeatId, int limit) {
+            int from = 0;
+            if (afterSeatId != null) {
+                int ordinal = Arrays.binarySearch(seatIds, afterSeatId);
+                from = ordinal >= 0 ? ordinal + 1 : -ordinal - 1;
+            }
+            lock.readLock().lock();
+            try {
+                List<SeatResponseDTO> seats = new ArrayList<>(Math.min(limit, available.cardinality()));
+                int i = available.nextSetBit(from);
+                while (i >= 0 && seats.size() < limit) {
+                    seats.add(availableViews[i]);
+                    i = available.nextSetBit(i + 1);
+                }
+                Long nextCursor = i >= 0 ? seats.getLast().id() : null;
+                return new SeatPageDTO(seats, nextCursor);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean contains(Long seatId) {
+            return Arrays.binarySearch(seatIds, seatId) >= 0;
+        }
+
+        boolean isAvailable(Long seatId) {
+            int ordinal = Arrays.binarySearch(seatIds, seatId);
+            lock.readLock().lock();
+            try {
+                return available.get(ordinal);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean isSold(Long seatId) {
+            int ordinal = Arrays.binarySearch(seatIds, seatId);
+            lock.readLock().lock();
+            try {
+                return sold.get(ordinal);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int heldSeats() {
+            lock.readLock().lock();
+            try {
+                return seatIds.length - sold.cardinality() - available.cardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void refresh(Long seatId, HoldStore holdStore, long now) {
+            int ordinal = Arrays.binarySearch(seatIds, seatId);
+            lock.writeLock().lock();
+            try {
+                update(ordinal, !isHeld(holdStore.get(seatId), now));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void setAvailable(Long seatId, boolean free) {
+            int ordinal = Arrays.binarySearch(seatIds, seatId);
+            lock.writeLock().lock();
+            try {
+                update(ordinal, free);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void update(int ordinal, boolean notHeld) {
+            boolean free = !sold.get(ordinal) && notHeld;
+            if (available.get(ordinal) != free) {
+                available.set(ordinal, free);
+                version++;
+                notifyTransition(ordinal, free ? SeatTransitionType.RELEASED : SeatTransitionType.HELD);
+            }
+        }
+
+        void markSold(Long seatId) {
+            int ordinal = Arrays.binarySearch(seatIds, seatId);
+            lock.writeLock().lock();
+            try {
+                if (!sold.get(ordinal)) {
+                    sold.set(ordinal);
+                    available.clear(ordinal);
+                    version++;
+                    notifyTransition(ordinal, SeatTransitionType.SOLD);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void notifyTransition(int ordinal, SeatTransitionType type) {
+            SeatTransitionDTO transition = new SeatTransitionDTO(seatIds[ordinal], availableViews[ordinal].seatNumber(), type, version);
+            for (SeatTransitionListener listener : transitionListeners) {
+                listener.onTransition(eventId, transition);
+            }
+        }
+
+        private static boolean isHeld(SeatHold hold, long now) {
+            return hold != null && hold.isActiveAt(now);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.kata.business.availability;
+
+import com.kata.dto.SeatTransitionDTO;
+
+/**
+ * Reçoit les changements de disponibilité appliqués par {@link SeatAvailabilityIndex}.
+ * <p>
+ * Les notifications d'un même événement arrivent dans l'ordre des versions, sous le verrou
+ * de l'événement : une implémentation ne doit jamais bloquer.
+ * </p>
+ */
+public interface SeatTransitionListener {
+    void onTransition(Long eventId, SeatTransitionDTO transition);
+}
@@ -0,0 +1,10 @@
+package com.kata.business.availability;
+
+import com.kata.dto.SeatResponseDTO;
+
+import java.util.List;
+
+/**
+ * Sièges réservables d'un événement, lus de façon cohérente avec la version de disponibilité.
+ */
+public record VersionedSeats(long version, List<SeatResponseDTO> seats) {}
@@ -0,0 +1,80 @@
+package com.kata.business.clock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Horloge grossière : un thread unique relit l'horloge système toutes les
+ * {@code app.clock.tick} et publie la valeur dans un champ volatile. Une lecture coûte
+ * ainsi une lecture mémoire, sans appel système ni objet temporel alloué.
+ * <p>
+ * La valeur ne recule jamais, même si l'horloge système est ramenée en arrière, et retarde
+ * d'au plus un tick : un verrou peut survivre quelques millisecondes à son échéance, jamais
+ * expirer avant. Démarrée avant les autres composants, elle est arrêtée après eux.
+ * </p>
+ */
+@Component
+public class CachedMillisClock implements MillisClock, SmartLifecycle {
+
+    private final long tickNanos;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile long millis = System.currentTimeMillis();
+    private volatile Thread ticker;
+
+    public CachedMillisClock(@Value("${app.clock.tick:10ms}") Duration tick) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        this.tickNanos = tick.toNanos();
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            advance();
+            ticker = Thread.ofPlatform().name("millis-clock").daemon().start(this::run);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            LockSupport.unpark(ticker);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    private void run() {
+        while (running.get()) {
+            LockSupport.parkNanos(this, tickNanos);
+            advance();
+        }
+    }
+
+    private void advance() {
+        long now = System.currentTimeMillis();
+        if (now > millis) {
+            millis = now;
+        }
+    }
+}
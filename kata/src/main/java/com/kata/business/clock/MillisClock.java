@@ -0,0 +1,19 @@
+package com.kata.business.clock;
+
+/**
+ * Horloge des échéances de verrous, en millisecondes depuis l'époque Unix.
+ * <p>
+ * Lue à chaque pose, vérification et expiration de verrou : une implémentation ne doit
+ * ni allouer ni faire d'appel système coûteux, et ne jamais revenir en arrière.
+ * </p>
+ */
+@FunctionalInterface
+public interface MillisClock {
+
+    /**
+     * Horloge système, lue à chaque appel.
+     */
+    MillisClock SYSTEM = System::currentTimeMillis;
+
+    long millis();
+}
@@ -0,0 +1,117 @@
+package com.kata.business.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.exceptions.ClusterNodeUnavailableException;
+import com.kata.exceptions.RemoteBookingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Client du protocole interne du cluster : des appels JSON sur HTTP/1.1 vers
+ * {@code /internal/cluster} des autres nœuds, un nœud étant identifié par son URL de base.
+ * <p>
+ * Une réponse d'erreur du nœud distant est relayée telle quelle par une
+ * {@link RemoteBookingException} ; un nœud injoignable lève une {@link ClusterNodeUnavailableException}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterClient implements AutoCloseable {
+
+    public static final String BASE_PATH = "/internal/cluster";
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final String token;
+    private final HttpClient httpClient;
+
+    public ClusterClient(ObjectMapper objectMapper,
+                         @Value("${app.cluster.request-timeout:2s}") Duration requestTimeout,
+                         @Value("${app.cluster.token:}") String token) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.token = token;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    public void post(String node, String path, Object body) {
+        send(node, "POST", path, body);
+    }
+
+    public void patch(String node, String path, Object body) {
+        send(node, "PATCH", path, body);
+    }
+
+    /**
+     * Indique si le nœud répond, dans la limite du délai d'attente.
+     */
+    public boolean ping(String node) {
+        try {
+            return httpClient.send(request(node, "/ping").GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void send(String node, String method, String path, Object body) {
+        HttpRequest request = request(node, path)
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(serialize(body)))
+                .build();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new ClusterNodeUnavailableException("Cluster node " + node + " is unavailable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterNodeUnavailableException("Interrupted while calling cluster node " + node, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new RemoteBookingException(response.statusCode(),
+                    response.headers().firstValue("Content-Type").orElse(null), response.body());
+        }
+    }
+
+    private HttpRequest.Builder request(String node, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + BASE_PATH + path))
+                .timeout(requestTimeout);
+        if (!token.isEmpty()) {
+            builder.header(TOKEN_HEADER, token);
+        }
+        return builder;
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
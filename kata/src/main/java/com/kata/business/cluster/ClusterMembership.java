@@ -0,0 +1,152 @@
+package com.kata.business.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membres vivants du cluster et anneau de hachage qui en découle.
+ * <p>
+ * La liste des membres possibles est statique ({@code app.cluster.members}) ; chaque nœud
+ * interroge les autres à intervalle régulier. Un membre entre dans l'anneau dès qu'il répond
+ * et en sort après {@code failure-threshold} échecs consécutifs. Chaque changement produit un
+ * nouvel anneau et publie un {@link ClusterRingChangedEvent}.
+ * </p>
+ * <p>
+ * Au démarrage, un premier tour est fait de manière synchrone, après l'ouverture du serveur
+ * HTTP, pour que le nœud ne commence pas par se croire seul.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterMembership implements SmartLifecycle {
+
+    private final String self;
+    private final Set<String> members;
+    private final int virtualNodes;
+    private final Duration heartbeatInterval;
+    private final int failureThreshold;
+    private final ClusterClient clusterClient;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, Integer> missedHeartbeats = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing ring;
+    private volatile ScheduledExecutorService heartbeat;
+
+    public ClusterMembership(@Value("${app.cluster.self}") String self,
+                             @Value("${app.cluster.members}") List<String> members,
+                             @Value("${app.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${app.cluster.heartbeat-interval:1s}") Duration heartbeatInterval,
+                             @Value("${app.cluster.failure-threshold:3}") int failureThreshold,
+                             ClusterClient clusterClient,
+                             ApplicationEventPublisher eventPublisher) {
+        this.self = normalize(self);
+        this.members = new TreeSet<>();
+        members.stream().map(ClusterMembership::normalize).filter(member -> !member.isEmpty()).forEach(this.members::add);
+        this.members.remove(this.self);
+        this.virtualNodes = virtualNodes;
+        this.heartbeatInterval = heartbeatInterval;
+        this.failureThreshold = failureThreshold;
+        this.clusterClient = clusterClient;
+        this.eventPublisher = eventPublisher;
+        this.members.forEach(member -> missedHeartbeats.put(member, failureThreshold));
+        this.ring = new ConsistentHashRing(Set.of(this.self), virtualNodes);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    public String ownerOf(Long seatId) {
+        return ring.ownerOf(seatId);
+    }
+
+    public boolean isLocal(Long seatId) {
+        return self.equals(ring.ownerOf(seatId));
+    }
+
+    /**
+     * Membres vivants autres que ce nœud.
+     */
+    public Set<String> peers() {
+        Set<String> peers = new TreeSet<>(ring.nodes());
+        peers.remove(self);
+        return peers;
+    }
+
+    /**
+     * Interroge chaque membre et reconstruit l'anneau si l'ensemble des membres vivants a changé.
+     */
+    void checkMembers() {
+        Set<String> alive = new TreeSet<>();
+        alive.add(self);
+        for (String member : members) {
+            int missed = clusterClient.ping(member) ? 0 : missedHeartbeats.getOrDefault(member, 0) + 1;
+            missedHeartbeats.put(member, missed);
+            if (missed < failureThreshold) {
+                alive.add(member);
+            }
+        }
+        ConsistentHashRing previous = ring;
+        if (!alive.equals(previous.nodes())) {
+            ConsistentHashRing current = new ConsistentHashRing(alive, virtualNodes);
+            ring = current;
+            log.info("Cluster membership changed: {} -> {}", previous.nodes(), current.nodes());
+            eventPublisher.publishEvent(new ClusterRingChangedEvent(previous, current));
+        }
+    }
+
+    @Override
+    public void start() {
+        checkMembers();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("cluster-heartbeat").daemon().factory());
+        long interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleWithFixedDelay(this::checkMembersSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = heartbeat;
+        heartbeat = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return heartbeat != null;
+    }
+
+    private void checkMembersSafely() {
+        try {
+            checkMembers();
+        } catch (RuntimeException e) {
+            log.warn("Cluster heartbeat failed", e);
+        }
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,6 @@
+package com.kata.business.cluster;
+
+/**
+ * Publié lorsqu'un nœud rejoint ou quitte le cluster.
+ */
+public record ClusterRingChangedEvent(ConsistentHashRing previous, ConsistentHashRing current) {}
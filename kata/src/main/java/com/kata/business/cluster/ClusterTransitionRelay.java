@@ -0,0 +1,124 @@
+package com.kata.business.cluster;
+
+import com.kata.business.availability.SeatTransitionListener;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.holds.HoldStore;
+import com.kata.dto.RemoteSeatTransitionDTO;
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatTransitionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Diffuse aux autres nœuds les changements de disponibilité des sièges possédés par ce nœud,
+ * pour que chacun serve la disponibilité de tout l'événement depuis son propre index.
+ * <p>
+ * L'index notifie sous le verrou de l'événement : les transitions sont donc seulement mises
+ * dans une file bornée, puis envoyées par lots par un thread dédié. Si la file est pleine,
+ * la transition est abandonnée ; la disponibilité vue par les autres nœuds est à cohérence
+ * éventuelle, la vente restant protégée par le propriétaire du verrou et par la base.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterTransitionRelay implements SeatTransitionListener, SmartLifecycle {
+
+    private static final int MAX_BATCH = 512;
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final HoldStore holdStore;
+    private final MillisClock clock;
+    private final BlockingQueue<RemoteSeatTransitionDTO> pending;
+
+    private volatile Thread sender;
+
+    public ClusterTransitionRelay(ClusterMembership clusterMembership,
+                                  ClusterClient clusterClient,
+                                  HoldStore holdStore,
+                                  MillisClock clock,
+                                  @Value("${app.cluster.relay-buffer-size:65536}") int bufferSize) {
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
+        this.holdStore = holdStore;
+        this.clock = clock;
+        this.pending = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @Override
+    public void onTransition(Long eventId, SeatTransitionDTO transition) {
+        if (clusterMembership.isLocal(transition.seatId())) {
+            enqueue(new RemoteSeatTransitionDTO(transition.seatId(), transition.type()));
+        }
+    }
+
+    /**
+     * Un nœud qui rejoint l'anneau n'a vu aucune des transitions passées : les verrous
+     * actifs possédés par ce nœud sont rediffusés.
+     */
+    @EventListener
+    public void onRingChanged(ClusterRingChangedEvent event) {
+        long now = clock.millis();
+        holdStore.forEach((seatId, hold) -> {
+            if (hold.isActiveAt(now) && clusterMembership.isLocal(seatId)) {
+                enqueue(new RemoteSeatTransitionDTO(seatId, SeatTransitionType.HELD));
+            }
+        });
+    }
+
+    private void enqueue(RemoteSeatTransitionDTO transition) {
+        if (!pending.offer(transition)) {
+            log.warn("Cluster relay buffer full, dropping transition of seat {}", transition.seatId());
+        }
+    }
+
+    private void run() {
+        List<RemoteSeatTransitionDTO> batch = new ArrayList<>(MAX_BATCH);
+        while (sender != null) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pending.drainTo(batch, MAX_BATCH - 1);
+            for (String peer : clusterMembership.peers()) {
+                try {
+                    clusterClient.post(peer, "/transitions", batch);
+                } catch (RuntimeException e) {
+                    log.debug("Could not relay {} transitions to {}", batch.size(), peer, e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        sender = Thread.ofPlatform().name("cluster-transition-relay").daemon().unstarted(this::run);
+        sender.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = sender;
+        sender = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sender != null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.kata.business.cluster;
+
+import com.kata.business.BookingOperations;
+import com.kata.business.SeatBookingService;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Routage des réservations en mode cluster : chaque siège appartient à un nœud de l'anneau,
+ * seul détenteur de son verrou. Un appel portant sur des sièges d'un seul nœud lui est
+ * transmis tel quel, ou traité localement si ce nœud est le nœud courant.
+ * <p>
+ * Un verrouillage groupé réparti sur plusieurs nœuds est découpé par propriétaire ; si une
+ * partie échoue, les parties déjà verrouillées sont relâchées. Une confirmation groupée
+ * répartie vérifie d'abord les verrous sur chaque propriétaire, vend les sièges en une seule
+ * instruction UPDATE conditionnelle, puis demande à chaque propriétaire de retirer ses verrous ;
+ * une demande en échec est relancée par {@link SaleCompletionRetry}.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ClusteredBookingService implements BookingOperations {
+
+    private final SeatBookingService seatBookingService;
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final SaleCompletionRetry saleCompletionRetry;
+
+    @Override
+    public void holdSeat(SeatReservationRequestDTO seatReservation) {
+        String owner = clusterMembership.ownerOf(seatReservation.seatId());
+        if (isSelf(owner)) {
+            seatBookingService.holdSeat(seatReservation);
+        } else {
+            clusterClient.post(owner, "/holds", seatReservation);
+        }
+    }
+
+    @Override
+    public void holdSeats(BatchSeatReservationRequestDTO batchReservation) {
+        Map<String, BatchSeatReservationRequestDTO> parts = partition(batchReservation);
+        List<Map.Entry<String, BatchSeatReservationRequestDTO>> held = new ArrayList<>(parts.size());
+        for (Map.Entry<String, BatchSeatReservationRequestDTO> part : parts.entrySet()) {
+            try {
+                holdPart(part.getKey(), part.getValue());
+            } catch (RuntimeException e) {
+                held.forEach(done -> release(done.getKey(), done.getValue()));
+                throw e;
+            }
+            held.add(part);
+        }
+    }
+
+    @Override
+    public void confirmPayment(Long seatId, Long userId) {
+        String owner = clusterMembership.ownerOf(seatId);
+        if (isSelf(owner)) {
+            seatBookingService.confirmPayment(seatId, userId);
+        } else {
+            clusterClient.patch(owner, "/holds/" + seatId + "?userId=" + userId, null);
+        }
+    }
+
+    @Override
+    public void confirmPayments(BatchSeatReservationRequestDTO checkout) {
+        Map<String, BatchSeatReservationRequestDTO> parts = partition(checkout);
+        if (parts.size() == 1) {
+            Map.Entry<String, BatchSeatReservationRequestDTO> part = parts.entrySet().iterator().next();
+            if (isSelf(part.getKey())) {
+                seatBookingService.confirmPayments(checkout);
+            } else {
+                clusterClient.patch(part.getKey(), "/holds", checkout);
+            }
+            return;
+        }
+        parts.forEach((owner, part) -> {
+            if (isSelf(owner)) {
+                seatBookingService.verifyHolds(part);
+            } else {
+                clusterClient.post(owner, "/holds/verify", part);
+            }
+        });
+        seatBookingService.sellSeats(checkout.seatIds());
+        parts.forEach((owner, part) -> {
+            if (isSelf(owner)) {
+                seatBookingService.completeSale(part);
+            } else {
+                try {
+                    clusterClient.post(owner, "/holds/complete", part);
+                } catch (RuntimeException e) {
+                    // les sièges sont vendus en base : leur propriétaire doit l'apprendre avant que ses verrous n'expirent
+                    log.warn("Could not complete the sale of {} on {}, retrying in the background", part.seatIds(), owner, e);
+                    saleCompletionRetry.schedule(part);
+                }
+            }
+        });
+    }
+
+    private void holdPart(String owner, BatchSeatReservationRequestDTO part) {
+        if (isSelf(owner)) {
+            seatBookingService.holdSeats(part);
+        } else {
+            clusterClient.post(owner, "/holds/batch", part);
+        }
+    }
+
+    private void release(String owner, BatchSeatReservationRequestDTO part) {
+        try {
+            if (isSelf(owner)) {
+                seatBookingService.releaseHolds(part);
+            } else {
+                clusterClient.post(owner, "/holds/release", part);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not release the holds on {} from {}", part.seatIds(), owner, e);
+        }
+    }
+
+    /**
+     * Regroupe les sièges par nœud propriétaire, dans un ordre stable.
+     */
+    private Map<String, BatchSeatReservationRequestDTO> partition(BatchSeatReservationRequestDTO request) {
+        Map<String, List<Long>> seatsByOwner = new TreeMap<>();
+        request.seatIds().stream().distinct().sorted().forEach(seatId ->
+                seatsByOwner.computeIfAbsent(clusterMembership.ownerOf(seatId), owner -> new ArrayList<>()).add(seatId));
+        Map<String, BatchSeatReservationRequestDTO> parts = new TreeMap<>();
+        seatsByOwner.forEach((owner, seatIds) ->
+                parts.put(owner, new BatchSeatReservationRequestDTO(request.userId(), seatIds)));
+        return parts;
+    }
+
+    private boolean isSelf(String node) {
+        return clusterMembership.self().equals(node);
+    }
+}
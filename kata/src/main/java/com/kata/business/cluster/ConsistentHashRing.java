@@ -0,0 +1,88 @@
+package com.kata.business.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Anneau de hachage cohérent attribuant chaque siège à un nœud du cluster.
+ * <p>
+ * Chaque nœud est projeté sur l'anneau en {@code virtualNodes} points ; un siège appartient
+ * au premier point rencontré après le hash de son id. Quand un nœud rejoint ou quitte le
+ * cluster, seuls les sièges des arcs concernés changent de propriétaire (environ 1/n).
+ * L'anneau est immuable : un changement de membres produit un nouvel anneau.
+ * </p>
+ */
+public final class ConsistentHashRing {
+
+    private final Set<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String node : this.nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                // en cas de collision, le plus petit nom de nœud l'emporte, quel que soit l'ordre d'insertion
+                ring.merge(hash(node + "#" + replica), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i] = point.getValue();
+            i++;
+        }
+    }
+
+    /**
+     * Nœud propriétaire d'un siège.
+     */
+    public String ownerOf(long seatId) {
+        if (points.length == 0) {
+            throw new IllegalStateException("The ring has no node");
+        }
+        int index = Arrays.binarySearch(points, mix(seatId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finaliseur de MurmurHash3 : répartit uniformément des ids séquentiels.
+     */
+    static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,69 @@
+package com.kata.business.cluster;
+
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.dto.HoldTransferDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cède au nouveau propriétaire les verrous dont ce nœud n'est plus responsable après un
+ * changement de l'anneau.
+ * <p>
+ * Les verrous sont envoyés par lot à chaque nouveau propriétaire, puis retirés localement une
+ * fois le transfert accepté. L'index local n'est pas rafraîchi : le siège reste verrouillé,
+ * et c'est désormais le nouveau propriétaire qui en diffuse les changements. Si le transfert
+ * échoue, les verrous restent ici et sont retentés au prochain changement de l'anneau.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class HoldRebalancer {
+
+    private final HoldStore holdStore;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final MillisClock clock;
+
+    @EventListener
+    public void onRingChanged(ClusterRingChangedEvent event) {
+        long now = clock.millis();
+        Map<String, List<HoldTransferDTO>> transfers = new TreeMap<>();
+        holdStore.forEach((seatId, hold) -> {
+            String owner = event.current().ownerOf(seatId);
+            if (!owner.equals(clusterMembership.self()) && hold.isActiveAt(now)) {
+                transfers.computeIfAbsent(owner, node -> new ArrayList<>())
+                        .add(new HoldTransferDTO(seatId, hold.userId(), hold.expiresAt()));
+            }
+        });
+        transfers.forEach(this::transfer);
+    }
+
+    private void transfer(String owner, List<HoldTransferDTO> holds) {
+        try {
+            clusterClient.post(owner, "/holds/transfer", holds);
+        } catch (RuntimeException e) {
+            log.warn("Could not hand {} holds over to {}", holds.size(), owner, e);
+            return;
+        }
+        for (HoldTransferDTO transfer : holds) {
+            if (holdStore.remove(transfer.seatId(), new SeatHold(transfer.userId(), transfer.expiresAt()))) {
+                holdExpiryWheel.cancel(transfer.seatId());
+            }
+        }
+        log.info("Handed {} holds over to {}", holds.size(), owner);
+    }
+}
@@ -0,0 +1,130 @@
+package com.kata.business.cluster;
+
+import com.kata.business.SeatBookingService;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relance la fin des ventes réparties que le nœud propriétaire des sièges n'a pas reçue.
+ * <p>
+ * Les sièges sont déjà vendus en base, mais tant que leur propriétaire n'a pas retiré les
+ * verrous et marqué les sièges vendus dans son index, l'expiration d'un verrou y rendrait le
+ * siège disponible, et le relais diffuserait cette disponibilité fantôme à tout le cluster.
+ * Chaque fin de vente en échec est donc renvoyée, toutes les
+ * {@code app.cluster.completion-retry-interval}, au nœud qui possède alors chaque siège,
+ * jusqu'à être acquittée. La file est bornée par {@code app.cluster.relay-buffer-size} : si
+ * elle est pleine, la fin de vente est abandonnée et journalisée en erreur.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class SaleCompletionRetry implements SmartLifecycle {
+
+    private final SeatBookingService seatBookingService;
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final Duration retryInterval;
+    private final BlockingQueue<BatchSeatReservationRequestDTO> pending;
+
+    private volatile Thread retrier;
+
+    public SaleCompletionRetry(SeatBookingService seatBookingService,
+                               ClusterMembership clusterMembership,
+                               ClusterClient clusterClient,
+                               @Value("${app.cluster.completion-retry-interval:1s}") Duration retryInterval,
+                               @Value("${app.cluster.relay-buffer-size:65536}") int bufferSize) {
+        this.seatBookingService = seatBookingService;
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
+        this.retryInterval = retryInterval;
+        this.pending = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * Programme la fin de vente de sièges vendus en base, pour un utilisateur.
+     */
+    public void schedule(BatchSeatReservationRequestDTO sale) {
+        if (!pending.offer(sale)) {
+            log.error("Sale completion retry queue full, seats {} stay held by their owner until their holds expire", sale.seatIds());
+        }
+    }
+
+    /**
+     * Renvoie une fois chaque fin de vente en attente ; celles qui échouent encore restent en file.
+     */
+    void retryPending() {
+        List<BatchSeatReservationRequestDTO> sales = new ArrayList<>();
+        pending.drainTo(sales);
+        for (BatchSeatReservationRequestDTO sale : sales) {
+            List<Long> failed = new ArrayList<>();
+            partition(sale).forEach((owner, part) -> {
+                try {
+                    if (clusterMembership.self().equals(owner)) {
+                        seatBookingService.completeSale(part);
+                    } else {
+                        clusterClient.post(owner, "/holds/complete", part);
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("Could not complete the sale of {} on {}, retrying", part.seatIds(), owner, e);
+                    failed.addAll(part.seatIds());
+                }
+            });
+            if (!failed.isEmpty()) {
+                schedule(new BatchSeatReservationRequestDTO(sale.userId(), failed));
+            }
+        }
+    }
+
+    private Map<String, BatchSeatReservationRequestDTO> partition(BatchSeatReservationRequestDTO sale) {
+        Map<String, List<Long>> seatsByOwner = new TreeMap<>();
+        sale.seatIds().forEach(seatId ->
+                seatsByOwner.computeIfAbsent(clusterMembership.ownerOf(seatId), owner -> new ArrayList<>()).add(seatId));
+        Map<String, BatchSeatReservationRequestDTO> parts = new TreeMap<>();
+        seatsByOwner.forEach((owner, seatIds) -> parts.put(owner, new BatchSeatReservationRequestDTO(sale.userId(), seatIds)));
+        return parts;
+    }
+
+    private void run() {
+        while (retrier != null) {
+            LockSupport.parkNanos(this, retryInterval.toNanos());
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            retryPending();
+        }
+    }
+
+    @Override
+    public void start() {
+        retrier = Thread.ofPlatform().name("cluster-sale-completion-retry").daemon().unstarted(this::run);
+        retrier.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = retrier;
+        retrier = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return retrier != null;
+    }
+}
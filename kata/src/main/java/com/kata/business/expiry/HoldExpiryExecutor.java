@@ -0,0 +1,17 @@
+package com.kata.business.expiry;
+
+/**
+ * Contexte d'exécution des expirations de verrous déclenchées par {@link HoldExpiryWheel}.
+ * <p>
+ * Par défaut, l'expiration est exécutée directement par le thread de la roue. Un mode
+ * d'exécution peut la confier à l'acteur responsable du siège, pour qu'un seul thread
+ * modifie l'état de ses sièges.
+ * </p>
+ */
+@FunctionalInterface
+public interface HoldExpiryExecutor {
+
+    HoldExpiryExecutor DIRECT = (seatId, expiry) -> expiry.run();
+
+    void execute(Long seatId, Runnable expiry);
+}
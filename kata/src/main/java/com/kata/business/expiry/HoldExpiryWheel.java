@@ -0,0 +1,329 @@
+package com.kata.business.expiry;
+
+import com.kata.business.clock.MillisClock;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.models.SeatHold;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Moteur d'expiration des verrous de sièges, basé sur une roue temporelle hachée
+ * pilotée par un unique thread.
+ * <p>
+ * Chaque verrou posé est programmé dans la case correspondant à son échéance, avec un
+ * nombre de tours restants lorsque l'échéance dépasse une révolution de la roue.
+ * L'insertion et l'annulation sont en O(1) : les appelants ne font qu'empiler dans une
+ * file sans verrou, et seul le thread de la roue manipule les cases.
+ * </p>
+ * <p>
+ * À échéance, le verrou est retiré du cache s'il n'a pas été remplacé entre-temps et un
+ * {@link SeatHoldExpiredEvent} est publié pour remettre le siège à disposition.
+ * </p>
+ */
+@Slf4j
+@Component
+public class HoldExpiryWheel implements SmartLifecycle {
+
+    private final HoldStore holdStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MillisClock clock;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Supplier<HoldExpiryExecutor> expiryExecutorSupplier;
+
+    private final Map<Long, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger dueTimeouts = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+
+    private volatile HoldExpiryExecutor expiryExecutor = HoldExpiryExecutor.DIRECT;
+    private volatile Thread worker;
+    private long tick;
+
+    public HoldExpiryWheel(HoldStore holdStore,
+                           ApplicationEventPublisher eventPublisher,
+                           Duration tickDuration,
+                           int wheelSize) {
+        this(holdStore, eventPublisher, MillisClock.SYSTEM, tickDuration, wheelSize, () -> HoldExpiryExecutor.DIRECT);
+    }
+
+    @Autowired
+    public HoldExpiryWheel(HoldStore holdStore,
+                           ApplicationEventPublisher eventPublisher,
+                           MillisClock clock,
+                           @Value("${app.holds.expiry.tick:100ms}") Duration tickDuration,
+                           @Value("${app.holds.expiry.wheel-size:1024}") int wheelSize,
+                           ObjectProvider<HoldExpiryExecutor> expiryExecutor) {
+        this(holdStore, eventPublisher, clock, tickDuration, wheelSize,
+                () -> expiryExecutor.getIfAvailable(() -> HoldExpiryExecutor.DIRECT));
+    }
+
+    private HoldExpiryWheel(HoldStore holdStore,
+                            ApplicationEventPublisher eventPublisher,
+                            MillisClock clock,
+                            Duration tickDuration,
+                            int wheelSize,
+                            Supplier<HoldExpiryExecutor> expiryExecutorSupplier) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a positive power of two");
+        }
+        this.holdStore = holdStore;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.expiryExecutorSupplier = expiryExecutorSupplier;
+    }
+
+    /**
+     * Programme l'expiration d'un verrou. Un éventuel verrou précédemment programmé
+     * pour le même siège est annulé.
+     */
+    public void schedule(Long seatId, SeatHold hold) {
+        long delay = TimeUnit.MILLISECONDS.toNanos(hold.expiresAt() - clock.millis());
+        Timeout timeout = new Timeout(seatId, hold, System.nanoTime() - startTime + Math.max(delay, 0));
+        Timeout previous = timeouts.put(seatId, timeout);
+        if (previous != null) {
+            cancel(previous);
+        }
+        pendingTimeouts.add(timeout);
+    }
+
+    /**
+     * Annule l'expiration programmée pour un siège, typiquement après la confirmation du paiement.
+     */
+    public void cancel(Long seatId) {
+        Timeout timeout = timeouts.remove(seatId);
+        if (timeout != null) {
+            cancel(timeout);
+        }
+    }
+
+    /**
+     * Expire immédiatement un verrou déjà échu, sans attendre le passage de la roue.
+     *
+     * @return {@code true} si le verrou était encore présent dans le cache
+     */
+    public boolean expire(Long seatId, SeatHold hold) {
+        Timeout timeout = timeouts.get(seatId);
+        if (timeout != null && timeout.hold.equals(hold) && timeouts.remove(seatId, timeout)) {
+            cancel(timeout);
+        }
+        if (!holdStore.remove(seatId, hold)) {
+            return false;
+        }
+        eventPublisher.publishEvent(new SeatHoldExpiredEvent(seatId, hold));
+        return true;
+    }
+
+    /**
+     * Nombre d'expirations programmées et non encore traitées.
+     */
+    public int scheduledCount() {
+        return timeouts.size();
+    }
+
+    /**
+     * Nombre de verrous arrivés à échéance, confiés à l'exécuteur d'expiration et pas encore
+     * retirés du cache. Tenu par la roue, il se lit sans parcourir le cache.
+     */
+    public int dueCount() {
+        return dueTimeouts.get();
+    }
+
+    @Override
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            expiryExecutor = expiryExecutorSupplier.get();
+            holdStore.forEach(this::schedule);
+            worker = Thread.ofPlatform().name("hold-expiry-wheel").daemon().start(this::run);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            Thread thread = worker;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void cancel(Timeout timeout) {
+        timeout.cancelled = true;
+        cancelledTimeouts.add(timeout);
+    }
+
+    private void run() {
+        while (running.get()) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            processCancelledTimeouts();
+            transferPendingTimeouts();
+            expireBucket(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (running.get()) {
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep <= 0) {
+                return deadline;
+            }
+            LockSupport.parkNanos(this, sleep);
+        }
+        return -1;
+    }
+
+    private void processCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(Bucket bucket, long deadline) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                bucket.remove(timeout);
+                if (!timeout.cancelled && timeouts.remove(timeout.seatId, timeout)) {
+                    fire(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        AtomicBoolean done = new AtomicBoolean();
+        dueTimeouts.incrementAndGet();
+        try {
+            expiryExecutor.execute(timeout.seatId, () -> {
+                try {
+                    if (holdStore.remove(timeout.seatId, timeout.hold)) {
+                        eventPublisher.publishEvent(new SeatHoldExpiredEvent(timeout.seatId, timeout.hold));
+                    }
+                } finally {
+                    if (done.compareAndSet(false, true)) {
+                        dueTimeouts.decrementAndGet();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            if (done.compareAndSet(false, true)) {
+                dueTimeouts.decrementAndGet();
+            }
+            log.error("Failed to expire hold on seat {}", timeout.seatId, e);
+        }
+    }
+
+    private static final class Timeout {
+        final Long seatId;
+        final SeatHold hold;
+        final long deadline;
+
+        volatile boolean cancelled;
+        long remainingRounds;
+        Bucket bucket;
+        Timeout prev;
+        Timeout next;
+
+        Timeout(Long seatId, SeatHold hold, long deadline) {
+            this.seatId = seatId;
+            this.hold = hold;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Liste doublement chaînée des échéances d'une case, manipulée uniquement par le thread de la roue.
+     */
+    private static final class Bucket {
+        Timeout head;
+        Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.kata.business.expiry;
+
+import com.kata.business.models.SeatHold;
+
+/**
+ * Publié lorsqu'un verrou arrive à échéance et a été retiré du cache : le siège redevient disponible.
+ */
+public record SeatHoldExpiredEvent(Long seatId, SeatHold hold) {}
@@ -0,0 +1,108 @@
+package com.kata.business.feed;
+
+import com.kata.business.availability.SeatTransitionListener;
+import com.kata.dto.SeatTransitionDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Flux des changements de disponibilité des sièges, par événement.
+ * <p>
+ * Les dernières transitions de chaque événement sont conservées dans un tampon circulaire
+ * borné, ce qui permet à un client de reprendre à partir de la dernière version reçue.
+ * La publication ne bloque jamais le chemin de réservation : chaque abonné dispose d'une
+ * file bornée et un abonné trop lent est décroché plutôt que de ralentir les producteurs.
+ * </p>
+ * <p>
+ * Chaque flux garde un historique de taille fixe : l'appelant de {@link #subscribe} doit
+ * avoir vérifié que l'événement existe, faute de quoi n'importe quel id créerait un flux.
+ * </p>
+ */
+@Component
+public class SeatChangeFeed implements SeatTransitionListener {
+
+    private final int historySize;
+    private final int subscriberBufferSize;
+    private final Map<Long, EventFeed> feeds = new ConcurrentHashMap<>();
+
+    public SeatChangeFeed(@Value("${app.events.feed.history-size:1024}") int historySize,
+                          @Value("${app.events.feed.subscriber-buffer-size:1024}") int subscriberBufferSize) {
+        this.historySize = historySize;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    @Override
+    public void onTransition(Long eventId, SeatTransitionDTO transition) {
+        feeds.computeIfAbsent(eventId, id -> new EventFeed(historySize)).publish(transition);
+    }
+
+    /**
+     * Abonne un client aux transitions d'un événement.
+     *
+     * @param fromVersion dernière version connue du client, ou {@code null} pour ne recevoir
+     *                    que les transitions à venir. Si cette version n'est plus couverte par
+     *                    l'historique, ou si elle dépasse la dernière version publiée (versions
+     *                    renumérotées depuis un redémarrage), l'abonnement est immédiatement
+     *                    marqué à resynchroniser.
+     */
+    public SeatTransitionSubscription subscribe(Long eventId, Long fromVersion) {
+        SeatTransitionSubscription subscription = new SeatTransitionSubscription(subscriberBufferSize);
+        EventFeed feed = feeds.computeIfAbsent(eventId, id -> new EventFeed(historySize));
+        feed.subscribe(subscription, fromVersion);
+        subscription.onClose(() -> feed.unsubscribe(subscription));
+        return subscription;
+    }
+
+    private static final class EventFeed {
+        /** Version d'un événement tout juste chargé dans l'index, avant toute transition. */
+        private static final long INITIAL_VERSION = 1;
+
+        private final SeatTransitionDTO[] history;
+        private final List<SeatTransitionSubscription> subscribers = new CopyOnWriteArrayList<>();
+        private int head;
+        private int size;
+
+        EventFeed(int historySize) {
+            this.history = new SeatTransitionDTO[historySize];
+        }
+
+        synchronized void publish(SeatTransitionDTO transition) {
+            history[(head + size) % history.length] = transition;
+            if (size < history.length) {
+                size++;
+            } else {
+                head = (head + 1) % history.length;
+            }
+            for (SeatTransitionSubscription subscriber : subscribers) {
+                subscriber.offer(transition);
+            }
+        }
+
+        synchronized void subscribe(SeatTransitionSubscription subscription, Long fromVersion) {
+            if (fromVersion != null) {
+                long oldest = size > 0 ? history[head].version() : INITIAL_VERSION + 1;
+                long latest = size > 0 ? history[(head + size - 1) % history.length].version() : INITIAL_VERSION;
+                if (fromVersion < oldest - 1 || fromVersion > latest) {
+                    subscription.requireResync();
+                } else {
+                    for (int i = 0; i < size; i++) {
+                        SeatTransitionDTO transition = history[(head + i) % history.length];
+                        if (transition.version() > fromVersion) {
+                            subscription.offer(transition);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscription);
+        }
+
+        void unsubscribe(SeatTransitionSubscription subscription) {
+            subscribers.remove(subscription);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kata.business.feed;
+
+import com.kata.dto.SeatTransitionDTO;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abonnement d'un client au {@link SeatChangeFeed}.
+ * <p>
+ * Le producteur n'utilise que {@link #offer(SeatTransitionDTO)}, qui ne bloque jamais : si la
+ * file du client est pleine, l'abonnement passe en état « à resynchroniser » et n'accumule plus
+ * rien. Le consommateur doit alors recharger la liste complète puis se réabonner.
+ * </p>
+ */
+public class SeatTransitionSubscription implements AutoCloseable {
+
+    private final BlockingQueue<SeatTransitionDTO> queue;
+    private volatile boolean resyncRequired;
+    private volatile boolean closed;
+    private volatile Runnable closeHandler = () -> {};
+
+    SeatTransitionSubscription(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    void offer(SeatTransitionDTO transition) {
+        if (resyncRequired || closed) {
+            return;
+        }
+        if (!queue.offer(transition)) {
+            requireResync();
+        }
+    }
+
+    void requireResync() {
+        resyncRequired = true;
+        queue.clear();
+    }
+
+    void onClose(Runnable closeHandler) {
+        this.closeHandler = closeHandler;
+        if (closed) {
+            closeHandler.run();
+        }
+    }
+
+    /**
+     * Attend la prochaine transition.
+     *
+     * @return la transition, ou {@code null} si rien n'est arrivé dans le délai
+     */
+    public SeatTransitionDTO poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Indique que des transitions ont été perdues : le client doit recharger l'état complet.
+     */
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            queue.clear();
+            closeHandler.run();
+        }
+    }
+}
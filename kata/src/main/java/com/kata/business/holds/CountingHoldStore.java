@@ -0,0 +1,94 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Décorateur de {@link HoldStore} tenant le nombre de verrous actifs par utilisateur.
+ * <p>
+ * Le compteur est mis à jour à chaque pose, remplacement ou retrait effectif, quel qu'en soit
+ * l'auteur (réservation, vente, expiration, transfert entre nœuds). Un utilisateur sans verrou
+ * n'occupe aucune entrée : la mémoire est bornée par le nombre de verrous actifs.
+ * </p>
+ */
+public class CountingHoldStore implements HoldStore, AutoCloseable {
+
+    private final HoldStore delegate;
+    private final Map<Long, Integer> holdsByUser = new ConcurrentHashMap<>();
+
+    public CountingHoldStore(HoldStore delegate) {
+        this.delegate = delegate;
+        delegate.forEach((seatId, hold) -> count(hold.userId(), 1));
+    }
+
+    /**
+     * Nombre de sièges actuellement verrouillés par un utilisateur, verrous échus non encore retirés compris.
+     */
+    public int heldBy(Long userId) {
+        return holdsByUser.getOrDefault(userId, 0);
+    }
+
+    @Override
+    public SeatHold get(Long seatId) {
+        return delegate.get(seatId);
+    }
+
+    @Override
+    public SeatHold putIfAbsent(Long seatId, SeatHold hold) {
+        SeatHold existing = delegate.putIfAbsent(seatId, hold);
+        if (existing == null) {
+            count(hold.userId(), 1);
+        }
+        return existing;
+    }
+
+    @Override
+    public boolean replace(Long seatId, SeatHold expected, SeatHold hold) {
+        boolean replaced = delegate.replace(seatId, expected, hold);
+        if (replaced && !Objects.equals(expected.userId(), hold.userId())) {
+            count(expected.userId(), -1);
+            count(hold.userId(), 1);
+        }
+        return replaced;
+    }
+
+    @Override
+    public boolean remove(Long seatId, SeatHold hold) {
+        boolean removed = delegate.remove(seatId, hold);
+        if (removed) {
+            count(hold.userId(), -1);
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<Long, SeatHold> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void count(Long userId, int delta) {
+        if (userId == null) {
+            return;
+        }
+        holdsByUser.compute(userId, (id, current) -> {
+            int count = (current == null ? 0 : current) + delta;
+            return count <= 0 ? null : count;
+        });
+    }
+}
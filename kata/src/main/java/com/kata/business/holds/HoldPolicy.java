@@ -0,0 +1,92 @@
+package com.kata.business.holds;
+
+import com.kata.business.clock.MillisClock;
+import com.kata.dao.EventRepository;
+import com.kata.dao.entities.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durée des verrous, par événement.
+ * <p>
+ * Un événement peut fixer sa propre durée ({@code hold_duration_seconds}) ; à défaut, celle
+ * de {@code app.holds.duration} s'applique. La durée d'un événement est lue une seule fois,
+ * au premier verrou posé sur l'un de ses sièges : le chemin de réservation ne fait ensuite
+ * qu'une recherche dans une table et une addition sur l'horloge des verrous. Les événements
+ * existants sont chargés dès le démarrage, pour que les services réactifs ne bloquent pas
+ * leur thread sur cette première lecture ; pour les suivants, {@link #isLoaded(Long)} leur
+ * permet de la faire hors de la boucle d'événements.
+ * </p>
+ */
+@Component
+public class HoldPolicy {
+
+    private final EventRepository eventRepository;
+    private final MillisClock clock;
+    private final long defaultMillis;
+
+    private final Map<Long, Long> durations = new ConcurrentHashMap<>();
+
+    public HoldPolicy(EventRepository eventRepository,
+                      MillisClock clock,
+                      @Value("${app.holds.duration:10m}") Duration defaultDuration) {
+        if (defaultDuration.isNegative() || defaultDuration.isZero()) {
+            throw new IllegalArgumentException("app.holds.duration must be positive");
+        }
+        this.eventRepository = eventRepository;
+        this.clock = clock;
+        this.defaultMillis = defaultDuration.toMillis();
+    }
+
+    /**
+     * Charge la durée des verrous de tous les événements existants.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        eventRepository.findAll().forEach(event -> durations.putIfAbsent(event.getId(), durationMillis(event)));
+    }
+
+    /**
+     * Échéance, en millisecondes depuis l'époque Unix, d'un verrou posé maintenant sur un
+     * siège de l'événement.
+     */
+    public long expiresAt(Long eventId) {
+        return clock.millis() + durationMillis(eventId);
+    }
+
+    /**
+     * Indique si la durée des verrous de l'événement est connue, et donc lue sans accès à la base.
+     */
+    public boolean isLoaded(Long eventId) {
+        return eventId == null || durations.containsKey(eventId);
+    }
+
+    /**
+     * Durée des verrous de l'événement, en millisecondes.
+     */
+    public long durationMillis(Long eventId) {
+        if (eventId == null) {
+            return defaultMillis;
+        }
+        Long duration = durations.get(eventId);
+        if (duration != null) {
+            return duration;
+        }
+        long loaded = eventRepository.findById(eventId)
+                .map(this::durationMillis)
+                .orElse(defaultMillis);
+        durations.putIfAbsent(eventId, loaded);
+        return loaded;
+    }
+
+    private long durationMillis(Event event) {
+        Integer seconds = event.getHoldDurationSeconds();
+        return seconds != null ? seconds * 1000L : defaultMillis;
+    }
+}
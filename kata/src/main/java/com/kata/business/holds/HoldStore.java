@@ -0,0 +1,38 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Stockage des verrous temporaires posés sur les sièges, indexés par id de siège.
+ * <p>
+ * Les opérations conditionnelles ({@link #putIfAbsent}, {@link #replace}, {@link #remove})
+ * sont atomiques par siège : elles servent de compare-and-set pour l'acquisition d'un siège.
+ * </p>
+ */
+public interface HoldStore {
+
+    SeatHold get(Long seatId);
+
+    /**
+     * Pose le verrou si aucun verrou n'existe pour ce siège.
+     *
+     * @return le verrou déjà présent, ou {@code null} si le verrou a été posé
+     */
+    SeatHold putIfAbsent(Long seatId, SeatHold hold);
+
+    /**
+     * Remplace le verrou du siège s'il est toujours égal à {@code expected}.
+     */
+    boolean replace(Long seatId, SeatHold expected, SeatHold hold);
+
+    /**
+     * Retire le verrou du siège s'il est toujours égal à {@code hold}.
+     */
+    boolean remove(Long seatId, SeatHold hold);
+
+    int size();
+
+    void forEach(BiConsumer<Long, SeatHold> action);
+}
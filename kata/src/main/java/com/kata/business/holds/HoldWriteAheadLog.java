@@ -0,0 +1,301 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Journal d'écriture anticipée des verrous, dans un fichier projeté en mémoire.
+ * <p>
+ * Chaque pose ou retrait de verrou est un enregistrement de taille fixe, écrit à un offset
+ * réservé par incrément atomique : les écrivains concurrents ne se bloquent pas entre eux.
+ * Les pages écrites appartiennent au noyau et survivent à l'arrêt du processus ; un thread
+ * dédié les force sur disque à intervalle régulier, ce qui regroupe en un seul {@code fsync}
+ * toutes les écritures de l'intervalle (group commit) sans que le chemin critique n'attende.
+ * </p>
+ * <p>
+ * Lorsque le fichier est plein, il est compacté : les verrous vivants sont réécrits dans un
+ * nouveau fichier qui remplace l'ancien par renommage atomique.
+ * </p>
+ */
+@Slf4j
+public class HoldWriteAheadLog implements AutoCloseable {
+
+    static final int RECORD_SIZE = 32;
+    static final int HOLD = 1;
+    static final int RELEASE = 2;
+
+    /** Nombre d'emplacements vides consécutifs au-delà duquel la relecture s'arrête. */
+    private static final int MAX_EMPTY_SLOTS = 1024;
+
+    private final Path path;
+    private final int capacity;
+    private final Duration flushInterval;
+    private final Consumer<BiConsumer<Long, SeatHold>> liveHolds;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger position = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int flushedPosition;
+
+    /**
+     * @param liveHolds parcourt les verrous vivants, utilisé pour compacter le journal
+     */
+    public HoldWriteAheadLog(Path path, int capacity, Duration flushInterval,
+                             Consumer<BiConsumer<Long, SeatHold>> liveHolds) throws IOException {
+        if (capacity < RECORD_SIZE) {
+            throw new IllegalArgumentException("capacity must hold at least one record");
+        }
+        this.path = path;
+        this.capacity = capacity - capacity % RECORD_SIZE;
+        this.flushInterval = flushInterval;
+        this.liveHolds = liveHolds;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+        this.flusher = Thread.ofPlatform().name("hold-wal-flusher").daemon().start(this::flushLoop);
+    }
+
+    /**
+     * Relit le journal dans l'ordre d'écriture, puis ouvre les écritures à sa suite.
+     * Les emplacements incomplets (processus arrêté au milieu d'une écriture) sont ignorés.
+     *
+     * @param visitor reçoit le type d'enregistrement ({@link #HOLD} ou {@link #RELEASE}), le siège et le verrou
+     * @return le nombre d'enregistrements relus
+     */
+    public int replay(HoldRecordVisitor visitor) {
+        int records = 0;
+        int end = 0;
+        int emptySlots = 0;
+        for (int offset = 0; offset + RECORD_SIZE <= capacity && emptySlots < MAX_EMPTY_SLOTS; offset += RECORD_SIZE) {
+            int type = buffer.getInt(offset + 24);
+            if (type == 0) {
+                emptySlots++;
+                continue;
+            }
+            emptySlots = 0;
+            end = offset + RECORD_SIZE;
+            long seatId = buffer.getLong(offset);
+            long userId = buffer.getLong(offset + 8);
+            long expiresAt = buffer.getLong(offset + 16);
+            if (buffer.getInt(offset + 28) != checksum(seatId, userId, expiresAt, type)) {
+                continue;
+            }
+            visitor.visit(type, seatId, new SeatHold(userId, expiresAt));
+            records++;
+        }
+        position.set(end);
+        return records;
+    }
+
+    /**
+     * Journalise un enregistrement puis applique la modification correspondante avant de rendre
+     * la main à une éventuelle compaction : celle-ci voit l'état antérieur sans l'enregistrement,
+     * ou l'état modifié, jamais l'enregistrement sans la modification.
+     *
+     * @param type {@link #HOLD} ou {@link #RELEASE}
+     * @param apply la modification de l'état en mémoire
+     */
+    public void append(int type, long seatId, long userId, long expiresAt, Runnable apply) {
+        while (true) {
+            lock.readLock().lock();
+            try {
+                int offset = position.getAndAdd(RECORD_SIZE);
+                if (offset >= 0 && offset + RECORD_SIZE <= capacity) {
+                    write(buffer, offset, type, seatId, userId, expiresAt);
+                    if (apply != null) {
+                        apply.run();
+                    }
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            compactIfFull();
+        }
+    }
+
+    /**
+     * Applique une modification sous le verrou partagé du journal, pour un stockage qui journalise
+     * depuis sa propre section critique par siège : la modification appelle {@link #tryAppend}
+     * au moment où elle décide de changer l'état, et le changement est visible avant que le verrou
+     * ne soit rendu. Une compaction ne peut donc pas s'intercaler entre les deux.
+     * <p>
+     * Si le journal était plein, l'enregistrement n'est pas écrit, mais la compaction lancée
+     * ensuite recopie l'état modifié.
+     * </p>
+     */
+    public <T> T modify(Supplier<T> modification) {
+        T result;
+        lock.readLock().lock();
+        try {
+            result = modification.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+        int current = position.get();
+        if (current < 0 || current > capacity) {
+            compactIfFull();
+        }
+        return result;
+    }
+
+    /**
+     * Écrit un enregistrement si le journal a encore de la place. À n'appeler que depuis
+     * {@link #modify}, qui détient le verrou partagé.
+     *
+     * @param type {@link #HOLD} ou {@link #RELEASE}
+     * @return {@code false} si le journal est plein
+     */
+    boolean tryAppend(int type, long seatId, long userId, long expiresAt) {
+        int offset = position.getAndAdd(RECORD_SIZE);
+        if (offset >= 0 && offset + RECORD_SIZE <= capacity) {
+            write(buffer, offset, type, seatId, userId, expiresAt);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Réécrit le journal avec les seuls verrous vivants et non expirés.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            int end = 0;
+            try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer targetBuffer = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                long now = System.currentTimeMillis();
+                int[] offset = {0};
+                liveHolds.accept((seatId, hold) -> {
+                    if (hold.isActiveAt(now)) {
+                        if (offset[0] + RECORD_SIZE > capacity) {
+                            throw new IllegalStateException("Hold log capacity too small for the live holds");
+                        }
+                        write(targetBuffer, offset[0], HOLD, seatId, hold.userId(), hold.expiresAt());
+                        offset[0] += RECORD_SIZE;
+                    }
+                });
+                targetBuffer.force();
+                end = offset[0];
+            }
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel.close();
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            position.set(end);
+            flushedPosition = end;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact hold log " + path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Taille occupée par les enregistrements, en octets.
+     */
+    public int size() {
+        return Math.min(position.get(), capacity);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (running.compareAndSet(true, false)) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(flushInterval.toMillis() * 10 + 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lock.writeLock().lock();
+            try {
+                buffer.force();
+                channel.close();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void compactIfFull() {
+        lock.writeLock().lock();
+        try {
+            int current = position.get();
+            if (current < 0 || current + RECORD_SIZE > capacity) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running.get()) {
+            LockSupport.parkNanos(this, flushInterval.toNanos());
+            flush();
+        }
+    }
+
+    private void flush() {
+        lock.readLock().lock();
+        try {
+            int current = size();
+            if (current != flushedPosition) {
+                buffer.force();
+                flushedPosition = current;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to flush hold log {}", path, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void write(MappedByteBuffer target, int offset, int type, long seatId, long userId, long expiresAt) {
+        target.putLong(offset, seatId);
+        target.putLong(offset + 8, userId);
+        target.putLong(offset + 16, expiresAt);
+        target.putInt(offset + 24, type);
+        target.putInt(offset + 28, checksum(seatId, userId, expiresAt, type));
+    }
+
+    private static int checksum(long seatId, long userId, long expiresAt, int type) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = (hash ^ seatId) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ userId) * 0x94D049BB133111EBL;
+        hash = (hash ^ expiresAt) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ type) * 0x94D049BB133111EBL;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface HoldRecordVisitor {
+        void visit(int type, Long seatId, SeatHold hold);
+    }
+}
@@ -0,0 +1,141 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Stockage des verrous en mémoire, optionnellement journalisé dans un {@link HoldWriteAheadLog}.
+ * <p>
+ * Avec un journal, chaque modification est journalisée dans la section critique de l'entrée
+ * du siège, le tout sous le verrou partagé du journal ({@link HoldWriteAheadLog#modify}) :
+ * pour un même siège, l'ordre des enregistrements est celui des modifications, et une
+ * compaction voit chaque modification avec son enregistrement ou ni l'une ni l'autre. La
+ * relecture reconstruit ainsi le dernier état. Au démarrage, le journal est relu, les verrous
+ * expirés sont écartés, puis le journal est compacté.
+ * </p>
+ */
+@Slf4j
+public class InMemoryHoldStore implements HoldStore, AutoCloseable {
+
+    private final ConcurrentHashMap<Long, SeatHold> holds = new ConcurrentHashMap<>();
+    private final HoldWriteAheadLog writeAheadLog;
+
+    /**
+     * Stockage purement en mémoire, sans journal.
+     */
+    public InMemoryHoldStore() {
+        this.writeAheadLog = null;
+    }
+
+    /**
+     * Stockage journalisé : le journal est ouvert et relu immédiatement.
+     *
+     * @param capacity taille du fichier de journal, en octets
+     * @param flushInterval intervalle entre deux écritures forcées sur disque
+     */
+    public InMemoryHoldStore(Path logPath, int capacity, Duration flushInterval) throws IOException {
+        this.writeAheadLog = new HoldWriteAheadLog(logPath, capacity, flushInterval, holds::forEach);
+        recover();
+    }
+
+    @Override
+    public SeatHold get(Long seatId) {
+        return holds.get(seatId);
+    }
+
+    @Override
+    public SeatHold putIfAbsent(Long seatId, SeatHold hold) {
+        if (writeAheadLog == null) {
+            return holds.putIfAbsent(seatId, hold);
+        }
+        return writeAheadLog.modify(() -> {
+            SeatHold[] existing = new SeatHold[1];
+            holds.compute(seatId, (id, current) -> {
+                if (current != null) {
+                    existing[0] = current;
+                    return current;
+                }
+                writeAheadLog.tryAppend(HoldWriteAheadLog.HOLD, id, hold.userId(), hold.expiresAt());
+                return hold;
+            });
+            return existing[0];
+        });
+    }
+
+    @Override
+    public boolean replace(Long seatId, SeatHold expected, SeatHold hold) {
+        if (writeAheadLog == null) {
+            return holds.replace(seatId, expected, hold);
+        }
+        return writeAheadLog.modify(() -> {
+            boolean[] replaced = new boolean[1];
+            holds.computeIfPresent(seatId, (id, current) -> {
+                if (!current.equals(expected)) {
+                    return current;
+                }
+                writeAheadLog.tryAppend(HoldWriteAheadLog.HOLD, id, hold.userId(), hold.expiresAt());
+                replaced[0] = true;
+                return hold;
+            });
+            return replaced[0];
+        });
+    }
+
+    @Override
+    public boolean remove(Long seatId, SeatHold hold) {
+        if (writeAheadLog == null) {
+            return holds.remove(seatId, hold);
+        }
+        return writeAheadLog.modify(() -> {
+            boolean[] removed = new boolean[1];
+            holds.computeIfPresent(seatId, (id, current) -> {
+                if (!current.equals(hold)) {
+                    return current;
+                }
+                writeAheadLog.tryAppend(HoldWriteAheadLog.RELEASE, id, hold.userId(), hold.expiresAt());
+                removed[0] = true;
+                return null;
+            });
+            return removed[0];
+        });
+    }
+
+    @Override
+    public int size() {
+        return holds.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<Long, SeatHold> action) {
+        holds.forEach(action);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    private void recover() {
+        long start = System.nanoTime();
+        int records = writeAheadLog.replay((type, seatId, hold) -> {
+            if (type == HoldWriteAheadLog.HOLD) {
+                holds.put(seatId, hold);
+            } else {
+                holds.remove(seatId, hold);
+            }
+        });
+        long now = System.currentTimeMillis();
+        holds.values().removeIf(hold -> !hold.isActiveAt(now));
+        writeAheadLog.compact();
+        log.info("Hold store recovered {} active holds from {} log records in {} ms",
+                holds.size(), records, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,21 @@
+package com.kata.business.holds;
+
+import com.kata.business.expiry.SeatHoldExpiredEvent;
+import com.kata.business.models.SeatHold;
+
+/**
+ * Reçoit les poses, retraits et ventes appliqués par {@link SeatHolds}, une fois l'état modifié.
+ * <p>
+ * Les expirations passent par le {@link SeatHoldExpiredEvent} publié par la roue d'expiration.
+ * Les notifications sont faites par le thread de la requête : une implémentation ne doit
+ * jamais bloquer.
+ * </p>
+ */
+public interface SeatActivityListener {
+
+    void onHold(Long seatId, SeatHold hold);
+
+    void onRelease(Long seatId, SeatHold hold);
+
+    void onSale(Long seatId, Long userId);
+}
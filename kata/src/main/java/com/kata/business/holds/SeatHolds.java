@@ -0,0 +1,246 @@
+package com.kata.business.holds;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.models.SeatHold;
+import com.kata.business.models.SeatState;
+import com.kata.business.sales.PendingSales;
+import com.kata.dto.HoldTransferDTO;
+import com.kata.dto.SeatHoldFailureDTO;
+import com.kata.enums.SeatHoldFailureReason;
+import com.kata.enums.SeatStatus;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.ReservationExpiredException;
+import com.kata.exceptions.SeatAlreadyHoldByAnotherUserException;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotAvailableException;
+import com.kata.exceptions.SeatNotHoldException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logique des verrous de sièges, commune aux services de réservation quel que soit leur accès
+ * à la base : pose, vérification et retrait des verrous dans le {@link HoldStore}, programmation
+ * de leur expiration et mise à jour de l'index de disponibilité.
+ * <p>
+ * Aucune méthode n'accède à la base ni ne bloque : l'état des sièges est lu par l'appelant,
+ * puis passé sous forme de {@link SeatState}. Chaque pose, retrait ou vente est ensuite
+ * notifié aux {@link SeatActivityListener}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatHolds {
+
+    private final HoldStore holdStore;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final MillisClock clock;
+    private final HoldPolicy holdPolicy;
+    private final PendingSales pendingSales;
+    private final List<SeatActivityListener> activityListeners;
+
+    /**
+     * Refuse d'emblée un siège déjà verrouillé, avant toute lecture en base.
+     */
+    public void checkNotHeld(Long seatId) {
+        if (isActive(holdStore.get(seatId), clock.millis())) {
+            throw new SeatNotAvailableException("Seat already locked");
+        }
+    }
+
+    /**
+     * Verrouille un siège existant pour l'utilisateur, pour la durée fixée par son événement.
+     * Un siège vendu dont la vente n'est pas encore écrite en base est refusé comme s'il l'était.
+     */
+    public void hold(SeatState seat, Long userId) {
+        if (isSold(seat)) {
+            throw new SeatAlreadySoldException("Seat is already sold.");
+        }
+        SeatHold newHold = new SeatHold(userId, holdPolicy.expiresAt(seat.eventId()));
+        if (!tryAcquire(seat.id(), newHold, clock.millis())) {
+            throw new SeatNotAvailableException("Seat already locked");
+        }
+        holdExpiryWheel.schedule(seat.id(), newHold);
+        seatAvailabilityIndex.refresh(seat.id());
+        activityListeners.forEach(listener -> listener.onHold(seat.id(), newHold));
+    }
+
+    /**
+     * Verrouille plusieurs sièges pour un même utilisateur, en tout ou rien, dans l'ordre de leurs ids.
+     * Si l'un d'eux échoue, les verrous déjà posés par cet appel sont relâchés et la raison
+     * de l'échec de chaque siège est remontée.
+     *
+     * @param seatIds les sièges demandés, distincts et triés
+     * @param seats l'état en base des sièges trouvés, par id
+     */
+    public void holdAll(List<Long> seatIds, Map<Long, SeatState> seats, Long userId) {
+        long now = clock.millis();
+        List<SeatHoldFailureDTO> failures = new ArrayList<>();
+        for (Long seatId : seatIds) {
+            SeatState seat = seats.get(seatId);
+            if (seat == null) {
+                failures.add(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.NOT_FOUND));
+            } else if (isSold(seat)) {
+                failures.add(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.ALREADY_SOLD));
+            } else if (isActive(holdStore.get(seatId), now)) {
+                failures.add(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.ALREADY_HELD));
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new BatchHoldFailedException("Some seats cannot be held", failures);
+        }
+
+        Map<Long, SeatHold> acquired = new LinkedHashMap<>();
+        for (Long seatId : seatIds) {
+            SeatHold newHold = new SeatHold(userId, holdPolicy.expiresAt(seats.get(seatId).eventId()));
+            if (!tryAcquire(seatId, newHold, now)) {
+                acquired.forEach(holdStore::remove);
+                acquired.keySet().forEach(seatAvailabilityIndex::refresh);
+                throw new BatchHoldFailedException("Some seats cannot be held",
+                        List.of(new SeatHoldFailureDTO(seatId, SeatHoldFailureReason.ALREADY_HELD)));
+            }
+            acquired.put(seatId, newHold);
+        }
+
+        acquired.forEach((seatId, newHold) -> {
+            holdExpiryWheel.schedule(seatId, newHold);
+            seatAvailabilityIndex.refresh(seatId);
+            activityListeners.forEach(listener -> listener.onHold(seatId, newHold));
+        });
+    }
+
+    /**
+     * Vérifie que le siège est verrouillé par l'utilisateur et que le verrou court encore ;
+     * un verrou échu est expiré sur-le-champ.
+     *
+     * @return le verrou à retirer une fois la vente écrite
+     */
+    public SeatHold checkHold(Long seatId, Long userId) {
+        return checkHold(seatId, userId, clock.millis());
+    }
+
+    /**
+     * Vérifie, sans rien modifier d'autre que les verrous échus, que tous les sièges sont
+     * verrouillés par l'utilisateur.
+     */
+    public Map<Long, SeatHold> checkHolds(List<Long> seatIds, Long userId) {
+        long now = clock.millis();
+        Map<Long, SeatHold> holds = new LinkedHashMap<>();
+        for (Long seatId : seatIds) {
+            holds.put(seatId, checkHold(seatId, userId, now));
+        }
+        return holds;
+    }
+
+    /**
+     * Termine la vente de sièges déjà passés à SOLD en base : l'index est mis à jour, les
+     * expirations annulées et les verrous retirés.
+     */
+    public void completeSale(Map<Long, SeatHold> holds) {
+        holds.forEach((seatId, hold) -> {
+            seatAvailabilityIndex.markSold(seatId);
+            holdExpiryWheel.cancel(seatId);
+            holdStore.remove(seatId, hold);
+            activityListeners.forEach(listener -> listener.onSale(seatId, hold.userId()));
+        });
+    }
+
+    /**
+     * Termine la vente de sièges passés à SOLD en base, éventuellement par un autre nœud :
+     * seuls les verrous encore tenus par l'utilisateur sont retirés.
+     */
+    public void completeSale(List<Long> seatIds, Long userId) {
+        Map<Long, SeatHold> holds = new LinkedHashMap<>();
+        for (Long seatId : seatIds) {
+            SeatHold hold = holdStore.get(seatId);
+            if (hold != null && hold.userId().equals(userId)) {
+                holds.put(seatId, hold);
+            } else {
+                seatAvailabilityIndex.markSold(seatId);
+                activityListeners.forEach(listener -> listener.onSale(seatId, userId));
+            }
+        }
+        completeSale(holds);
+    }
+
+    /**
+     * Retire le verrou de l'utilisateur sur un siège, s'il existe encore.
+     */
+    public void release(Long seatId, Long userId) {
+        SeatHold hold = holdStore.get(seatId);
+        if (hold != null && hold.userId().equals(userId) && holdStore.remove(seatId, hold)) {
+            holdExpiryWheel.cancel(seatId);
+            seatAvailabilityIndex.refresh(seatId);
+            activityListeners.forEach(listener -> listener.onRelease(seatId, hold));
+        }
+    }
+
+    /**
+     * Reprend des verrous cédés par un autre nœud du cluster. Les verrous expirés entre-temps,
+     * ou en conflit avec un verrou déjà posé ici, sont ignorés. L'échéance transmise est bornée
+     * par celle d'un verrou posé maintenant sur l'événement : un appelant ne peut pas prolonger
+     * un verrou au-delà de la durée de l'événement.
+     */
+    public void adopt(List<HoldTransferDTO> transfers) {
+        long now = clock.millis();
+        for (HoldTransferDTO transfer : transfers) {
+            long maxExpiresAt = holdPolicy.expiresAt(seatAvailabilityIndex.eventOf(transfer.seatId()));
+            SeatHold hold = new SeatHold(transfer.userId(), Math.min(transfer.expiresAt(), maxExpiresAt));
+            if (isActive(hold, now) && tryAcquire(transfer.seatId(), hold, now)) {
+                holdExpiryWheel.schedule(transfer.seatId(), hold);
+                seatAvailabilityIndex.refresh(transfer.seatId());
+                activityListeners.forEach(listener -> listener.onHold(transfer.seatId(), hold));
+            }
+        }
+    }
+
+    private SeatHold checkHold(Long seatId, Long userId, long now) {
+        SeatHold hold = holdStore.get(seatId);
+        if (hold == null) {
+            throw new SeatNotHoldException("Seat not hold");
+        }
+        if (hold.expiresAt() < now) {
+            holdExpiryWheel.expire(seatId, hold);
+            throw new ReservationExpiredException("The session is expired.");
+        }
+        if (!hold.userId().equals(userId)) {
+            throw new SeatAlreadyHoldByAnotherUserException("This seat is already booked by another user.");
+        }
+        return hold;
+    }
+
+    /**
+     * Installe le verrou par compare-and-set sur l'entrée du stockage, sans verrou global.
+     * Le siège est acquis si l'entrée est vide, ou si elle contient encore le verrou expiré
+     * observé juste avant : un seul appelant concurrent peut gagner.
+     */
+    private boolean tryAcquire(Long seatId, SeatHold newHold, long now) {
+        while (true) {
+            SeatHold current = holdStore.putIfAbsent(seatId, newHold);
+            if (current == null) {
+                return true;
+            }
+            if (isActive(current, now)) {
+                return false;
+            }
+            if (holdStore.replace(seatId, current, newHold)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isSold(SeatState seat) {
+        return seat.status() == SeatStatus.SOLD || pendingSales.contains(seat.id());
+    }
+
+    private static boolean isActive(SeatHold hold, long now) {
+        return hold != null && hold.isActiveAt(now);
+    }
+}
@@ -0,0 +1,387 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Stockage des verrous dans une table de hachage à clés primitives, optionnellement journalisé
+ * dans un {@link HoldWriteAheadLog}.
+ * <p>
+ * La table est découpée en segments ({@code stripes}) choisis par les bits de poids fort du
+ * hachage de l'id du siège. Chaque segment est une table à adressage ouvert (sondage linéaire,
+ * suppression par décalage arrière) dans un unique {@code long[]} : trois longs par entrée,
+ * l'id du siège, l'id de l'utilisateur et l'échéance en millisecondes epoch. Un verrou ne
+ * coûte donc que 24 octets, hors facteur de charge, sans aucun objet à parcourir pour le GC.
+ * </p>
+ * <p>
+ * Les écritures prennent le verrou exclusif du segment ; les lectures sont optimistes
+ * ({@link StampedLock#tryOptimisticRead()}) et ne prennent le verrou partagé que si une
+ * écriture s'est intercalée. Avec un journal, la modification est appliquée par
+ * {@link HoldWriteAheadLog#append} juste après son enregistrement, ce qui garantit à la
+ * compaction, qui parcourt la table sans verrou de segment, un état stable.
+ * </p>
+ */
+@Slf4j
+public class StripedHoldTable implements HoldStore, AutoCloseable {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int STRIDE = 3;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final HoldWriteAheadLog writeAheadLog;
+
+    /**
+     * Table purement en mémoire, sans journal.
+     *
+     * @param stripes nombre de segments, arrondi à la puissance de deux supérieure
+     * @param initialCapacity nombre de verrous attendus, répartis entre les segments
+     */
+    public StripedHoldTable(int stripes, int initialCapacity) {
+        this.stripes = newStripes(stripes, initialCapacity);
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(this.stripes.length);
+        this.writeAheadLog = null;
+    }
+
+    /**
+     * Table journalisée : le journal est ouvert et relu immédiatement.
+     *
+     * @param capacity taille du fichier de journal, en octets
+     * @param flushInterval intervalle entre deux écritures forcées sur disque
+     */
+    public StripedHoldTable(int stripes, int initialCapacity, Path logPath, int capacity,
+                            Duration flushInterval) throws IOException {
+        this.stripes = newStripes(stripes, initialCapacity);
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(this.stripes.length);
+        this.writeAheadLog = new HoldWriteAheadLog(logPath, capacity, flushInterval, this::forEachQuiescent);
+        recover();
+    }
+
+    @Override
+    public SeatHold get(Long seatId) {
+        return stripe(seatId).get(seatId);
+    }
+
+    @Override
+    public SeatHold putIfAbsent(Long seatId, SeatHold hold) {
+        Stripe stripe = stripe(seatId);
+        long userId = toUserId(hold.userId());
+        long deadline = hold.expiresAt();
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.indexOf(seatId);
+            if (slot >= 0) {
+                return stripe.holdAt(slot);
+            }
+            apply(HoldWriteAheadLog.HOLD, seatId, userId, deadline, () -> stripe.insert(seatId, userId, deadline));
+            return null;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean replace(Long seatId, SeatHold expected, SeatHold hold) {
+        Stripe stripe = stripe(seatId);
+        long userId = toUserId(hold.userId());
+        long deadline = hold.expiresAt();
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.indexOf(seatId);
+            if (slot < 0 || !stripe.matches(slot, expected)) {
+                return false;
+            }
+            apply(HoldWriteAheadLog.HOLD, seatId, userId, deadline, () -> stripe.set(slot, userId, deadline));
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Long seatId, SeatHold hold) {
+        Stripe stripe = stripe(seatId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.indexOf(seatId);
+            if (slot < 0 || !stripe.matches(slot, hold)) {
+                return false;
+            }
+            apply(HoldWriteAheadLog.RELEASE, seatId, stripe.userIdAt(slot), stripe.deadlineAt(slot),
+                    () -> stripe.delete(slot));
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * Parcourt les verrous segment par segment. Chaque segment est copié sous son verrou
+     * partagé, et l'action appelée hors verrou : elle peut modifier la table.
+     */
+    @Override
+    public void forEach(BiConsumer<Long, SeatHold> action) {
+        for (Stripe stripe : stripes) {
+            long[] entries;
+            long stamp = stripe.lock.readLock();
+            try {
+                entries = stripe.liveEntries();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+            for (int i = 0; i < entries.length; i += STRIDE) {
+                action.accept(entries[i], toHold(entries[i + 1], entries[i + 2]));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    private void apply(int type, long seatId, long userId, long deadline, Runnable modification) {
+        if (writeAheadLog == null) {
+            modification.run();
+        } else {
+            writeAheadLog.append(type, seatId, userId, deadline, modification);
+        }
+    }
+
+    /**
+     * Parcours sans verrou de segment, réservé à la compaction du journal : elle détient le verrou
+     * exclusif du journal, aucune modification n'est donc en cours.
+     */
+    private void forEachQuiescent(BiConsumer<Long, SeatHold> action) {
+        for (Stripe stripe : stripes) {
+            long[] entries = stripe.liveEntries();
+            for (int i = 0; i < entries.length; i += STRIDE) {
+                action.accept(entries[i], toHold(entries[i + 1], entries[i + 2]));
+            }
+        }
+    }
+
+    private void recover() {
+        long start = System.nanoTime();
+        int records = writeAheadLog.replay((type, seatId, hold) -> {
+            Stripe stripe = stripe(seatId);
+            int slot = stripe.indexOf(seatId);
+            if (type == HoldWriteAheadLog.HOLD) {
+                long userId = toUserId(hold.userId());
+                long deadline = hold.expiresAt();
+                if (slot >= 0) {
+                    stripe.set(slot, userId, deadline);
+                } else {
+                    stripe.insert(seatId, userId, deadline);
+                }
+            } else if (slot >= 0 && stripe.matches(slot, hold)) {
+                stripe.delete(slot);
+            }
+        });
+        long now = System.currentTimeMillis();
+        for (Stripe stripe : stripes) {
+            stripe.removeExpired(now);
+        }
+        writeAheadLog.compact();
+        log.info("Hold table recovered {} active holds from {} log records in {} ms",
+                size(), records, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Stripe[] newStripes(int stripes, int initialCapacity) {
+        int stripeCount = Math.max(2, Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1));
+        int stripeCapacity = Math.max(initialCapacity / stripeCount, 1);
+        Stripe[] newStripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            newStripes[i] = new Stripe(stripeCapacity);
+        }
+        return newStripes;
+    }
+
+    private Stripe stripe(long seatId) {
+        return stripes[(int) ((seatId * GOLDEN_GAMMA) >>> stripeShift)];
+    }
+
+    private static int hash(long seatId) {
+        long mixed = seatId * GOLDEN_GAMMA;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static long toUserId(Long userId) {
+        return userId == null ? EMPTY : userId;
+    }
+
+    private static SeatHold toHold(long userId, long deadline) {
+        return new SeatHold(userId == EMPTY ? null : userId, deadline);
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private long[] slots;
+        private volatile int size;
+
+        Stripe(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected * 4 / 3, 8) * 2 - 1);
+            this.slots = emptySlots(capacity);
+        }
+
+        SeatHold get(long seatId) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                long[] current = slots;
+                int slot = indexOf(current, seatId);
+                long userId = slot >= 0 ? current[slot * STRIDE + 1] : 0;
+                long deadline = slot >= 0 ? current[slot * STRIDE + 2] : 0;
+                if (lock.validate(stamp)) {
+                    return slot >= 0 ? toHold(userId, deadline) : null;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                int slot = indexOf(seatId);
+                return slot >= 0 ? holdAt(slot) : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int indexOf(long seatId) {
+            return indexOf(slots, seatId);
+        }
+
+        SeatHold holdAt(int slot) {
+            return toHold(userIdAt(slot), deadlineAt(slot));
+        }
+
+        long userIdAt(int slot) {
+            return slots[slot * STRIDE + 1];
+        }
+
+        long deadlineAt(int slot) {
+            return slots[slot * STRIDE + 2];
+        }
+
+        boolean matches(int slot, SeatHold hold) {
+            return userIdAt(slot) == toUserId(hold.userId())
+                    && deadlineAt(slot) == hold.expiresAt();
+        }
+
+        void set(int slot, long userId, long deadline) {
+            slots[slot * STRIDE + 1] = userId;
+            slots[slot * STRIDE + 2] = deadline;
+        }
+
+        void insert(long seatId, long userId, long deadline) {
+            if ((size + 1) * 4L > capacity() * 3L) {
+                resize();
+            }
+            int slot = -indexOf(seatId) - 1;
+            slots[slot * STRIDE] = seatId;
+            set(slot, userId, deadline);
+            size++;
+        }
+
+        /**
+         * Vide l'emplacement puis y ramène les entrées suivantes de la même suite de sondage
+         * dont l'emplacement d'origine le permet : aucune marque de suppression n'est nécessaire.
+         */
+        void delete(int slot) {
+            int mask = capacity() - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; slots[next * STRIDE] != EMPTY; next = (next + 1) & mask) {
+                int home = hash(slots[next * STRIDE]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    System.arraycopy(slots, next * STRIDE, slots, hole * STRIDE, STRIDE);
+                    hole = next;
+                }
+            }
+            slots[hole * STRIDE] = EMPTY;
+            size--;
+        }
+
+        void removeExpired(long now) {
+            for (int slot = 0; slot < capacity(); ) {
+                if (slots[slot * STRIDE] != EMPTY && deadlineAt(slot) <= now) {
+                    delete(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        long[] liveEntries() {
+            long[] current = slots;
+            long[] entries = new long[size * STRIDE];
+            int count = 0;
+            for (int i = 0; i < current.length && count < entries.length; i += STRIDE) {
+                if (current[i] != EMPTY) {
+                    System.arraycopy(current, i, entries, count, STRIDE);
+                    count += STRIDE;
+                }
+            }
+            return entries;
+        }
+
+        private int capacity() {
+            return slots.length / STRIDE;
+        }
+
+        private void resize() {
+            long[] previous = slots;
+            slots = emptySlots(capacity() * 2);
+            for (int i = 0; i < previous.length; i += STRIDE) {
+                if (previous[i] != EMPTY) {
+                    int slot = -indexOf(previous[i]) - 1;
+                    System.arraycopy(previous, i, slots, slot * STRIDE, STRIDE);
+                }
+            }
+        }
+
+        /**
+         * Emplacement du siège, ou {@code -(emplacement libre + 1)} s'il est absent. Le sondage est
+         * borné par la capacité : une lecture optimiste concurrente d'un redimensionnement ne boucle
+         * pas, son résultat est de toute façon invalidé.
+         */
+        private static int indexOf(long[] slots, long seatId) {
+            int capacity = slots.length / STRIDE;
+            int mask = capacity - 1;
+            int slot = hash(seatId) & mask;
+            for (int probes = 0; probes < capacity; probes++) {
+                long key = slots[slot * STRIDE];
+                if (key == seatId) {
+                    return slot;
+                }
+                if (key == EMPTY) {
+                    return -slot - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -slot - 1;
+        }
+
+        private static long[] emptySlots(int capacity) {
+            long[] slots = new long[capacity * STRIDE];
+            for (int i = 0; i < slots.length; i += STRIDE) {
+                slots[i] = EMPTY;
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.kata.business.ledger;
+
+import com.kata.business.models.SeatHold;
+import com.kata.dto.SeatResponseDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * État des sièges d'un événement à une position du {@link SeatLedger} : tout enregistrement
+ * de position inférieure y est reflété, les suivants restent à rejouer.
+ *
+ * @param seats les sièges, triés par id, au statut SOLD ou AVAILABLE
+ * @param holds les verrous actifs sur ces sièges au moment de l'instantané
+ */
+public record EventSnapshot(long eventId, long position, List<SeatResponseDTO> seats, Map<Long, SeatHold> holds) {}
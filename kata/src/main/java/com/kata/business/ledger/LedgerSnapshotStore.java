@@ -0,0 +1,179 @@
+package com.kata.business.ledger;
+
+import com.kata.business.models.SeatHold;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Instantanés par événement du {@link SeatLedger}, un fichier par événement, et point de reprise
+ * du registre.
+ * <p>
+ * Chaque fichier est écrit à côté puis renommé atomiquement, et se termine par un CRC32 : un
+ * fichier illisible est ignoré, l'événement est alors relu en base. Le point de reprise est la
+ * position du registre au début du dernier cycle d'instantanés mené à son terme ; le registre
+ * est rejoué à partir de là au démarrage.
+ * </p>
+ */
+@Slf4j
+public class LedgerSnapshotStore {
+
+    private static final int MAGIC = 0x534C5331;
+    private static final String SNAPSHOT_PREFIX = "event-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+
+    public LedgerSnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    public void write(EventSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + snapshot.seats().size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeLong(snapshot.eventId());
+            out.writeLong(snapshot.position());
+            out.writeInt(snapshot.seats().size());
+            for (SeatResponseDTO seat : snapshot.seats()) {
+                out.writeLong(seat.id());
+                out.writeUTF(seat.seatNumber());
+                out.writeBoolean(SeatStatus.SOLD.name().equals(seat.status()));
+            }
+            out.writeInt(snapshot.holds().size());
+            for (Map.Entry<Long, SeatHold> hold : snapshot.holds().entrySet()) {
+                out.writeLong(hold.getKey());
+                out.writeLong(hold.getValue().userId());
+                out.writeLong(hold.getValue().expiresAt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeAtomically(directory.resolve(SNAPSHOT_PREFIX + snapshot.eventId() + SNAPSHOT_SUFFIX), bytes.toByteArray());
+    }
+
+    /**
+     * Lit tous les instantanés lisibles, en ignorant les fichiers tronqués ou corrompus.
+     */
+    public List<EventSnapshot> readAll() {
+        List<EventSnapshot> snapshots = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(LedgerSnapshotStore::isSnapshot).toList()) {
+                byte[] content = readVerified(file);
+                if (content == null) {
+                    log.warn("Ignoring corrupt ledger snapshot {}", file);
+                } else {
+                    snapshots.add(decode(content));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read ledger snapshots in " + directory, e);
+        }
+        return snapshots;
+    }
+
+    public void writeCheckpoint(long position) {
+        writeAtomically(directory.resolve(CHECKPOINT), ByteBuffer.allocate(Long.BYTES).putLong(position).array());
+    }
+
+    /**
+     * Position à partir de laquelle rejouer le registre, 0 si aucun cycle n'a abouti.
+     */
+    public long readCheckpoint() {
+        Path file = directory.resolve(CHECKPOINT);
+        byte[] content = Files.exists(file) ? readVerified(file) : null;
+        return content == null ? 0 : ByteBuffer.wrap(content).getLong();
+    }
+
+    private void writeAtomically(Path target, byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(content.length + Long.BYTES).put(content).putLong(crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + temporary, e);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replace " + target, e);
+        }
+    }
+
+    private static byte[] readVerified(Path file) {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+        if (content.length < Long.BYTES) {
+            return null;
+        }
+        int length = content.length - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, length);
+        if (ByteBuffer.wrap(content, length, Long.BYTES).getLong() != crc.getValue()) {
+            return null;
+        }
+        byte[] verified = new byte[length];
+        System.arraycopy(content, 0, verified, 0, length);
+        return verified;
+    }
+
+    private static EventSnapshot decode(byte[] content) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(content))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unknown ledger snapshot format");
+            }
+            long eventId = in.readLong();
+            long position = in.readLong();
+            int seatCount = in.readInt();
+            List<SeatResponseDTO> seats = new ArrayList<>(seatCount);
+            for (int i = 0; i < seatCount; i++) {
+                long seatId = in.readLong();
+                String seatNumber = in.readUTF();
+                SeatStatus status = in.readBoolean() ? SeatStatus.SOLD : SeatStatus.AVAILABLE;
+                seats.add(new SeatResponseDTO(seatId, seatNumber, status.name()));
+            }
+            int holdCount = in.readInt();
+            Map<Long, SeatHold> holds = HashMap.newHashMap(holdCount);
+            for (int i = 0; i < holdCount; i++) {
+                holds.put(in.readLong(), new SeatHold(in.readLong(), in.readLong()));
+            }
+            return new EventSnapshot(eventId, position, seats, holds);
+        }
+    }
+
+    private static boolean isSnapshot(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+    }
+}
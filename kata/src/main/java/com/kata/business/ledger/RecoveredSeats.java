@@ -0,0 +1,39 @@
+package com.kata.business.ledger;
+
+import com.kata.dto.SeatResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * États des sièges reconstruits depuis le registre ({@link SeatLedgerRecorder}), en attente du
+ * chargement de leur événement dans l'index de disponibilité.
+ * <p>
+ * Toujours présent, vide lorsque le registre est désactivé : l'index lit alors les sièges en base.
+ * </p>
+ */
+@Component
+public class RecoveredSeats {
+
+    private final Map<Long, List<SeatResponseDTO>> seats = new ConcurrentHashMap<>();
+
+    /**
+     * @param eventSeats les sièges de l'événement, triés par id, au statut SOLD ou AVAILABLE
+     */
+    public void put(Long eventId, List<SeatResponseDTO> eventSeats) {
+        seats.put(eventId, eventSeats);
+    }
+
+    /**
+     * Retire et renvoie les sièges reconstruits d'un événement, ou {@code null} s'il n'y en a pas.
+     */
+    public List<SeatResponseDTO> take(Long eventId) {
+        return seats.remove(eventId);
+    }
+
+    public int size() {
+        return seats.size();
+    }
+}
@@ -0,0 +1,302 @@
+package com.kata.business.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Registre binaire, en ajout seul, de tout ce qui arrive aux sièges : poses, retraits et
+ * expirations de verrous, ventes.
+ * <p>
+ * Chaque enregistrement a une taille fixe et une position, son rang depuis le début du
+ * registre. Les enregistrements sont répartis en segments de taille fixe, projetés en mémoire
+ * et nommés d'après la position de leur premier enregistrement ; un segment plein est forcé sur
+ * disque puis laissé tel quel. Le registre n'est jamais compacté : il sert d'historique, et les
+ * instantanés ({@link LedgerSnapshotStore}) bornent la part à relire au démarrage.
+ * </p>
+ * <p>
+ * Comme pour {@link com.kata.business.holds.HoldWriteAheadLog}, une position est réservée par
+ * incrément atomique et écrite sous le verrou partagé ; un thread dédié force le segment courant
+ * sur disque à intervalle régulier.
+ * </p>
+ */
+@Slf4j
+public class SeatLedger implements AutoCloseable {
+
+    static final int RECORD_SIZE = 40;
+    public static final int HOLD = 1;
+    public static final int RELEASE = 2;
+    public static final int EXPIRY = 3;
+    public static final int SALE = 4;
+
+    private static final String SEGMENT_SUFFIX = ".ledger";
+    /** Nombre d'emplacements vides consécutifs au-delà duquel la lecture du dernier segment s'arrête. */
+    private static final int MAX_EMPTY_SLOTS = 1024;
+    private static final int READ_BATCH = 1024;
+
+    private final Path directory;
+    private final long recordsPerSegment;
+    private final Duration flushInterval;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong position = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Thread flusher;
+
+    private Segment current;
+    private long flushedPosition;
+
+    public SeatLedger(Path directory, int segmentSize, Duration flushInterval) throws IOException {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("segmentSize must hold at least one record");
+        }
+        this.directory = directory;
+        this.recordsPerSegment = segmentSize / RECORD_SIZE;
+        this.flushInterval = flushInterval;
+        Files.createDirectories(directory);
+        List<Long> bases = segmentBases();
+        long base = bases.isEmpty() ? 0 : bases.getLast();
+        this.current = Segment.open(segmentPath(base), base, recordsPerSegment);
+        long end = base + current.end();
+        this.position.set(end);
+        this.flushedPosition = end;
+        this.flusher = Thread.ofPlatform().name("seat-ledger-flusher").daemon().start(this::flushLoop);
+    }
+
+    /**
+     * Ajoute un enregistrement au registre.
+     *
+     * @param type {@link #HOLD}, {@link #RELEASE}, {@link #EXPIRY} ou {@link #SALE}
+     * @param at instant de l'opération, en millisecondes epoch
+     * @param expiresAt échéance du verrou concerné, 0 pour une vente
+     * @return la position de l'enregistrement
+     */
+    public long append(int type, long seatId, long userId, long at, long expiresAt) {
+        long reserved = -1;
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (reserved < 0) {
+                    reserved = position.getAndIncrement();
+                }
+                Segment segment = current;
+                if (reserved < segment.base + recordsPerSegment) {
+                    write(segment.buffer, (int) ((reserved - segment.base) * RECORD_SIZE), type, seatId, userId, at, expiresAt);
+                    return reserved;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            roll(reserved);
+        }
+    }
+
+    /**
+     * Position du prochain enregistrement : tous ceux d'une position inférieure ont été réservés,
+     * donc appliqués en mémoire avant d'être ajoutés.
+     */
+    public long position() {
+        return position.get();
+    }
+
+    /**
+     * Relit les enregistrements à partir d'une position, dans l'ordre. Peut être appelé pendant
+     * les écritures : les emplacements pas encore écrits sont ignorés.
+     *
+     * @return la position qui suit le dernier enregistrement relu
+     */
+    public long replay(long from, LedgerRecordVisitor visitor) {
+        long end = from;
+        List<Long> bases = segmentBases();
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            long next = i + 1 < bases.size() ? bases.get(i + 1) : Long.MAX_VALUE;
+            if (next <= from) {
+                continue;
+            }
+            end = Math.max(end, replaySegment(segmentPath(base), base, Math.max(from, base), visitor));
+        }
+        return end;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (running.compareAndSet(true, false)) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(flushInterval.toMillis() * 10 + 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lock.writeLock().lock();
+            try {
+                current.close();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private long replaySegment(Path path, long base, long from, LedgerRecordVisitor visitor) {
+        long end = from;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer batch = ByteBuffer.allocate(READ_BATCH * RECORD_SIZE);
+            long offset = (from - base) * RECORD_SIZE;
+            long size = Math.min(channel.size(), recordsPerSegment * RECORD_SIZE);
+            int emptySlots = 0;
+            while (offset < size && emptySlots < MAX_EMPTY_SLOTS) {
+                batch.clear();
+                int read = channel.read(batch, offset);
+                if (read < RECORD_SIZE) {
+                    break;
+                }
+                for (int slot = 0; slot + RECORD_SIZE <= read && emptySlots < MAX_EMPTY_SLOTS; slot += RECORD_SIZE) {
+                    long recordPosition = base + (offset + slot) / RECORD_SIZE;
+                    int type = batch.getInt(slot + 32);
+                    if (type == 0) {
+                        emptySlots++;
+                        continue;
+                    }
+                    emptySlots = 0;
+                    long seatId = batch.getLong(slot);
+                    long userId = batch.getLong(slot + 8);
+                    long at = batch.getLong(slot + 16);
+                    long expiresAt = batch.getLong(slot + 24);
+                    end = recordPosition + 1;
+                    if (batch.getInt(slot + 36) == checksum(seatId, userId, at, expiresAt, type)) {
+                        visitor.visit(recordPosition, type, seatId, userId, at, expiresAt);
+                    }
+                }
+                offset += read - read % RECORD_SIZE;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read ledger segment " + path, e);
+        }
+        return end;
+    }
+
+    /**
+     * Ouvre les segments suivants jusqu'à celui qui contient la position réservée. Le verrou
+     * exclusif garantit que les positions du segment refermé ont toutes été écrites.
+     */
+    private void roll(long reserved) {
+        lock.writeLock().lock();
+        try {
+            while (reserved >= current.base + recordsPerSegment) {
+                long base = current.base + recordsPerSegment;
+                current.close();
+                current = Segment.open(segmentPath(base), base, recordsPerSegment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open a new ledger segment in " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running.get()) {
+            LockSupport.parkNanos(this, flushInterval.toNanos());
+            flush();
+        }
+    }
+
+    private void flush() {
+        lock.readLock().lock();
+        try {
+            long reached = position.get();
+            if (reached != flushedPosition) {
+                current.buffer.force();
+                flushedPosition = reached;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to flush seat ledger {}", directory, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> segmentBases() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list ledger segments in " + directory, e);
+        }
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    private static void write(MappedByteBuffer target, int offset, int type, long seatId, long userId, long at, long expiresAt) {
+        target.putLong(offset, seatId);
+        target.putLong(offset + 8, userId);
+        target.putLong(offset + 16, at);
+        target.putLong(offset + 24, expiresAt);
+        target.putInt(offset + 32, type);
+        target.putInt(offset + 36, checksum(seatId, userId, at, expiresAt, type));
+    }
+
+    private static int checksum(long seatId, long userId, long at, long expiresAt, int type) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = (hash ^ seatId) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ userId) * 0x94D049BB133111EBL;
+        hash = (hash ^ at) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ expiresAt) * 0x94D049BB133111EBL;
+        hash = (hash ^ type) * 0xBF58476D1CE4E5B9L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private record Segment(long base, FileChannel channel, MappedByteBuffer buffer) {
+
+        static Segment open(Path path, long base, long records) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(base, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, records * RECORD_SIZE));
+        }
+
+        /**
+         * Nombre d'emplacements occupés, jusqu'au dernier enregistrement écrit.
+         */
+        long end() {
+            long end = 0;
+            int emptySlots = 0;
+            for (int offset = 0; offset + RECORD_SIZE <= buffer.capacity() && emptySlots < MAX_EMPTY_SLOTS; offset += RECORD_SIZE) {
+                if (buffer.getInt(offset + 32) == 0) {
+                    emptySlots++;
+                } else {
+                    emptySlots = 0;
+                    end = offset / RECORD_SIZE + 1;
+                }
+            }
+            return end;
+        }
+
+        void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface LedgerRecordVisitor {
+        void visit(long position, int type, long seatId, long userId, long at, long expiresAt);
+    }
+}
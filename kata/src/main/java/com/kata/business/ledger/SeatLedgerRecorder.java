@@ -0,0 +1,309 @@
+package com.kata.business.ledger;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.availability.VersionedSeats;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.SeatHoldExpiredEvent;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.SeatActivityListener;
+import com.kata.business.models.SeatHold;
+import com.kata.dto.SeatLedgerEntryDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatLedgerEntryType;
+import com.kata.enums.SeatStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Inscrit chaque pose, retrait, expiration de verrou et vente au {@link SeatLedger}, actif
+ * lorsque {@code app.ledger.enabled} l'est.
+ * <p>
+ * Un thread dédié prend à intervalle régulier un instantané de chaque événement dont la
+ * disponibilité a changé ou qui porte des verrous, puis note comme point de reprise la position
+ * du registre au début du cycle. Au démarrage, les instantanés sont relus et le registre rejoué
+ * à partir de ce point : les verrous encore actifs sont remis dans le cache de verrous avant le
+ * démarrage de la roue d'expiration, et les états des sièges passés à l'index de disponibilité
+ * par {@link RecoveredSeats}, sans relire tous les sièges en base.
+ * </p>
+ * <p>
+ * Une vente est inscrite après la validation de sa transaction, et le registre n'est forcé sur
+ * disque qu'à intervalle régulier : un arrêt brutal peut perdre des ventes validées. L'index
+ * ajoute donc aux états reconstruits les sièges vendus en base, avant que l'instantané suivant
+ * ne les fige.
+ * </p>
+ * <p>
+ * Chaque enregistrement porte l'état qu'il établit (tel verrou, siège libre, siège vendu) : le
+ * rejouer sur un instantané qui le reflète déjà est sans effet. Les enregistrements d'un même
+ * siège suivent l'ordre des réservations de position, qui peut différer de l'ordre des
+ * opérations lorsque deux requêtes concurrentes touchent le même siège ; un verrou rejoué à tort
+ * est au pire retiré à son échéance.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.ledger", name = "enabled", havingValue = "true")
+public class SeatLedgerRecorder implements SeatActivityListener, SmartLifecycle, DisposableBean {
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final HoldStore holdStore;
+    private final MillisClock clock;
+    private final SeatLedger ledger;
+    private final LedgerSnapshotStore snapshots;
+    private final long snapshotIntervalNanos;
+    private final Map<Long, Long> snapshotVersions = new HashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Thread snapshotter;
+
+    public SeatLedgerRecorder(SeatAvailabilityIndex seatAvailabilityIndex,
+                              HoldStore holdStore,
+                              RecoveredSeats recoveredSeats,
+                              MillisClock clock,
+                              @Value("${app.ledger.path:data/ledger}") Path path,
+                              @Value("${app.ledger.segment-size:64MB}") DataSize segmentSize,
+                              @Value("${app.ledger.flush-interval:10ms}") Duration flushInterval,
+                              @Value("${app.ledger.snapshot-interval:1m}") Duration snapshotInterval) throws IOException {
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.holdStore = holdStore;
+        this.clock = clock;
+        this.snapshotIntervalNanos = snapshotInterval.toNanos();
+        this.ledger = new SeatLedger(path, Math.toIntExact(segmentSize.toBytes()), flushInterval);
+        this.snapshots = new LedgerSnapshotStore(path.resolve("snapshots"));
+        restore(recoveredSeats);
+    }
+
+    @Override
+    public void onHold(Long seatId, SeatHold hold) {
+        ledger.append(SeatLedger.HOLD, seatId, hold.userId(), clock.millis(), hold.expiresAt());
+    }
+
+    @Override
+    public void onRelease(Long seatId, SeatHold hold) {
+        ledger.append(SeatLedger.RELEASE, seatId, hold.userId(), clock.millis(), hold.expiresAt());
+    }
+
+    @Override
+    public void onSale(Long seatId, Long userId) {
+        ledger.append(SeatLedger.SALE, seatId, userId, clock.millis(), 0);
+    }
+
+    @EventListener
+    public void onHoldExpired(SeatHoldExpiredEvent event) {
+        ledger.append(SeatLedger.EXPIRY, event.seatId(), event.hold().userId(), clock.millis(), event.hold().expiresAt());
+    }
+
+    /**
+     * Historique complet d'un siège, dans l'ordre du registre. Parcourt tout le registre :
+     * destiné aux litiges et à l'audit, pas au chemin de réservation.
+     */
+    public List<SeatLedgerEntryDTO> history(Long seatId) {
+        List<SeatLedgerEntryDTO> entries = new ArrayList<>();
+        ledger.replay(0, (position, type, recordSeatId, userId, at, expiresAt) -> {
+            if (recordSeatId == seatId) {
+                entries.add(new SeatLedgerEntryDTO(position, entryType(type), userId, at, expiresAt));
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Prend un instantané de chaque événement chargé dont la disponibilité a changé depuis le
+     * précédent ou qui porte des verrous, puis avance le point de reprise.
+     */
+    public void snapshot() {
+        long checkpoint = ledger.position();
+        // un verrou peut viser un événement pas encore chargé dans l'index
+        holdStore.forEach((seatId, hold) -> seatAvailabilityIndex.eventOf(seatId));
+        int written = 0;
+        for (Long eventId : seatAvailabilityIndex.loadedEventIds()) {
+            if (Objects.equals(snapshotVersions.get(eventId), seatAvailabilityIndex.version(eventId))
+                    && seatAvailabilityIndex.heldSeats(eventId) == 0) {
+                continue;
+            }
+            // lue avant l'état : tout enregistrement antérieur y est reflété
+            long position = ledger.position();
+            VersionedSeats seats = seatAvailabilityIndex.seatStates(eventId);
+            Map<Long, SeatHold> holds = new HashMap<>();
+            for (SeatResponseDTO seat : seats.seats()) {
+                SeatHold hold = holdStore.get(seat.id());
+                if (hold != null) {
+                    holds.put(seat.id(), hold);
+                }
+            }
+            snapshots.write(new EventSnapshot(eventId, position, seats.seats(), holds));
+            snapshotVersions.put(eventId, seats.version());
+            written++;
+        }
+        snapshots.writeCheckpoint(checkpoint);
+        log.debug("Seat ledger checkpoint at {}: {} event snapshots written", checkpoint, written);
+    }
+
+    @Override
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            snapshotter = Thread.ofPlatform().name("seat-ledger-snapshots").daemon().start(this::run);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            Thread current = snapshotter;
+            LockSupport.unpark(current);
+            try {
+                current.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Arrêté après le serveur web : le dernier instantané, pris à l'arrêt, couvre toutes les
+     * requêtes servies et le prochain démarrage n'a presque rien à rejouer.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        ledger.close();
+    }
+
+    private void run() {
+        while (running.get()) {
+            LockSupport.parkNanos(this, snapshotIntervalNanos);
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                log.error("Failed to snapshot the seat ledger", e);
+            }
+        }
+    }
+
+    private void restore(RecoveredSeats recoveredSeats) {
+        long start = System.nanoTime();
+        Map<Long, RestoredEvent> eventsBySeat = new HashMap<>();
+        List<RestoredEvent> events = new ArrayList<>();
+        Map<Long, SeatHold> holds = new LinkedHashMap<>();
+        for (EventSnapshot snapshot : snapshots.readAll()) {
+            RestoredEvent event = new RestoredEvent(snapshot);
+            events.add(event);
+            for (long seatId : event.seatIds) {
+                eventsBySeat.put(seatId, event);
+            }
+            holds.putAll(snapshot.holds());
+        }
+        long checkpoint = snapshots.readCheckpoint();
+        long[] records = new long[1];
+        long end = ledger.replay(checkpoint, (position, type, seatId, userId, at, expiresAt) -> {
+            records[0]++;
+            RestoredEvent event = eventsBySeat.get(seatId);
+            switch (type) {
+                case SeatLedger.HOLD -> {
+                    if (event == null || !event.isSold(seatId)) {
+                        holds.put(seatId, new SeatHold(userId, expiresAt));
+                    }
+                }
+                case SeatLedger.RELEASE, SeatLedger.EXPIRY -> holds.remove(seatId, new SeatHold(userId, expiresAt));
+                case SeatLedger.SALE -> {
+                    holds.remove(seatId);
+                    if (event != null) {
+                        event.markSold(seatId);
+                    }
+                }
+                default -> log.warn("Unknown seat ledger record type {} at {}", type, position);
+            }
+        });
+        long now = clock.millis();
+        int restoredHolds = 0;
+        for (Map.Entry<Long, SeatHold> hold : holds.entrySet()) {
+            if (hold.getValue().isActiveAt(now) && holdStore.putIfAbsent(hold.getKey(), hold.getValue()) == null) {
+                restoredHolds++;
+            }
+        }
+        for (RestoredEvent event : events) {
+            recoveredSeats.put(event.eventId, event.seats());
+        }
+        log.info("Seat ledger restored: {} event snapshots, {} records replayed from {} to {}, {} active holds in {} ms",
+                events.size(), records[0], checkpoint, end, restoredHolds, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static SeatLedgerEntryType entryType(int type) {
+        return switch (type) {
+            case SeatLedger.HOLD -> SeatLedgerEntryType.HOLD;
+            case SeatLedger.RELEASE -> SeatLedgerEntryType.RELEASE;
+            case SeatLedger.EXPIRY -> SeatLedgerEntryType.EXPIRY;
+            case SeatLedger.SALE -> SeatLedgerEntryType.SALE;
+            default -> throw new IllegalStateException("Unknown seat ledger record type " + type);
+        };
+    }
+
+    /**
+     * Sièges d'un instantané, auxquels s'ajoutent les ventes rejouées.
+     */
+    private static final class RestoredEvent {
+        private final Long eventId;
+        private final long[] seatIds;
+        private final String[] seatNumbers;
+        private final BitSet sold;
+
+        RestoredEvent(EventSnapshot snapshot) {
+            List<SeatResponseDTO> seats = snapshot.seats();
+            this.eventId = snapshot.eventId();
+            this.seatIds = new long[seats.size()];
+            this.seatNumbers = new String[seats.size()];
+            this.sold = new BitSet(seats.size());
+            for (int i = 0; i < seats.size(); i++) {
+                SeatResponseDTO seat = seats.get(i);
+                seatIds[i] = seat.id();
+                seatNumbers[i] = seat.seatNumber();
+                sold.set(i, SeatStatus.SOLD.name().equals(seat.status()));
+            }
+        }
+
+        boolean isSold(long seatId) {
+            return sold.get(Arrays.binarySearch(seatIds, seatId));
+        }
+
+        void markSold(long seatId) {
+            sold.set(Arrays.binarySearch(seatIds, seatId));
+        }
+
+        List<SeatResponseDTO> seats() {
+            List<SeatResponseDTO> seats = new ArrayList<>(seatIds.length);
+            for (int i = 0; i < seatIds.length; i++) {
+                SeatStatus status = sold.get(i) ? SeatStatus.SOLD : SeatStatus.AVAILABLE;
+                seats.add(new SeatResponseDTO(seatIds[i], seatNumbers[i], status.name()));
+            }
+            return seats;
+        }
+    }
+}
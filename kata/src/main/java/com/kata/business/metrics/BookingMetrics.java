@@ -0,0 +1,130 @@
+package com.kata.business.metrics;
+
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.ReservationExpiredException;
+import com.kata.exceptions.SeatAlreadyHoldByAnotherUserException;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotAvailableException;
+import com.kata.exceptions.SeatNotFoundException;
+import com.kata.exceptions.SeatNotHoldException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Mesure la latence et l'issue des opérations de réservation.
+ * <p>
+ * Chaque appel est enregistré dans le timer {@value #OPERATION_TIMER}, tagué par opération,
+ * par issue ({@code success}, {@code already_sold}, {@code already_held}, {@code expired},
+ * {@code not_found}, {@code not_held}, {@code error}) et par type d'exception levée.
+ * Les conflits entre acheteurs ({@code already_sold}, {@code already_held}) incrémentent
+ * en plus le compteur {@value #CONFLICT_COUNTER}, sur lequel alerter pendant une ouverture de vente.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    public static final String OPERATION_TIMER = "seat.booking";
+    public static final String CONFLICT_COUNTER = "seat.booking.conflicts";
+
+    static final String SUCCESS = "success";
+    static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Exécute et mesure une opération sans résultat.
+     */
+    public void record(BookingOperation operation, Runnable action) {
+        recordResult(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Exécute et mesure une opération ; l'exception éventuelle est enregistrée puis relancée telle quelle.
+     */
+    public <T> T recordResult(BookingOperation operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = action.get();
+            sample.stop(timer(operation, SUCCESS, NO_EXCEPTION));
+            return result;
+        } catch (RuntimeException e) {
+            stopOnFailure(sample, operation, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Mesure une opération réactive, de l'abonnement jusqu'à son signal de fin ou d'erreur.
+     * Une annulation n'est pas enregistrée.
+     */
+    public <T> Mono<T> recordMono(BookingOperation operation, Mono<T> action) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return action
+                    .doOnSuccess(result -> sample.stop(timer(operation, SUCCESS, NO_EXCEPTION)))
+                    .doOnError(RuntimeException.class, e -> stopOnFailure(sample, operation, e));
+        });
+    }
+
+    private void stopOnFailure(Timer.Sample sample, BookingOperation operation, RuntimeException e) {
+        String outcome = outcome(e);
+        sample.stop(timer(operation, outcome, e.getClass().getSimpleName()));
+        if (isConflict(outcome)) {
+            Counter.builder(CONFLICT_COUNTER)
+                    .description("Booking requests rejected because another buyer got the seat first")
+                    .tag("operation", operation.tag())
+                    .tag("reason", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private Timer timer(BookingOperation operation, String outcome, String exception) {
+        return Timer.builder(OPERATION_TIMER)
+                .description("Latency of booking operations by outcome")
+                .tag("operation", operation.tag())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof SeatAlreadySoldException) {
+            return "already_sold";
+        }
+        if (e instanceof SeatNotAvailableException || e instanceof SeatAlreadyHoldByAnotherUserException) {
+            return "already_held";
+        }
+        if (e instanceof BatchHoldFailedException batch && !batch.getFailures().isEmpty()) {
+            return switch (batch.getFailures().get(0).reason()) {
+                case NOT_FOUND -> "not_found";
+                case ALREADY_SOLD -> "already_sold";
+                case ALREADY_HELD -> "already_held";
+            };
+        }
+        if (e instanceof ReservationExpiredException) {
+            return "expired";
+        }
+        if (e instanceof SeatNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof SeatNotHoldException) {
+            return "not_held";
+        }
+        return "error";
+    }
+
+    private static boolean isConflict(String outcome) {
+        return outcome.equals("already_sold") || outcome.equals("already_held");
+    }
+}
@@ -0,0 +1,24 @@
+package com.kata.business.metrics;
+
+/**
+ * Opérations de réservation mesurées, avec la valeur du tag {@code operation} associée.
+ */
+public enum BookingOperation {
+    HOLD("hold"),
+    HOLD_BATCH("hold_batch"),
+    CONFIRM("confirm"),
+    CONFIRM_BATCH("confirm_batch"),
+    AVAILABILITY("availability"),
+    AVAILABILITY_SNAPSHOT("availability_snapshot"),
+    AVAILABILITY_PAGE("availability_page");
+
+    private final String tag;
+
+    BookingOperation(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,49 @@
+package com.kata.business.metrics;
+
+import com.kata.business.availability.EventSeatsLoadedEvent;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jauges sur l'état du cache de verrous, évaluées à chaque lecture des métriques :
+ * <ul>
+ *     <li>{@code seat.holds.cached} : nombre d'entrées du cache ;</li>
+ *     <li>{@code seat.holds.expired} : verrous échus mais pas encore retirés, compteur tenu par la roue d'expiration ;</li>
+ *     <li>{@code seat.holds.active} : sièges verrouillés, par événement, enregistrée au chargement de l'événement dans l'index.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class HoldMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final HoldStore holdStore;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerGauges() {
+        Gauge.builder("seat.holds.cached", holdStore, HoldStore::size)
+                .description("Entries in the seat hold cache")
+                .register(meterRegistry);
+        Gauge.builder("seat.holds.expired", holdExpiryWheel, HoldExpiryWheel::dueCount)
+                .description("Expired holds not yet evicted from the cache")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void registerEventGauge(EventSeatsLoadedEvent loaded) {
+        Long eventId = loaded.eventId();
+        Gauge.builder("seat.holds.active", seatAvailabilityIndex, index -> index.heldSeats(eventId))
+                .description("Seats currently held, per event")
+                .tag("event", String.valueOf(eventId))
+                .register(meterRegistry);
+    }
+}
@@ -1,5 +1,15 @@
 package com.kata.business.models;
 
-import java.time.LocalDateTime;
+/**
+ * Verrou d'un utilisateur sur un siège. L'échéance est un instant en millisecondes depuis
+ * l'époque Unix, comparé sans conversion à l'horloge des verrous et stocké tel quel.
+ */
+public record SeatHold(Long userId, long expiresAt) {
 
-public record SeatHold(Long userId, LocalDateTime expiresAt) {}
+    /**
+     * Indique si le verrou court encore à l'instant donné, en millisecondes.
+     */
+    public boolean isActiveAt(long now) {
+        return expiresAt > now;
+    }
+}
@@ -0,0 +1,9 @@
+package com.kata.business.models;
+
+import com.kata.enums.SeatStatus;
+
+/**
+ * État d'un siège en base, tel que le lit un service de réservation avant de le verrouiller,
+ * indépendamment de la façon dont il a été chargé (JPA ou R2DBC).
+ */
+public record SeatState(Long id, Long eventId, SeatStatus status) {}
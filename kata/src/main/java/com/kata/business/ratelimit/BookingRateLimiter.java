@@ -0,0 +1,171 @@
+package com.kata.business.ratelimit;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.holds.CountingHoldStore;
+import com.kata.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur de débit des demandes de verrou, appliqué avant tout accès à la base.
+ * <p>
+ * Trois contrôles, du moins coûteux au plus coûteux :
+ * <ol>
+ *     <li>un seau à jetons par utilisateur ({@code app.rate-limit.user}) ;</li>
+ *     <li>un plafond de sièges verrouillés simultanément par utilisateur
+ *     ({@code app.rate-limit.max-holds-per-user}), lu dans {@link CountingHoldStore} ;</li>
+ *     <li>un seau à jetons par événement ({@code app.rate-limit.event}), l'événement étant résolu
+ *     par {@link SeatAvailabilityIndex#indexedEventOf(Long)} : les sièges que l'index ne connaît
+ *     pas échappent à ce seau, et seront refusés par le service de réservation.</li>
+ * </ol>
+ * Un débit ou un plafond à 0 désactive le contrôle correspondant. Les seaux vivent dans des
+ * {@link TokenBucketTable} de taille fixe. En mode cluster, chaque nœud applique ses propres
+ * limites et ne compte que les verrous qu'il détient.
+ * </p>
+ * <p>
+ * Le plafond de verrous est indicatif : il est lu avant la pose, sans réservation, si bien que
+ * des demandes simultanées d'un même utilisateur peuvent le dépasser de leur taille, et les
+ * verrous expirés pas encore évincés y comptent encore. Il borne l'accaparement de sièges par
+ * un client, pas le nombre exact de ses verrous.
+ * </p>
+ */
+@Component
+public class BookingRateLimiter {
+
+    static final String REJECTION_COUNTER = "booking.rate.limited";
+
+    private final CountingHoldStore holdStore;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final boolean enabled;
+    private final int maxHoldsPerUser;
+    private final TokenBucketTable userBuckets;
+    private final TokenBucketTable eventBuckets;
+    private final Counter userRejections;
+    private final Counter holdRejections;
+    private final Counter eventRejections;
+
+    @Autowired
+    public BookingRateLimiter(CountingHoldStore holdStore,
+                              SeatAvailabilityIndex seatAvailabilityIndex,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${app.rate-limit.user.rate:10}") int userRate,
+                              @Value("${app.rate-limit.user.burst:20}") int userBurst,
+                              @Value("${app.rate-limit.user.capacity:1048576}") int userCapacity,
+                              @Value("${app.rate-limit.event.rate:0}") int eventRate,
+                              @Value("${app.rate-limit.event.burst:500}") int eventBurst,
+                              @Value("${app.rate-limit.event.capacity:4096}") int eventCapacity,
+                              @Value("${app.rate-limit.max-holds-per-user:20}") int maxHoldsPerUser) {
+        this(holdStore, seatAvailabilityIndex, meterRegistry, enabled, userRate, userBurst, userCapacity,
+                eventRate, eventBurst, eventCapacity, maxHoldsPerUser, System::nanoTime);
+    }
+
+    BookingRateLimiter(CountingHoldStore holdStore,
+                       SeatAvailabilityIndex seatAvailabilityIndex,
+                       MeterRegistry meterRegistry,
+                       boolean enabled,
+                       int userRate,
+                       int userBurst,
+                       int userCapacity,
+                       int eventRate,
+                       int eventBurst,
+                       int eventCapacity,
+                       int maxHoldsPerUser,
+                       LongSupplier nanoClock) {
+        this.holdStore = holdStore;
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.enabled = enabled;
+        this.maxHoldsPerUser = maxHoldsPerUser;
+        this.userBuckets = enabled && userRate > 0 ? new TokenBucketTable(userCapacity, userRate, userBurst, nanoClock) : null;
+        this.eventBuckets = enabled && eventRate > 0 ? new TokenBucketTable(eventCapacity, eventRate, eventBurst, nanoClock) : null;
+        this.userRejections = rejectionCounter(meterRegistry, "user");
+        this.holdRejections = rejectionCounter(meterRegistry, "holds");
+        this.eventRejections = rejectionCounter(meterRegistry, "event");
+    }
+
+    /**
+     * Vérifie qu'un utilisateur peut demander le verrouillage de sièges.
+     * @param userId l'id de l'utilisateur
+     * @param seatIds les sièges demandés
+     * @throws RateLimitExceededException si l'une des limites est atteinte
+     */
+    public void checkHold(Long userId, Collection<Long> seatIds) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        checkUser(userId, seatIds.size());
+        if (eventBuckets != null) {
+            eventsOf(seatIds).forEach(this::checkEvent);
+        }
+    }
+
+    /**
+     * Vérifie qu'un utilisateur peut demander le verrouillage de {@code count} sièges d'un événement,
+     * avant que les sièges ne soient choisis.
+     * @param userId l'id de l'utilisateur
+     * @param eventId l'id de l'évenement
+     * @param count le nombre de sièges demandés
+     * @throws RateLimitExceededException si l'une des limites est atteinte
+     */
+    public void checkHold(Long userId, Long eventId, int count) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        checkUser(userId, count);
+        if (eventBuckets != null) {
+            checkEvent(eventId);
+        }
+    }
+
+    private void checkUser(Long userId, int seats) {
+        if (userBuckets != null) {
+            long waitMicros = userBuckets.tryAcquire(userId);
+            if (waitMicros > 0) {
+                userRejections.increment();
+                throw new RateLimitExceededException("Too many booking requests, slow down.", toSeconds(waitMicros));
+            }
+        }
+        if (maxHoldsPerUser > 0 && holdStore.heldBy(userId) + seats > maxHoldsPerUser) {
+            holdRejections.increment();
+            throw new RateLimitExceededException("Too many seats held at once: at most " + maxHoldsPerUser + " per user.", 0);
+        }
+    }
+
+    private void checkEvent(Long eventId) {
+        long waitMicros = eventBuckets.tryAcquire(eventId);
+        if (waitMicros > 0) {
+            eventRejections.increment();
+            throw new RateLimitExceededException("Too many booking requests for this event, retry later.", toSeconds(waitMicros));
+        }
+    }
+
+    private Set<Long> eventsOf(Collection<Long> seatIds) {
+        Set<Long> eventIds = new LinkedHashSet<>();
+        for (Long seatId : seatIds) {
+            Long eventId = seatId == null ? null : seatAvailabilityIndex.indexedEventOf(seatId);
+            if (eventId != null) {
+                eventIds.add(eventId);
+            }
+        }
+        return eventIds;
+    }
+
+    private static long toSeconds(long micros) {
+        return (micros + 999_999) / 1_000_000;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder(REJECTION_COUNTER)
+                .description("Booking requests rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
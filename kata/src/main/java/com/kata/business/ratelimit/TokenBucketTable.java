@@ -0,0 +1,110 @@
+package com.kata.business.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Table de seaux à jetons sans verrou et de taille fixe, indexée par une clé {@code long}.
+ * <p>
+ * Chaque seau tient dans un seul {@code long} mis à jour par compare-and-set, selon l'algorithme
+ * GCRA, équivalent d'un seau à jetons : au lieu d'un nombre de jetons et d'une date de remplissage,
+ * il ne stocke que l'instant théorique d'arrivée ({@code tat}) de la prochaine requête. Une requête
+ * est acceptée tant que {@code tat} ne dépasse pas l'instant courant de plus de {@code burst - 1}
+ * intervalles. Le mot est composé d'une empreinte de 16 bits de la clé et du {@code tat} sur 48 bits,
+ * en microsecondes depuis la création de la table.
+ * </p>
+ * <p>
+ * Un seau dont le {@code tat} est passé est plein, donc équivalent à un seau absent : sa case est
+ * réutilisée par une autre clé sans rien perdre. Une clé est cherchée sur {@value #PROBES} cases
+ * consécutives ; si toutes sont occupées par des seaux actifs, celui qui sera plein le plus tôt est
+ * évincé. La mémoire reste ainsi fixe ({@code 8 * capacity} octets) quel que soit le nombre de clés.
+ * Deux clés de même case et de même empreinte partagent leur seau, ce qui ne peut que les ralentir.
+ * </p>
+ */
+final class TokenBucketTable {
+
+    private static final int PROBES = 8;
+    private static final int TAT_BITS = 48;
+    private static final long TAT_MASK = (1L << TAT_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long intervalMicros;
+    private final long toleranceMicros;
+    private final LongSupplier nanoClock;
+    private final long originNanos;
+
+    /**
+     * @param capacity nombre de seaux, arrondi à la puissance de deux supérieure
+     * @param ratePerSecond requêtes acceptées par seconde et par clé, en régime établi
+     * @param burst requêtes acceptées d'affilée par une clé inactive
+     */
+    TokenBucketTable(int capacity, int ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (capacity <= 0 || ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("capacity, rate and burst must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(capacity, PROBES) - 1) << 1;
+        this.buckets = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.intervalMicros = Math.max(1, 1_000_000L / ratePerSecond);
+        this.toleranceMicros = intervalMicros * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Consomme un jeton du seau de la clé.
+     *
+     * @return {@code 0} si la requête est acceptée, sinon le délai en microsecondes avant qu'un jeton soit disponible
+     */
+    long tryAcquire(long key) {
+        long hash = mix(key);
+        long fingerprint = Math.max(1, hash >>> TAT_BITS) << TAT_BITS;
+        int home = (int) hash & mask;
+        retry:
+        while (true) {
+            long now = (nanoClock.getAsLong() - originNanos) / 1_000;
+            int victim = -1;
+            long victimState = 0;
+            long victimTat = Long.MAX_VALUE;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int slot = (home + probe) & mask;
+                long state = buckets.get(slot);
+                long tat = state & TAT_MASK;
+                if ((state & ~TAT_MASK) == fingerprint) {
+                    long start = Math.max(tat, now);
+                    if (start - now > toleranceMicros) {
+                        return start - now - toleranceMicros;
+                    }
+                    if (buckets.compareAndSet(slot, state, fingerprint | (start + intervalMicros))) {
+                        return 0;
+                    }
+                    continue retry;
+                }
+                // une case vide ou un seau plein est préféré ; à défaut, le seau le plus proche d'être plein
+                long rank = state == 0 || tat <= now ? Long.MIN_VALUE : tat;
+                if (rank < victimTat) {
+                    victim = slot;
+                    victimState = state;
+                    victimTat = rank;
+                }
+            }
+            if (buckets.compareAndSet(victim, victimState, fingerprint | (now + intervalMicros))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Finaliseur de MurmurHash3 : répartit uniformément des ids séquentiels.
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
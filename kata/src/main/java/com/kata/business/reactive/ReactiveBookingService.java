@@ -0,0 +1,121 @@
+package com.kata.business.reactive;
+
+import com.kata.business.holds.HoldPolicy;
+import com.kata.business.holds.SeatHolds;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.metrics.BookingOperation;
+import com.kata.business.models.SeatHold;
+import com.kata.business.models.SeatState;
+import com.kata.dao.ReactiveSeatRepository;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opérations de réservation du profil {@code reactive}.
+ * <p>
+ * Même sémantique que {@link com.kata.business.SeatBookingService} : les verrous sont posés
+ * et vérifiés par {@link SeatHolds}, en mémoire, et seuls la lecture des sièges et leur passage
+ * à SOLD vont en base, par {@link ReactiveSeatRepository}. Aucun thread n'attend la base : la
+ * suite de chaque opération s'exécute à la réception de la réponse. Seule la durée des verrous
+ * d'un événement créé après le démarrage est lue par JPA, une fois, sur l'ordonnanceur
+ * {@code boundedElastic}.
+ * </p>
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveBookingService {
+
+    private final ReactiveSeatRepository seatRepository;
+    private final SeatHolds seatHolds;
+    private final HoldPolicy holdPolicy;
+    private final BookingMetrics bookingMetrics;
+
+    /**
+     * Verrouille un siège pour l'utilisateur. Un siège déjà verrouillé est refusé sans lecture en base.
+     */
+    public Mono<Void> holdSeat(SeatReservationRequestDTO seatReservation) {
+        return bookingMetrics.recordMono(BookingOperation.HOLD, Mono.defer(() -> {
+            seatHolds.checkNotHeld(seatReservation.seatId());
+            return seatRepository.findById(seatReservation.seatId())
+                    .switchIfEmpty(Mono.error(() -> new SeatNotFoundException("Seat inexistent")))
+                    .flatMap(seat -> loadHoldDurations(seat, List.of(seat.eventId())))
+                    .doOnNext(seat -> seatHolds.hold(seat, seatReservation.userId()))
+                    .then();
+        }));
+    }
+
+    /**
+     * Verrouille plusieurs sièges pour un même utilisateur, en tout ou rien.
+     * Les sièges sont lus en une seule requête.
+     */
+    public Mono<Void> holdSeats(BatchSeatReservationRequestDTO batchReservation) {
+        List<Long> seatIds = batchReservation.seatIds().stream().distinct().sorted().toList();
+        return bookingMetrics.recordMono(BookingOperation.HOLD_BATCH, seatRepository.findAllById(seatIds)
+                .collectMap(SeatState::id)
+                .flatMap(seats -> loadHoldDurations(seats, seats.values().stream().map(SeatState::eventId).toList()))
+                .doOnNext(seats -> seatHolds.holdAll(seatIds, seats, batchReservation.userId()))
+                .then());
+    }
+
+    /**
+     * Confirme le paiement d'un siège verrouillé par l'utilisateur, par un UPDATE conditionné
+     * au statut AVAILABLE.
+     */
+    public Mono<Void> confirmPayment(Long seatId, Long userId) {
+        return bookingMetrics.recordMono(BookingOperation.CONFIRM, Mono.defer(() -> {
+            SeatHold hold = seatHolds.checkHold(seatId, userId);
+            return seatRepository.markSoldIfAvailable(seatId)
+                    .flatMap(sold -> sold == 0
+                            ? seatRepository.existsById(seatId).flatMap(ReactiveBookingService::notSold)
+                            : Mono.<Void>fromRunnable(() -> seatHolds.completeSale(Map.of(seatId, hold))));
+        }));
+    }
+
+    /**
+     * Confirme le paiement de plusieurs sièges verrouillés par un même utilisateur : tous les
+     * verrous sont vérifiés, puis les sièges passent à SOLD en une seule transaction.
+     */
+    public Mono<Void> confirmPayments(BatchSeatReservationRequestDTO checkout) {
+        List<Long> seatIds = checkout.seatIds().stream().distinct().sorted().toList();
+        return bookingMetrics.recordMono(BookingOperation.CONFIRM_BATCH, Mono.defer(() -> {
+            Map<Long, SeatHold> holds = seatHolds.checkHolds(seatIds, checkout.userId());
+            return seatRepository.markAllSoldIfAvailable(seatIds)
+                    .flatMap(allSold -> allSold
+                            ? Mono.<Void>fromRunnable(() -> seatHolds.completeSale(holds))
+                            : Mono.error(new SeatAlreadySoldException("Some seats were sold in the meantime.")));
+        }));
+    }
+
+    /**
+     * Lit hors de la boucle d'événements la durée des verrous des événements que {@link HoldPolicy}
+     * ne connaît pas encore, puis émet {@code value}.
+     */
+    private <T> Mono<T> loadHoldDurations(T value, Collection<Long> eventIds) {
+        List<Long> missing = eventIds.stream().filter(eventId -> !holdPolicy.isLoaded(eventId)).distinct().toList();
+        if (missing.isEmpty()) {
+            return Mono.just(value);
+        }
+        return Mono.fromCallable(() -> {
+            missing.forEach(holdPolicy::durationMillis);
+            return value;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<Void> notSold(boolean exists) {
+        return Mono.error(exists
+                ? new SeatAlreadySoldException("Seat is already sold.")
+                : new SeatNotFoundException("Seat inexistent."));
+    }
+}
@@ -0,0 +1,32 @@
+package com.kata.business.reactive;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.dao.ReactiveSeatRepository;
+import com.kata.dto.SeatResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lectures de sièges du profil {@code reactive} qui vont en base. Les autres lectures sont
+ * servies par {@link com.kata.business.EventService}, depuis la mémoire.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveEventService {
+
+    private final ReactiveSeatRepository seatRepository;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+
+    /**
+     * Émet, au fil de la lecture en base, les sièges disponibles d'un événement. Le débit suit
+     * la demande du client ; les sièges verrouillés sont écartés d'après l'index.
+     * @param eventId l'id de l'évenement
+     */
+    public Flux<SeatResponseDTO> exportAvailableSeats(Long eventId) {
+        return seatRepository.streamAvailableSeats(eventId)
+                .filter(seat -> seatAvailabilityIndex.isAvailable(seat.id()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.kata.business.sales;
+
+import com.kata.business.BookingOperations;
+import com.kata.business.SeatBookingService;
+import com.kata.business.holds.SeatHolds;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.metrics.BookingOperation;
+import com.kata.business.models.SeatHold;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mode où la confirmation d'un paiement est acquittée dès l'inscription de la vente au journal,
+ * sans attendre la base : {@link SalePipeline} l'y écrit ensuite en arrière-plan.
+ * <p>
+ * Les verrouillages restent ceux de {@link SeatBookingService} ; ils refusent les sièges dont la
+ * vente n'est pas encore écrite en base ({@link PendingSales}). Ce mode ne se combine ni avec le
+ * mode cluster, ni avec les acteurs par événement.
+ * </p>
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "app.sales.journal", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JournaledBookingService implements BookingOperations {
+
+    private final SeatBookingService seatBookingService;
+    private final SeatHolds seatHolds;
+    private final SalePipeline salePipeline;
+    private final BookingMetrics bookingMetrics;
+
+    @Override
+    public void holdSeat(SeatReservationRequestDTO seatReservation) {
+        seatBookingService.holdSeat(seatReservation);
+    }
+
+    @Override
+    public void holdSeats(BatchSeatReservationRequestDTO batchReservation) {
+        seatBookingService.holdSeats(batchReservation);
+    }
+
+    @Override
+    public void confirmPayment(Long seatId, Long userId) {
+        bookingMetrics.record(BookingOperation.CONFIRM, () -> {
+            SeatHold hold = seatHolds.checkHold(seatId, userId);
+            salePipeline.sell(List.of(seatId), userId, () -> seatHolds.completeSale(Map.of(seatId, hold)));
+        });
+    }
+
+    /**
+     * Confirme le paiement de plusieurs sièges verrouillés par un même utilisateur : tous les
+     * verrous sont vérifiés, puis la vente est journalisée d'un bloc, en tout ou rien.
+     */
+    @Override
+    public void confirmPayments(BatchSeatReservationRequestDTO checkout) {
+        bookingMetrics.record(BookingOperation.CONFIRM_BATCH, () -> {
+            List<Long> seatIds = checkout.seatIds().stream().distinct().sorted().toList();
+            Map<Long, SeatHold> holds = seatHolds.checkHolds(seatIds, checkout.userId());
+            salePipeline.sell(seatIds, checkout.userId(), () -> seatHolds.completeSale(holds));
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.kata.business.sales;
+
+/**
+ * Vente d'un siège réservée dans {@link PendingSales}, pas encore écrite dans la table {@code seat}.
+ *
+ * @param soldAt instant de la vente, en millisecondes epoch
+ * @param committed {@code true} une fois la vente inscrite au {@link SaleJournal}
+ */
+public record PendingSale(Long userId, long soldAt, boolean committed) {
+
+    public PendingSale commit() {
+        return new PendingSale(userId, soldAt, true);
+    }
+}
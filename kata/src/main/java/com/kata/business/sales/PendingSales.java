@@ -0,0 +1,94 @@
+package com.kata.business.sales;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Sièges vendus dont la vente n'est pas encore écrite en base, par id.
+ * <p>
+ * Vide tant que le journal des ventes ({@code app.sales.journal.enabled}) est désactivé. Sinon,
+ * une vente y est réservée avant d'être journalisée, et n'en sort qu'une fois le siège passé
+ * à SOLD en base : les verrouillages et l'index de disponibilité la voient ainsi à tout instant,
+ * soit ici, soit dans la table {@code seat}.
+ * </p>
+ */
+@Component
+public class PendingSales {
+
+    private final Map<Long, PendingSale> sales = new ConcurrentHashMap<>();
+
+    public boolean contains(Long seatId) {
+        return !sales.isEmpty() && sales.containsKey(seatId);
+    }
+
+    public boolean isEmpty() {
+        return sales.isEmpty();
+    }
+
+    public int size() {
+        return sales.size();
+    }
+
+    /**
+     * Réserve la vente de tous les sièges, en tout ou rien.
+     *
+     * @return {@code false}, sans rien réserver, si l'un d'eux a déjà une vente en cours
+     */
+    public boolean claimAll(List<Long> seatIds, Long userId, long soldAt) {
+        PendingSale sale = new PendingSale(userId, soldAt, false);
+        List<Long> claimed = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            if (sales.putIfAbsent(seatId, sale) != null) {
+                claimed.forEach(done -> sales.remove(done, sale));
+                return false;
+            }
+            claimed.add(seatId);
+        }
+        return true;
+    }
+
+    /**
+     * Annule des réservations qui n'ont pas été journalisées.
+     */
+    public void releaseAll(List<Long> seatIds, Long userId, long soldAt) {
+        PendingSale sale = new PendingSale(userId, soldAt, false);
+        seatIds.forEach(seatId -> sales.remove(seatId, sale));
+    }
+
+    /**
+     * Marque comme journalisées des ventes réservées par {@link #claimAll}.
+     */
+    public void commitAll(List<Long> seatIds) {
+        seatIds.forEach(seatId -> sales.computeIfPresent(seatId, (id, sale) -> sale.commit()));
+    }
+
+    /**
+     * Inscrit une vente relue dans le journal.
+     */
+    public void restore(Long seatId, Long userId, long soldAt) {
+        sales.put(seatId, new PendingSale(userId, soldAt, true));
+    }
+
+    /**
+     * Retire des ventes désormais écrites en base.
+     */
+    public void removeAll(List<Long> seatIds) {
+        seatIds.forEach(sales::remove);
+    }
+
+    /**
+     * Parcourt les ventes journalisées, pour compacter le journal.
+     */
+    public void forEachCommitted(BiConsumer<Long, PendingSale> action) {
+        sales.forEach((seatId, sale) -> {
+            if (sale.committed()) {
+                action.accept(seatId, sale);
+            }
+        });
+    }
+}
@@ -0,0 +1,354 @@
+package com.kata.business.sales;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Journal des ventes, dans un fichier projeté en mémoire, sur le modèle de
+ * {@link com.kata.business.holds.HoldWriteAheadLog}.
+ * <p>
+ * Une vente de plusieurs sièges occupe des emplacements contigus, réservés en un seul incrément
+ * atomique : les premiers sont de type {@link #SALE_PART}, le dernier de type {@link #SALE}.
+ * À la relecture, une vente dont le dernier enregistrement manque est ignorée en entier. Une
+ * fois les sièges passés à SOLD en base, un enregistrement {@link #FLUSHED} par siège le note.
+ * </p>
+ * <p>
+ * Contrairement au journal des verrous, une vente n'est acquittée qu'une fois sur disque :
+ * {@link #awaitDurable} réveille le thread de vidage et attend le {@code fsync} qui couvre
+ * l'enregistrement. Les ventes arrivées pendant un vidage partagent le suivant (group commit).
+ * </p>
+ * <p>
+ * Lorsque le fichier est plein, il est compacté : les ventes journalisées mais pas encore écrites
+ * en base sont réécrites dans un nouveau fichier qui remplace l'ancien par renommage atomique.
+ * </p>
+ */
+@Slf4j
+public class SaleJournal implements AutoCloseable {
+
+    static final int RECORD_SIZE = 32;
+    static final int SALE = 1;
+    static final int FLUSHED = 2;
+    static final int SALE_PART = 3;
+
+    /** Nombre d'emplacements vides consécutifs au-delà duquel la relecture s'arrête. */
+    private static final int MAX_EMPTY_SLOTS = 1024;
+
+    private final Path path;
+    private final int capacity;
+    private final Duration flushInterval;
+    private final Consumer<BiConsumer<Long, PendingSale>> pendingSales;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger position = new AtomicInteger();
+    /** Nombre d'enregistrements écrits depuis l'ouverture, compactions comprises. */
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Lock durableLock = new ReentrantLock();
+    private final Condition durableChanged = durableLock.newCondition();
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private volatile long durable;
+
+    /**
+     * @param pendingSales parcourt les ventes journalisées pas encore écrites en base, utilisé pour compacter le journal
+     */
+    public SaleJournal(Path path, int capacity, Duration flushInterval,
+                       Consumer<BiConsumer<Long, PendingSale>> pendingSales) throws IOException {
+        if (capacity < RECORD_SIZE) {
+            throw new IllegalArgumentException("capacity must hold at least one record");
+        }
+        this.path = path;
+        this.capacity = capacity - capacity % RECORD_SIZE;
+        this.flushInterval = flushInterval;
+        this.pendingSales = pendingSales;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+        this.flusher = Thread.ofPlatform().name("sale-journal-flusher").daemon().start(this::flushLoop);
+    }
+
+    /**
+     * Relit le journal dans l'ordre d'écriture, puis ouvre les écritures à sa suite.
+     * Les emplacements incomplets et les ventes interrompues avant leur dernier siège sont ignorés.
+     *
+     * @param visitor reçoit le type d'enregistrement ({@link #SALE} ou {@link #FLUSHED}), le siège,
+     *                l'utilisateur et l'instant de la vente
+     * @return le nombre d'enregistrements relus
+     */
+    public int replay(SaleRecordVisitor visitor) {
+        int records = 0;
+        int end = 0;
+        int emptySlots = 0;
+        List<long[]> parts = new ArrayList<>();
+        for (int offset = 0; offset + RECORD_SIZE <= capacity && emptySlots < MAX_EMPTY_SLOTS; offset += RECORD_SIZE) {
+            int type = buffer.getInt(offset + 24);
+            if (type == 0) {
+                emptySlots++;
+                parts.clear();
+                continue;
+            }
+            emptySlots = 0;
+            end = offset + RECORD_SIZE;
+            long seatId = buffer.getLong(offset);
+            long userId = buffer.getLong(offset + 8);
+            long at = buffer.getLong(offset + 16);
+            if (buffer.getInt(offset + 28) != checksum(seatId, userId, at, type)) {
+                parts.clear();
+                continue;
+            }
+            switch (type) {
+                case SALE_PART -> parts.add(new long[]{seatId, userId, at});
+                case SALE -> {
+                    for (long[] part : parts) {
+                        visitor.visit(SALE, part[0], part[1], part[2]);
+                    }
+                    visitor.visit(SALE, seatId, userId, at);
+                    records += parts.size() + 1;
+                    parts.clear();
+                }
+                default -> {
+                    parts.clear();
+                    visitor.visit(type, seatId, userId, at);
+                    records++;
+                }
+            }
+        }
+        position.set(end);
+        return records;
+    }
+
+    /**
+     * Journalise la vente de plusieurs sièges en emplacements contigus, puis applique la
+     * modification correspondante avant de rendre la main à une éventuelle compaction.
+     *
+     * @param apply la modification de l'état en mémoire
+     * @return le numéro à passer à {@link #awaitDurable} pour attendre que la vente soit sur disque
+     */
+    public long appendSale(List<Long> seatIds, long userId, long soldAt, Runnable apply) {
+        return append(SALE, seatIds, userId, soldAt, apply);
+    }
+
+    /**
+     * Note que ces sièges sont passés à SOLD en base, puis applique la modification correspondante.
+     */
+    public long appendFlushed(List<Long> seatIds, Runnable apply) {
+        return append(FLUSHED, seatIds, 0, 0, apply);
+    }
+
+    /**
+     * Attend que tous les enregistrements jusqu'au numéro donné soient sur disque.
+     *
+     * @throws IllegalStateException si le journal est fermé entre-temps
+     */
+    public void awaitDurable(long sequence) {
+        if (durable >= sequence) {
+            return;
+        }
+        LockSupport.unpark(flusher);
+        durableLock.lock();
+        try {
+            while (durable < sequence) {
+                if (!running.get()) {
+                    throw new IllegalStateException("Sale journal " + path + " is closed");
+                }
+                durableChanged.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the sale journal", e);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * Réécrit le journal avec les seules ventes pas encore écrites en base.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            int end;
+            try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer targetBuffer = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                int[] offset = {0};
+                pendingSales.accept((seatId, sale) -> {
+                    if (offset[0] + RECORD_SIZE > capacity) {
+                        throw new IllegalStateException("Sale journal capacity too small for the pending sales");
+                    }
+                    write(targetBuffer, offset[0], SALE, seatId, sale.userId(), sale.soldAt());
+                    offset[0] += RECORD_SIZE;
+                });
+                targetBuffer.force();
+                end = offset[0];
+            }
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel.close();
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            position.set(end);
+            publishDurable(written.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact sale journal " + path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Taille occupée par les enregistrements, en octets.
+     */
+    public int size() {
+        return Math.min(position.get(), capacity);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (running.compareAndSet(true, false)) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(flushInterval.toMillis() * 10 + 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lock.writeLock().lock();
+            try {
+                buffer.force();
+                channel.close();
+                publishDurable(written.get());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private long append(int type, List<Long> seatIds, long userId, long at, Runnable apply) {
+        int length = seatIds.size() * RECORD_SIZE;
+        if (length > capacity) {
+            throw new IllegalArgumentException("Sale of " + seatIds.size() + " seats exceeds the journal capacity");
+        }
+        while (true) {
+            lock.readLock().lock();
+            try {
+                int offset = position.getAndAdd(length);
+                if (offset >= 0 && offset + length <= capacity) {
+                    int last = seatIds.size() - 1;
+                    for (int i = 0; i <= last; i++) {
+                        int recordType = type == SALE && i < last ? SALE_PART : type;
+                        write(buffer, offset + i * RECORD_SIZE, recordType, seatIds.get(i), userId, at);
+                    }
+                    apply.run();
+                    return written.addAndGet(seatIds.size());
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            compactIfFull(length);
+        }
+    }
+
+    private void compactIfFull(int length) {
+        lock.writeLock().lock();
+        try {
+            int current = position.get();
+            if (current < 0 || current + length > capacity) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running.get()) {
+            LockSupport.parkNanos(this, flushInterval.toNanos());
+            flush();
+        }
+    }
+
+    /**
+     * Relève sous le verrou exclusif le nombre d'enregistrements écrits, tous complets à cet
+     * instant, puis force le fichier sous le verrou partagé : les écrivains reprennent pendant
+     * le {@code fsync}, seule une compaction attend.
+     */
+    private void flush() {
+        long target;
+        lock.writeLock().lock();
+        try {
+            target = written.get();
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            if (target != durable) {
+                buffer.force();
+                publishDurable(target);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to flush sale journal {}", path, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void publishDurable(long sequence) {
+        durableLock.lock();
+        try {
+            if (sequence > durable) {
+                durable = sequence;
+            }
+            durableChanged.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private static void write(MappedByteBuffer target, int offset, int type, long seatId, long userId, long at) {
+        target.putLong(offset, seatId);
+        target.putLong(offset + 8, userId);
+        target.putLong(offset + 16, at);
+        target.putInt(offset + 24, type);
+        target.putInt(offset + 28, checksum(seatId, userId, at, type));
+    }
+
+    private static int checksum(long seatId, long userId, long at, int type) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = (hash ^ seatId) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ userId) * 0x94D049BB133111EBL;
+        hash = (hash ^ at) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ type) * 0x94D049BB133111EBL;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface SaleRecordVisitor {
+        void visit(int type, long seatId, long userId, long at);
+    }
+}
@@ -0,0 +1,219 @@
+package com.kata.business.sales;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.dao.SeatRepository;
+import com.kata.exceptions.SeatAlreadySoldException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ventes acquittées dès leur inscription au {@link SaleJournal}, puis écrites en base par un
+ * thread dédié, actif lorsque {@code app.sales.journal.enabled} l'est.
+ * <p>
+ * Une vente est d'abord réservée dans {@link PendingSales}, en tout ou rien, puis journalisée ;
+ * l'appelant attend seulement le {@code fsync} groupé du journal, jamais la base. Le thread
+ * d'écriture reprend les ventes dans l'ordre du journal, par lots d'au plus
+ * {@code app.sales.pipeline.batch-size} sièges passés à SOLD en une instruction UPDATE
+ * conditionnelle, et les retire de {@link PendingSales} une fois la transaction validée. Un lot
+ * en échec est retenté tel quel, sans passer au suivant.
+ * </p>
+ * <p>
+ * Au démarrage, les ventes journalisées dont l'écriture en base n'a pas été notée sont
+ * rejouées : l'UPDATE conditionnel rend la reprise d'un lot déjà écrit sans effet.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sales.journal", name = "enabled", havingValue = "true")
+public class SalePipeline implements SmartLifecycle, DisposableBean {
+
+    private final PendingSales pendingSales;
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final MillisClock clock;
+    private final SaleJournal journal;
+    private final int batchSize;
+    private final long drainIntervalNanos;
+    private final Queue<Long> unflushed = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Thread drainer;
+
+    public SalePipeline(PendingSales pendingSales,
+                        SeatRepository seatRepository,
+                        PlatformTransactionManager transactionManager,
+                        SeatAvailabilityIndex seatAvailabilityIndex,
+                        MillisClock clock,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.sales.journal.path:data/sales.journal}") Path path,
+                        @Value("${app.sales.journal.capacity:64MB}") DataSize capacity,
+                        @Value("${app.sales.journal.flush-interval:2ms}") Duration flushInterval,
+                        @Value("${app.sales.pipeline.batch-size:500}") int batchSize,
+                        @Value("${app.sales.pipeline.drain-interval:20ms}") Duration drainInterval) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.pendingSales = pendingSales;
+        this.seatRepository = seatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.drainIntervalNanos = drainInterval.toNanos();
+        this.journal = new SaleJournal(path, Math.toIntExact(capacity.toBytes()), flushInterval, pendingSales::forEachCommitted);
+        replay();
+        Gauge.builder("seat.sales.pending", pendingSales, PendingSales::size)
+                .description("Sales acknowledged but not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vend les sièges à l'utilisateur : la vente est journalisée, {@code onCommit} appliqué,
+     * puis la main rendue une fois le journal sur disque.
+     *
+     * @param seatIds les sièges, distincts
+     * @param onCommit la fin de la vente en mémoire (index, verrous), appliquée avec l'enregistrement
+     * @throws SeatAlreadySoldException si l'un des sièges est déjà vendu ou en cours de vente
+     */
+    public void sell(List<Long> seatIds, Long userId, Runnable onCommit) {
+        long soldAt = clock.millis();
+        if (!pendingSales.claimAll(seatIds, userId, soldAt)) {
+            throw new SeatAlreadySoldException("Seat is already sold.");
+        }
+        long sequence;
+        try {
+            // après la réservation : une vente concurrente n'a pu quitter PendingSales qu'une fois l'index à jour
+            for (Long seatId : seatIds) {
+                if (seatAvailabilityIndex.eventOf(seatId) != null && seatAvailabilityIndex.isSold(seatId)) {
+                    throw new SeatAlreadySoldException("Seat is already sold.");
+                }
+            }
+            sequence = journal.appendSale(seatIds, userId, soldAt, () -> {
+                pendingSales.commitAll(seatIds);
+                onCommit.run();
+                unflushed.addAll(seatIds);
+            });
+        } catch (RuntimeException e) {
+            pendingSales.releaseAll(seatIds, userId, soldAt);
+            throw e;
+        }
+        journal.awaitDurable(sequence);
+    }
+
+    @Override
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            drainer = Thread.ofPlatform().name("sale-pipeline").daemon().start(this::run);
+        }
+    }
+
+    /**
+     * Arrête le thread après qu'il a écrit en base les ventes restantes. Celles qu'il n'a pu
+     * écrire restent au journal et seront rejouées au prochain démarrage.
+     */
+    @Override
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            Thread current = drainer;
+            LockSupport.unpark(current);
+            try {
+                current.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Démarré avant le serveur web et arrêté après lui : les ventes acquittées jusqu'à la
+     * dernière requête sont écrites en base avant l'arrêt.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        journal.close();
+    }
+
+    private void replay() {
+        Set<Long> restored = new LinkedHashSet<>();
+        int records = journal.replay((type, seatId, userId, soldAt) -> {
+            if (type == SaleJournal.SALE) {
+                pendingSales.restore(seatId, userId, soldAt);
+                restored.add(seatId);
+            } else {
+                pendingSales.removeAll(List.of(seatId));
+                restored.remove(seatId);
+            }
+        });
+        unflushed.addAll(restored);
+        log.info("Sale journal replayed: {} records, {} sales to write to the database", records, restored.size());
+    }
+
+    private void run() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (true) {
+            while (batch.size() < batchSize) {
+                Long seatId = unflushed.poll();
+                if (seatId == null) {
+                    break;
+                }
+                batch.add(seatId);
+            }
+            if (!batch.isEmpty() && flush(batch)) {
+                batch.clear();
+                continue;
+            }
+            if (!running.get()) {
+                return;
+            }
+            LockSupport.parkNanos(this, drainIntervalNanos);
+        }
+    }
+
+    private boolean flush(List<Long> batch) {
+        List<Long> seatIds = List.copyOf(batch);
+        try {
+            Integer sold = transactionTemplate.execute(status -> seatRepository.markSoldIfAvailable(seatIds));
+            if (sold == null || sold != seatIds.size()) {
+                log.warn("{} of {} journaled sales were already written to the database", seatIds.size() - (sold == null ? 0 : sold), seatIds.size());
+            }
+            journal.appendFlushed(seatIds, () -> pendingSales.removeAll(seatIds));
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} sales to the database, retrying", seatIds.size(), e);
+            return false;
+        }
+    }
+}
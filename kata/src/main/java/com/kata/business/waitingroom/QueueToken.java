@@ -0,0 +1,7 @@
+package com.kata.business.waitingroom;
+
+/**
+ * Contenu d'un jeton de file d'attente : l'événement, le numéro de passage dans sa file,
+ * l'utilisateur et la date d'émission.
+ */
+record QueueToken(long eventId, long sequence, long userId, long issuedAtMillis) {}
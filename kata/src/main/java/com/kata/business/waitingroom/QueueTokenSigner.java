@@ -0,0 +1,65 @@
+package com.kata.business.waitingroom;
+
+import com.kata.exceptions.InvalidQueueTokenException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signe et vérifie les jetons de file d'attente par HMAC-SHA256.
+ * <p>
+ * Le jeton porte tout son état ({@code base64url(contenu).base64url(signature)}) : le serveur
+ * ne conserve rien par client et n'importe quel nœud partageant la clé peut le vérifier.
+ * </p>
+ */
+final class QueueTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Mac prototype;
+
+    QueueTokenSigner(byte[] key) {
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise the queue token signer", e);
+        }
+    }
+
+    String sign(QueueToken token) {
+        byte[] payload = (token.eventId() + "." + token.sequence() + "." + token.userId() + "." + token.issuedAtMillis())
+                .getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac(payload));
+    }
+
+    QueueToken verify(String token) {
+        try {
+            int separator = token.indexOf('.');
+            byte[] payload = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(mac(payload), signature)) {
+                throw new InvalidQueueTokenException("Invalid queue token.");
+            }
+            String[] fields = new String(payload, StandardCharsets.US_ASCII).split("\\.");
+            return new QueueToken(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidQueueTokenException("Invalid queue token.");
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            return ((Mac) prototype.clone()).doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
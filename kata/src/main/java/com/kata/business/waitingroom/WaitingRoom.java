@@ -0,0 +1,310 @@
+package com.kata.business.waitingroom;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.dao.EventRepository;
+import com.kata.dao.entities.Event;
+import com.kata.dto.QueueTicketDTO;
+import com.kata.exceptions.EventNotFoundException;
+import com.kata.exceptions.InvalidQueueTokenException;
+import com.kata.exceptions.NotAdmittedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Salle d'attente virtuelle protégeant le chemin de réservation lors de l'ouverture d'un événement très demandé.
+ * <p>
+ * Un événement dont le débit d'admission ({@code admission_rate}, ou à défaut
+ * {@code app.waiting-room.default-rate}) est positif n'accepte de verrous que des clients admis.
+ * Chaque client rejoint la file et reçoit un jeton signé portant son numéro de passage ; la file
+ * admet {@code rate} clients par seconde, plus une rafale de {@code burst} clients lorsqu'elle est vide.
+ * Un client qui rejoint de nouveau la file garde son numéro et reçoit un jeton neuf : rejoindre
+ * en boucle ne fait ni avancer ni grossir la file. Le numéro est oublié une fois admis et la
+ * durée de vie d'un jeton écoulée, la mémoire de la file restant proportionnelle à sa longueur.
+ * Le chemin de réservation voit ainsi une charge régulière, et les clients refusés reçoivent
+ * une 429 avec leur position et un délai {@code Retry-After} avant tout accès à la base.
+ * </p>
+ * <p>
+ * L'état de la file (numéros émis et admis) est propre à chaque nœud : en mode cluster, le débit
+ * configuré s'applique par nœud, et les nœuds doivent partager le même {@code secret}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class WaitingRoom {
+
+    public static final String TOKEN_HEADER = "X-Queue-Token";
+
+    private final EventRepository eventRepository;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final MeterRegistry meterRegistry;
+    private final int defaultRate;
+    private final int burst;
+    private final Duration tokenTtl;
+    private final QueueTokenSigner signer;
+    private final LongSupplier nanoClock;
+    private final Clock clock;
+
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WaitingRoom(EventRepository eventRepository,
+                       SeatAvailabilityIndex seatAvailabilityIndex,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.waiting-room.default-rate:0}") int defaultRate,
+                       @Value("${app.waiting-room.burst:20}") int burst,
+                       @Value("${app.waiting-room.token-ttl:30m}") Duration tokenTtl,
+                       @Value("${app.waiting-room.secret:}") String secret) {
+        this(eventRepository, seatAvailabilityIndex, meterRegistry, defaultRate, burst, tokenTtl,
+                secretKey(secret), System::nanoTime, Clock.systemUTC());
+    }
+
+    WaitingRoom(EventRepository eventRepository,
+                SeatAvailabilityIndex seatAvailabilityIndex,
+                MeterRegistry meterRegistry,
+                int defaultRate,
+                int burst,
+                Duration tokenTtl,
+                byte[] secret,
+                LongSupplier nanoClock,
+                Clock clock) {
+        if (defaultRate < 0 || burst < 0) {
+            throw new IllegalArgumentException("default-rate and burst must not be negative");
+        }
+        this.eventRepository = eventRepository;
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.meterRegistry = meterRegistry;
+        this.defaultRate = defaultRate;
+        this.burst = burst;
+        this.tokenTtl = tokenTtl;
+        this.signer = new QueueTokenSigner(secret);
+        this.nanoClock = nanoClock;
+        this.clock = clock;
+    }
+
+    /**
+     * Inscrit un client dans la file d'un événement.
+     * Pour un événement sans file d'attente, le client est admis immédiatement.
+     * Un client déjà inscrit garde son numéro de passage.
+     * @param eventId l'id de l'évenement
+     * @param userId l'id de l'utilisateur
+     * @throws EventNotFoundException si l'événement n'existe pas
+     */
+    public QueueTicketDTO join(Long eventId, Long userId) {
+        EventQueue queue = queueOf(eventId);
+        long sequence = queue.rate == 0 ? 0 : queue.issue(userId, nanoClock.getAsLong());
+        String token = signer.sign(new QueueToken(eventId, sequence, userId, clock.millis()));
+        return ticket(queue, token, sequence);
+    }
+
+    /**
+     * Position courante d'un jeton dans la file de son événement.
+     * @param eventId l'id de l'évenement
+     * @param token le jeton remis par {@link #join(Long, Long)}
+     * @throws InvalidQueueTokenException si le jeton est falsifié, expiré ou émis pour un autre événement
+     */
+    public QueueTicketDTO status(Long eventId, String token) {
+        QueueToken queueToken = verify(token, eventId);
+        return ticket(queueOf(eventId), token, queueToken.sequence());
+    }
+
+    /**
+     * Vérifie qu'un client peut verrouiller des sièges : pour chaque événement concerné disposant
+     * d'une file d'attente, le jeton doit avoir été émis pour cet utilisateur et être admis.
+     * Les sièges inconnus de l'index sont ignorés et laissés au service de réservation : les
+     * sièges ne sont jamais lus en base avant que le client soit admis.
+     * @param token le jeton de file d'attente, éventuellement {@code null}
+     * @param userId l'id de l'utilisateur
+     * @param seatIds les sièges à verrouiller
+     * @throws NotAdmittedException si le client n'est pas encore admis ou n'a pas rejoint la file
+     * @throws InvalidQueueTokenException si le jeton est falsifié, expiré ou émis pour un autre utilisateur ou événement
+     */
+    public void checkAdmitted(String token, Long userId, Collection<Long> seatIds) {
+        Set<Long> eventIds = new LinkedHashSet<>();
+        for (Long seatId : seatIds) {
+            Long eventId = seatId == null ? null : seatAvailabilityIndex.indexedEventOf(seatId);
+            if (eventId != null) {
+                eventIds.add(eventId);
+            }
+        }
+        for (Long eventId : eventIds) {
+            checkAdmitted(token, userId, eventId);
+        }
+    }
+
+    /**
+     * Vérifie qu'un client peut verrouiller des sièges d'un événement, avant que les sièges ne soient choisis.
+     * @param token le jeton de file d'attente, éventuellement {@code null}
+     * @param userId l'id de l'utilisateur
+     * @param eventId l'id de l'évenement
+     * @throws NotAdmittedException si le client n'est pas encore admis ou n'a pas rejoint la file
+     * @throws InvalidQueueTokenException si le jeton est falsifié, expiré ou émis pour un autre utilisateur ou événement
+     * @throws EventNotFoundException si l'événement n'existe pas
+     */
+    public void checkAdmitted(String token, Long userId, Long eventId) {
+        EventQueue queue = queueOf(eventId);
+        if (queue.rate == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (token == null || token.isBlank()) {
+            long waiting = queue.waiting(now);
+            throw new NotAdmittedException("This event has a waiting room: join the queue first.",
+                    waiting, queue.waitSeconds(waiting));
+        }
+        QueueToken queueToken = verify(token, eventId);
+        if (userId == null || queueToken.userId() != userId) {
+            throw new InvalidQueueTokenException("Queue token was issued to another user.");
+        }
+        long position = queue.position(queueToken.sequence(), now);
+        if (position > 0) {
+            throw new NotAdmittedException("Not admitted yet.", position, queue.waitSeconds(position));
+        }
+    }
+
+    /**
+     * Nombre de clients dont la file d'un événement retient le numéro.
+     */
+    int rememberedClients(Long eventId) {
+        EventQueue queue = queues.get(eventId);
+        return queue == null ? 0 : queue.remembered();
+    }
+
+    private QueueToken verify(String token, Long eventId) {
+        QueueToken queueToken = signer.verify(token);
+        if (queueToken.eventId() != eventId) {
+            throw new InvalidQueueTokenException("Queue token was issued for another event.");
+        }
+        if (clock.millis() - queueToken.issuedAtMillis() > tokenTtl.toMillis()) {
+            throw new InvalidQueueTokenException("Queue token expired, join the queue again.");
+        }
+        return queueToken;
+    }
+
+    private QueueTicketDTO ticket(EventQueue queue, String token, long sequence) {
+        long position = queue.rate == 0 ? 0 : queue.position(sequence, nanoClock.getAsLong());
+        return new QueueTicketDTO(token, position, position == 0, queue.waitSeconds(position));
+    }
+
+    private EventQueue queueOf(Long eventId) {
+        EventQueue queue = queues.get(eventId);
+        if (queue != null) {
+            return queue;
+        }
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Event not found."));
+        return queues.computeIfAbsent(eventId, id -> newQueue(id, event.getAdmissionRate()));
+    }
+
+    private EventQueue newQueue(Long eventId, Integer admissionRate) {
+        EventQueue queue = new EventQueue(admissionRate == null ? defaultRate : admissionRate, burst,
+                tokenTtl.toNanos(), nanoClock.getAsLong());
+        if (queue.rate > 0) {
+            Gauge.builder("waiting.room.queued", queue, q -> q.waiting(nanoClock.getAsLong()))
+                    .description("Clients waiting for admission, per event")
+                    .tag("event", String.valueOf(eventId))
+                    .register(meterRegistry);
+        }
+        return queue;
+    }
+
+    private static byte[] secretKey(String secret) {
+        if (!secret.isEmpty()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.info("No app.waiting-room.secret configured: queue tokens are signed with a random key and are only valid on this node");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * File d'un événement : un compteur de numéros émis et un compteur de numéros admis,
+     * ce dernier progressant de {@code rate} par seconde sans dépasser {@code issued + burst}.
+     * Le numéro de chaque client est conservé jusqu'à son admission et l'expiration de son
+     * premier jeton ; les numéros étant émis dans l'ordre, ils sont oubliés par la tête de
+     * {@code issuedOrder}.
+     */
+    private record Ticket(Long userId, long sequence, long issuedNanos) {}
+
+    private static final class EventQueue {
+
+        private final int rate;
+        private final int burst;
+        private final long tokenTtlNanos;
+        private final Map<Long, Ticket> ticketsByUser = new HashMap<>();
+        private final ArrayDeque<Ticket> issuedOrder = new ArrayDeque<>();
+        private long issued;
+        private double admitted;
+        private long lastRefillNanos;
+
+        private EventQueue(int rate, int burst, long tokenTtlNanos, long nowNanos) {
+            this.rate = rate;
+            this.burst = burst;
+            this.tokenTtlNanos = tokenTtlNanos;
+            this.admitted = burst;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        synchronized long issue(Long userId, long nowNanos) {
+            refill(nowNanos);
+            forgetAdmitted(nowNanos);
+            Ticket ticket = ticketsByUser.get(userId);
+            if (ticket != null) {
+                return ticket.sequence();
+            }
+            ticket = new Ticket(userId, ++issued, nowNanos);
+            ticketsByUser.put(userId, ticket);
+            issuedOrder.addLast(ticket);
+            return issued;
+        }
+
+        private void forgetAdmitted(long nowNanos) {
+            Ticket oldest = issuedOrder.peekFirst();
+            while (oldest != null && oldest.sequence() <= (long) admitted && nowNanos - oldest.issuedNanos() > tokenTtlNanos) {
+                issuedOrder.removeFirst();
+                ticketsByUser.remove(oldest.userId(), oldest);
+                oldest = issuedOrder.peekFirst();
+            }
+        }
+
+        synchronized long position(long sequence, long nowNanos) {
+            refill(nowNanos);
+            return Math.max(0, sequence - (long) admitted);
+        }
+
+        synchronized long waiting(long nowNanos) {
+            refill(nowNanos);
+            return Math.max(0, issued - (long) admitted);
+        }
+
+        long waitSeconds(long position) {
+            return rate == 0 ? 0 : (position + rate - 1) / rate;
+        }
+
+        synchronized int remembered() {
+            return ticketsByUser.size();
+        }
+
+        private void refill(long nowNanos) {
+            admitted = Math.min(admitted + (nowNanos - lastRefillNanos) * (double) rate / 1_000_000_000L, issued + burst);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
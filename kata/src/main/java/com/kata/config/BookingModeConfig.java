@@ -0,0 +1,60 @@
+package com.kata.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refuse de démarrer avec des modes de réservation incompatibles, avant la création de tout
+ * bean : sans cela, deux {@code BookingOperations} principaux échouent sur une ambiguïté peu
+ * lisible, et le mode réactif combiné aux acteurs ou aux ventes journalisées démarre en
+ * écrivant les ventes sans passer par eux.
+ * <p>
+ * Les modes acteurs, cluster, ventes journalisées et réactif s'excluent deux à deux ; le
+ * registre des sièges ne suit pas le mode acteurs. En cluster, le cache de second niveau est
+ * refusé : un nœud y garderait disponibles les sièges vendus par un autre.
+ * </p>
+ */
+@Configuration
+public class BookingModeConfig {
+
+    static final String ACTORS = "app.booking.actors.enabled";
+    static final String CLUSTER = "app.cluster.enabled";
+    static final String JOURNALED_SALES = "app.sales.journal.enabled";
+    static final String LEDGER = "app.ledger.enabled";
+    static final String JPA_CACHE = "app.jpa.cache.enabled";
+    static final String WEB_APPLICATION_TYPE = "spring.main.web-application-type";
+
+    @Bean
+    public static BeanFactoryPostProcessor bookingModeCheck(Environment environment) {
+        return beanFactory -> checkModes(environment);
+    }
+
+    static void checkModes(Environment environment) {
+        List<String> exclusive = new ArrayList<>();
+        for (String flag : List.of(ACTORS, CLUSTER, JOURNALED_SALES)) {
+            if (environment.getProperty(flag, Boolean.class, false)) {
+                exclusive.add(flag + "=true");
+            }
+        }
+        if ("reactive".equalsIgnoreCase(environment.getProperty(WEB_APPLICATION_TYPE, ""))) {
+            exclusive.add(WEB_APPLICATION_TYPE + "=reactive");
+        }
+        if (exclusive.size() > 1) {
+            throw new IllegalStateException("Incompatible booking modes: " + String.join(", ", exclusive)
+                    + ". The actor, cluster, journaled sales and reactive modes cannot be combined.");
+        }
+        if (environment.getProperty(ACTORS, Boolean.class, false) && environment.getProperty(LEDGER, Boolean.class, false)) {
+            throw new IllegalStateException("Incompatible booking modes: " + ACTORS + "=true, " + LEDGER
+                    + "=true. The seat ledger does not record the actor mode.");
+        }
+        if (environment.getProperty(CLUSTER, Boolean.class, false) && environment.getProperty(JPA_CACHE, Boolean.class, false)) {
+            throw new IllegalStateException("Incompatible booking modes: " + CLUSTER + "=true, " + JPA_CACHE
+                    + "=true. Nodes sell each other's seats, so a local second-level cache would serve sold seats as available.");
+        }
+    }
+}
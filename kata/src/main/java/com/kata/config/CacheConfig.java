@@ -1,17 +1,36 @@
 package com.kata.config;
 
-import com.kata.business.models.SeatHold;
+import com.kata.business.holds.CountingHoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.holds.StripedHoldTable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration
 public class CacheConfig {
 
     @Bean
-    public Map<Long, SeatHold> holdCache() {
-        return new ConcurrentHashMap<>();
+    public CountingHoldStore holdStore(@Value("${app.holds.wal.enabled:true}") boolean walEnabled,
+                                       @Value("${app.holds.wal.path:data/holds.wal}") Path walPath,
+                                       @Value("${app.holds.wal.capacity:64MB}") DataSize walCapacity,
+                                       @Value("${app.holds.wal.flush-interval:10ms}") Duration flushInterval,
+                                       @Value("${app.holds.table.enabled:true}") boolean tableEnabled,
+                                       @Value("${app.holds.table.stripes:64}") int stripes,
+                                       @Value("${app.holds.table.initial-capacity:65536}") int initialCapacity) throws IOException {
+        int logCapacity = Math.toIntExact(walCapacity.toBytes());
+        if (tableEnabled) {
+            return new CountingHoldStore(walEnabled
+                    ? new StripedHoldTable(stripes, initialCapacity, walPath, logCapacity, flushInterval)
+                    : new StripedHoldTable(stripes, initialCapacity));
+        }
+        return new CountingHoldStore(walEnabled
+                ? new InMemoryHoldStore(walPath, logCapacity, flushInterval)
+                : new InMemoryHoldStore());
     }
 }
@@ -0,0 +1,39 @@
+package com.kata.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Place un {@link GatedDataSource} devant la DataSource du pool lorsque
+ * {@code app.datasource.gate.enabled} est actif, typiquement avec le profil {@code virtual-threads}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.gate", name = "enabled", havingValue = "true")
+public class DataSourceGateConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceGatePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.gate.max-concurrency:10}") int maxConcurrency,
+            @Value("${app.datasource.gate.acquire-timeout:30s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    return new GatedDataSource(dataSource, maxConcurrency, acquireTimeout,
+                            meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.kata.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource limitant le nombre de connexions empruntées simultanément.
+ * <p>
+ * Avec des threads virtuels, le nombre de requêtes concurrentes n'est plus borné par le pool
+ * de threads de Tomcat : sans limite, des milliers de threads se disputeraient le pool de
+ * connexions. Chaque emprunt attend ici un permis, dans l'ordre d'arrivée ; le permis est
+ * rendu à la fermeture de la connexion. Un thread virtuel en attente ne bloque aucun thread porteur.
+ * </p>
+ * <p>
+ * Le temps d'attente est publié dans le timer {@code datasource.gate.wait}, le nombre de threads
+ * en attente et de permis libres dans les jauges {@code datasource.gate.waiting} et
+ * {@code datasource.gate.available}, et les attentes abandonnées dans {@code datasource.gate.timeouts}.
+ * </p>
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public GatedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        super(target);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+        this.waitTimer = Timer.builder("datasource.gate.wait")
+                .description("Time spent waiting for a database permit")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("datasource.gate.timeouts")
+                .description("Connection requests that gave up waiting for a database permit")
+                .register(meterRegistry);
+        Gauge.builder("datasource.gate.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database permit")
+                .register(meterRegistry);
+        Gauge.builder("datasource.gate.available", permits, Semaphore::availablePermits)
+                .description("Database permits currently available")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return gated(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return gated(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException(
+                    "No database permit available after " + acquireTimeout.toMillis() + " ms");
+        }
+    }
+
+    /**
+     * Enveloppe la connexion pour rendre le permis à sa première fermeture.
+     */
+    private Connection gated(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(GatedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            yield invoke(connection, method, args);
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
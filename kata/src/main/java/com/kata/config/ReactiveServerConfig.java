@@ -0,0 +1,23 @@
+package com.kata.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serveur du profil {@code reactive} : Reactor Netty, avec ses boucles d'événements.
+ * <p>
+ * Tomcat est aussi présent pour le mode servlet et Spring Boot le choisirait par défaut pour
+ * une application réactive ; déclarer la fabrique Netty le fait renoncer à Tomcat.
+ * </p>
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
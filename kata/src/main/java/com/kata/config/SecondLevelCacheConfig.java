@@ -0,0 +1,67 @@
+package com.kata.config;
+
+import com.kata.dao.entities.Event;
+import com.kata.dao.entities.Seat;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+/**
+ * Cache de second niveau Hibernate pour {@link Event} et {@link Seat}, actif lorsque
+ * {@code app.jpa.cache.enabled} l'est.
+ * <p>
+ * Chaque entité a sa région : un cache Ehcache local, en tas, borné en nombre d'entrées et
+ * en durée de vie ({@code app.jpa.cache.ttl}), fourni à Hibernate par JCache. Une région
+ * manquante fait échouer le démarrage plutôt que d'être créée sans limite. Le cache n'est activé
+ * que par cette configuration : {@code use_second_level_cache} vaut {@code false} partout ailleurs,
+ * tests {@code @DataJpaTest} compris.
+ * </p>
+ * <p>
+ * Les statistiques Hibernate sont activées pour que les succès, échecs et insertions de chaque
+ * région soient publiés par Micrometer ({@code hibernate.second.level.cache.requests}).
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.jpa.cache", name = "enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${app.jpa.cache.ttl:10m}") Duration ttl,
+                                                @Value("${app.jpa.cache.event-entries:1000}") long eventEntries,
+                                                @Value("${app.jpa.cache.seat-entries:100000}") long seatEntries) {
+        CacheManager cacheManager = new EhcacheCachingProvider().getCacheManager();
+        cacheManager.createCache(Event.class.getName(), region(eventEntries, ttl));
+        cacheManager.createCache(Seat.class.getName(), region(seatEntries, ttl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static javax.cache.configuration.Configuration<Object, Object> region(long entries, Duration ttl) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl)));
+    }
+}
@@ -1,42 +1,61 @@
 package com.kata.controllers;
 
-import com.kata.business.SeatBookingService;
+import com.kata.business.BookingOperations;
+import com.kata.business.ratelimit.BookingRateLimiter;
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.BatchSeatReservationRequestDTO;
 import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.exceptions.BatchHoldErrorResponse;
+import com.kata.exceptions.WaitingRoomErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * REST controller for managing seat bookings and reservations.
  * Provides endpoints to temporarily hold seats and confirm final purchases.
  */
 @RestController
 @RequestMapping("${app.api.base-path}/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Tag(name = "Booking Management", description = "Endpoints for holding and confirming seat reservations")
 public class BookingController {
 
-    private final SeatBookingService seatBookingService;
+    private final BookingOperations bookingOperations;
+    private final WaitingRoom waitingRoom;
+    private final BookingRateLimiter bookingRateLimiter;
 
     /**
      * Temporarily holds a seat for a specific user.
      * <p>
      * This operation implements a "soft lock" in memory for a limited duration.
      * It will fail if the seat is already sold in the database or currently held in the cache.
+     * Requests are rate limited per user and per event, and the number of seats held at once
+     * by a user is capped. Seats of an event with a waiting room require an admitted queue token.
      * </p>
      *
      * @param request DTO containing the seat ID and the user ID initiating the hold
+     * @param queueToken the waiting room token, required for events with an admission rate
      * @return a 201 CREATED status if the seat is holded
      */
     @PostMapping
@@ -44,13 +63,76 @@ public class BookingController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Seat successfully held"),
             @ApiResponse(responseCode = "409", description = "Seat already sold or held"),
-            @ApiResponse(responseCode = "404", description = "Seat not found")
+            @ApiResponse(responseCode = "404", description = "Seat not found"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded, or queue token not admitted yet",
+                    content = @Content(schema = @Schema(implementation = WaitingRoomErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Invalid, expired or foreign queue token")
+    })
+    public ResponseEntity<Void> holdSeat(@RequestBody SeatReservationRequestDTO request,
+                                         @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken) {
+        List<Long> seatIds = Collections.singletonList(request.seatId());
+        bookingRateLimiter.checkHold(request.userId(), seatIds);
+        waitingRoom.checkAdmitted(queueToken, request.userId(), seatIds);
+        bookingOperations.holdSeat(request);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    /**
+     * Temporarily holds several seats for the same user, with all-or-nothing semantics.
+     * <p>
+     * The seats are loaded in a single query and held atomically: if any seat is unknown,
+     * sold or already held, no hold is kept and the response lists the reason for each
+     * failing seat. The same rate limits and waiting room as for a single seat apply.
+     * </p>
+     *
+     * @param request DTO containing the user ID and the IDs of the seats to hold
+     * @param queueToken the waiting room token, required for events with an admission rate
+     * @return a 201 CREATED status if every seat is held
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Hold several seats", description = "Creates a temporary 10-minute lock on all the seats, or on none of them.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All seats successfully held"),
+            @ApiResponse(responseCode = "400", description = "Missing user ID or empty seat list"),
+            @ApiResponse(responseCode = "409", description = "At least one seat is unknown, sold or held",
+                    content = @Content(schema = @Schema(implementation = BatchHoldErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded, or queue token not admitted yet",
+                    content = @Content(schema = @Schema(implementation = WaitingRoomErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Invalid, expired or foreign queue token")
     })
-    public ResponseEntity<Void> holdSeat(@RequestBody SeatReservationRequestDTO request) {
-        seatBookingService.holdSeat(request);
+    public ResponseEntity<Void> holdSeats(@Valid @RequestBody BatchSeatReservationRequestDTO request,
+                                          @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken) {
+        bookingRateLimiter.checkHold(request.userId(), request.seatIds());
+        waitingRoom.checkAdmitted(queueToken, request.userId(), request.seatIds());
+        bookingOperations.holdSeats(request);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    /**
+     * Confirms the payment of several held seats in a single checkout.
+     * <p>
+     * Every seat must be held by the given user. All seats are marked as 'SOLD' in one
+     * set-based update within a single transaction: if any of them was sold in the meantime,
+     * nothing is sold.
+     * </p>
+     *
+     * @param request DTO containing the user ID and the IDs of the held seats to buy
+     * @return a 200 OK status if every seat is sold
+     */
+    @PatchMapping
+    @Operation(summary = "Confirm several bookings", description = "Finalizes the purchase of all the seats held by the user, or of none of them.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Purchase confirmed for every seat"),
+            @ApiResponse(responseCode = "400", description = "Missing user ID or empty seat list"),
+            @ApiResponse(responseCode = "409", description = "A seat is not held or was sold in the meantime"),
+            @ApiResponse(responseCode = "410", description = "A hold expired"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - A seat is held by another user")
+    })
+    public ResponseEntity<Void> confirmBookings(@Valid @RequestBody BatchSeatReservationRequestDTO request) {
+        bookingOperations.confirmPayments(request);
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Confirms the payment and finalizes the booking for a held seat.
      * <p>
@@ -67,12 +149,13 @@ public class BookingController {
     @Operation(summary = "Confirm booking", description = "Finalizes the purchase and marks the seat as SOLD.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Purchase confirmed"),
-            @ApiResponse(responseCode = "409", description = "Seat not hold"),
+            @ApiResponse(responseCode = "409", description = "Seat not hold or already sold"),
+            @ApiResponse(responseCode = "404", description = "Seat not found"),
             @ApiResponse(responseCode = "410", description = "Hold expired"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - User ID does not match the hold")
     })
     public ResponseEntity<Void> confirmBooking(@PathVariable Long seatId, @RequestParam Long userId) {
-        seatBookingService.confirmPayment(seatId, userId);
+        bookingOperations.confirmPayment(seatId, userId);
         return ResponseEntity.ok().build();
     }
 }
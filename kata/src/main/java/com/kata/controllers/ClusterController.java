@@ -0,0 +1,141 @@
+package com.kata.controllers;
+
+import com.kata.business.SeatBookingService;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.cluster.ClusterClient;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.HoldTransferDTO;
+import com.kata.dto.RemoteSeatTransitionDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.exceptions.ClusterAccessDeniedException;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Internal endpoints used by the nodes of the cluster to talk to each other.
+ * <p>
+ * Every call is served by the local {@link SeatBookingService}, without further routing:
+ * the calling node has already resolved this node as the owner of the seats. These endpoints
+ * are not part of the public API and must not be exposed outside the cluster network. Callers
+ * must present {@code app.cluster.token} in the {@value ClusterClient#TOKEN_HEADER} header: the
+ * node refuses to start without a token, since these endpoints bypass rate limiting and the
+ * waiting room and can change seat states.
+ * </p>
+ */
+@Hidden
+@RestController
+@RequestMapping(ClusterClient.BASE_PATH)
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterController {
+
+    private final SeatBookingService seatBookingService;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ApplicationAvailability applicationAvailability;
+    private final byte[] token;
+
+    public ClusterController(SeatBookingService seatBookingService,
+                             SeatAvailabilityIndex seatAvailabilityIndex,
+                             ApplicationAvailability applicationAvailability,
+                             @Value("${app.cluster.token:}") String token) {
+        this.seatBookingService = seatBookingService;
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.applicationAvailability = applicationAvailability;
+        if (token.isBlank()) {
+            throw new IllegalStateException("app.cluster.token must be set when app.cluster.enabled is true");
+        }
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @ModelAttribute
+    void checkToken(@RequestHeader(value = ClusterClient.TOKEN_HEADER, required = false) String presented) {
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ClusterAccessDeniedException("Invalid cluster token.");
+        }
+    }
+
+    /**
+     * Answers once the application is ready, i.e. once the availability index is warmed up:
+     * a node only joins the ring of its peers when it can apply their transitions.
+     */
+    @GetMapping("/ping")
+    public ResponseEntity<Void> ping() {
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<Void> holdSeat(@RequestBody SeatReservationRequestDTO request) {
+        seatBookingService.holdSeat(request);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @PostMapping("/holds/batch")
+    public ResponseEntity<Void> holdSeats(@RequestBody BatchSeatReservationRequestDTO request) {
+        seatBookingService.holdSeats(request);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @PatchMapping("/holds/{seatId}")
+    public ResponseEntity<Void> confirmPayment(@PathVariable Long seatId, @RequestParam Long userId) {
+        seatBookingService.confirmPayment(seatId, userId);
+        return ResponseEntity.ok().build();
+    }
+
+    @PatchMapping("/holds")
+    public ResponseEntity<Void> confirmPayments(@RequestBody BatchSeatReservationRequestDTO request) {
+        seatBookingService.confirmPayments(request);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/holds/verify")
+    public ResponseEntity<Void> verifyHolds(@RequestBody BatchSeatReservationRequestDTO request) {
+        seatBookingService.verifyHolds(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/holds/complete")
+    public ResponseEntity<Void> completeSale(@RequestBody BatchSeatReservationRequestDTO request) {
+        seatBookingService.completeSale(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/holds/release")
+    public ResponseEntity<Void> releaseHolds(@RequestBody BatchSeatReservationRequestDTO request) {
+        seatBookingService.releaseHolds(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/holds/transfer")
+    public ResponseEntity<Void> adoptHolds(@RequestBody List<HoldTransferDTO> transfers) {
+        seatBookingService.adoptHolds(transfers);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/transitions")
+    public ResponseEntity<Void> applyTransitions(@RequestBody List<RemoteSeatTransitionDTO> transitions) {
+        transitions.forEach(transition ->
+                seatAvailabilityIndex.applyRemoteTransition(transition.seatId(), transition.type()));
+        return ResponseEntity.noContent().build();
+    }
+}
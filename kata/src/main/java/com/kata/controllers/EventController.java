@@ -1,32 +1,57 @@
 package com.kata.controllers;
 
 import com.kata.business.EventService;
+import com.kata.business.availability.AvailabilitySnapshot;
+import com.kata.business.feed.SeatTransitionSubscription;
+import com.kata.dto.SeatPageDTO;
 import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for exploring events and checking seat availability.
  * Provides read-only access to the event topology and current seat statuses.
  */
+@Slf4j
 @RestController
 @RequestMapping("${app.api.base-path}/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Tag(name = "Event Discovery", description = "Endpoints for browsing events and checking seat availability")
 public class EventController {
 
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final EventService eventService;
 
     /**
@@ -39,10 +64,16 @@ public class EventController {
      * </ul>
      * This endpoint ensures that users only see seats that can effectively be reserved.
      * </p>
+     * <p>
+     * The list is served as a pre-serialized JSON snapshot tagged with a strong ETag derived
+     * from the event's availability version. Clients sending a matching {@code If-None-Match}
+     * header receive a 304 Not Modified without the list being built or serialized.
+     * </p>
      *
      * @param eventId the unique identifier of the event
-     * @return a {@link ResponseEntity} containing a list of {@link SeatResponseDTO}
-     * representing the available seats
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
+     * @return a {@link ResponseEntity} containing the JSON list of {@link SeatResponseDTO}
+     * representing the available seats, or an empty 304 response
      */
     @GetMapping("/{eventId}/seats")
     @Operation(
@@ -53,7 +84,12 @@ public class EventController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved available seats",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SeatResponseDTO.class))
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SeatResponseDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Availability unchanged since the ETag sent in If-None-Match",
+                    content = @Content
             ),
             @ApiResponse(
                     responseCode = "404",
@@ -61,7 +97,136 @@ public class EventController {
                     content = @Content
             )
     })
-    public ResponseEntity<List<SeatResponseDTO>> getAvailableSeats(@PathVariable Long eventId) {
-        return ResponseEntity.ok(eventService.getAvailableSeats(eventId));
+    public ResponseEntity<byte[]> getAvailableSeats(@PathVariable Long eventId, WebRequest webRequest) {
+        String eTag = eventService.getAvailabilityETag(eventId);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        AvailabilitySnapshot snapshot = eventService.getAvailabilitySnapshot(eventId);
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
+    }
+
+    /**
+     * Retrieves one page of the available seats of an event, ordered by seat ID.
+     * <p>
+     * Pagination is keyset-based: each page returns the cursor of the next one, which is the ID
+     * of its last seat. Pages are read from the in-memory availability index and only the
+     * requested page is built, so the cost of a request does not depend on the venue size.
+     * </p>
+     *
+     * @param eventId the unique identifier of the event
+     * @param after the cursor returned by the previous page, absent for the first page
+     * @param limit the maximum number of seats in the page
+     * @return a {@link SeatPageDTO} with the seats and the next cursor, {@code null} on the last page
+     */
+    @GetMapping("/{eventId}/seats/page")
+    @Operation(summary = "Get a page of available seats", description = "Keyset pagination of the available seats, by seat ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of available seats"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size", content = @Content)
+    })
+    public ResponseEntity<SeatPageDTO> getAvailableSeatsPage(
+            @PathVariable Long eventId,
+            @Parameter(description = "Cursor returned by the previous page")
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(eventService.getAvailableSeatsPage(eventId, after, limit));
+    }
+
+    /**
+     * Exports all the available seats of an event as a JSON array written incrementally.
+     * <p>
+     * Seats are read from the database through a cursor and written to the response as they
+     * come, so memory use stays constant whatever the venue size. Seats currently held are
+     * left out, as in the availability list.
+     * </p>
+     *
+     * @param eventId the unique identifier of the event
+     * @return a streamed JSON list of {@link SeatResponseDTO}
+     */
+    @GetMapping(path = "/{eventId}/seats/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export available seats", description = "Streams the full list of available seats, read from the database with a cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Streamed list of available seats",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SeatResponseDTO.class)))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportAvailableSeats(@PathVariable Long eventId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> eventService.exportAvailableSeats(eventId, outputStream));
+    }
+
+    /**
+     * Streams seat availability transitions of an event as Server-Sent Events.
+     * <p>
+     * Each event is named after the transition type ({@code HELD}, {@code RELEASED}, {@code SOLD})
+     * and carries the availability version as its id, so that browsers resume automatically
+     * through {@code Last-Event-ID}. When the requested version is no longer in the history, or
+     * when the client cannot keep up, a {@code RESYNC} event is sent and the stream is closed:
+     * the client must reload the full list and reconnect from its version.
+     * </p>
+     *
+     * @param eventId the unique identifier of the event
+     * @param fromVersion the last availability version known by the client
+     * @param lastEventId the id of the last event received, sent back by browsers on reconnection
+     * @return an {@link SseEmitter} pushing {@link SeatTransitionDTO} events
+     */
+    @GetMapping(path = "/{eventId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream seat availability changes",
+            description = "Pushes HELD, RELEASED and SOLD transitions as Server-Sent Events, resuming after the given version."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of seat transitions",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = SeatTransitionDTO.class))
+            )
+    })
+    public SseEmitter streamSeatTransitions(
+            @PathVariable Long eventId,
+            @Parameter(description = "Resume after this availability version")
+            @RequestParam(required = false) Long fromVersion,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SeatTransitionSubscription subscription =
+                eventService.subscribeToSeatTransitions(eventId, fromVersion != null ? fromVersion : lastEventId);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        Thread.ofVirtual().name("seat-stream-" + eventId).start(() -> pump(subscription, emitter));
+        return emitter;
+    }
+
+    private void pump(SeatTransitionSubscription subscription, SseEmitter emitter) {
+        try (subscription) {
+            while (subscription.isOpen() && !subscription.isResyncRequired()) {
+                SeatTransitionDTO transition = subscription.poll(HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (transition != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(transition.version()))
+                            .name(transition.type().name())
+                            .data(transition, MediaType.APPLICATION_JSON));
+                } else if (subscription.isOpen() && !subscription.isResyncRequired()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+            if (subscription.isResyncRequired()) {
+                emitter.send(SseEmitter.event().name("RESYNC").data("reload"));
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Seat stream closed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
     }
 }
@@ -0,0 +1,109 @@
+package com.kata.controllers;
+
+import com.kata.business.ratelimit.BookingRateLimiter;
+import com.kata.business.reactive.ReactiveBookingService;
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link BookingController}, active when the application runs as a
+ * WebFlux server (the {@code reactive} profile).
+ * <p>
+ * Same paths, rules and responses. Rate limits and holds are checked in memory on the calling
+ * thread. The waiting room is checked on the bounded elastic scheduler, since the first check
+ * of an event reads it through JPA. Seat reads and sales go through R2DBC without blocking.
+ * </p>
+ */
+@RestController
+@RequestMapping("${app.api.base-path}/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+
+    private final ReactiveBookingService bookingService;
+    private final WaitingRoom waitingRoom;
+    private final BookingRateLimiter bookingRateLimiter;
+
+    /**
+     * Temporarily holds a seat for a specific user.
+     *
+     * @param request DTO containing the seat ID and the user ID initiating the hold
+     * @param queueToken the waiting room token, required for events with an admission rate
+     * @return a 201 CREATED status if the seat is held
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Void>> holdSeat(@RequestBody SeatReservationRequestDTO request,
+                                               @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken) {
+        List<Long> seatIds = Collections.singletonList(request.seatId());
+        bookingRateLimiter.checkHold(request.userId(), seatIds);
+        return checkAdmitted(queueToken, request.userId(), seatIds)
+                .then(Mono.defer(() -> bookingService.holdSeat(request)))
+                .then(Mono.just(ResponseEntity.status(HttpStatus.CREATED).build()));
+    }
+
+    /**
+     * Temporarily holds several seats for the same user, with all-or-nothing semantics.
+     *
+     * @param request DTO containing the user ID and the IDs of the seats to hold
+     * @param queueToken the waiting room token, required for events with an admission rate
+     * @return a 201 CREATED status if every seat is held
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Void>> holdSeats(@Valid @RequestBody BatchSeatReservationRequestDTO request,
+                                                @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken) {
+        bookingRateLimiter.checkHold(request.userId(), request.seatIds());
+        return checkAdmitted(queueToken, request.userId(), request.seatIds())
+                .then(Mono.defer(() -> bookingService.holdSeats(request)))
+                .then(Mono.just(ResponseEntity.status(HttpStatus.CREATED).build()));
+    }
+
+    /**
+     * Confirms the payment of several held seats in a single checkout.
+     *
+     * @param request DTO containing the user ID and the IDs of the held seats to buy
+     * @return a 200 OK status if every seat is sold
+     */
+    @PatchMapping
+    public Mono<ResponseEntity<Void>> confirmBookings(@Valid @RequestBody BatchSeatReservationRequestDTO request) {
+        return bookingService.confirmPayments(request)
+                .then(Mono.just(ResponseEntity.ok().build()));
+    }
+
+    /**
+     * Confirms the payment and finalizes the booking for a held seat.
+     *
+     * @param seatId the unique identifier of the seat to be confirmed
+     * @param userId the unique identifier of the user performing the checkout
+     * @return a 200 OK status if the confirmation is successful
+     */
+    @PatchMapping("{seatId}")
+    public Mono<ResponseEntity<Void>> confirmBooking(@PathVariable Long seatId, @RequestParam Long userId) {
+        return bookingService.confirmPayment(seatId, userId)
+                .then(Mono.just(ResponseEntity.ok().build()));
+    }
+
+    private Mono<Void> checkAdmitted(String queueToken, Long userId, List<Long> seatIds) {
+        return Mono.fromRunnable(() -> waitingRoom.checkAdmitted(queueToken, userId, seatIds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -0,0 +1,149 @@
+package com.kata.controllers;
+
+import com.kata.business.EventService;
+import com.kata.business.availability.AvailabilitySnapshot;
+import com.kata.business.feed.SeatTransitionSubscription;
+import com.kata.business.reactive.ReactiveEventService;
+import com.kata.dto.SeatPageDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactive counterpart of {@link EventController}, active when the application runs as a
+ * WebFlux server (the {@code reactive} profile).
+ * <p>
+ * The availability list, its pages and the transition stream are served from memory as in
+ * servlet mode. The export is read from the database through R2DBC and written as the client
+ * consumes it.
+ * </p>
+ */
+@RestController
+@RequestMapping("${app.api.base-path}/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveEventController {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final EventService eventService;
+    private final ReactiveEventService reactiveEventService;
+
+    /**
+     * Retrieves the pre-serialized list of available seats for a specific event, or an empty
+     * 304 response when the {@code If-None-Match} header matches its ETag.
+     *
+     * @param eventId the unique identifier of the event
+     * @param exchange the current exchange, used to evaluate {@code If-None-Match}
+     * @return the JSON list of {@link SeatResponseDTO} representing the available seats
+     */
+    @GetMapping("/{eventId}/seats")
+    public ResponseEntity<byte[]> getAvailableSeats(@PathVariable Long eventId, ServerWebExchange exchange) {
+        String eTag = eventService.getAvailabilityETag(eventId);
+        if (exchange.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        AvailabilitySnapshot snapshot = eventService.getAvailabilitySnapshot(eventId);
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
+    }
+
+    /**
+     * Retrieves one page of the available seats of an event, ordered by seat ID.
+     *
+     * @param eventId the unique identifier of the event
+     * @param after the cursor returned by the previous page, absent for the first page
+     * @param limit the maximum number of seats in the page
+     * @return a {@link SeatPageDTO} with the seats and the next cursor, {@code null} on the last page
+     */
+    @GetMapping("/{eventId}/seats/page")
+    public ResponseEntity<SeatPageDTO> getAvailableSeatsPage(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(eventService.getAvailableSeatsPage(eventId, after, limit));
+    }
+
+    /**
+     * Exports all the available seats of an event as a JSON array, written as the rows are
+     * read from the database.
+     *
+     * @param eventId the unique identifier of the event
+     * @return a streamed JSON list of {@link SeatResponseDTO}
+     */
+    @GetMapping(path = "/{eventId}/seats/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<SeatResponseDTO> exportAvailableSeats(@PathVariable Long eventId) {
+        return reactiveEventService.exportAvailableSeats(eventId);
+    }
+
+    /**
+     * Streams seat availability transitions of an event as Server-Sent Events, with the same
+     * event names, ids, heartbeats and {@code RESYNC} handling as {@link EventController}.
+     *
+     * @param eventId the unique identifier of the event
+     * @param fromVersion the last availability version known by the client
+     * @param lastEventId the id of the last event received, sent back by browsers on reconnection
+     * @return the stream of {@link SeatTransitionDTO} events
+     */
+    @GetMapping(path = "/{eventId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamSeatTransitions(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) Long fromVersion,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // an event not indexed yet is looked up in the database: keep that off the event loop
+        return Mono.fromCallable(() -> eventService.subscribeToSeatTransitions(eventId, fromVersion != null ? fromVersion : lastEventId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(subscription -> Flux.<ServerSentEvent<Object>>create(sink -> {
+                    sink.onDispose(subscription::close);
+                    Thread.ofVirtual().name("seat-stream-" + eventId).start(() -> pump(subscription, sink));
+                }));
+    }
+
+    private void pump(SeatTransitionSubscription subscription, FluxSink<ServerSentEvent<Object>> sink) {
+        try (subscription) {
+            while (subscription.isOpen() && !subscription.isResyncRequired() && !sink.isCancelled()) {
+                SeatTransitionDTO transition = subscription.poll(HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (transition != null) {
+                    sink.next(ServerSentEvent.builder()
+                            .id(Long.toString(transition.version()))
+                            .event(transition.type().name())
+                            .data(transition)
+                            .build());
+                } else if (subscription.isOpen() && !subscription.isResyncRequired()) {
+                    sink.next(ServerSentEvent.builder().comment("heartbeat").build());
+                }
+            }
+            if (subscription.isResyncRequired()) {
+                sink.next(ServerSentEvent.builder().event("RESYNC").data("reload").build());
+            }
+            sink.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sink.complete();
+        }
+    }
+}
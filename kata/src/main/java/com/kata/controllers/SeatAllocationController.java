@@ -0,0 +1,79 @@
+package com.kata.controllers;
+
+import com.kata.business.allocation.SeatAllocationService;
+import com.kata.business.ratelimit.BookingRateLimiter;
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.exceptions.WaitingRoomErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller allocating the best available adjacent seats of an event.
+ * Clients ask for a number of seats instead of picking them, which avoids collisions
+ * on the same seats during an on-sale.
+ */
+@RestController
+@RequestMapping("${app.api.base-path}/events/{eventId}/allocate")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Booking Management", description = "Endpoints for holding and confirming seat reservations")
+public class SeatAllocationController {
+
+    private final SeatAllocationService seatAllocationService;
+    private final WaitingRoom waitingRoom;
+    private final BookingRateLimiter bookingRateLimiter;
+
+    /**
+     * Finds adjacent free seats in the same row and holds them for the user.
+     * <p>
+     * The first row that can seat the whole group is chosen, and within it the block closest
+     * to the center. The seats are held atomically for 10 minutes, as with a batch hold, and
+     * are then confirmed with the usual checkout endpoints.
+     * </p>
+     *
+     * @param eventId the unique identifier of the event
+     * @param userId the unique identifier of the user
+     * @param count the number of adjacent seats to allocate
+     * @param queueToken the waiting room token, required for events with an admission rate
+     * @return a 201 CREATED status with the held seats
+     */
+    @PostMapping
+    @Operation(summary = "Allocate adjacent seats", description = "Picks and holds the best block of adjacent free seats.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Seats allocated and held"),
+            @ApiResponse(responseCode = "400", description = "Invalid seat count"),
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "409", description = "No block of adjacent free seats"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded, or queue token not admitted yet",
+                    content = @Content(schema = @Schema(implementation = WaitingRoomErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Invalid, expired or foreign queue token")
+    })
+    public ResponseEntity<List<SeatResponseDTO>> allocate(
+            @PathVariable Long eventId,
+            @RequestParam Long userId,
+            @RequestParam @Min(1) @Max(SeatAllocationService.MAX_COUNT) int count,
+            @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken) {
+        bookingRateLimiter.checkHold(userId, eventId, count);
+        waitingRoom.checkAdmitted(queueToken, userId, eventId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(seatAllocationService.allocate(eventId, userId, count));
+    }
+}
@@ -0,0 +1,52 @@
+package com.kata.controllers;
+
+import com.kata.business.ledger.SeatLedgerRecorder;
+import com.kata.dto.SeatLedgerEntryDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the seat ledger, to settle disputes about who held or bought a seat.
+ * Only available when the ledger is enabled.
+ */
+@RestController
+@RequestMapping("${app.api.base-path}/seats")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.ledger", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "Seat History", description = "Audit trail of holds, releases, expiries and sales")
+public class SeatHistoryController {
+
+    private final SeatLedgerRecorder seatLedgerRecorder;
+
+    /**
+     * Returns everything that ever happened to a seat, in ledger order.
+     * <p>
+     * The whole ledger is scanned, so this endpoint is meant for support and audit, not for
+     * the booking flow. An unknown seat simply has an empty history.
+     * </p>
+     *
+     * @param seatId the unique identifier of the seat
+     * @return a 200 OK status with the ledger entries of the seat
+     */
+    @GetMapping("/{seatId}/history")
+    @Operation(summary = "Get seat history", description = "Lists every hold, release, expiry and sale recorded for a seat.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully")
+    })
+    public ResponseEntity<List<SeatLedgerEntryDTO>> history(@PathVariable Long seatId) {
+        return ResponseEntity.ok(seatLedgerRecorder.history(seatId));
+    }
+}
@@ -0,0 +1,74 @@
+package com.kata.controllers;
+
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.QueueTicketDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the virtual waiting room of high-demand events.
+ * Clients join the queue of an event, then poll their position until they are admitted
+ * and may hold seats with their queue token.
+ */
+@RestController
+@RequestMapping("${app.api.base-path}/events/{eventId}/queue")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Waiting Room", description = "Endpoints for queueing before booking seats of high-demand events")
+public class WaitingRoomController {
+
+    private final WaitingRoom waitingRoom;
+
+    /**
+     * Joins the waiting room of an event.
+     * <p>
+     * The returned token must be sent in the {@code X-Queue-Token} header when holding seats.
+     * Events without an admission rate admit every client immediately.
+     * </p>
+     *
+     * @param eventId the unique identifier of the event
+     * @param userId the unique identifier of the user joining the queue
+     * @return a 201 CREATED status with the queue token and the position in the queue
+     */
+    @PostMapping
+    @Operation(summary = "Join the waiting room", description = "Issues a signed queue token and the position in the event's queue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Queue joined"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    public ResponseEntity<QueueTicketDTO> join(@PathVariable Long eventId, @RequestParam Long userId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitingRoom.join(eventId, userId));
+    }
+
+    /**
+     * Returns the current position of a queue token.
+     *
+     * @param eventId the unique identifier of the event
+     * @param token the queue token returned when joining
+     * @return the position in the queue and whether the token is admitted
+     */
+    @GetMapping
+    @Operation(summary = "Check the queue position", description = "Returns the position of the token and whether it is admitted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current position"),
+            @ApiResponse(responseCode = "403", description = "Invalid, expired or foreign queue token"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    public ResponseEntity<QueueTicketDTO> status(@PathVariable Long eventId,
+                                                 @RequestHeader(WaitingRoom.TOKEN_HEADER) String token) {
+        return ResponseEntity.ok(waitingRoom.status(eventId, token));
+    }
+}
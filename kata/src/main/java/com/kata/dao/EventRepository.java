@@ -2,6 +2,11 @@ package com.kata.dao;
 
 import com.kata.dao.entities.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
+    @Query("SELECT e.id FROM Event e")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,141 @@
+package com.kata.dao;
+
+import com.kata.business.models.SeatState;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+
+/**
+ * Accès R2DBC aux sièges pour le profil {@code reactive} : lectures d'état et passage à SOLD
+ * sans bloquer de thread, sur la même base que JPA.
+ * <p>
+ * Le pool de connexions est propre à ce repository et n'est pas exposé en bean, pour ne pas
+ * entrer en concurrence avec la DataSource JDBC configurée par Spring Boot. Les ventes sont les
+ * mêmes UPDATE conditionnels que {@link SeatSalesRepository} : la base garantit qu'un siège
+ * n'est vendu qu'une fois. Elles ne passent pas par Hibernate, d'où le cache de second niveau
+ * désactivé dans ce profil.
+ * </p>
+ * <p>
+ * Le pilote H2 exécute ses requêtes de façon synchrone. Les connexions sont donc remises sur
+ * {@link Schedulers#boundedElastic()} : par défaut, le pool les remet sur le thread qui libère
+ * la précédente, et toutes les requêtes finissent sérialisées sur un seul thread, ou exécutées
+ * sur les boucles d'événements de Netty.
+ * </p>
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSeatRepository implements DisposableBean {
+
+    private static final String SEAT_STATE_COLUMNS = "SELECT id, event_id, status FROM seat ";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveSeatRepository(@Value("${app.reactive.r2dbc.url}") String url,
+                                  @Value("${app.reactive.r2dbc.pool-size:16}") int poolSize) {
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(url))
+                .initialSize(Math.min(4, poolSize))
+                .maxSize(poolSize)
+                .customizer(pool -> pool.acquisitionScheduler(Schedulers.boundedElastic()))
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    public Mono<SeatState> findById(Long seatId) {
+        return databaseClient.sql(SEAT_STATE_COLUMNS + "WHERE id = :id")
+                .bind("id", seatId)
+                .map(ReactiveSeatRepository::seatState)
+                .one();
+    }
+
+    public Flux<SeatState> findAllById(Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SEAT_STATE_COLUMNS + "WHERE id IN (:ids)")
+                .bind("ids", seatIds)
+                .map(ReactiveSeatRepository::seatState)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long seatId) {
+        return databaseClient.sql("SELECT 1 FROM seat WHERE id = :id")
+                .bind("id", seatId)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Passe le siège à SOLD s'il est encore disponible, sans lecture préalable.
+     * @return 1 si le siège a été vendu, 0 s'il n'existe pas ou était déjà vendu
+     */
+    public Mono<Long> markSoldIfAvailable(Long seatId) {
+        return databaseClient.sql("UPDATE seat SET status = 'SOLD' WHERE id = :id AND status = 'AVAILABLE'")
+                .bind("id", seatId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Passe tous les sièges à SOLD en une seule instruction, ou aucun : si l'un d'eux n'était
+     * plus disponible, la transaction est annulée.
+     * @return {@code true} si tous les sièges ont été vendus
+     */
+    public Mono<Boolean> markAllSoldIfAvailable(Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return Mono.just(Boolean.TRUE);
+        }
+        return transactionalOperator.execute(status -> databaseClient
+                        .sql("UPDATE seat SET status = 'SOLD' WHERE id IN (:ids) AND status = 'AVAILABLE'")
+                        .bind("ids", seatIds)
+                        .fetch()
+                        .rowsUpdated()
+                        .map(sold -> {
+                            if (sold != seatIds.size()) {
+                                status.setRollbackOnly();
+                                return Boolean.FALSE;
+                            }
+                            return Boolean.TRUE;
+                        }))
+                .single();
+    }
+
+    /**
+     * Sièges AVAILABLE en base d'un événement, dans l'ordre des ids, émis au fil de la lecture.
+     */
+    public Flux<SeatResponseDTO> streamAvailableSeats(Long eventId) {
+        return databaseClient.sql("SELECT id, seat_number FROM seat WHERE event_id = :eventId AND status = 'AVAILABLE' ORDER BY id")
+                .bind("eventId", eventId)
+                .map(row -> new SeatResponseDTO(row.get("id", Long.class), row.get("seat_number", String.class),
+                        SeatStatus.AVAILABLE.name()))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static SeatState seatState(Readable row) {
+        return new SeatState(row.get("id", Long.class), row.get("event_id", Long.class),
+                SeatStatus.valueOf(row.get("status", String.class)));
+    }
+}
@@ -1,16 +1,48 @@
 package com.kata.dao;
 
-import com.kata.enums.SeatStatus;
 import com.kata.dao.entities.Seat;
+import com.kata.dto.SeatResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface SeatRepository extends JpaRepository<Seat, Long> {
-    @Query("SELECT s FROM Seat s JOIN FETCH s.event WHERE s.event.id = :eventId AND s.status = :status")
-    List<Seat> findByEventIdAndStatus(Long eventId, SeatStatus status);
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatSalesRepository {
+    /**
+     * Sièges disponibles en base d'un événement, dans l'ordre des ids, lus au fil de l'eau.
+     * Les lignes sont projetées en DTO non gérés : le contexte de persistance ne grossit pas,
+     * et le curseur JDBC est lu par paquets de {@code fetchSize}. À consommer dans une transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.kata.dto.SeatResponseDTO(s.id, s.seatNumber, 'AVAILABLE') FROM Seat s " +
+            "WHERE s.event.id = :eventId AND s.status = com.kata.enums.SeatStatus.AVAILABLE ORDER BY s.id")
+    Stream<SeatResponseDTO> streamAvailableSeats(Long eventId);
+
+    /**
+     * Id, numéro et statut de tous les sièges d'un événement, dans l'ordre des ids.
+     * Projection en lecture seule, sans jointure sur l'événement ni entité gérée : rien à
+     * hydrater ni à vérifier au flush. Servie par l'index {@code idx_seat_event_status}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.kata.dto.SeatResponseDTO(s.id, s.seatNumber, CAST(s.status AS String)) FROM Seat s " +
+            "WHERE s.event.id = :eventId ORDER BY s.id")
+    List<SeatResponseDTO> findSeatStates(Long eventId);
+
+    /**
+     * Ids des sièges vendus d'un événement, servis par l'index {@code idx_seat_event_status}.
+     * Sert à confronter à la base les états reconstruits par le registre des sièges.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s.id FROM Seat s WHERE s.event.id = :eventId AND s.status = com.kata.enums.SeatStatus.SOLD")
+    List<Long> findSoldSeatIds(Long eventId);
 }
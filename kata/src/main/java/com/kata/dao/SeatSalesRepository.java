@@ -0,0 +1,22 @@
+package com.kata.dao;
+
+import java.util.Collection;
+
+/**
+ * Ventes de sièges, implémentées par {@link SeatSalesRepositoryImpl} pour rester cohérentes
+ * avec le cache de second niveau.
+ */
+public interface SeatSalesRepository {
+
+    /**
+     * Passe le siège à SOLD s'il est encore disponible, sans lecture préalable.
+     * @return 1 si le siège a été vendu, 0 s'il n'existe pas ou était déjà vendu
+     */
+    int markSoldIfAvailable(Long seatId);
+
+    /**
+     * Passe à SOLD, en une seule instruction, les sièges encore disponibles parmi ceux donnés.
+     * @return le nombre de sièges effectivement vendus
+     */
+    int markSoldIfAvailable(Collection<Long> seatIds);
+}
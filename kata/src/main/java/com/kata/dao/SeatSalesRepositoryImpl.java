@@ -0,0 +1,69 @@
+package com.kata.dao;
+
+import com.kata.dao.entities.Seat;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ventes par UPDATE conditionnel, sans invalider tout le cache de second niveau des sièges.
+ * <p>
+ * Une mise à jour en masse HQL sur {@link Seat} vide toute la région du cache à chaque vente.
+ * L'instruction est donc native et déclare son propre espace de synchronisation
+ * ({@value #SALES_QUERY_SPACE}), qui ne correspond à aucune entité : Hibernate ne touche à
+ * aucune région, et seuls les sièges vendus sont évincés. Ils le sont tout de suite, puis à
+ * la fin de la transaction, un lecteur concurrent ayant pu recharger entre-temps l'état
+ * précédent depuis la base.
+ * </p>
+ */
+class SeatSalesRepositoryImpl implements SeatSalesRepository {
+
+    static final String SALES_QUERY_SPACE = "seat_sales";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int markSoldIfAvailable(Long seatId) {
+        int sold = entityManager.createNativeQuery(
+                        "UPDATE seat SET status = 'SOLD' WHERE id = :seatId AND status = 'AVAILABLE'")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, SALES_QUERY_SPACE)
+                .setParameter("seatId", seatId)
+                .executeUpdate();
+        evict(List.of(seatId));
+        return sold;
+    }
+
+    @Override
+    public int markSoldIfAvailable(Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return 0;
+        }
+        int sold = entityManager.createNativeQuery(
+                        "UPDATE seat SET status = 'SOLD' WHERE id IN (:seatIds) AND status = 'AVAILABLE'")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, SALES_QUERY_SPACE)
+                .setParameter("seatIds", seatIds)
+                .executeUpdate();
+        evict(List.copyOf(seatIds));
+        return sold;
+    }
+
+    private void evict(List<Long> seatIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        seatIds.forEach(seatId -> cache.evict(Seat.class, seatId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    seatIds.forEach(seatId -> cache.evict(Seat.class, seatId));
+                }
+            });
+        }
+    }
+}
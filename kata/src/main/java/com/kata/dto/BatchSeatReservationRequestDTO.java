@@ -0,0 +1,11 @@
+package com.kata.dto;
+
+import com.kata.business.allocation.SeatAllocationService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchSeatReservationRequestDTO(@NotNull Long userId,
+                                             @NotEmpty @Size(max = SeatAllocationService.MAX_COUNT) List<@NotNull Long> seatIds) {}
@@ -0,0 +1,6 @@
+package com.kata.dto;
+
+/**
+ * Verrou cédé à un autre nœud du cluster, l'échéance étant en millisecondes depuis l'époque Unix.
+ */
+public record HoldTransferDTO(Long seatId, Long userId, long expiresAt) {}
@@ -0,0 +1,3 @@
+package com.kata.dto;
+
+public record QueueTicketDTO(String token, long position, boolean admitted, long estimatedWaitSeconds) {}
@@ -0,0 +1,5 @@
+package com.kata.dto;
+
+import com.kata.enums.SeatTransitionType;
+
+public record RemoteSeatTransitionDTO(Long seatId, SeatTransitionType type) {}
@@ -0,0 +1,5 @@
+package com.kata.dto;
+
+import com.kata.enums.SeatHoldFailureReason;
+
+public record SeatHoldFailureDTO(Long seatId, SeatHoldFailureReason reason) {}
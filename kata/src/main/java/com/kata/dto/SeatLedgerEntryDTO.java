@@ -0,0 +1,9 @@
+package com.kata.dto;
+
+import com.kata.enums.SeatLedgerEntryType;
+
+/**
+ * Entrée du registre des sièges, les instants étant en millisecondes depuis l'époque Unix ;
+ * l'échéance vaut 0 pour une vente.
+ */
+public record SeatLedgerEntryDTO(long position, SeatLedgerEntryType type, Long userId, long at, long expiresAt) {}
@@ -0,0 +1,5 @@
+package com.kata.dto;
+
+import java.util.List;
+
+public record SeatPageDTO(List<SeatResponseDTO> seats, Long nextCursor) {}
@@ -0,0 +1,5 @@
+package com.kata.enums;
+
+public enum SeatHoldFailureReason {
+    NOT_FOUND, ALREADY_SOLD, ALREADY_HELD
+}
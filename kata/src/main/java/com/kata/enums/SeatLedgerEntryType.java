@@ -0,0 +1,5 @@
+package com.kata.enums;
+
+public enum SeatLedgerEntryType {
+    HOLD, RELEASE, EXPIRY, SALE
+}
@@ -0,0 +1,5 @@
+package com.kata.enums;
+
+public enum SeatTransitionType {
+    HELD, RELEASED, SOLD
+}
@@ -0,0 +1,8 @@
+package com.kata.exceptions;
+
+import com.kata.dto.SeatHoldFailureDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BatchHoldErrorResponse(int status, String message, LocalDateTime timestamp, List<SeatHoldFailureDTO> failures) {}
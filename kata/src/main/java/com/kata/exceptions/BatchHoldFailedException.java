@@ -0,0 +1,16 @@
+package com.kata.exceptions;
+
+import com.kata.dto.SeatHoldFailureDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchHoldFailedException extends RuntimeException {
+    private final List<SeatHoldFailureDTO> failures;
+
+    public BatchHoldFailedException(String message, List<SeatHoldFailureDTO> failures) {
+        super(message);
+        this.failures = failures;
+    }
+}
@@ -0,0 +1,7 @@
+package com.kata.exceptions;
+
+public class ClusterAccessDeniedException extends RuntimeException {
+    public ClusterAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.kata.exceptions;
+
+public class ClusterNodeUnavailableException extends RuntimeException {
+    public ClusterNodeUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.kata.exceptions;
+
+public class EventNotFoundException extends RuntimeException {
+    public EventNotFoundException(String message) {
+        super(message);
+    }
+}
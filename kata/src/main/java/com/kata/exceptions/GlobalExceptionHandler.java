@@ -1,9 +1,13 @@
 package com.kata.exceptions;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 
@@ -24,6 +28,28 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(buildErrorResponse(HttpStatus.GONE, ex.getMessage()), HttpStatus.GONE);
     }
 
+    @ExceptionHandler(BatchHoldFailedException.class)
+    public ResponseEntity<BatchHoldErrorResponse> handleBatchHoldFailed(BatchHoldFailedException ex) {
+        return new ResponseEntity<>(new BatchHoldErrorResponse(
+                HttpStatus.CONFLICT.value(), ex.getMessage(), LocalDateTime.now(), ex.getFailures()),
+                HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidArgument(MethodArgumentNotValidException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid request."), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBody(WebExchangeBindException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid request."), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidParameter(HandlerMethodValidationException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid request."), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneralException(Exception ex) {
         return new ResponseEntity<>(buildErrorResponse(
@@ -46,6 +72,52 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(buildErrorResponse(HttpStatus.UNAUTHORIZED, ex.getMessage()), HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(EventNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEventNotFound(EventNotFoundException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage()), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(NotAdmittedException.class)
+    public ResponseEntity<WaitingRoomErrorResponse> handleNotAdmitted(NotAdmittedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", Long.toString(ex.getRetryAfterSeconds()))
+                .body(new WaitingRoomErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage(),
+                        LocalDateTime.now(), ex.getPosition(), ex.getRetryAfterSeconds()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() > 0) {
+            response.header("Retry-After", Long.toString(ex.getRetryAfterSeconds()));
+        }
+        return response.body(buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidQueueTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQueueToken(InvalidQueueTokenException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.FORBIDDEN, ex.getMessage()), HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(RemoteBookingException.class)
+    public ResponseEntity<byte[]> handleRemoteBooking(RemoteBookingException ex) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatusCode.valueOf(ex.getStatus()));
+        if (ex.getContentType() != null) {
+            response.header("Content-Type", ex.getContentType());
+        }
+        return response.body(ex.getBody());
+    }
+
+    @ExceptionHandler(ClusterNodeUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleClusterNodeUnavailable(ClusterNodeUnavailableException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ClusterAccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleClusterAccessDenied(ClusterAccessDeniedException ex) {
+        return new ResponseEntity<>(buildErrorResponse(HttpStatus.FORBIDDEN, ex.getMessage()), HttpStatus.FORBIDDEN);
+    }
+
     private ErrorResponse buildErrorResponse(HttpStatus status, String message) {
         return new ErrorResponse(status.value(), message, LocalDateTime.now());
     }
@@ -0,0 +1,7 @@
+package com.kata.exceptions;
+
+public class InvalidQueueTokenException extends RuntimeException {
+    public InvalidQueueTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kata.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class NotAdmittedException extends RuntimeException {
+    private final long position;
+    private final long retryAfterSeconds;
+
+    public NotAdmittedException(String message, long position, long retryAfterSeconds) {
+        super(message);
+        this.position = position;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kata.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Erreur renvoyée par le nœud propriétaire d'un siège, relayée telle quelle au client.
+ */
+@Getter
+public class RemoteBookingException extends RuntimeException {
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    public RemoteBookingException(int status, String contentType, byte[] body) {
+        super("Remote node answered " + status);
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+}
@@ -0,0 +1,5 @@
+package com.kata.exceptions;
+
+import java.time.LocalDateTime;
+
+public record WaitingRoomErrorResponse(int status, String message, LocalDateTime timestamp, long position, long retryAfterSeconds) {}
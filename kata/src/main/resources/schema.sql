@@ -4,7 +4,9 @@ DROP TABLE IF EXISTS event;
 CREATE TABLE event (
                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
                        title VARCHAR(255) NOT NULL,
-                       date_time TIMESTAMP NOT NULL
+                       date_time TIMESTAMP NOT NULL,
+                       admission_rate INT,
+                       hold_duration_seconds INT
 );
 
 CREATE TABLE seat (
@@ -13,4 +15,5 @@ CREATE TABLE seat (
                       seat_number VARCHAR(10) NOT NULL,
                       status VARCHAR(20) NOT NULL,
                       CONSTRAINT fk_event FOREIGN KEY (event_id) REFERENCES event(id)
-);
\ No newline at end of file
+);
+CREATE INDEX idx_seat_event_status ON seat (event_id, status);
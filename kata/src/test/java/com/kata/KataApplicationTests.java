@@ -3,7 +3,7 @@ package com.kata;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.holds.wal.path=target/holds.wal")
 class KataApplicationTests {
 
 	@Test
@@ -1,10 +1,24 @@
 package com.kata.business;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kata.business.availability.AvailabilitySnapshot;
+import com.kata.business.availability.AvailabilitySnapshotCache;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.feed.SeatChangeFeed;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.dao.EventRepository;
 import com.kata.dao.SeatRepository;
+import com.kata.dto.SeatPageDTO;
 import com.kata.dto.SeatResponseDTO;
 import com.kata.enums.SeatStatus;
-import com.kata.dao.entities.Seat;
+import com.kata.exceptions.EventNotFoundException;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.ledger.RecoveredSeats;
 import com.kata.business.models.SeatHold;
+import com.kata.business.sales.PendingSales;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +26,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,14 +41,22 @@ class EventServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
-    private Map<Long, SeatHold> holdCache;
+    @Mock
+    private EventRepository eventRepository;
+
+    private HoldStore holdStore;
+
+    private SeatAvailabilityIndex seatAvailabilityIndex;
 
     private EventService eventService;
 
     @BeforeEach
     void setUp() {
-        holdCache = new HashMap<>();
-        eventService = new EventService(seatRepository, holdCache);
+        holdStore = new InMemoryHoldStore();
+        seatAvailabilityIndex = new SeatAvailabilityIndex(seatRepository, eventRepository, holdStore, List.of(), MillisClock.SYSTEM, new PendingSales(), new RecoveredSeats(), event -> {});
+        eventService = new EventService(seatAvailabilityIndex,
+                new AvailabilitySnapshotCache(seatAvailabilityIndex, new ObjectMapper()), new SeatChangeFeed(16, 16),
+                new BookingMetrics(new SimpleMeterRegistry()), seatRepository, new ObjectMapper());
     }
 
     @Test
@@ -41,19 +64,13 @@ class EventServiceTest {
     void getAvailableSeats_Success() {
         Long eventId = 1L;
 
-        Seat seat1 = new Seat();
-        seat1.setId(101L);
-        seat1.setSeatNumber("A1");
-
+        SeatResponseDTO seat1 = seat(101L, "A1", SeatStatus.AVAILABLE);
+        SeatResponseDTO seat2 = seat(102L, "A2", SeatStatus.AVAILABLE);
+        SeatResponseDTO seat3 = seat(103L, "A3", SeatStatus.SOLD);
 
-        Seat seat2 = new Seat();
-        seat2.setId(102L);
-        seat2.setSeatNumber("A2");
+        when(seatRepository.findSeatStates(eventId)).thenReturn(List.of(seat1, seat2, seat3));
 
-        when(seatRepository.findByEventIdAndStatus(eventId, SeatStatus.AVAILABLE))
-                .thenReturn(List.of(seat1, seat2));
-
-        holdCache.put(102L, new SeatHold(102L, LocalDateTime.now().plusMinutes(10)));
+        holdStore.putIfAbsent(102L, new SeatHold(102L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis()));
 
         List<SeatResponseDTO> result = eventService.getAvailableSeats(eventId);
 
@@ -66,17 +83,92 @@ class EventServiceTest {
     @DisplayName("Should return seat if hold in cache is expired")
     void getAvailableSeats_WhenHoldIsExpired() {
         Long eventId = 1L;
-        Seat seat1 = new Seat();
-        seat1.setId(101L);
-        seat1.setSeatNumber("A1");
+        SeatResponseDTO seat1 = seat(101L, "A1", SeatStatus.AVAILABLE);
 
-        when(seatRepository.findByEventIdAndStatus(eventId, SeatStatus.AVAILABLE))
-                .thenReturn(List.of(seat1));
+        when(seatRepository.findSeatStates(eventId)).thenReturn(List.of(seat1));
 
-        holdCache.put(101L, new SeatHold(101L, LocalDateTime.now().minusMinutes(5)));
+        holdStore.putIfAbsent(101L, new SeatHold(101L, System.currentTimeMillis() - Duration.ofMinutes(5).toMillis()));
 
         List<SeatResponseDTO> result = eventService.getAvailableSeats(eventId);
 
         assertThat(result).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should reuse the serialized snapshot until availability changes")
+    void getAvailabilitySnapshot_ReusedUntilVersionChanges() throws Exception {
+        Long eventId = 1L;
+        when(seatRepository.findSeatStates(eventId)).thenReturn(List.of(
+                seat(101L, "A1", SeatStatus.AVAILABLE),
+                seat(102L, "A2", SeatStatus.AVAILABLE)));
+
+        AvailabilitySnapshot first = eventService.getAvailabilitySnapshot(eventId);
+        AvailabilitySnapshot second = eventService.getAvailabilitySnapshot(eventId);
+
+        assertThat(second).isSameAs(first);
+        assertThat(eventService.getAvailabilityETag(eventId)).isEqualTo(first.eTag());
+
+        holdStore.putIfAbsent(102L, new SeatHold(100L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis()));
+        seatAvailabilityIndex.refresh(102L);
+        AvailabilitySnapshot third = eventService.getAvailabilitySnapshot(eventId);
+
+        assertThat(third.version()).isGreaterThan(first.version());
+        assertThat(third.eTag()).isNotEqualTo(first.eTag());
+        SeatResponseDTO[] seats = new ObjectMapper().readValue(third.body(), SeatResponseDTO[].class);
+        assertThat(seats).extracting(SeatResponseDTO::id).containsExactly(101L);
+    }
+
+    @Test
+    @DisplayName("Should page available seats by seat id and return the next cursor")
+    void getAvailableSeatsPage_KeysetPagination() {
+        Long eventId = 1L;
+        when(seatRepository.findSeatStates(eventId)).thenReturn(List.of(
+                seat(101L, "A1", SeatStatus.AVAILABLE),
+                seat(102L, "A2", SeatStatus.SOLD),
+                seat(103L, "A3", SeatStatus.AVAILABLE),
+                seat(104L, "A4", SeatStatus.AVAILABLE),
+                seat(105L, "A5", SeatStatus.AVAILABLE)));
+        holdStore.putIfAbsent(104L, new SeatHold(100L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis()));
+
+        SeatPageDTO first = eventService.getAvailableSeatsPage(eventId, null, 2);
+        SeatPageDTO second = eventService.getAvailableSeatsPage(eventId, first.nextCursor(), 2);
+
+        assertThat(first.seats()).extracting(SeatResponseDTO::id).containsExactly(101L, 103L);
+        assertThat(first.nextCursor()).isEqualTo(103L);
+        assertThat(second.seats()).extracting(SeatResponseDTO::id).containsExactly(105L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stream available seats from the database as JSON, skipping held seats")
+    void exportAvailableSeats_StreamsJson() throws Exception {
+        Long eventId = 1L;
+        when(seatRepository.findSeatStates(eventId)).thenReturn(List.of(
+                seat(101L, "A1", SeatStatus.AVAILABLE),
+                seat(102L, "A2", SeatStatus.AVAILABLE)));
+        when(seatRepository.streamAvailableSeats(eventId)).thenReturn(Stream.of(
+                new SeatResponseDTO(101L, "A1", "AVAILABLE"),
+                new SeatResponseDTO(102L, "A2", "AVAILABLE")));
+        holdStore.putIfAbsent(102L, new SeatHold(100L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis()));
+        seatAvailabilityIndex.availableSeats(eventId);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        eventService.exportAvailableSeats(eventId, output);
+
+        SeatResponseDTO[] seats = new ObjectMapper().readValue(output.toByteArray(), SeatResponseDTO[].class);
+        assertThat(seats).extracting(SeatResponseDTO::id).containsExactly(101L);
+    }
+
+    @Test
+    @DisplayName("Should refuse to stream transitions of an unknown event")
+    void subscribeToSeatTransitions_UnknownEvent() {
+        when(seatRepository.findSeatStates(42L)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> eventService.subscribeToSeatTransitions(42L, null))
+                .isInstanceOf(EventNotFoundException.class);
+    }
+
+    private SeatResponseDTO seat(Long id, String seatNumber, SeatStatus status) {
+        return new SeatResponseDTO(id, seatNumber, status.name());
+    }
+}
@@ -1,14 +1,32 @@
 package com.kata.business;
 
+import com.kata.dao.EventRepository;
 import com.kata.dao.SeatRepository;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.HoldTransferDTO;
+import com.kata.dto.SeatHoldFailureDTO;
 import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.enums.SeatHoldFailureReason;
 import com.kata.enums.SeatStatus;
+import com.kata.exceptions.BatchHoldFailedException;
 import com.kata.exceptions.ReservationExpiredException;
 import com.kata.exceptions.SeatAlreadyHoldByAnotherUserException;
 import com.kata.exceptions.SeatAlreadySoldException;
 import com.kata.exceptions.SeatNotAvailableException;
+import com.kata.exceptions.SeatNotFoundException;
+import com.kata.dao.entities.Event;
 import com.kata.dao.entities.Seat;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.holds.HoldPolicy;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.holds.SeatHolds;
 import com.kata.business.models.SeatHold;
+import com.kata.business.sales.PendingSales;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,14 +34,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,13 +65,50 @@ class SeatBookingServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
-    private Map<Long, SeatHold> holdCache;
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private HoldStore holdStore;
+    private PendingSales pendingSales;
+    private SimpleMeterRegistry meterRegistry;
     private SeatBookingService bookingService;
 
     @BeforeEach
     void setUp() {
-        holdCache = new HashMap<>();
-        bookingService = new SeatBookingService(seatRepository, holdCache);
+        meterRegistry = new SimpleMeterRegistry();
+        holdStore = new InMemoryHoldStore();
+        pendingSales = new PendingSales();
+        bookingService = newBookingService(holdStore);
+    }
+
+    private Map<Long, SeatHold> heldSeats() {
+        Map<Long, SeatHold> held = new HashMap<>();
+        holdStore.forEach(held::put);
+        return held;
+    }
+
+    private SeatBookingService newBookingService(HoldStore holdStore) {
+        SeatHolds seatHolds = new SeatHolds(holdStore, newExpiryWheel(holdStore), seatAvailabilityIndex,
+                MillisClock.SYSTEM, new HoldPolicy(eventRepository, MillisClock.SYSTEM, Duration.ofMinutes(10)),
+                pendingSales, List.of());
+        return new SeatBookingService(seatRepository, seatHolds, new BookingMetrics(meterRegistry));
+    }
+
+    private static HoldExpiryWheel newExpiryWheel(HoldStore holdStore) {
+        return new HoldExpiryWheel(holdStore, event -> {}, Duration.ofMillis(100), 512);
+    }
+
+    private static Seat seat(Long id, SeatStatus status) {
+        Event event = new Event();
+        event.setId(1L);
+        Seat seat = new Seat();
+        seat.setId(id);
+        seat.setEvent(event);
+        seat.setStatus(status);
+        return seat;
     }
 
     @Nested
@@ -54,23 +122,35 @@ class SeatBookingServiceTest {
             Long userId = 100L;
             SeatReservationRequestDTO request = new SeatReservationRequestDTO(seatId, userId);
 
-            Seat seat = new Seat();
-            seat.setId(seatId);
-            seat.setStatus(SeatStatus.AVAILABLE);
-
-            when(seatRepository.findById(seatId)).thenReturn(Optional.of(seat));
+            when(seatRepository.findById(seatId)).thenReturn(Optional.of(seat(seatId, SeatStatus.AVAILABLE)));
 
             bookingService.holdSeat(request);
 
-            assertThat(holdCache).containsKey(seatId);
-            assertThat(holdCache.get(seatId).userId()).isEqualTo(userId);
+            assertThat(holdStore.get(seatId)).isNotNull();
+            assertThat(holdStore.get(seatId).userId()).isEqualTo(userId);
+            verify(seatAvailabilityIndex).refresh(seatId);
+        }
+
+        @Test
+        @DisplayName("Should hold the seat for the duration configured on its event")
+        void holdSeat_EventHoldDuration() {
+            Event event = new Event();
+            event.setHoldDurationSeconds(120);
+            when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+            when(seatRepository.findById(1L)).thenReturn(Optional.of(seat(1L, SeatStatus.AVAILABLE)));
+            long before = System.currentTimeMillis();
+
+            bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L));
+
+            assertThat(holdStore.get(1L).expiresAt())
+                    .isBetween(before + 120_000, System.currentTimeMillis() + 120_000);
         }
 
         @Test
         @DisplayName("Should throw exception if seat is already in cache and not expired")
         void holdSeat_ConflictInCache() {
             Long seatId = 1L;
-            holdCache.put(seatId, new SeatHold(200L, LocalDateTime.now().plusMinutes(5)));
+            holdStore.putIfAbsent(seatId, new SeatHold(200L, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
             SeatReservationRequestDTO request = new SeatReservationRequestDTO(seatId, 100L);
 
             assertThatThrownBy(() -> bookingService.holdSeat(request))
@@ -82,15 +162,101 @@ class SeatBookingServiceTest {
         @DisplayName("Should throw exception if seat is already SOLD in DB")
         void holdSeat_AlreadySold() {
             Long seatId = 1L;
-            Seat seat = new Seat();
-            seat.setStatus(SeatStatus.SOLD);
-
-            when(seatRepository.findById(seatId)).thenReturn(Optional.of(seat));
+            when(seatRepository.findById(seatId)).thenReturn(Optional.of(seat(seatId, SeatStatus.SOLD)));
             SeatReservationRequestDTO request = new SeatReservationRequestDTO(seatId, 100L);
 
             assertThatThrownBy(() -> bookingService.holdSeat(request))
                     .isInstanceOf(SeatAlreadySoldException.class);
         }
+
+        @Test
+        @DisplayName("Should throw exception if the seat is sold but not yet written to the DB")
+        void holdSeat_PendingSale() {
+            Long seatId = 1L;
+            pendingSales.restore(seatId, 200L, System.currentTimeMillis());
+            when(seatRepository.findById(seatId)).thenReturn(Optional.of(seat(seatId, SeatStatus.AVAILABLE)));
+
+            assertThatThrownBy(() -> bookingService.holdSeat(new SeatReservationRequestDTO(seatId, 100L)))
+                    .isInstanceOf(SeatAlreadySoldException.class);
+            assertThat(holdStore.get(seatId)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should cap the expiry of a hold adopted from another node at the event hold duration")
+        void adoptHolds_CapsExpiry() {
+            long requested = System.currentTimeMillis() + Duration.ofDays(365).toMillis();
+
+            bookingService.adoptHolds(List.of(new HoldTransferDTO(1L, 100L, requested)));
+
+            assertThat(holdStore.get(1L).userId()).isEqualTo(100L);
+            assertThat(holdStore.get(1L).expiresAt()).isLessThanOrEqualTo(System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Hold Tests")
+    class BatchHoldTests {
+
+        private final Long userId = 100L;
+
+        @Test
+        @DisplayName("Should hold every seat with a single lookup")
+        void holdSeats_Success() {
+            when(seatRepository.findAllById(List.of(1L, 2L, 3L)))
+                    .thenReturn(List.of(seat(1L, SeatStatus.AVAILABLE), seat(2L, SeatStatus.AVAILABLE), seat(3L, SeatStatus.AVAILABLE)));
+
+            bookingService.holdSeats(new BatchSeatReservationRequestDTO(userId, List.of(3L, 1L, 2L, 1L)));
+
+            assertThat(heldSeats()).containsOnlyKeys(1L, 2L, 3L);
+            assertThat(heldSeats().values()).allSatisfy(hold -> assertThat(hold.userId()).isEqualTo(userId));
+            verify(seatRepository, times(1)).findAllById(List.of(1L, 2L, 3L));
+            verify(seatAvailabilityIndex).refresh(1L);
+            verify(seatAvailabilityIndex).refresh(2L);
+            verify(seatAvailabilityIndex).refresh(3L);
+        }
+
+        @Test
+        @DisplayName("Should report the reason of each failing seat and hold nothing")
+        void holdSeats_Failures_NothingHeld() {
+            holdStore.putIfAbsent(2L, new SeatHold(200L, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+            when(seatRepository.findAllById(List.of(1L, 2L, 3L, 4L)))
+                    .thenReturn(List.of(seat(1L, SeatStatus.AVAILABLE), seat(2L, SeatStatus.AVAILABLE), seat(3L, SeatStatus.SOLD)));
+
+            assertThatThrownBy(() -> bookingService.holdSeats(new BatchSeatReservationRequestDTO(userId, List.of(1L, 2L, 3L, 4L))))
+                    .isInstanceOfSatisfying(BatchHoldFailedException.class, ex -> assertThat(ex.getFailures()).containsExactly(
+                            new SeatHoldFailureDTO(2L, SeatHoldFailureReason.ALREADY_HELD),
+                            new SeatHoldFailureDTO(3L, SeatHoldFailureReason.ALREADY_SOLD),
+                            new SeatHoldFailureDTO(4L, SeatHoldFailureReason.NOT_FOUND)));
+
+            assertThat(heldSeats()).containsOnlyKeys(2L);
+        }
+
+        @Test
+        @DisplayName("Should release partial holds when another user wins a seat concurrently")
+        void holdSeats_ConcurrentWinner_RollsBack() {
+            SeatHold competitor = new SeatHold(200L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+            holdStore = new InMemoryHoldStore() {
+                @Override
+                public SeatHold putIfAbsent(Long key, SeatHold value) {
+                    if (key == 3L) {
+                        super.putIfAbsent(key, competitor);
+                    }
+                    return super.putIfAbsent(key, value);
+                }
+            };
+            bookingService = newBookingService(holdStore);
+            when(seatRepository.findAllById(List.of(1L, 2L, 3L)))
+                    .thenReturn(List.of(seat(1L, SeatStatus.AVAILABLE), seat(2L, SeatStatus.AVAILABLE), seat(3L, SeatStatus.AVAILABLE)));
+
+            assertThatThrownBy(() -> bookingService.holdSeats(new BatchSeatReservationRequestDTO(userId, List.of(1L, 2L, 3L))))
+                    .isInstanceOfSatisfying(BatchHoldFailedException.class, ex -> assertThat(ex.getFailures())
+                            .containsExactly(new SeatHoldFailureDTO(3L, SeatHoldFailureReason.ALREADY_HELD)));
+
+            assertThat(heldSeats()).containsOnlyKeys(3L);
+            assertThat(holdStore.get(3L)).isEqualTo(competitor);
+            verify(seatAvailabilityIndex).refresh(1L);
+            verify(seatAvailabilityIndex).refresh(2L);
+        }
     }
 
     @Nested
@@ -102,42 +268,263 @@ class SeatBookingServiceTest {
         void confirmPayment_Success() {
             Long seatId = 1L;
             Long userId = 100L;
-            holdCache.put(seatId, new SeatHold(userId, LocalDateTime.now().plusMinutes(5)));
+            holdStore.putIfAbsent(seatId, new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
 
-            Seat seat = new Seat();
-            seat.setId(seatId);
-            seat.setStatus(SeatStatus.AVAILABLE);
-
-            when(seatRepository.findById(seatId)).thenReturn(Optional.of(seat));
+            when(seatRepository.markSoldIfAvailable(seatId)).thenReturn(1);
 
             bookingService.confirmPayment(seatId, userId);
 
-            assertThat(seat.getStatus()).isEqualTo(SeatStatus.SOLD);
-            assertThat(holdCache).doesNotContainKey(seatId);
-            verify(seatRepository, times(1)).save(seat);
+            assertThat(holdStore.get(seatId)).isNull();
+            verify(seatRepository, times(1)).markSoldIfAvailable(seatId);
+            verify(seatRepository, never()).findById(anyLong());
+            verify(seatAvailabilityIndex).markSold(seatId);
+        }
+
+        @Test
+        @DisplayName("Should keep the hold until the transaction commits")
+        void confirmPayment_CompletesAfterCommit() {
+            Long seatId = 1L;
+            Long userId = 100L;
+            holdStore.putIfAbsent(seatId, new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+            when(seatRepository.markSoldIfAvailable(seatId)).thenReturn(1);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                bookingService.confirmPayment(seatId, userId);
+
+                assertThat(holdStore.get(seatId)).isNotNull();
+                verify(seatAvailabilityIndex, never()).markSold(anyLong());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(holdStore.get(seatId)).isNull();
+            verify(seatAvailabilityIndex).markSold(seatId);
+        }
+
+        @Test
+        @DisplayName("Should throw exception if the database reports the seat as already sold")
+        void confirmPayment_AlreadySoldInDb() {
+            Long seatId = 1L;
+            Long userId = 100L;
+            holdStore.putIfAbsent(seatId, new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+
+            when(seatRepository.markSoldIfAvailable(seatId)).thenReturn(0);
+            when(seatRepository.existsById(seatId)).thenReturn(true);
+
+            assertThatThrownBy(() -> bookingService.confirmPayment(seatId, userId))
+                    .isInstanceOf(SeatAlreadySoldException.class);
+
+            assertThat(holdStore.get(seatId)).isNotNull();
+            verify(seatAvailabilityIndex, never()).markSold(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should throw exception if the seat does not exist in DB")
+        void confirmPayment_SeatNotFound() {
+            Long seatId = 1L;
+            Long userId = 100L;
+            holdStore.putIfAbsent(seatId, new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+
+            when(seatRepository.markSoldIfAvailable(seatId)).thenReturn(0);
+            when(seatRepository.existsById(seatId)).thenReturn(false);
+
+            assertThatThrownBy(() -> bookingService.confirmPayment(seatId, userId))
+                    .isInstanceOf(SeatNotFoundException.class);
         }
 
         @Test
         @DisplayName("Should throw exception if reservation is expired in cache")
         void confirmPayment_Expired() {
             Long seatId = 1L;
-            holdCache.put(seatId, new SeatHold(100L, LocalDateTime.now().minusMinutes(1)));
+            holdStore.putIfAbsent(seatId, new SeatHold(100L, System.currentTimeMillis() - Duration.ofMinutes(1).toMillis()));
 
             assertThatThrownBy(() -> bookingService.confirmPayment(seatId, 100L))
                     .isInstanceOf(ReservationExpiredException.class);
 
-            assertThat(holdCache).isEmpty();
+            assertThat(holdStore.size()).isZero();
         }
 
         @Test
         @DisplayName("Should throw exception if userId does not match the one in cache")
         void confirmPayment_WrongUser() {
             Long seatId = 1L;
-            holdCache.put(seatId, new SeatHold(100L, LocalDateTime.now().plusMinutes(5)));
+            holdStore.putIfAbsent(seatId, new SeatHold(100L, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
 
             assertThatThrownBy(() -> bookingService.confirmPayment(seatId, 999L))
                     .isInstanceOf(SeatAlreadyHoldByAnotherUserException.class)
                     .hasMessage("This seat is already booked by another user.");
         }
     }
+
+    @Nested
+    @DisplayName("Batch Confirm Tests")
+    class BatchConfirmTests {
+
+        private final Long userId = 100L;
+
+        @BeforeEach
+        void setUp() {
+            holdStore.putIfAbsent(1L, new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+            holdStore.putIfAbsent(2L, new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+        }
+
+        @Test
+        @DisplayName("Should sell every held seat with a single conditional update")
+        void confirmPayments_Success() {
+            when(seatRepository.markSoldIfAvailable(List.of(1L, 2L))).thenReturn(2);
+
+            bookingService.confirmPayments(new BatchSeatReservationRequestDTO(userId, List.of(2L, 1L)));
+
+            assertThat(holdStore.size()).isZero();
+            verify(seatAvailabilityIndex).markSold(1L);
+            verify(seatAvailabilityIndex).markSold(2L);
+        }
+
+        @Test
+        @DisplayName("Should fail atomically when a seat was sold in the meantime")
+        void confirmPayments_SoldInBetween() {
+            when(seatRepository.markSoldIfAvailable(List.of(1L, 2L))).thenReturn(1);
+
+            assertThatThrownBy(() -> bookingService.confirmPayments(new BatchSeatReservationRequestDTO(userId, List.of(1L, 2L))))
+                    .isInstanceOf(SeatAlreadySoldException.class);
+
+            assertThat(heldSeats()).containsOnlyKeys(1L, 2L);
+            verify(seatAvailabilityIndex, never()).markSold(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should not write anything when a seat is held by another user")
+        void confirmPayments_WrongUser() {
+            holdStore.putIfAbsent(3L, new SeatHold(200L, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+
+            assertThatThrownBy(() -> bookingService.confirmPayments(new BatchSeatReservationRequestDTO(userId, List.of(1L, 2L, 3L))))
+                    .isInstanceOf(SeatAlreadyHoldByAnotherUserException.class);
+
+            verify(seatRepository, never()).markSoldIfAvailable(anyCollection());
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics Tests")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should time a successful hold with the success outcome")
+        void holdSeat_RecordsSuccess() {
+            when(seatRepository.findById(1L)).thenReturn(Optional.of(seat(1L, SeatStatus.AVAILABLE)));
+
+            bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L));
+
+            assertThat(meterRegistry.get(BookingMetrics.OPERATION_TIMER)
+                    .tags("operation", "hold", "outcome", "success", "exception", "none")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.find(BookingMetrics.CONFLICT_COUNTER).counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should tag a rejected hold with its outcome and count the conflict")
+        void holdSeat_RecordsConflict() {
+            holdStore.putIfAbsent(1L, new SeatHold(200L, System.currentTimeMillis() + Duration.ofMinutes(5).toMillis()));
+
+            assertThatThrownBy(() -> bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L)))
+                    .isInstanceOf(SeatNotAvailableException.class);
+
+            assertThat(meterRegistry.get(BookingMetrics.OPERATION_TIMER)
+                    .tags("operation", "hold", "outcome", "already_held", "exception", "SeatNotAvailableException")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get(BookingMetrics.CONFLICT_COUNTER)
+                    .tags("operation", "hold", "reason", "already_held")
+                    .counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should tag an expired confirmation without counting a conflict")
+        void confirmPayment_RecordsExpired() {
+            holdStore.putIfAbsent(1L, new SeatHold(100L, System.currentTimeMillis() - Duration.ofSeconds(1).toMillis()));
+
+            assertThatThrownBy(() -> bookingService.confirmPayment(1L, 100L))
+                    .isInstanceOf(ReservationExpiredException.class);
+
+            assertThat(meterRegistry.get(BookingMetrics.OPERATION_TIMER)
+                    .tags("operation", "confirm", "outcome", "expired")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.find(BookingMetrics.CONFLICT_COUNTER).counter()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Hold Tests")
+    class ConcurrentHoldTests {
+
+        private static final int SEATS = 100;
+        private static final int ATTEMPTS_PER_SEAT = 120;
+
+        @BeforeEach
+        void setUp() {
+            holdStore = new InMemoryHoldStore();
+            bookingService = newBookingService(holdStore);
+
+            when(seatRepository.findById(anyLong()))
+                    .thenAnswer(invocation -> Optional.of(seat(invocation.getArgument(0), SeatStatus.AVAILABLE)));
+        }
+
+        @Test
+        @DisplayName("Should elect exactly one holder per seat under concurrent attempts")
+        void holdSeat_ConcurrentAttempts_SingleWinnerPerSeat() throws InterruptedException {
+            Map<Long, Queue<Long>> winners = runConcurrentHolds();
+
+            assertSingleWinnerPerSeat(winners);
+        }
+
+        @Test
+        @DisplayName("Should elect exactly one holder per seat when previous holds are expired")
+        void holdSeat_ConcurrentAttemptsOnExpiredHolds_SingleWinnerPerSeat() throws InterruptedException {
+            for (long seatId = 1; seatId <= SEATS; seatId++) {
+                holdStore.putIfAbsent(seatId, new SeatHold(-seatId, System.currentTimeMillis() - Duration.ofMinutes(1).toMillis()));
+            }
+
+            Map<Long, Queue<Long>> winners = runConcurrentHolds();
+
+            assertSingleWinnerPerSeat(winners);
+        }
+
+        private Map<Long, Queue<Long>> runConcurrentHolds() throws InterruptedException {
+            Map<Long, Queue<Long>> winners = new ConcurrentHashMap<>();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(64);
+            try {
+                for (int attempt = 0; attempt < SEATS * ATTEMPTS_PER_SEAT; attempt++) {
+                    long seatId = attempt % SEATS + 1;
+                    long userId = attempt;
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            bookingService.holdSeat(new SeatReservationRequestDTO(seatId, userId));
+                            winners.computeIfAbsent(seatId, id -> new ConcurrentLinkedQueue<>()).add(userId);
+                        } catch (SeatNotAvailableException ignored) {
+                            // another user won the seat
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+                start.countDown();
+            } finally {
+                executor.shutdown();
+            }
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+            return winners;
+        }
+
+        private void assertSingleWinnerPerSeat(Map<Long, Queue<Long>> winners) {
+            assertThat(winners).hasSize(SEATS);
+            winners.forEach((seatId, users) -> {
+                assertThat(users).hasSize(1);
+                assertThat(holdStore.get(seatId).userId()).isEqualTo(users.peek());
+            });
+        }
+    }
 }
\ No newline at end of file
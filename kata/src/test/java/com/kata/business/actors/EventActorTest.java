@@ -0,0 +1,177 @@
+package com.kata.business.actors;
+
+import com.kata.business.SeatBookingService;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldPolicy;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.dao.EventRepository;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotAvailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventActorTest {
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Mock
+    private SeatBookingService seatBookingService;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final Queue<Runnable> executor = new ArrayDeque<>();
+    private HoldStore holdStore;
+    private EventActor actor;
+
+    @BeforeEach
+    void setUp() {
+        holdStore = new InMemoryHoldStore();
+        HoldExpiryWheel holdExpiryWheel = new HoldExpiryWheel(holdStore, event -> {}, Duration.ofMillis(100), 512);
+        actor = new EventActor(1L, executor::add, 256, holdStore, holdExpiryWheel, seatAvailabilityIndex,
+                seatBookingService, new HoldPolicy(eventRepository, MillisClock.SYSTEM, Duration.ofMinutes(10)),
+                MillisClock.SYSTEM);
+    }
+
+    private void runActor() {
+        Runnable task;
+        while ((task = executor.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    @DisplayName("Should be scheduled once for all the commands waiting in its mailbox")
+    void tell_SchedulesActorOnce() {
+        actor.hold(List.of(1L), 10L, false);
+        actor.hold(List.of(2L), 20L, false);
+
+        assertThat(executor).hasSize(1);
+        runActor();
+        assertThat(holdStore.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should process competing holds in order and reject the later one")
+    void hold_SameSeat_SecondFails() {
+        CompletableFuture<Void> first = actor.hold(List.of(1L), 10L, false);
+        CompletableFuture<Void> second = actor.hold(List.of(1L), 20L, false);
+
+        runActor();
+
+        assertThat(first).isCompleted();
+        assertThatThrownBy(second::join).hasCauseInstanceOf(SeatNotAvailableException.class);
+        assertThat(holdStore.get(1L).userId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should reject a sold seat from the index without reading the database")
+    void hold_SoldSeat_FailsFromIndex() {
+        when(seatAvailabilityIndex.isSold(anyLong())).thenAnswer(invocation -> invocation.getArgument(0).equals(2L));
+
+        CompletableFuture<Void> result = actor.hold(List.of(1L, 2L), 10L, true);
+        runActor();
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(BatchHoldFailedException.class);
+        assertThat(holdStore.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should treat a hold written by another writer in the meantime as a conflict")
+    void hold_ReplaceFails_ReleasesAcquiredSeats() {
+        holdStore = spy(new InMemoryHoldStore());
+        holdStore.putIfAbsent(2L, new SeatHold(30L, 0L));
+        doReturn(false).when(holdStore).replace(eq(2L), any(), any());
+        actor = new EventActor(1L, executor::add, 256, holdStore,
+                new HoldExpiryWheel(holdStore, event -> {}, Duration.ofMillis(100), 512), seatAvailabilityIndex,
+                seatBookingService, new HoldPolicy(eventRepository, MillisClock.SYSTEM, Duration.ofMinutes(10)),
+                MillisClock.SYSTEM);
+
+        CompletableFuture<Void> result = actor.hold(List.of(1L, 2L), 10L, true);
+        runActor();
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(BatchHoldFailedException.class);
+        assertThat(holdStore.get(1L)).isNull();
+        assertThat(holdStore.get(2L).userId()).isEqualTo(30L);
+    }
+
+    @Test
+    @DisplayName("Should write the confirmations of one pass in a single update")
+    void confirm_SamePass_FlushedTogether() {
+        actor.hold(List.of(1L), 10L, false);
+        actor.hold(List.of(2L, 3L), 20L, true);
+        runActor();
+
+        CompletableFuture<Void> first = actor.confirm(List.of(1L), 10L, false);
+        CompletableFuture<Void> second = actor.confirm(List.of(2L, 3L), 20L, true);
+        assertThat(first).isNotDone();
+        runActor();
+
+        verify(seatBookingService).sellSeats(List.of(1L, 2L, 3L));
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(holdStore.size()).isZero();
+        verify(seatAvailabilityIndex).markSold(1L);
+        verify(seatAvailabilityIndex).markSold(3L);
+    }
+
+    @Test
+    @DisplayName("Should replay each confirmation alone when a seat was sold outside the actor")
+    void confirm_ConflictingBatch_ReplaysEachSale() {
+        actor.hold(List.of(1L), 10L, false);
+        actor.hold(List.of(2L), 20L, false);
+        runActor();
+        doAnswer(invocation -> {
+            List<Long> seatIds = invocation.getArgument(0);
+            if (seatIds.contains(2L)) {
+                throw new SeatAlreadySoldException("Some seats were sold in the meantime.");
+            }
+            return null;
+        }).when(seatBookingService).sellSeats(anyList());
+
+        CompletableFuture<Void> first = actor.confirm(List.of(1L), 10L, false);
+        CompletableFuture<Void> second = actor.confirm(List.of(2L), 20L, false);
+        runActor();
+
+        verify(seatBookingService, times(3)).sellSeats(anyList());
+        assertThat(first).isCompleted();
+        assertThatThrownBy(second::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(SeatAlreadySoldException.class);
+        assertThat(holdStore.get(1L)).isNull();
+        assertThat(holdStore.get(2L)).isNotNull();
+        verify(seatAvailabilityIndex, never()).markSold(2L);
+    }
+}
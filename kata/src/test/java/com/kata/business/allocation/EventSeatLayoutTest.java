@@ -0,0 +1,92 @@
+package com.kata.business.allocation;
+
+import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatTransitionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSeatLayoutTest {
+
+    @Test
+    @DisplayName("Should pick the block closest to the center of the first row that fits the group")
+    void claim_FirstRowCenteredBlock() {
+        EventSeatLayout layout = layout(1, seats("A", 1, 10, 100L), seats("B", 1, 10, 200L));
+
+        assertThat(numbers(layout.claim(2))).containsExactly("A5", "A6");
+        assertThat(numbers(layout.claim(4))).containsExactly("A1", "A2", "A3", "A4");
+        assertThat(numbers(layout.claim(5))).containsExactly("B4", "B5", "B6", "B7", "B8");
+    }
+
+    @Test
+    @DisplayName("Should only allocate adjacent seats and skip rows without a long enough free run")
+    void claim_RequiresAdjacentSeats() {
+        EventSeatLayout layout = layout(1, seats("A", 1, 6, 100L), seats("B", 1, 3, 200L));
+        layout.apply(transition(102L, "A3", SeatTransitionType.HELD, 2));
+        layout.apply(transition(105L, "A6", SeatTransitionType.SOLD, 3));
+
+        assertThat(numbers(layout.claim(3))).containsExactly("B1", "B2", "B3");
+        assertThat(layout.claim(3)).isEmpty();
+        assertThat(numbers(layout.claim(2))).containsExactly("A4", "A5");
+    }
+
+    @Test
+    @DisplayName("Should offer released seats again, but not while they are claimed")
+    void release_ReopensFreeSeats() {
+        EventSeatLayout layout = layout(1, seats("A", 1, 2, 100L));
+
+        List<SeatResponseDTO> claimed = layout.claim(2);
+        assertThat(layout.claim(1)).isEmpty();
+
+        layout.apply(transition(100L, "A1", SeatTransitionType.HELD, 2));
+        layout.release(claimed);
+        assertThat(numbers(layout.claim(1))).containsExactly("A2");
+    }
+
+    @Test
+    @DisplayName("Should replay transitions received while building and ignore those already in the snapshot")
+    void initialize_ReplaysNewerTransitions() {
+        EventSeatLayout layout = new EventSeatLayout();
+        layout.apply(transition(100L, "A1", SeatTransitionType.HELD, 5));
+        layout.apply(transition(101L, "A2", SeatTransitionType.HELD, 6));
+        layout.apply(transition(102L, "A3", SeatTransitionType.RELEASED, 7));
+
+        layout.initialize(6, List.of(new SeatResponseDTO(100L, "A1", "AVAILABLE")));
+
+        assertThat(numbers(layout.claim(1))).containsExactly("A1");
+        assertThat(numbers(layout.claim(1))).containsExactly("A3");
+        assertThat(layout.claim(1)).isEmpty();
+    }
+
+    @SafeVarargs
+    private static EventSeatLayout layout(long version, List<SeatResponseDTO>... rows) {
+        EventSeatLayout layout = new EventSeatLayout();
+        List<SeatResponseDTO> seats = new ArrayList<>();
+        for (List<SeatResponseDTO> row : rows) {
+            seats.addAll(row);
+        }
+        layout.initialize(version, seats);
+        return layout;
+    }
+
+    private static List<SeatResponseDTO> seats(String row, int from, int to, long firstId) {
+        List<SeatResponseDTO> seats = new ArrayList<>();
+        for (int number = from; number <= to; number++) {
+            seats.add(new SeatResponseDTO(firstId + number - from, row + number, "AVAILABLE"));
+        }
+        return seats;
+    }
+
+    private static SeatTransitionDTO transition(Long seatId, String seatNumber, SeatTransitionType type, long version) {
+        return new SeatTransitionDTO(seatId, seatNumber, type, version);
+    }
+
+    private static List<String> numbers(List<SeatResponseDTO> seats) {
+        return seats.stream().map(SeatResponseDTO::seatNumber).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.kata.business.allocation;
+
+import com.kata.business.BookingOperations;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.availability.VersionedSeats;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatHoldFailureDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatHoldFailureReason;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.EventNotFoundException;
+import com.kata.exceptions.SeatNotAvailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAllocationServiceTest {
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Mock
+    private BookingOperations bookingOperations;
+
+    private SeatAllocationService seatAllocationService;
+
+    @BeforeEach
+    void setUp() {
+        seatAllocationService = new SeatAllocationService(new SeatLayouts(), seatAvailabilityIndex, bookingOperations);
+        lenient().when(seatAvailabilityIndex.version(1L)).thenReturn(1L);
+        lenient().when(seatAvailabilityIndex.versionedSeats(1L)).thenReturn(new VersionedSeats(1, List.of(
+                new SeatResponseDTO(10L, "A1", "AVAILABLE"),
+                new SeatResponseDTO(11L, "A2", "AVAILABLE"),
+                new SeatResponseDTO(20L, "B1", "AVAILABLE"),
+                new SeatResponseDTO(21L, "B2", "AVAILABLE"))));
+    }
+
+    @Test
+    @DisplayName("Should hold the allocated block for the user")
+    void allocate_HoldsBlock() {
+        List<SeatResponseDTO> seats = seatAllocationService.allocate(1L, 100L, 2);
+
+        assertThat(seats).extracting(SeatResponseDTO::id).containsExactly(10L, 11L);
+        verify(bookingOperations).holdSeats(new BatchSeatReservationRequestDTO(100L, List.of(10L, 11L)));
+    }
+
+    @Test
+    @DisplayName("Should try another block when a seat was taken in the meantime")
+    void allocate_RetriesOnConflict() {
+        doThrow(new BatchHoldFailedException("Some seats cannot be held",
+                List.of(new SeatHoldFailureDTO(10L, SeatHoldFailureReason.ALREADY_HELD))))
+                .when(bookingOperations).holdSeats(new BatchSeatReservationRequestDTO(100L, List.of(10L, 11L)));
+
+        List<SeatResponseDTO> seats = seatAllocationService.allocate(1L, 100L, 2);
+
+        assertThat(seats).extracting(SeatResponseDTO::id).containsExactly(20L, 21L);
+    }
+
+    @Test
+    @DisplayName("Should throw SeatNotAvailableException when no block is large enough")
+    void allocate_NoBlock() {
+        assertThatThrownBy(() -> seatAllocationService.allocate(1L, 100L, 3))
+                .isInstanceOf(SeatNotAvailableException.class);
+        verify(bookingOperations, never()).holdSeats(any());
+    }
+
+    @Test
+    @DisplayName("Should throw EventNotFoundException for an unknown event")
+    void allocate_UnknownEvent() {
+        when(seatAvailabilityIndex.version(2L)).thenReturn(0L);
+
+        assertThatThrownBy(() -> seatAllocationService.allocate(2L, 100L, 1))
+                .isInstanceOf(EventNotFoundException.class);
+    }
+}
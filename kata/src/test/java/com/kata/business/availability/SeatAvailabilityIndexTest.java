@@ -0,0 +1,172 @@
+package com.kata.business.availability;
+
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.SeatHoldExpiredEvent;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.ledger.RecoveredSeats;
+import com.kata.business.models.SeatHold;
+import com.kata.business.sales.PendingSales;
+import com.kata.dao.EventRepository;
+import com.kata.dao.SeatRepository;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatStatus;
+import com.kata.enums.SeatTransitionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityIndexTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private HoldStore holdStore;
+    private List<SeatTransitionDTO> transitions;
+    private SeatAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        holdStore = new InMemoryHoldStore();
+        transitions = new ArrayList<>();
+        index = new SeatAvailabilityIndex(seatRepository, eventRepository, holdStore, List.of(recorder()), MillisClock.SYSTEM, new PendingSales(), new RecoveredSeats(), event -> {});
+
+        when(eventRepository.findAllIds()).thenReturn(List.of(EVENT_ID));
+        when(seatRepository.findSeatStates(EVENT_ID)).thenReturn(List.of(
+                seat(1L, "A1", SeatStatus.AVAILABLE),
+                seat(2L, "A2", SeatStatus.AVAILABLE),
+                seat(3L, "A3", SeatStatus.SOLD)));
+        index.warmUp();
+    }
+
+    @Test
+    @DisplayName("Should serve availability from memory after warm up")
+    void availableSeats_ServedWithoutDatabase() {
+        index.availableSeats(EVENT_ID);
+        List<SeatResponseDTO> result = index.availableSeats(EVENT_ID);
+
+        assertThat(result).extracting(SeatResponseDTO::id).containsExactly(1L, 2L);
+        verify(seatRepository, times(1)).findSeatStates(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should hide a seat once held and show it again once the hold expires")
+    void refresh_FollowsHoldLifecycle() {
+        SeatHold hold = new SeatHold(100L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+        holdStore.putIfAbsent(1L, hold);
+        index.refresh(1L);
+
+        assertThat(index.availableSeats(EVENT_ID)).extracting(SeatResponseDTO::id).containsExactly(2L);
+
+        holdStore.remove(1L, hold);
+        index.onHoldExpired(new SeatHoldExpiredEvent(1L, hold));
+
+        assertThat(index.availableSeats(EVENT_ID)).extracting(SeatResponseDTO::id).containsExactly(1L, 2L);
+        assertThat(transitions).extracting(SeatTransitionDTO::type)
+                .containsExactly(SeatTransitionType.HELD, SeatTransitionType.RELEASED);
+        assertThat(transitions).extracting(SeatTransitionDTO::version).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should serve the same list until the availability changes")
+    void versionedSeats_ReusedPerVersion() {
+        VersionedSeats first = index.versionedSeats(EVENT_ID);
+
+        assertThat(index.versionedSeats(EVENT_ID)).isSameAs(first);
+
+        index.markSold(2L);
+        VersionedSeats changed = index.versionedSeats(EVENT_ID);
+
+        assertThat(changed).isNotSameAs(first);
+        assertThat(changed.version()).isEqualTo(first.version() + 1);
+        assertThat(changed.seats()).extracting(SeatResponseDTO::id).containsExactly(1L);
+        assertThat(first.seats()).extracting(SeatResponseDTO::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should never show a sold seat again")
+    void markSold_RemovesSeatPermanently() {
+        index.markSold(2L);
+        index.refresh(2L);
+
+        assertThat(index.availableSeats(EVENT_ID)).extracting(SeatResponseDTO::id).containsExactly(1L);
+        assertThat(transitions).extracting(SeatTransitionDTO::type).containsExactly(SeatTransitionType.SOLD);
+    }
+
+    @Test
+    @DisplayName("Should count a sale not yet written to the database as sold when loading")
+    void load_PendingSaleCountsAsSold() {
+        PendingSales pendingSales = new PendingSales();
+        pendingSales.restore(2L, 100L, System.currentTimeMillis());
+        SeatAvailabilityIndex reloaded = new SeatAvailabilityIndex(seatRepository, eventRepository, holdStore,
+                List.of(), MillisClock.SYSTEM, pendingSales, new RecoveredSeats(), event -> {});
+
+        assertThat(reloaded.availableSeats(EVENT_ID)).extracting(SeatResponseDTO::id).containsExactly(1L);
+        assertThat(reloaded.isSold(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should count as sold a seat sold in the database but missing from the recovered ledger state")
+    void load_RecoveredSeatsReconciledWithDatabase() {
+        RecoveredSeats recoveredSeats = new RecoveredSeats();
+        recoveredSeats.put(7L, List.of(seat(70L, "B1", SeatStatus.AVAILABLE), seat(71L, "B2", SeatStatus.AVAILABLE)));
+        when(seatRepository.findSoldSeatIds(7L)).thenReturn(List.of(70L));
+        SeatAvailabilityIndex recovered = new SeatAvailabilityIndex(seatRepository, eventRepository, holdStore,
+                List.of(), MillisClock.SYSTEM, new PendingSales(), recoveredSeats, event -> {});
+
+        assertThat(recovered.availableSeats(7L)).extracting(SeatResponseDTO::id).containsExactly(71L);
+        assertThat(recovered.isSold(70L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return an empty list for an unknown event without querying it again")
+    void availableSeats_UnknownEvent() {
+        when(seatRepository.findSeatStates(42L)).thenReturn(List.of());
+
+        assertThat(index.availableSeats(42L)).isEmpty();
+        assertThat(index.availableSeats(42L)).isEmpty();
+        verify(seatRepository, times(1)).findSeatStates(42L);
+    }
+
+    @Test
+    @DisplayName("Should apply a sale made while its event was loading")
+    void load_KeepsSaleDuringLoad() {
+        SeatAvailabilityIndex loading = new SeatAvailabilityIndex(seatRepository, eventRepository, holdStore,
+                List.of(), MillisClock.SYSTEM, new PendingSales(), new RecoveredSeats(), event -> {});
+        when(seatRepository.findSeatStates(7L)).thenAnswer(invocation -> {
+            List<SeatResponseDTO> seats = List.of(seat(70L, "B1", SeatStatus.AVAILABLE), seat(71L, "B2", SeatStatus.AVAILABLE));
+            loading.markSold(70L);
+            return seats;
+        });
+
+        assertThat(loading.availableSeats(7L)).extracting(SeatResponseDTO::id).containsExactly(71L);
+        assertThat(loading.isSold(70L)).isTrue();
+    }
+
+    private SeatTransitionListener recorder() {
+        return (eventId, transition) -> transitions.add(transition);
+    }
+
+    private SeatResponseDTO seat(Long id, String seatNumber, SeatStatus status) {
+        return new SeatResponseDTO(id, seatNumber, status.name());
+    }
+}
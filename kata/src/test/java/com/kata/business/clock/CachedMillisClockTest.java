@@ -0,0 +1,33 @@
+package com.kata.business.clock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedMillisClockTest {
+
+    @Test
+    @DisplayName("Should follow the system clock within a tick, never going backwards")
+    void millis_AdvancesMonotonically() throws InterruptedException {
+        CachedMillisClock clock = new CachedMillisClock(Duration.ofMillis(1));
+        long before = System.currentTimeMillis();
+        clock.start();
+        try {
+            long previous = clock.millis();
+            assertThat(previous).isGreaterThanOrEqualTo(before);
+
+            Thread.sleep(50);
+            for (int i = 0; i < 1_000; i++) {
+                long now = clock.millis();
+                assertThat(now).isGreaterThanOrEqualTo(previous);
+                previous = now;
+            }
+            assertThat(previous).isGreaterThan(before);
+        } finally {
+            clock.stop();
+        }
+    }
+}
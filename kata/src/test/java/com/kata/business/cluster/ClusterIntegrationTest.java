@@ -0,0 +1,180 @@
+package com.kata.business.cluster;
+
+import com.kata.KataApplication;
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.holds.HoldStore;
+import com.kata.dao.SeatRepository;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plusieurs instances de l'application sur localhost, partageant une base H2 en mémoire et
+ * sans autre service : les verrous vivent uniquement sur le nœud propriétaire du siège.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClusterIntegrationTest {
+
+    private static final long EVENT_ID = 1L;
+    private static final List<Long> SEAT_IDS = LongStream.rangeClosed(1, 10).boxed().toList();
+
+    private final Map<String, ConfigurableApplicationContext> nodes = new LinkedHashMap<>();
+    private final List<String> urls = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeAll
+    void startCluster() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            urls.add("http://localhost:" + freePort());
+        }
+        start(urls.get(0), true);
+        start(urls.get(1), false);
+        awaitRing(2);
+    }
+
+    @AfterAll
+    void stopCluster() {
+        nodes.values().forEach(ConfigurableApplicationContext::close);
+        httpClient.close();
+    }
+
+    @Test
+    @DisplayName("Should hold, confirm and rebalance seats across the nodes of the cluster")
+    void booking_AcrossNodes() throws Exception {
+        String first = urls.get(0);
+        String second = urls.get(1);
+        long seatId = SEAT_IDS.stream().filter(id -> ring(first).ownerOf(id).equals(second)).findFirst().orElseThrow();
+
+        // un verrou demandé au premier nœud est posé chez le propriétaire
+        assertThat(post(first, "/api/v1/bookings", "{\"seatId\":" + seatId + ",\"userId\":1}")).isEqualTo(201);
+        assertThat(holdStore(second).get(seatId).userId()).isEqualTo(1L);
+        assertThat(holdStore(first).get(seatId)).isNull();
+        await(() -> !availableIds(first).contains(seatId));
+
+        // le conflit est détecté par le propriétaire et relayé tel quel
+        assertThat(post(first, "/api/v1/bookings", "{\"seatId\":" + seatId + ",\"userId\":2}")).isEqualTo(409);
+
+        assertThat(patch(first, "/api/v1/bookings/" + seatId + "?userId=1", "")).isEqualTo(200);
+        assertThat(seatRepository().findById(seatId).orElseThrow().getStatus()).isEqualTo(SeatStatus.SOLD);
+        assertThat(holdStore(second).get(seatId)).isNull();
+
+        // un verrouillage groupé est découpé par propriétaire
+        List<Long> remaining = SEAT_IDS.stream().filter(id -> id != seatId).toList();
+        assertThat(post(second, "/api/v1/bookings/batch", "{\"userId\":3,\"seatIds\":" + remaining + "}")).isEqualTo(201);
+        for (Long id : remaining) {
+            assertThat(holdStore(ring(second).ownerOf(id)).get(id).userId()).isEqualTo(3L);
+        }
+
+        // un nœud qui rejoint le cluster reçoit les verrous des sièges qui lui reviennent
+        String third = urls.get(2);
+        start(third, false);
+        awaitRing(3);
+        for (Long id : remaining) {
+            String owner = ring(third).ownerOf(id);
+            await(() -> holdStore(owner).get(id) != null);
+            urls.stream().filter(node -> !node.equals(owner))
+                    .forEach(node -> await(() -> holdStore(node).get(id) == null));
+        }
+        await(() -> availableIds(third).isEmpty());
+
+        // la confirmation groupée répartie vend tous les sièges en une fois
+        assertThat(patch(third, "/api/v1/bookings", "{\"userId\":3,\"seatIds\":" + remaining + "}")).isEqualTo(200);
+        assertThat(seatRepository().findAllById(remaining)).allSatisfy(seat ->
+                assertThat(seat.getStatus()).isEqualTo(SeatStatus.SOLD));
+        urls.forEach(node -> assertThat(holdStore(node).size()).isZero());
+    }
+
+    private void start(String url, boolean initializeDatabase) {
+        String port = url.substring(url.lastIndexOf(':') + 1);
+        nodes.put(url, new SpringApplicationBuilder(KataApplication.class).logStartupInfo(false).run(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:cluster-test;DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=" + (initializeDatabase ? "always" : "never"),
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--app.holds.wal.enabled=false",
+                "--app.jpa.cache.enabled=false",
+                "--app.cluster.enabled=true",
+                "--app.cluster.token=integration-test-token",
+                "--app.cluster.self=" + url,
+                "--app.cluster.members=" + String.join(",", urls),
+                "--app.cluster.heartbeat-interval=100ms",
+                "--app.cluster.failure-threshold=2"));
+    }
+
+    private void awaitRing(int size) {
+        nodes.keySet().forEach(node -> await(() -> ring(node).nodes().size() == size));
+    }
+
+    private ConsistentHashRing ring(String node) {
+        return nodes.get(node).getBean(ClusterMembership.class).ring();
+    }
+
+    private HoldStore holdStore(String node) {
+        return nodes.get(node).getBean(HoldStore.class);
+    }
+
+    private SeatRepository seatRepository() {
+        return nodes.get(urls.get(0)).getBean(SeatRepository.class);
+    }
+
+    private List<Long> availableIds(String node) {
+        return nodes.get(node).getBean(SeatAvailabilityIndex.class).availableSeats(EVENT_ID).stream()
+                .map(SeatResponseDTO::id).toList();
+    }
+
+    private int post(String node, String path, String body) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(node + path)).POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private int patch(String node, String path, String body) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(node + path)).method("PATCH", HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
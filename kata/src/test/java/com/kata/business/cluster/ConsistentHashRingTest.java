@@ -0,0 +1,87 @@
+package com.kata.business.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+    private static final int VIRTUAL_NODES = 128;
+    private static final List<String> NODES = List.of("http://node-a", "http://node-b", "http://node-c");
+
+    @Test
+    @DisplayName("Should give the same owner whatever the order in which the nodes are listed")
+    void ownerOf_IsDeterministic() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+        ConsistentHashRing reversed = new ConsistentHashRing(NODES.reversed(), VIRTUAL_NODES);
+
+        for (long seatId = 0; seatId < KEYS; seatId++) {
+            assertThat(reversed.ownerOf(seatId)).isEqualTo(ring.ownerOf(seatId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread sequential seat ids evenly across the nodes")
+    void ownerOf_SpreadsKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long seatId = 0; seatId < KEYS; seatId++) {
+            counts.merge(ring.ownerOf(seatId), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys(NODES);
+        int fairShare = KEYS / NODES.size();
+        assertThat(counts.values()).allSatisfy(count ->
+                assertThat(count).isBetween((int) (fairShare * 0.8), (int) (fairShare * 1.2)));
+    }
+
+    @Test
+    @DisplayName("Should only move to a joining node about 1/n of the seats")
+    void ownerOf_NodeJoins_MovesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(
+                List.of("http://node-a", "http://node-b", "http://node-c", "http://node-d"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (long seatId = 0; seatId < KEYS; seatId++) {
+            String previous = before.ownerOf(seatId);
+            String current = after.ownerOf(seatId);
+            if (!previous.equals(current)) {
+                assertThat(current).isEqualTo("http://node-d");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween((int) (KEYS / 4 * 0.8), (int) (KEYS / 4 * 1.2));
+    }
+
+    @Test
+    @DisplayName("Should only move the seats of a leaving node")
+    void ownerOf_NodeLeaves_MovesOnlyItsSeats() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("http://node-a", "http://node-c"), VIRTUAL_NODES);
+
+        for (long seatId = 0; seatId < KEYS; seatId++) {
+            String previous = before.ownerOf(seatId);
+            if (!previous.equals("http://node-b")) {
+                assertThat(after.ownerOf(seatId)).isEqualTo(previous);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to route a seat when the ring is empty")
+    void ownerOf_EmptyRing_Throws() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), VIRTUAL_NODES);
+
+        assertThatThrownBy(() -> ring.ownerOf(1L)).isInstanceOf(IllegalStateException.class);
+    }
+}
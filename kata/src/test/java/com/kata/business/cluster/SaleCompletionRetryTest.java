@@ -0,0 +1,78 @@
+package com.kata.business.cluster;
+
+import com.kata.business.SeatBookingService;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.exceptions.ClusterNodeUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SaleCompletionRetryTest {
+
+    private static final String SELF = "http://localhost:8081";
+    private static final String PEER = "http://localhost:8082";
+
+    @Mock
+    private SeatBookingService seatBookingService;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    @Mock
+    private ClusterClient clusterClient;
+
+    private SaleCompletionRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        retry = new SaleCompletionRetry(seatBookingService, clusterMembership, clusterClient, Duration.ofSeconds(1), 16);
+        when(clusterMembership.self()).thenReturn(SELF);
+    }
+
+    @Test
+    @DisplayName("Should resend a failed sale completion to the owner until it is acknowledged")
+    void retryPending_UntilAcknowledged() {
+        BatchSeatReservationRequestDTO sale = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+        when(clusterMembership.ownerOf(any())).thenReturn(PEER);
+        doThrow(new ClusterNodeUnavailableException("down", null))
+                .doNothing()
+                .when(clusterClient).post(eq(PEER), eq("/holds/complete"), eq(sale));
+
+        retry.schedule(sale);
+        retry.retryPending();
+        retry.retryPending();
+        retry.retryPending();
+
+        verify(clusterClient, times(2)).post(PEER, "/holds/complete", sale);
+    }
+
+    @Test
+    @DisplayName("Should complete locally the seats this node owns after the ring changed")
+    void retryPending_NewOwnerIsSelf() {
+        BatchSeatReservationRequestDTO sale = new BatchSeatReservationRequestDTO(100L, List.of(1L));
+        when(clusterMembership.ownerOf(1L)).thenReturn(SELF);
+        doNothing().when(seatBookingService).completeSale(sale);
+
+        retry.schedule(sale);
+        retry.retryPending();
+
+        verify(seatBookingService).completeSale(sale);
+        verifyNoMoreInteractions(clusterClient);
+    }
+}
@@ -0,0 +1,160 @@
+package com.kata.business.expiry;
+
+import com.kata.business.clock.MillisClock;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.models.SeatHold;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HoldExpiryWheelTest {
+
+    private HoldStore holdStore;
+    private Queue<SeatHoldExpiredEvent> expiredEvents;
+    private HoldExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        holdStore = new InMemoryHoldStore();
+        expiredEvents = new ConcurrentLinkedQueue<>();
+        wheel = new HoldExpiryWheel(holdStore, event -> expiredEvents.add((SeatHoldExpiredEvent) event),
+                Duration.ofMillis(10), 8);
+        wheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    @DisplayName("Should evict the hold at its deadline and publish an expiry event")
+    void schedule_EvictsAtDeadline() throws InterruptedException {
+        SeatHold hold = hold(1L, Duration.ofMillis(150));
+
+        wheel.schedule(1L, hold);
+
+        assertThat(holdStore.get(1L)).isNotNull();
+        awaitUntilEmpty();
+        assertThat(expiredEvents).containsExactly(new SeatHoldExpiredEvent(1L, hold));
+        assertThat(wheel.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not evict a hold whose expiry was cancelled")
+    void cancel_KeepsHold() throws InterruptedException {
+        SeatHold hold = hold(1L, Duration.ofMillis(50));
+
+        wheel.schedule(1L, hold);
+        wheel.cancel(1L);
+        Thread.sleep(200);
+
+        assertThat(holdStore.get(1L)).isEqualTo(hold);
+        assertThat(expiredEvents).isEmpty();
+        assertThat(wheel.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not evict a newer hold placed on the same seat")
+    void schedule_ReplacedHold_KeepsNewerHold() throws InterruptedException {
+        SeatHold first = hold(1L, Duration.ofMillis(50));
+        wheel.schedule(1L, first);
+
+        SeatHold second = new SeatHold(200L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+        holdStore.replace(1L, first, second);
+        wheel.schedule(1L, second);
+        Thread.sleep(200);
+
+        assertThat(holdStore.get(1L)).isEqualTo(second);
+        assertThat(expiredEvents).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expire a hold immediately and cancel its pending expiry")
+    void expire_RemovesHoldAndPublishes() {
+        SeatHold hold = hold(1L, Duration.ofMinutes(10));
+        wheel.schedule(1L, hold);
+
+        assertThat(wheel.expire(1L, hold)).isTrue();
+
+        assertThat(holdStore.size()).isZero();
+        assertThat(expiredEvents).containsExactly(new SeatHoldExpiredEvent(1L, hold));
+        assertThat(wheel.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep memory bounded after many abandoned holds")
+    void schedule_ManyAbandonedHolds_AllEvicted() throws InterruptedException {
+        for (long seatId = 1; seatId <= 100_000; seatId++) {
+            wheel.schedule(seatId, hold(seatId, Duration.ofMillis(seatId % 100)));
+        }
+
+        awaitUntilEmpty();
+        assertThat(expiredEvents).hasSize(100_000);
+        assertThat(wheel.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should schedule the holds already in the store when started, e.g. after recovery")
+    void start_SchedulesRecoveredHolds() throws InterruptedException {
+        wheel.stop();
+        SeatHold recovered = hold(1L, Duration.ofMillis(50));
+        wheel = new HoldExpiryWheel(holdStore, event -> expiredEvents.add((SeatHoldExpiredEvent) event),
+                Duration.ofMillis(10), 8);
+
+        wheel.start();
+
+        awaitUntilEmpty();
+        assertThat(expiredEvents).containsExactly(new SeatHoldExpiredEvent(1L, recovered));
+    }
+
+    @Test
+    @DisplayName("Should count the expired holds handed to the executor until they are evicted")
+    @SuppressWarnings("unchecked")
+    void dueCount_TracksPendingExpiries() throws InterruptedException {
+        wheel.stop();
+        Queue<Runnable> deferred = new ConcurrentLinkedQueue<>();
+        ObjectProvider<HoldExpiryExecutor> expiryExecutor = mock(ObjectProvider.class);
+        when(expiryExecutor.getIfAvailable(any())).thenReturn((seatId, expiry) -> deferred.add(expiry));
+        wheel = new HoldExpiryWheel(holdStore, event -> expiredEvents.add((SeatHoldExpiredEvent) event),
+                MillisClock.SYSTEM, Duration.ofMillis(10), 8, expiryExecutor);
+        wheel.start();
+
+        wheel.schedule(1L, hold(1L, Duration.ofMillis(20)));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (deferred.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(wheel.dueCount()).isEqualTo(1);
+        deferred.forEach(Runnable::run);
+        assertThat(wheel.dueCount()).isZero();
+        assertThat(holdStore.size()).isZero();
+    }
+
+    private SeatHold hold(Long seatId, Duration ttl) {
+        SeatHold hold = new SeatHold(100L, System.currentTimeMillis() + ttl.toMillis());
+        holdStore.putIfAbsent(seatId, hold);
+        return hold;
+    }
+
+    private void awaitUntilEmpty() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (holdStore.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(holdStore.size()).isZero();
+    }
+}
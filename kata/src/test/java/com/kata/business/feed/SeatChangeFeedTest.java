@@ -0,0 +1,110 @@
+package com.kata.business.feed;
+
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatTransitionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatChangeFeedTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private SeatChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new SeatChangeFeed(4, 4);
+    }
+
+    @Test
+    @DisplayName("Should push live transitions to subscribers")
+    void subscribe_ReceivesLiveTransitions() throws InterruptedException {
+        SeatTransitionSubscription subscription = feed.subscribe(EVENT_ID, null);
+
+        feed.onTransition(EVENT_ID, transition(2));
+
+        assertThat(drain(subscription)).extracting(SeatTransitionDTO::version).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should replay transitions after the requested version")
+    void subscribe_ResumesFromVersion() throws InterruptedException {
+        for (long version = 2; version <= 5; version++) {
+            feed.onTransition(EVENT_ID, transition(version));
+        }
+
+        SeatTransitionSubscription subscription = feed.subscribe(EVENT_ID, 3L);
+
+        assertThat(subscription.isResyncRequired()).isFalse();
+        assertThat(drain(subscription)).extracting(SeatTransitionDTO::version).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should require a resync when the requested version is no longer in history")
+    void subscribe_VersionTooOld_RequiresResync() {
+        for (long version = 2; version <= 10; version++) {
+            feed.onTransition(EVENT_ID, transition(version));
+        }
+
+        SeatTransitionSubscription subscription = feed.subscribe(EVENT_ID, 2L);
+
+        assertThat(subscription.isResyncRequired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should require a resync when the requested version is ahead of the feed, as after a restart")
+    void subscribe_VersionAhead_RequiresResync() {
+        for (long version = 2; version <= 3; version++) {
+            feed.onTransition(EVENT_ID, transition(version));
+        }
+
+        assertThat(feed.subscribe(EVENT_ID, 42L).isResyncRequired()).isTrue();
+        assertThat(feed.subscribe(2L, 5L).isResyncRequired()).isTrue();
+        assertThat(feed.subscribe(EVENT_ID, 3L).isResyncRequired()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop a slow subscriber instead of blocking the producer")
+    void publish_SlowSubscriber_Dropped() throws InterruptedException {
+        SeatTransitionSubscription slow = feed.subscribe(EVENT_ID, null);
+
+        for (long version = 2; version <= 100; version++) {
+            feed.onTransition(EVENT_ID, transition(version));
+        }
+
+        assertThat(slow.isResyncRequired()).isTrue();
+        assertThat(drain(slow)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to closed subscriptions")
+    void close_Unsubscribes() throws InterruptedException {
+        SeatTransitionSubscription subscription = feed.subscribe(EVENT_ID, null);
+        subscription.close();
+
+        feed.onTransition(EVENT_ID, transition(2));
+
+        assertThat(subscription.isOpen()).isFalse();
+        assertThat(drain(subscription)).isEmpty();
+    }
+
+    private SeatTransitionDTO transition(long version) {
+        return new SeatTransitionDTO(version, "A" + version, SeatTransitionType.HELD, version);
+    }
+
+    private List<SeatTransitionDTO> drain(SeatTransitionSubscription subscription) throws InterruptedException {
+        List<SeatTransitionDTO> transitions = new ArrayList<>();
+        SeatTransitionDTO transition;
+        while ((transition = subscription.poll(10, TimeUnit.MILLISECONDS)) != null) {
+            transitions.add(transition);
+        }
+        return transitions;
+    }
+}
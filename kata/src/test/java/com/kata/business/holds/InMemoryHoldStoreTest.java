@@ -0,0 +1,160 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryHoldStoreTest {
+
+    private static final int CAPACITY = 64 * HoldWriteAheadLog.RECORD_SIZE;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should restore active holds after a restart")
+    void reopen_RestoresActiveHolds() throws IOException {
+        SeatHold kept = hold(100L, Duration.ofMinutes(10));
+        SeatHold released = hold(200L, Duration.ofMinutes(10));
+        SeatHold replaced = hold(300L, Duration.ofMinutes(10));
+        SeatHold replacement = hold(301L, Duration.ofMinutes(10));
+
+        try (InMemoryHoldStore store = open()) {
+            store.putIfAbsent(1L, kept);
+            store.putIfAbsent(2L, released);
+            store.remove(2L, released);
+            store.putIfAbsent(3L, replaced);
+            store.replace(3L, replaced, replacement);
+        }
+
+        try (InMemoryHoldStore store = open()) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get(1L)).isEqualTo(kept);
+            assertThat(store.get(2L)).isNull();
+            assertThat(store.get(3L)).isEqualTo(replacement);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not restore holds that expired while the service was down")
+    void reopen_SkipsExpiredHolds() throws IOException {
+        try (InMemoryHoldStore store = open()) {
+            store.putIfAbsent(1L, hold(100L, Duration.ofMillis(50)));
+            store.putIfAbsent(2L, hold(200L, Duration.ofMinutes(10)));
+        }
+        sleep(100);
+
+        try (InMemoryHoldStore store = open()) {
+            assertThat(store.get(1L)).isNull();
+            assertThat(store.get(2L)).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should compact the log when it is full and keep only live holds")
+    void append_FullLog_Compacts() throws IOException {
+        try (InMemoryHoldStore store = open()) {
+            for (long attempt = 0; attempt < 1_000; attempt++) {
+                SeatHold hold = hold(attempt, Duration.ofMinutes(10));
+                store.putIfAbsent(attempt % 10, hold);
+                if (attempt < 990) {
+                    store.remove(attempt % 10, hold);
+                }
+            }
+            assertThat(store.size()).isEqualTo(10);
+        }
+
+        try (InMemoryHoldStore store = open()) {
+            assertThat(store.size()).isEqualTo(10);
+            assertThat(store.get(0L).userId()).isEqualTo(990L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore exactly the live holds when compactions run during concurrent writes")
+    void concurrentWrites_CompactionKeepsLastState() throws Exception {
+        int threads = 4;
+        Map<Long, SeatHold> expected = new ConcurrentHashMap<>();
+        try (InMemoryHoldStore store = open()) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Object>> futures = IntStream.range(0, threads)
+                        .mapToObj(thread -> executor.submit(() -> {
+                            for (long attempt = 0; attempt < 2_000; attempt++) {
+                                long seatId = thread * 8L + attempt % 8;
+                                SeatHold hold = hold(attempt, Duration.ofMinutes(10));
+                                store.putIfAbsent(seatId, hold);
+                                if (attempt < 1_992) {
+                                    store.remove(seatId, hold);
+                                } else {
+                                    expected.put(seatId, hold);
+                                }
+                            }
+                            return null;
+                        }))
+                        .toList();
+                for (Future<Object> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        try (InMemoryHoldStore store = open()) {
+            Map<Long, SeatHold> restored = new HashMap<>();
+            store.forEach(restored::put);
+            assertThat(restored).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore a record left incomplete by a crash")
+    void reopen_SkipsTornRecord() throws IOException {
+        try (InMemoryHoldStore store = open()) {
+            store.putIfAbsent(1L, hold(100L, Duration.ofMinutes(10)));
+            store.putIfAbsent(2L, hold(200L, Duration.ofMinutes(10)));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("holds.wal").toFile(), "rw")) {
+            file.seek(HoldWriteAheadLog.RECORD_SIZE + 28);
+            file.writeInt(0xBADC0DE);
+        }
+
+        try (InMemoryHoldStore store = open()) {
+            assertThat(store.get(1L)).isNotNull();
+            assertThat(store.get(2L)).isNull();
+        }
+    }
+
+    private InMemoryHoldStore open() throws IOException {
+        return new InMemoryHoldStore(directory.resolve("holds.wal"), CAPACITY, Duration.ofMillis(5));
+    }
+
+    private static SeatHold hold(Long userId, Duration ttl) {
+        return new SeatHold(userId, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.kata.business.holds;
+
+import com.kata.business.models.SeatHold;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedHoldTableTest {
+
+    private static final int LOG_CAPACITY = 64 * HoldWriteAheadLog.RECORD_SIZE;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should apply putIfAbsent, replace and remove only when the expected hold matches")
+    void conditionalOperations() {
+        StripedHoldTable table = new StripedHoldTable(4, 16);
+        SeatHold first = hold(100L, Duration.ofMinutes(10));
+        SeatHold second = hold(200L, Duration.ofMinutes(10));
+
+        assertThat(table.putIfAbsent(1L, first)).isNull();
+        assertThat(table.putIfAbsent(1L, second)).isEqualTo(first);
+        assertThat(table.replace(1L, second, first)).isFalse();
+        assertThat(table.replace(1L, first, second)).isTrue();
+        assertThat(table.remove(1L, first)).isFalse();
+        assertThat(table.get(1L)).isEqualTo(second);
+        assertThat(table.remove(1L, second)).isTrue();
+        assertThat(table.get(1L)).isNull();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should behave like a map through resizes and deletions")
+    void randomOperations_MatchHashMap() {
+        StripedHoldTable table = new StripedHoldTable(2, 2);
+        Map<Long, SeatHold> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int operation = 0; operation < 200_000; operation++) {
+            long seatId = random.nextInt(5_000) * 64L;
+            SeatHold current = expected.get(seatId);
+            if (current == null) {
+                SeatHold hold = hold((long) random.nextInt(100), Duration.ofMinutes(random.nextInt(10)));
+                assertThat(table.putIfAbsent(seatId, hold)).isNull();
+                expected.put(seatId, hold);
+            } else {
+                assertThat(table.remove(seatId, current)).isTrue();
+                expected.remove(seatId);
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((seatId, hold) -> assertThat(table.get(seatId)).isEqualTo(hold));
+        Map<Long, SeatHold> iterated = new HashMap<>();
+        table.forEach(iterated::put);
+        assertThat(iterated).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent callers acquire each seat")
+    void putIfAbsent_Concurrent_SingleWinner() throws Exception {
+        StripedHoldTable table = new StripedHoldTable(8, 16);
+        int threads = 8;
+        int seats = 10_000;
+        AtomicInteger winners = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> futures = IntStream.range(0, threads)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        start.await();
+                        SeatHold hold = hold((long) thread, Duration.ofMinutes(10));
+                        for (long seatId = 0; seatId < seats; seatId++) {
+                            if (table.putIfAbsent(seatId, hold) == null) {
+                                winners.incrementAndGet();
+                            }
+                            assertThat(table.get(seatId)).isNotNull();
+                        }
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(winners).hasValue(seats);
+        assertThat(table.size()).isEqualTo(seats);
+    }
+
+    @Test
+    @DisplayName("Should restore live holds from the log, compacting it when full")
+    void reopen_RestoresFromLog() throws IOException {
+        SeatHold kept = hold(100L, Duration.ofMinutes(10));
+        try (StripedHoldTable table = open()) {
+            for (long attempt = 0; attempt < 1_000; attempt++) {
+                SeatHold hold = hold(attempt, Duration.ofMinutes(10));
+                table.putIfAbsent(attempt % 10 + 1, hold);
+                table.remove(attempt % 10 + 1, hold);
+            }
+            table.putIfAbsent(1L, kept);
+            table.putIfAbsent(2L, hold(200L, Duration.ofMillis(-1)));
+        }
+
+        try (StripedHoldTable table = open()) {
+            assertThat(table.size()).isEqualTo(1);
+            assertThat(table.get(1L)).isEqualTo(kept);
+            assertThat(table.get(2L)).isNull();
+        }
+    }
+
+    private StripedHoldTable open() throws IOException {
+        return new StripedHoldTable(4, 16, directory.resolve("holds.wal"), LOG_CAPACITY, Duration.ofMillis(5));
+    }
+
+    private static SeatHold hold(Long userId, Duration ttl) {
+        return new SeatHold(userId, System.currentTimeMillis() + ttl.toMillis());
+    }
+}
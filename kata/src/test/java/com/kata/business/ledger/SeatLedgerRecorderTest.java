@@ -0,0 +1,173 @@
+package com.kata.business.ledger;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.SeatHoldExpiredEvent;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.business.sales.PendingSales;
+import com.kata.dao.EventRepository;
+import com.kata.dao.SeatRepository;
+import com.kata.dto.SeatLedgerEntryDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.enums.SeatLedgerEntryType;
+import com.kata.enums.SeatStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatLedgerRecorderTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @TempDir
+    private Path directory;
+
+    private final List<SeatLedgerRecorder> recorders = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (SeatLedgerRecorder recorder : recorders) {
+            recorder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild holds and seat states from the last snapshot and the ledger tail, without reading seats")
+    void restore_FromSnapshotAndTail() throws IOException {
+        when(eventRepository.findAllIds()).thenReturn(List.of(EVENT_ID));
+        when(seatRepository.findSeatStates(EVENT_ID)).thenReturn(List.of(
+                seat(1L, "A1", SeatStatus.AVAILABLE),
+                seat(2L, "A2", SeatStatus.AVAILABLE),
+                seat(3L, "A3", SeatStatus.SOLD),
+                seat(4L, "A4", SeatStatus.AVAILABLE)));
+        HoldStore holdStore = new InMemoryHoldStore();
+        SeatAvailabilityIndex index = index(holdStore, new RecoveredSeats());
+        index.warmUp();
+        SeatLedgerRecorder recorder = open(index, holdStore, new RecoveredSeats());
+        SeatHold first = hold(100L);
+        SeatHold second = hold(200L);
+
+        hold(index, holdStore, recorder, 1L, first);
+        index.markSold(2L);
+        recorder.onSale(2L, 300L);
+        recorder.snapshot();
+        holdStore.remove(1L, first);
+        index.refresh(1L);
+        recorder.onRelease(1L, first);
+        hold(index, holdStore, recorder, 4L, second);
+        recorder.destroy();
+
+        HoldStore restoredHolds = new InMemoryHoldStore();
+        RecoveredSeats recoveredSeats = new RecoveredSeats();
+        open(index, restoredHolds, recoveredSeats);
+        SeatAvailabilityIndex restored = index(restoredHolds, recoveredSeats);
+        restored.warmUp();
+
+        assertThat(restoredHolds.get(1L)).isNull();
+        assertThat(restoredHolds.get(4L)).isEqualTo(second);
+        assertThat(restored.availableSeats(EVENT_ID)).extracting(SeatResponseDTO::id).containsExactly(1L);
+        assertThat(restored.isSold(2L)).isTrue();
+        assertThat(restored.isSold(3L)).isTrue();
+        verify(seatRepository, times(1)).findSeatStates(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should replay the whole ledger when no snapshot was taken, dropping expired and sold holds")
+    void restore_WithoutSnapshot() throws IOException {
+        HoldStore holdStore = new InMemoryHoldStore();
+        SeatAvailabilityIndex index = index(holdStore, new RecoveredSeats());
+        SeatLedgerRecorder recorder = open(index, holdStore, new RecoveredSeats());
+        SeatHold sold = hold(100L);
+        SeatHold expired = new SeatHold(200L, System.currentTimeMillis() - 1);
+        SeatHold kept = hold(300L);
+
+        recorder.onHold(1L, sold);
+        recorder.onSale(1L, 100L);
+        recorder.onHold(2L, expired);
+        recorder.onHold(4L, kept);
+        recorder.destroy();
+
+        HoldStore restoredHolds = new InMemoryHoldStore();
+        RecoveredSeats recoveredSeats = new RecoveredSeats();
+        open(index, restoredHolds, recoveredSeats);
+
+        assertThat(restoredHolds.size()).isEqualTo(1);
+        assertThat(restoredHolds.get(4L)).isEqualTo(kept);
+        assertThat(recoveredSeats.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should list the history of a seat in ledger order")
+    void history_ListsSeatEntries() throws IOException {
+        HoldStore holdStore = new InMemoryHoldStore();
+        SeatLedgerRecorder recorder = open(index(holdStore, new RecoveredSeats()), holdStore, new RecoveredSeats());
+        SeatHold first = hold(100L);
+        SeatHold second = hold(200L);
+
+        recorder.onHold(1L, first);
+        recorder.onHold(2L, hold(300L));
+        recorder.onHoldExpired(new SeatHoldExpiredEvent(1L, first));
+        recorder.onHold(1L, second);
+        recorder.onSale(1L, 200L);
+
+        assertThat(recorder.history(1L))
+                .extracting(SeatLedgerEntryDTO::type, SeatLedgerEntryDTO::userId)
+                .containsExactly(
+                        tuple(SeatLedgerEntryType.HOLD, 100L),
+                        tuple(SeatLedgerEntryType.EXPIRY, 100L),
+                        tuple(SeatLedgerEntryType.HOLD, 200L),
+                        tuple(SeatLedgerEntryType.SALE, 200L));
+    }
+
+    private SeatLedgerRecorder open(SeatAvailabilityIndex index, HoldStore holdStore, RecoveredSeats recoveredSeats) throws IOException {
+        SeatLedgerRecorder recorder = new SeatLedgerRecorder(index, holdStore, recoveredSeats, MillisClock.SYSTEM, directory,
+                DataSize.ofKilobytes(4), Duration.ofMillis(5), Duration.ofMinutes(1));
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    private SeatAvailabilityIndex index(HoldStore holdStore, RecoveredSeats recoveredSeats) {
+        return new SeatAvailabilityIndex(seatRepository, eventRepository, holdStore, List.of(), MillisClock.SYSTEM,
+                new PendingSales(), recoveredSeats, event -> {});
+    }
+
+    private static void hold(SeatAvailabilityIndex index, HoldStore holdStore, SeatLedgerRecorder recorder, Long seatId, SeatHold hold) {
+        holdStore.putIfAbsent(seatId, hold);
+        index.refresh(seatId);
+        recorder.onHold(seatId, hold);
+    }
+
+    private static SeatHold hold(Long userId) {
+        return new SeatHold(userId, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+    }
+
+    private static SeatResponseDTO seat(Long id, String seatNumber, SeatStatus status) {
+        return new SeatResponseDTO(id, seatNumber, status.name());
+    }
+}
@@ -0,0 +1,86 @@
+package com.kata.business.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatLedgerTest {
+
+    private static final int SEGMENT_SIZE = 8 * SeatLedger.RECORD_SIZE;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should replay every record in order across segments and keep appending after a reopen")
+    void replay_AcrossSegmentsAndReopen() throws IOException {
+        try (SeatLedger ledger = open()) {
+            for (long seatId = 1; seatId <= 20; seatId++) {
+                assertThat(ledger.append(SeatLedger.HOLD, seatId, 100L, 1_000L, 2_000L)).isEqualTo(seatId - 1);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+
+        try (SeatLedger ledger = open()) {
+            assertThat(ledger.position()).isEqualTo(20);
+            assertThat(ledger.append(SeatLedger.SALE, 21L, 100L, 3_000L, 0L)).isEqualTo(20);
+
+            List<String> records = new ArrayList<>();
+            long end = ledger.replay(0, (position, type, seatId, userId, at, expiresAt) -> records.add(position + ":" + type + ":" + seatId));
+
+            assertThat(end).isEqualTo(21);
+            assertThat(records).hasSize(21).startsWith("0:1:1", "1:1:2").endsWith("19:1:20", "20:4:21");
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay only the records from the given position")
+    void replay_FromPosition() throws IOException {
+        try (SeatLedger ledger = open()) {
+            for (long seatId = 1; seatId <= 20; seatId++) {
+                ledger.append(SeatLedger.HOLD, seatId, 100L, 1_000L, 2_000L);
+            }
+
+            List<Long> positions = new ArrayList<>();
+            ledger.replay(10, (position, type, seatId, userId, at, expiresAt) -> positions.add(position));
+
+            assertThat(positions).containsExactly(10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip a record whose checksum does not match")
+    void replay_SkipsCorruptRecord() throws IOException {
+        try (SeatLedger ledger = open()) {
+            ledger.append(SeatLedger.HOLD, 1L, 100L, 1_000L, 2_000L);
+            ledger.append(SeatLedger.RELEASE, 1L, 100L, 1_500L, 2_000L);
+        }
+        Path segment = directory.resolve(String.format("%020d.ledger", 0));
+        byte[] content = Files.readAllBytes(segment);
+        content[8] ^= 1;
+        Files.write(segment, content);
+
+        try (SeatLedger ledger = open()) {
+            List<Integer> types = new ArrayList<>();
+            ledger.replay(0, (position, type, seatId, userId, at, expiresAt) -> types.add(type));
+
+            assertThat(types).containsExactly(SeatLedger.RELEASE);
+        }
+    }
+
+    private SeatLedger open() throws IOException {
+        return new SeatLedger(directory, SEGMENT_SIZE, Duration.ofMillis(5));
+    }
+}
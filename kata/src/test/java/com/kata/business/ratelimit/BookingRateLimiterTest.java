@@ -0,0 +1,104 @@
+package com.kata.business.ratelimit;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.holds.CountingHoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.models.SeatHold;
+import com.kata.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BookingRateLimiterTest {
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CountingHoldStore holdStore;
+
+    @BeforeEach
+    void setUp() {
+        holdStore = new CountingHoldStore(new InMemoryHoldStore());
+        lenient().when(seatAvailabilityIndex.indexedEventOf(anyLong())).thenReturn(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a user exceeding its rate with a retry delay, without affecting other users")
+    void checkHold_UserRate() {
+        BookingRateLimiter limiter = limiter(1, 2, 0, 0);
+
+        limiter.checkHold(100L, List.of(1L));
+        limiter.checkHold(100L, List.of(2L));
+
+        assertThatThrownBy(() -> limiter.checkHold(100L, List.of(3L)))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThatCode(() -> limiter.checkHold(101L, List.of(3L))).doesNotThrowAnyException();
+        assertThat(meterRegistry.get(BookingRateLimiter.REJECTION_COUNTER).tag("scope", "user").counter().count())
+                .isEqualTo(1);
+        verifyNoInteractions(seatAvailabilityIndex);
+    }
+
+    @Test
+    @DisplayName("Should cap the number of seats held at once by a user")
+    void checkHold_MaxHolds() {
+        BookingRateLimiter limiter = limiter(0, 0, 0, 2);
+        SeatHold hold = new SeatHold(100L, System.currentTimeMillis() + Duration.ofMinutes(10).toMillis());
+        holdStore.putIfAbsent(1L, hold);
+
+        assertThatCode(() -> limiter.checkHold(100L, List.of(2L))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.checkHold(100L, List.of(2L, 3L)))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        holdStore.remove(1L, hold);
+        assertThatCode(() -> limiter.checkHold(100L, List.of(2L, 3L))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should share the event bucket between all users")
+    void checkHold_EventRate() {
+        BookingRateLimiter limiter = limiter(0, 0, 1, 0);
+
+        limiter.checkHold(100L, List.of(1L));
+
+        assertThatThrownBy(() -> limiter.checkHold(101L, List.of(2L)))
+                .isInstanceOf(RateLimitExceededException.class);
+        nanos.addAndGet(1_000_000_000L);
+        assertThatCode(() -> limiter.checkHold(101L, List.of(2L))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should leave seats unknown to the index out of the event bucket")
+    void checkHold_UnknownSeat() {
+        BookingRateLimiter limiter = limiter(0, 0, 1, 0);
+        lenient().when(seatAvailabilityIndex.indexedEventOf(9L)).thenReturn(null);
+
+        limiter.checkHold(100L, List.of(1L));
+
+        assertThatCode(() -> limiter.checkHold(101L, List.of(9L))).doesNotThrowAnyException();
+    }
+
+    private BookingRateLimiter limiter(int userRate, int userBurst, int eventRate, int maxHoldsPerUser) {
+        return new BookingRateLimiter(holdStore, seatAvailabilityIndex, meterRegistry, true,
+                userRate, userBurst, 1024, eventRate, 1, 64, maxHoldsPerUser, nanos::get);
+    }
+}
@@ -0,0 +1,56 @@
+package com.kata.business.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Should accept a burst, then one request per interval")
+    void tryAcquire_BurstThenRate() {
+        TokenBucketTable table = new TokenBucketTable(64, 10, 3, nanos::get);
+
+        assertThat(table.tryAcquire(1L)).isZero();
+        assertThat(table.tryAcquire(1L)).isZero();
+        assertThat(table.tryAcquire(1L)).isZero();
+        assertThat(table.tryAcquire(1L)).isEqualTo(Duration.ofMillis(100).toNanos() / 1_000);
+
+        advance(Duration.ofMillis(100));
+        assertThat(table.tryAcquire(1L)).isZero();
+        assertThat(table.tryAcquire(1L)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket per key")
+    void tryAcquire_SeparateKeys() {
+        TokenBucketTable table = new TokenBucketTable(64, 1, 1, nanos::get);
+
+        assertThat(table.tryAcquire(1L)).isZero();
+        assertThat(table.tryAcquire(1L)).isPositive();
+        assertThat(table.tryAcquire(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should track far more keys than its capacity by reusing idle buckets")
+    void tryAcquire_ReusesIdleBuckets() {
+        TokenBucketTable table = new TokenBucketTable(16, 1, 1, nanos::get);
+
+        for (long key = 0; key < 1_000_000; key++) {
+            assertThat(table.tryAcquire(key)).isZero();
+            advance(Duration.ofSeconds(1));
+        }
+        assertThat(table.tryAcquire(42L)).isZero();
+        assertThat(table.tryAcquire(42L)).isPositive();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
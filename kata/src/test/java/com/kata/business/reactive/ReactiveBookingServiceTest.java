@@ -0,0 +1,169 @@
+package com.kata.business.reactive;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.business.expiry.HoldExpiryWheel;
+import com.kata.business.holds.HoldPolicy;
+import com.kata.business.holds.HoldStore;
+import com.kata.business.holds.InMemoryHoldStore;
+import com.kata.business.holds.SeatHolds;
+import com.kata.business.metrics.BookingMetrics;
+import com.kata.business.models.SeatState;
+import com.kata.business.sales.PendingSales;
+import com.kata.dao.EventRepository;
+import com.kata.dao.ReactiveSeatRepository;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.enums.SeatStatus;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotAvailableException;
+import com.kata.exceptions.SeatNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBookingServiceTest {
+
+    @Mock
+    private ReactiveSeatRepository seatRepository;
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private HoldStore holdStore;
+    private SimpleMeterRegistry meterRegistry;
+    private ReactiveBookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        holdStore = new InMemoryHoldStore();
+        HoldPolicy holdPolicy = new HoldPolicy(eventRepository, MillisClock.SYSTEM, Duration.ofMinutes(10));
+        SeatHolds seatHolds = new SeatHolds(holdStore,
+                new HoldExpiryWheel(holdStore, event -> {}, Duration.ofMillis(100), 512),
+                seatAvailabilityIndex, MillisClock.SYSTEM, holdPolicy,
+                new PendingSales(), List.of());
+        bookingService = new ReactiveBookingService(seatRepository, seatHolds, holdPolicy, new BookingMetrics(meterRegistry));
+    }
+
+    private static SeatState seat(Long id, SeatStatus status) {
+        return new SeatState(id, 1L, status);
+    }
+
+    @Test
+    @DisplayName("Should hold an available seat read through R2DBC, then refuse a second buyer without reading it again")
+    void holdSeat_ThenConflict() {
+        when(seatRepository.findById(1L)).thenReturn(Mono.just(seat(1L, SeatStatus.AVAILABLE)));
+
+        bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L)).block();
+
+        assertThat(holdStore.get(1L).userId()).isEqualTo(100L);
+        assertThatThrownBy(() -> bookingService.holdSeat(new SeatReservationRequestDTO(1L, 200L)).block())
+                .isInstanceOf(SeatNotAvailableException.class);
+        verify(seatRepository).findById(1L);
+        verify(seatAvailabilityIndex).refresh(1L);
+    }
+
+    @Test
+    @DisplayName("Should read the hold duration of an unknown event once, off the calling thread")
+    void holdSeat_LoadsHoldDurationOffThread() {
+        AtomicReference<String> loadingThread = new AtomicReference<>();
+        when(seatRepository.findById(anyLong())).thenAnswer(invocation -> Mono.just(seat(invocation.getArgument(0), SeatStatus.AVAILABLE)));
+        when(eventRepository.findById(1L)).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+
+        bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L)).block();
+        bookingService.holdSeat(new SeatReservationRequestDTO(2L, 100L)).block();
+
+        assertThat(loadingThread.get()).startsWith("boundedElastic");
+        verify(eventRepository).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail with SeatNotFoundException when the seat does not exist")
+    void holdSeat_NotFound() {
+        when(seatRepository.findById(99L)).thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> bookingService.holdSeat(new SeatReservationRequestDTO(99L, 100L)).block())
+                .isInstanceOf(SeatNotFoundException.class);
+        assertThat(meterRegistry.get(BookingMetrics.OPERATION_TIMER).tag("outcome", "not_found").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hold no seat of a batch when one of them is sold")
+    void holdSeats_AllOrNothing() {
+        when(seatRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(Flux.just(seat(1L, SeatStatus.AVAILABLE), seat(2L, SeatStatus.SOLD)));
+
+        assertThatThrownBy(() -> bookingService.holdSeats(new BatchSeatReservationRequestDTO(100L, List.of(2L, 1L))).block())
+                .isInstanceOf(BatchHoldFailedException.class);
+        assertThat(holdStore.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should sell a held seat and remove its hold")
+    void confirmPayment_Success() {
+        when(seatRepository.findById(1L)).thenReturn(Mono.just(seat(1L, SeatStatus.AVAILABLE)));
+        when(seatRepository.markSoldIfAvailable(1L)).thenReturn(Mono.just(1L));
+        bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L)).block();
+
+        bookingService.confirmPayment(1L, 100L).block();
+
+        assertThat(holdStore.get(1L)).isNull();
+        verify(seatAvailabilityIndex).markSold(1L);
+    }
+
+    @Test
+    @DisplayName("Should report an already sold seat when the conditional update changes no row")
+    void confirmPayment_AlreadySold() {
+        when(seatRepository.findById(1L)).thenReturn(Mono.just(seat(1L, SeatStatus.AVAILABLE)));
+        when(seatRepository.markSoldIfAvailable(1L)).thenReturn(Mono.just(0L));
+        when(seatRepository.existsById(1L)).thenReturn(Mono.just(true));
+        bookingService.holdSeat(new SeatReservationRequestDTO(1L, 100L)).block();
+
+        assertThatThrownBy(() -> bookingService.confirmPayment(1L, 100L).block())
+                .isInstanceOf(SeatAlreadySoldException.class);
+        verify(seatAvailabilityIndex, never()).markSold(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep the holds of a batch when the transaction sells none of its seats")
+    void confirmPayments_RolledBack() {
+        when(seatRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(Flux.just(seat(1L, SeatStatus.AVAILABLE), seat(2L, SeatStatus.AVAILABLE)));
+        when(seatRepository.markAllSoldIfAvailable(List.of(1L, 2L))).thenReturn(Mono.just(false));
+        BatchSeatReservationRequestDTO checkout = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+        bookingService.holdSeats(checkout).block();
+
+        assertThatThrownBy(() -> bookingService.confirmPayments(checkout).block())
+                .isInstanceOf(SeatAlreadySoldException.class);
+        assertThat(holdStore.get(1L)).isNotNull();
+        assertThat(holdStore.get(2L)).isNotNull();
+    }
+}
@@ -0,0 +1,101 @@
+package com.kata.business.sales;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SaleJournalTest {
+
+    private static final int CAPACITY = 16 * SaleJournal.RECORD_SIZE;
+
+    @TempDir
+    private Path directory;
+
+    private final PendingSales pendingSales = new PendingSales();
+
+    @Test
+    @DisplayName("Should replay sales and flush markers in journal order")
+    void replay_RestoresRecords() throws IOException {
+        try (SaleJournal journal = open()) {
+            journal.replay((type, seatId, userId, at) -> {});
+            journal.appendSale(List.of(1L, 2L), 100L, 1_000L, () -> {});
+            journal.appendSale(List.of(3L), 200L, 2_000L, () -> {});
+            journal.appendFlushed(List.of(1L), () -> {});
+        }
+
+        assertThat(replay()).containsExactly("SALE 1 100 1000", "SALE 2 100 1000", "SALE 3 200 2000", "FLUSHED 1");
+    }
+
+    @Test
+    @DisplayName("Should ignore a multi-seat sale whose last record was never written")
+    void replay_IgnoresInterruptedSale() throws IOException {
+        try (SaleJournal journal = open()) {
+            journal.replay((type, seatId, userId, at) -> {});
+            journal.appendSale(List.of(1L, 2L, 3L), 100L, 1_000L, () -> {});
+            journal.appendSale(List.of(4L), 200L, 2_000L, () -> {});
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve("sales.journal"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(SaleJournal.RECORD_SIZE), 2L * SaleJournal.RECORD_SIZE);
+        }
+
+        assertThat(replay()).containsExactly("SALE 4 200 2000");
+    }
+
+    @Test
+    @DisplayName("Should keep only the sales not yet written to the database when compacting")
+    void append_CompactsWhenFull() throws IOException {
+        try (SaleJournal journal = open()) {
+            journal.replay((type, seatId, userId, at) -> {});
+            for (long seatId = 1; seatId <= 100; seatId++) {
+                List<Long> seatIds = List.of(seatId);
+                pendingSales.claimAll(seatIds, 100L, seatId);
+                journal.appendSale(seatIds, 100L, seatId, () -> pendingSales.commitAll(seatIds));
+                if (seatId != 7) {
+                    journal.appendFlushed(seatIds, () -> pendingSales.removeAll(seatIds));
+                }
+            }
+            assertThat(journal.size()).isLessThanOrEqualTo(CAPACITY);
+        }
+
+        assertThat(replay()).contains("SALE 7 100 7").doesNotContain("SALE 6 100 6").hasSizeLessThan(16);
+    }
+
+    @Test
+    @DisplayName("Should return from awaitDurable once the record has been forced to disk")
+    void awaitDurable_ReturnsAfterFlush() throws IOException {
+        try (SaleJournal journal = new SaleJournal(directory.resolve("sales.journal"), CAPACITY,
+                Duration.ofHours(1), pendingSales::forEachCommitted)) {
+            journal.replay((type, seatId, userId, at) -> {});
+            long sequence = journal.appendSale(List.of(1L), 100L, 1_000L, () -> {});
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> journal.awaitDurable(sequence));
+        }
+    }
+
+    private SaleJournal open() throws IOException {
+        return new SaleJournal(directory.resolve("sales.journal"), CAPACITY, Duration.ofMillis(5),
+                pendingSales::forEachCommitted);
+    }
+
+    private List<String> replay() throws IOException {
+        List<String> records = new ArrayList<>();
+        try (SaleJournal journal = open()) {
+            journal.replay((type, seatId, userId, at) -> records.add(type == SaleJournal.SALE
+                    ? "SALE " + seatId + " " + userId + " " + at
+                    : "FLUSHED " + seatId));
+        }
+        return records;
+    }
+}
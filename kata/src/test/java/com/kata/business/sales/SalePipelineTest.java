@@ -0,0 +1,141 @@
+package com.kata.business.sales;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.business.clock.MillisClock;
+import com.kata.dao.SeatRepository;
+import com.kata.exceptions.SeatAlreadySoldException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalePipelineTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    @TempDir
+    private Path directory;
+
+    private final List<SalePipeline> pipelines = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (SalePipeline pipeline : pipelines) {
+            pipeline.stop();
+            pipeline.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a sale before writing it to the database, then write it in one batch")
+    void sell_AcknowledgedBeforeDatabaseWrite() throws Exception {
+        PendingSales pendingSales = new PendingSales();
+        SalePipeline pipeline = open(pendingSales);
+        AtomicInteger committed = new AtomicInteger();
+
+        pipeline.sell(List.of(1L, 2L), 100L, committed::incrementAndGet);
+
+        assertThat(committed).hasValue(1);
+        assertThat(pendingSales.contains(1L)).isTrue();
+        assertThat(pendingSales.contains(2L)).isTrue();
+        verify(seatRepository, never()).markSoldIfAvailable(anyCollection());
+
+        when(seatRepository.markSoldIfAvailable(List.of(1L, 2L))).thenReturn(2);
+        pipeline.start();
+        awaitUntilWritten(pendingSales);
+    }
+
+    @Test
+    @DisplayName("Should refuse a seat already being sold, without claiming the other seats")
+    void sell_ConflictingSale() throws Exception {
+        PendingSales pendingSales = new PendingSales();
+        SalePipeline pipeline = open(pendingSales);
+        pipeline.sell(List.of(1L), 100L, () -> {});
+
+        assertThatThrownBy(() -> pipeline.sell(List.of(2L, 1L), 200L, () -> {}))
+                .isInstanceOf(SeatAlreadySoldException.class);
+        assertThat(pendingSales.contains(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse a seat the availability index already knows as sold")
+    void sell_AlreadySoldInIndex() throws Exception {
+        PendingSales pendingSales = new PendingSales();
+        SalePipeline pipeline = open(pendingSales);
+        when(seatAvailabilityIndex.eventOf(3L)).thenReturn(1L);
+        when(seatAvailabilityIndex.isSold(3L)).thenReturn(true);
+
+        assertThatThrownBy(() -> pipeline.sell(List.of(3L), 100L, () -> {}))
+                .isInstanceOf(SeatAlreadySoldException.class);
+        assertThat(pendingSales.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should replay after a restart the sales not yet written to the database, and only those")
+    void replay_AfterRestart() throws Exception {
+        SalePipeline stopped = open(new PendingSales());
+        stopped.sell(List.of(1L, 2L), 100L, () -> {});
+        stopped.destroy();
+        pipelines.remove(stopped);
+
+        PendingSales recovered = new PendingSales();
+        SalePipeline restarted = open(recovered);
+        assertThat(recovered.contains(1L)).isTrue();
+        assertThat(recovered.contains(2L)).isTrue();
+
+        when(seatRepository.markSoldIfAvailable(List.of(1L, 2L))).thenReturn(0);
+        restarted.start();
+        awaitUntilWritten(recovered);
+        restarted.stop();
+        restarted.destroy();
+        pipelines.remove(restarted);
+
+        PendingSales reopened = new PendingSales();
+        open(reopened);
+        assertThat(reopened.isEmpty()).isTrue();
+    }
+
+    private SalePipeline open(PendingSales pendingSales) throws IOException {
+        SalePipeline pipeline = new SalePipeline(pendingSales, seatRepository, transactionManager, seatAvailabilityIndex,
+                MillisClock.SYSTEM, new SimpleMeterRegistry(), directory.resolve("sales.journal"),
+                DataSize.ofKilobytes(64), Duration.ofMillis(5), 500, Duration.ofMillis(5));
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    private static void awaitUntilWritten(PendingSales pendingSales) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!pendingSales.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pendingSales.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,185 @@
+package com.kata.business.waitingroom;
+
+import com.kata.business.availability.SeatAvailabilityIndex;
+import com.kata.dao.EventRepository;
+import com.kata.dao.entities.Event;
+import com.kata.dto.QueueTicketDTO;
+import com.kata.exceptions.EventNotFoundException;
+import com.kata.exceptions.InvalidQueueTokenException;
+import com.kata.exceptions.NotAdmittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomTest {
+
+    private static final long GATED_EVENT = 1L;
+    private static final long OPEN_EVENT = 2L;
+    private static final long GATED_SEAT = 10L;
+    private static final long OPEN_SEAT = 20L;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private SeatAvailabilityIndex seatAvailabilityIndex;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private WaitingRoom waitingRoom;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(eventRepository.findById(GATED_EVENT)).thenReturn(Optional.of(event(GATED_EVENT, 2)));
+        lenient().when(eventRepository.findById(OPEN_EVENT)).thenReturn(Optional.of(event(OPEN_EVENT, null)));
+        lenient().when(seatAvailabilityIndex.indexedEventOf(GATED_SEAT)).thenReturn(GATED_EVENT);
+        lenient().when(seatAvailabilityIndex.indexedEventOf(OPEN_SEAT)).thenReturn(OPEN_EVENT);
+        waitingRoom = waitingRoom(Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should admit the burst immediately, then queue the other clients")
+    void join_AdmitsBurstThenQueues() {
+        QueueTicketDTO first = waitingRoom.join(GATED_EVENT, 100L);
+        QueueTicketDTO second = waitingRoom.join(GATED_EVENT, 101L);
+        QueueTicketDTO third = waitingRoom.join(GATED_EVENT, 102L);
+        QueueTicketDTO fourth = waitingRoom.join(GATED_EVENT, 103L);
+
+        assertThat(first.admitted()).isTrue();
+        assertThat(second.admitted()).isTrue();
+        assertThat(third.admitted()).isFalse();
+        assertThat(third.position()).isEqualTo(1);
+        assertThat(fourth.position()).isEqualTo(2);
+        assertThat(fourth.estimatedWaitSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a client's place in the queue when joining again")
+    void join_AgainKeepsPosition() {
+        waitingRoom.join(GATED_EVENT, 100L);
+        waitingRoom.join(GATED_EVENT, 101L);
+        QueueTicketDTO first = waitingRoom.join(GATED_EVENT, 102L);
+        QueueTicketDTO again = waitingRoom.join(GATED_EVENT, 102L);
+        QueueTicketDTO next = waitingRoom.join(GATED_EVENT, 103L);
+
+        assertThat(again.position()).isEqualTo(first.position()).isEqualTo(1);
+        assertThat(next.position()).isEqualTo(2);
+        assertThatCode(() -> waitingRoom.status(GATED_EVENT, again.token())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should forget clients once admitted and their token lifetime elapsed")
+    void join_ForgetsAdmittedClients() {
+        for (long userId = 100L; userId < 110L; userId++) {
+            waitingRoom.join(GATED_EVENT, userId);
+        }
+        assertThat(waitingRoom.rememberedClients(GATED_EVENT)).isEqualTo(10);
+        nanos.addAndGet(Duration.ofMinutes(31).toNanos());
+
+        waitingRoom.join(GATED_EVENT, 200L);
+
+        assertThat(waitingRoom.rememberedClients(GATED_EVENT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should admit queued clients at the event's admission rate")
+    void status_AdmitsAtRate() {
+        waitingRoom.join(GATED_EVENT, 100L);
+        waitingRoom.join(GATED_EVENT, 101L);
+        String token = waitingRoom.join(GATED_EVENT, 102L).token();
+        assertThat(waitingRoom.status(GATED_EVENT, token).admitted()).isFalse();
+
+        nanos.addAndGet(Duration.ofMillis(500).toNanos());
+
+        assertThat(waitingRoom.status(GATED_EVENT, token).admitted()).isTrue();
+        assertThatCode(() -> waitingRoom.checkAdmitted(token, 102L, List.of(GATED_SEAT))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should reject a hold with its position and retry delay while not admitted")
+    void checkAdmitted_NotAdmitted() {
+        waitingRoom.join(GATED_EVENT, 100L);
+        waitingRoom.join(GATED_EVENT, 101L);
+        waitingRoom.join(GATED_EVENT, 102L);
+        waitingRoom.join(GATED_EVENT, 103L);
+        String token = waitingRoom.join(GATED_EVENT, 104L).token();
+
+        assertThatThrownBy(() -> waitingRoom.checkAdmitted(token, 104L, List.of(GATED_SEAT)))
+                .isInstanceOfSatisfying(NotAdmittedException.class, e -> {
+                    assertThat(e.getPosition()).isEqualTo(3);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(2);
+                });
+        assertThatThrownBy(() -> waitingRoom.checkAdmitted(null, 104L, List.of(GATED_SEAT)))
+                .isInstanceOf(NotAdmittedException.class);
+    }
+
+    @Test
+    @DisplayName("Should not require a token for events without an admission rate")
+    void checkAdmitted_OpenEvent() {
+        assertThatCode(() -> waitingRoom.checkAdmitted(null, 100L, List.of(OPEN_SEAT))).doesNotThrowAnyException();
+        assertThat(waitingRoom.join(OPEN_EVENT, 100L).admitted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued to another user, for another event, tampered or expired")
+    void checkAdmitted_InvalidTokens() {
+        String token = waitingRoom.join(GATED_EVENT, 100L).token();
+        String openToken = waitingRoom.join(OPEN_EVENT, 100L).token();
+        String tampered = token.substring(0, token.indexOf('.') - 1) + "x" + token.substring(token.indexOf('.'));
+
+        assertThatThrownBy(() -> waitingRoom.checkAdmitted(token, 999L, List.of(GATED_SEAT)))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatThrownBy(() -> waitingRoom.checkAdmitted(openToken, 100L, List.of(GATED_SEAT)))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatThrownBy(() -> waitingRoom.checkAdmitted(tampered, 100L, List.of(GATED_SEAT)))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatThrownBy(() -> waitingRoom.checkAdmitted("garbage", 100L, List.of(GATED_SEAT)))
+                .isInstanceOf(InvalidQueueTokenException.class);
+
+        WaitingRoom expired = waitingRoom(Duration.ofMinutes(-1));
+        String expiredToken = expired.join(GATED_EVENT, 100L).token();
+        assertThatThrownBy(() -> expired.checkAdmitted(expiredToken, 100L, List.of(GATED_SEAT)))
+                .isInstanceOf(InvalidQueueTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw EventNotFoundException when joining an unknown event")
+    void join_UnknownEvent() {
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> waitingRoom.join(99L, 100L)).isInstanceOf(EventNotFoundException.class);
+    }
+
+    private WaitingRoom waitingRoom(Duration tokenTtl) {
+        return new WaitingRoom(eventRepository, seatAvailabilityIndex, new SimpleMeterRegistry(), 0, 2, tokenTtl,
+                "secret".getBytes(StandardCharsets.UTF_8), nanos::get,
+                Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private static Event event(Long id, Integer admissionRate) {
+        Event event = new Event();
+        event.setId(id);
+        event.setAdmissionRate(admissionRate);
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.kata.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingModeConfigTest {
+
+    @Test
+    @DisplayName("Should accept a single booking mode alongside the seat ledger")
+    void checkModes_SingleMode() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(BookingModeConfig.JOURNALED_SALES, "true")
+                .withProperty(BookingModeConfig.LEDGER, "true")
+                .withProperty(BookingModeConfig.ACTORS, "false");
+
+        assertThatCode(() -> BookingModeConfig.checkModes(environment)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should refuse two exclusive modes and name both")
+    void checkModes_TwoModes() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(BookingModeConfig.ACTORS, "true")
+                .withProperty(BookingModeConfig.CLUSTER, "true");
+
+        assertThatThrownBy(() -> BookingModeConfig.checkModes(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.booking.actors.enabled=true, app.cluster.enabled=true");
+    }
+
+    @Test
+    @DisplayName("Should refuse the reactive stack with journaled sales")
+    void checkModes_ReactiveWithJournal() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(BookingModeConfig.JOURNALED_SALES, "true")
+                .withProperty(BookingModeConfig.WEB_APPLICATION_TYPE, "reactive");
+
+        assertThatThrownBy(() -> BookingModeConfig.checkModes(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.main.web-application-type=reactive");
+    }
+
+    @Test
+    @DisplayName("Should refuse the seat ledger with the actor mode")
+    void checkModes_LedgerWithActors() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(BookingModeConfig.ACTORS, "true")
+                .withProperty(BookingModeConfig.LEDGER, "true");
+
+        assertThatThrownBy(() -> BookingModeConfig.checkModes(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("seat ledger");
+    }
+
+    @Test
+    @DisplayName("Should refuse the second-level cache in cluster mode")
+    void checkModes_ClusterWithJpaCache() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(BookingModeConfig.CLUSTER, "true")
+                .withProperty(BookingModeConfig.JPA_CACHE, "true");
+
+        assertThatThrownBy(() -> BookingModeConfig.checkModes(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.jpa.cache.enabled=true");
+    }
+}
@@ -0,0 +1,97 @@
+package com.kata.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GatedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new GatedDataSource(target, 1, Duration.ofMillis(50), meterRegistry);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a connection request when no permit frees up in time")
+    void getConnection_TimesOutWhenSaturated() throws SQLException {
+        Connection first = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get("datasource.gate.timeouts").counter().count()).isEqualTo(1);
+
+        first.close();
+    }
+
+    @Test
+    @DisplayName("Should hand the permit to a waiting thread when the connection is closed")
+    void close_ReleasesPermitToWaiter() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new GatedDataSource(target, 1, Duration.ofSeconds(5), meterRegistry);
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meterRegistry.get("datasource.gate.waiting").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        first.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(meterRegistry.get("datasource.gate.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should release the permit only once when a connection is closed twice")
+    void close_Twice_ReleasesOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(meterRegistry.get("datasource.gate.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give the permit back when the pool fails to provide a connection")
+    void getConnection_PoolFailure_ReleasesPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(meterRegistry.get("datasource.gate.available").gauge().value()).isEqualTo(1);
+        verify(target, times(1)).getConnection();
+    }
+}
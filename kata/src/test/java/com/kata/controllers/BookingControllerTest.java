@@ -1,8 +1,17 @@
 package com.kata.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.kata.business.SeatBookingService;
+import com.kata.business.BookingOperations;
+import com.kata.business.allocation.SeatAllocationService;
+import com.kata.business.ratelimit.BookingRateLimiter;
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatHoldFailureDTO;
 import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.enums.SeatHoldFailureReason;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.NotAdmittedException;
+import com.kata.exceptions.RateLimitExceededException;
 import com.kata.exceptions.ReservationExpiredException;
 import com.kata.exceptions.SeatAlreadyHoldByAnotherUserException;
 import com.kata.exceptions.SeatAlreadySoldException;
@@ -17,10 +26,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.stream.LongStream;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -33,7 +50,13 @@ class BookingControllerTest {
     private ObjectMapper objectMapper;
 
     @MockitoBean
-    private SeatBookingService seatBookingService;
+    private BookingOperations bookingOperations;
+
+    @MockitoBean
+    private WaitingRoom waitingRoom;
+
+    @MockitoBean
+    private BookingRateLimiter bookingRateLimiter;
 
     private final String BASE_URL = "/api/v1/bookings";
 
@@ -48,13 +71,45 @@ class BookingControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    @DisplayName("POST should return 429 without booking when the user exceeds the rate limit")
+    void holdSeat_RateLimited() throws Exception {
+        SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
+        doThrow(new RateLimitExceededException("Too many booking requests, slow down.", 1L))
+                .when(bookingRateLimiter).checkHold(eq(100L), eq(List.of(1L)));
+
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+        verify(bookingOperations, never()).holdSeat(any());
+    }
+
+    @Test
+    @DisplayName("POST should return 429 with the queue position when the token is not admitted")
+    void holdSeat_NotAdmitted() throws Exception {
+        SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
+        doThrow(new NotAdmittedException("Not admitted yet.", 42L, 5L))
+                .when(waitingRoom).checkAdmitted(eq("token"), eq(100L), eq(List.of(1L)));
+
+        mockMvc.perform(post(BASE_URL)
+                        .header(WaitingRoom.TOKEN_HEADER, "token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.position").value(42));
+        verify(bookingOperations, never()).holdSeat(any());
+    }
+
     @Test
     @DisplayName("POST should return 409 when seat is already sold")
     void holdSeat_Conflict_seatAlreadySold() throws Exception {
         SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
 
         doThrow(new SeatAlreadySoldException("Already sold"))
-                .when(seatBookingService).holdSeat(any());
+                .when(bookingOperations).holdSeat(any());
 
         mockMvc.perform(post(BASE_URL)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -68,7 +123,7 @@ class BookingControllerTest {
         SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
 
         doThrow(new SeatNotAvailableException("Seat already locked"))
-                .when(seatBookingService).holdSeat(any());
+                .when(bookingOperations).holdSeat(any());
 
         mockMvc.perform(post(BASE_URL)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -82,7 +137,7 @@ class BookingControllerTest {
         SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
 
         doThrow(new SeatNotFoundException("Seat not found"))
-                .when(seatBookingService).holdSeat(any());
+                .when(bookingOperations).holdSeat(any());
 
         mockMvc.perform(post(BASE_URL)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -90,6 +145,83 @@ class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("POST /batch should return 201 Created when every seat is held")
+    void holdSeats_Success() throws Exception {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("POST /batch should return 409 with the reason of each failing seat")
+    void holdSeats_Conflict() throws Exception {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+
+        doThrow(new BatchHoldFailedException("Some seats cannot be held",
+                List.of(new SeatHoldFailureDTO(2L, SeatHoldFailureReason.ALREADY_SOLD))))
+                .when(bookingOperations).holdSeats(any());
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.failures[0].seatId").value(2))
+                .andExpect(jsonPath("$.failures[0].reason").value("ALREADY_SOLD"));
+    }
+
+    @Test
+    @DisplayName("POST /batch should return 400 when the seat list exceeds the batch limit")
+    void holdSeats_TooManySeats() throws Exception {
+        List<Long> seatIds = LongStream.rangeClosed(1, SeatAllocationService.MAX_COUNT + 1).boxed().toList();
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, seatIds);
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verify(bookingOperations, never()).holdSeats(any());
+    }
+
+    @Test
+    @DisplayName("POST /batch should return 400 when the seat list is empty")
+    void holdSeats_EmptyList() throws Exception {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of());
+
+        mockMvc.perform(post(BASE_URL + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("PATCH should return 200 OK when every seat is sold")
+    void confirmBookings_Success() throws Exception {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+
+        mockMvc.perform(patch(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("PATCH should return 409 when a seat was sold in the meantime")
+    void confirmBookings_Conflict() throws Exception {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+
+        doThrow(new SeatAlreadySoldException("Some seats were sold in the meantime."))
+                .when(bookingOperations).confirmPayments(any());
+
+        mockMvc.perform(patch(BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("POST /{id} should return 200 OK when successful")
     void confirmBooking_Success() throws Exception {
@@ -103,7 +235,7 @@ class BookingControllerTest {
     @DisplayName("PATCH /{id} should return 401 when user ID is incorrect")
     void confirmBooking_WrongUser() throws Exception {
         doThrow(new SeatAlreadyHoldByAnotherUserException("This seat is already booked by another user."))
-                .when(seatBookingService).confirmPayment(1L, 999L);
+                .when(bookingOperations).confirmPayment(1L, 999L);
 
         mockMvc.perform(patch(BASE_URL + "/1")
                         .param("userId", "999")
@@ -115,7 +247,7 @@ class BookingControllerTest {
     @DisplayName("PATCH /{id} should return 410 when reservation is expired")
     void confirmBooking_SeatReservationExpired() throws Exception {
         doThrow(new ReservationExpiredException("The session is expired."))
-                .when(seatBookingService).confirmPayment(1L, 999L);
+                .when(bookingOperations).confirmPayment(1L, 999L);
 
         mockMvc.perform(patch(BASE_URL + "/1")
                         .param("userId", "999")
@@ -127,11 +259,23 @@ class BookingControllerTest {
     @DisplayName("PATCH /{id} should return 409 when seat is not hold")
     void confirmBooking_SeatNotHold() throws Exception {
         doThrow(new SeatNotHoldException("Seat not hold"))
-                .when(seatBookingService).confirmPayment(1L, 999L);
+                .when(bookingOperations).confirmPayment(1L, 999L);
 
         mockMvc.perform(patch(BASE_URL + "/1")
                         .param("userId", "999")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isConflict());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("PATCH /{id} should return 409 when seat was already sold")
+    void confirmBooking_SeatAlreadySold() throws Exception {
+        doThrow(new SeatAlreadySoldException("Seat is already sold."))
+                .when(bookingOperations).confirmPayment(1L, 100L);
+
+        mockMvc.perform(patch(BASE_URL + "/1")
+                        .param("userId", "100")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+}
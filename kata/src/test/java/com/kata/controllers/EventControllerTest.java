@@ -0,0 +1,170 @@
+package com.kata.controllers;
+
+import com.kata.business.EventService;
+import com.kata.business.availability.AvailabilitySnapshot;
+import com.kata.business.feed.SeatChangeFeed;
+import com.kata.dto.SeatPageDTO;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.dto.SeatTransitionDTO;
+import com.kata.enums.SeatTransitionType;
+import com.kata.exceptions.EventNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EventController.class)
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EventService eventService;
+
+    private final String BASE_URL = "/api/v1/events";
+    private final String ETAG = "\"abc-1-3\"";
+
+    @Test
+    @DisplayName("GET /{id}/seats should return the serialized snapshot with its ETag")
+    void getAvailableSeats_Success() throws Exception {
+        byte[] body = "[{\"id\":1,\"seatNumber\":\"A1\",\"status\":\"AVAILABLE\"}]".getBytes(StandardCharsets.UTF_8);
+        when(eventService.getAvailabilityETag(1L)).thenReturn(ETAG);
+        when(eventService.getAvailabilitySnapshot(1L)).thenReturn(new AvailabilitySnapshot(3, ETAG, body));
+
+        mockMvc.perform(get(BASE_URL + "/1/seats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].seatNumber").value("A1"));
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats should return 304 when the client already has the current version")
+    void getAvailableSeats_NotModified() throws Exception {
+        when(eventService.getAvailabilityETag(1L)).thenReturn(ETAG);
+
+        mockMvc.perform(get(BASE_URL + "/1/seats").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(eventService, never()).getAvailabilitySnapshot(1L);
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats/stream should replay transitions after the requested version")
+    void streamSeatTransitions_ResumesFromVersion() throws Exception {
+        SeatChangeFeed feed = new SeatChangeFeed(16, 16);
+        feed.onTransition(1L, new SeatTransitionDTO(1L, "A1", SeatTransitionType.HELD, 2));
+        feed.onTransition(1L, new SeatTransitionDTO(1L, "A1", SeatTransitionType.SOLD, 3));
+        when(eventService.subscribeToSeatTransitions(eq(1L), any()))
+                .thenAnswer(invocation -> feed.subscribe(1L, invocation.getArgument(1)));
+
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/1/seats/stream").param("fromVersion", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result, "SOLD");
+        assertThat(body).contains("id:3").contains("event:SOLD").doesNotContain("event:HELD");
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats/stream should ask the client to resync when the version is too old")
+    void streamSeatTransitions_Resync() throws Exception {
+        SeatChangeFeed feed = new SeatChangeFeed(2, 16);
+        for (long version = 2; version <= 6; version++) {
+            feed.onTransition(1L, new SeatTransitionDTO(version, "A" + version, SeatTransitionType.HELD, version));
+        }
+        when(eventService.subscribeToSeatTransitions(1L, 1L)).thenAnswer(invocation -> feed.subscribe(1L, 1L));
+
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/1/seats/stream").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(awaitContent(result, "RESYNC")).contains("event:RESYNC");
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats/stream should return 404 for an unknown event")
+    void streamSeatTransitions_UnknownEvent() throws Exception {
+        when(eventService.subscribeToSeatTransitions(42L, null)).thenThrow(new EventNotFoundException("Event not found."));
+
+        mockMvc.perform(get(BASE_URL + "/42/seats/stream"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats/page should return the page and its next cursor")
+    void getAvailableSeatsPage_Success() throws Exception {
+        when(eventService.getAvailableSeatsPage(1L, 10L, 2)).thenReturn(new SeatPageDTO(
+                List.of(new SeatResponseDTO(11L, "A1", "AVAILABLE"), new SeatResponseDTO(12L, "A2", "AVAILABLE")), 12L));
+
+        mockMvc.perform(get(BASE_URL + "/1/seats/page").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seats[1].seatNumber").value("A2"))
+                .andExpect(jsonPath("$.nextCursor").value(12));
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats/page should return 400 for an invalid page size")
+    void getAvailableSeatsPage_InvalidLimit() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/1/seats/page").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(eventService, never()).getAvailableSeatsPage(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /{id}/seats/export should stream the body written by the service")
+    void exportAvailableSeats_Success() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("[{\"id\":1,\"seatNumber\":\"A1\",\"status\":\"AVAILABLE\"}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(eventService).exportAvailableSeats(eq(1L), any());
+
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/1/seats/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].seatNumber").value("A1"));
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+}
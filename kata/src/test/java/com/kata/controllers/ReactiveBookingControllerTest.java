@@ -0,0 +1,158 @@
+package com.kata.controllers;
+
+import com.kata.business.ratelimit.BookingRateLimiter;
+import com.kata.business.reactive.ReactiveBookingService;
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.BatchSeatReservationRequestDTO;
+import com.kata.dto.SeatHoldFailureDTO;
+import com.kata.dto.SeatReservationRequestDTO;
+import com.kata.enums.SeatHoldFailureReason;
+import com.kata.exceptions.BatchHoldFailedException;
+import com.kata.exceptions.NotAdmittedException;
+import com.kata.exceptions.RateLimitExceededException;
+import com.kata.exceptions.ReservationExpiredException;
+import com.kata.exceptions.SeatAlreadySoldException;
+import com.kata.exceptions.SeatNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveBookingController.class)
+class ReactiveBookingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveBookingService bookingService;
+
+    @MockitoBean
+    private WaitingRoom waitingRoom;
+
+    @MockitoBean
+    private BookingRateLimiter bookingRateLimiter;
+
+    private final String BASE_URL = "/api/v1/bookings";
+
+    @Test
+    @DisplayName("POST should return 201 Created when successful")
+    void holdSeat_Success() {
+        SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
+        when(bookingService.holdSeat(request)).thenReturn(Mono.empty());
+
+        webTestClient.post().uri(BASE_URL).bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    @DisplayName("POST should return 429 without booking when the user exceeds the rate limit")
+    void holdSeat_RateLimited() {
+        SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
+        doThrow(new RateLimitExceededException("Too many booking requests, slow down.", 1L))
+                .when(bookingRateLimiter).checkHold(eq(100L), eq(List.of(1L)));
+
+        webTestClient.post().uri(BASE_URL).bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "1");
+        verify(bookingService, never()).holdSeat(any());
+    }
+
+    @Test
+    @DisplayName("POST should return 429 without booking when the user is not admitted yet")
+    void holdSeat_NotAdmitted() {
+        SeatReservationRequestDTO request = new SeatReservationRequestDTO(1L, 100L);
+        doThrow(new NotAdmittedException("Not admitted yet.", 3L, 2L))
+                .when(waitingRoom).checkAdmitted(eq("token"), eq(100L), eq(List.of(1L)));
+
+        webTestClient.post().uri(BASE_URL).header(WaitingRoom.TOKEN_HEADER, "token").bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "2");
+        verify(bookingService, never()).holdSeat(any());
+    }
+
+    @Test
+    @DisplayName("POST should return 404 when the seat does not exist")
+    void holdSeat_NotFound() {
+        SeatReservationRequestDTO request = new SeatReservationRequestDTO(99L, 100L);
+        when(bookingService.holdSeat(request)).thenReturn(Mono.error(new SeatNotFoundException("Seat inexistent")));
+
+        webTestClient.post().uri(BASE_URL).bodyValue(request)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("POST /batch should return 409 with the reason of each failing seat")
+    void holdSeats_Conflict() {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+        when(bookingService.holdSeats(request)).thenReturn(Mono.error(new BatchHoldFailedException("Some seats cannot be held",
+                List.of(new SeatHoldFailureDTO(2L, SeatHoldFailureReason.ALREADY_SOLD)))));
+
+        webTestClient.post().uri(BASE_URL + "/batch").bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.failures[0].seatId").isEqualTo(2)
+                .jsonPath("$.failures[0].reason").isEqualTo("ALREADY_SOLD");
+    }
+
+    @Test
+    @DisplayName("POST /batch should return 400 when the seat list is empty")
+    void holdSeats_EmptyList() {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of());
+
+        webTestClient.post().uri(BASE_URL + "/batch").bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bookingService, never()).holdSeats(any());
+    }
+
+    @Test
+    @DisplayName("PATCH should return 200 OK when the payment is confirmed")
+    void confirmBooking_Success() {
+        when(bookingService.confirmPayment(1L, 100L)).thenReturn(Mono.empty());
+
+        webTestClient.patch().uri(BASE_URL + "/1?userId=100")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("PATCH should return 410 when the hold expired")
+    void confirmBooking_Expired() {
+        when(bookingService.confirmPayment(1L, 100L))
+                .thenReturn(Mono.error(new ReservationExpiredException("The session is expired.")));
+
+        webTestClient.patch().uri(BASE_URL + "/1?userId=100")
+                .exchange()
+                .expectStatus().isEqualTo(410);
+    }
+
+    @Test
+    @DisplayName("PATCH batch should return 409 when a seat was sold in the meantime")
+    void confirmBookings_Conflict() {
+        BatchSeatReservationRequestDTO request = new BatchSeatReservationRequestDTO(100L, List.of(1L, 2L));
+        when(bookingService.confirmPayments(request))
+                .thenReturn(Mono.error(new SeatAlreadySoldException("Some seats were sold in the meantime.")));
+
+        webTestClient.patch().uri(BASE_URL).bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+}
@@ -0,0 +1,74 @@
+package com.kata.controllers;
+
+import com.kata.business.allocation.SeatAllocationService;
+import com.kata.business.ratelimit.BookingRateLimiter;
+import com.kata.business.waitingroom.WaitingRoom;
+import com.kata.dto.SeatResponseDTO;
+import com.kata.exceptions.SeatNotAvailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SeatAllocationController.class)
+class SeatAllocationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SeatAllocationService seatAllocationService;
+
+    @MockitoBean
+    private WaitingRoom waitingRoom;
+
+    @MockitoBean
+    private BookingRateLimiter bookingRateLimiter;
+
+    private final String BASE_URL = "/api/v1/events/1/allocate";
+
+    @Test
+    @DisplayName("POST should return 201 Created with the allocated seats")
+    void allocate_Success() throws Exception {
+        when(seatAllocationService.allocate(1L, 100L, 2)).thenReturn(List.of(
+                new SeatResponseDTO(5L, "A5", "HELD"),
+                new SeatResponseDTO(6L, "A6", "HELD")));
+
+        mockMvc.perform(post(BASE_URL).param("userId", "100").param("count", "2"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].seatNumber").value("A5"))
+                .andExpect(jsonPath("$[1].seatNumber").value("A6"));
+    }
+
+    @Test
+    @DisplayName("POST should return 409 when no block of adjacent seats is free")
+    void allocate_NoBlock() throws Exception {
+        when(seatAllocationService.allocate(anyLong(), anyLong(), anyInt()))
+                .thenThrow(new SeatNotAvailableException("No block of 4 adjacent seats is available."));
+
+        mockMvc.perform(post(BASE_URL).param("userId", "100").param("count", "4"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST should return 400 when the seat count is out of range")
+    void allocate_InvalidCount() throws Exception {
+        mockMvc.perform(post(BASE_URL).param("userId", "100").param("count", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BASE_URL).param("userId", "100").param("count", "21"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(seatAllocationService);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kata.controllers;
+
+import com.kata.business.ledger.SeatLedgerRecorder;
+import com.kata.dto.SeatLedgerEntryDTO;
+import com.kata.enums.SeatLedgerEntryType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = SeatHistoryController.class, properties = "app.ledger.enabled=true")
+class SeatHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SeatLedgerRecorder seatLedgerRecorder;
+
+    @Test
+    @DisplayName("GET should return the ledger entries of the seat in order")
+    void history_Success() throws Exception {
+        when(seatLedgerRecorder.history(1L)).thenReturn(List.of(
+                new SeatLedgerEntryDTO(3L, SeatLedgerEntryType.HOLD, 100L, 1_000L, 601_000L),
+                new SeatLedgerEntryDTO(7L, SeatLedgerEntryType.SALE, 100L, 2_000L, 0L)));
+
+        mockMvc.perform(get("/api/v1/seats/1/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("HOLD"))
+                .andExpect(jsonPath("$[0].expiresAt").value(601_000L))
+                .andExpect(jsonPath("$[1].type").value("SALE"))
+                .andExpect(jsonPath("$[1].userId").value(100));
+    }
+
+    @Test
+    @DisplayName("GET should return an empty list for a seat without history")
+    void history_Empty() throws Exception {
+        when(seatLedgerRecorder.history(42L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/seats/42/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+}
@@ -3,6 +3,7 @@ package com.kata.dao;
 import com.kata.enums.SeatStatus;
 import com.kata.dao.entities.Event;
 import com.kata.dao.entities.Seat;
+import com.kata.dto.SeatResponseDTO;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -72,6 +75,96 @@ class SeatRepositoryTest {
         }).isInstanceOf(DataIntegrityViolationException.class);
     }
 
+    @Test
+    @DisplayName("Should mark only available seats as sold in a single update")
+    void markSoldIfAvailable_SkipsSoldSeats() {
+        Event event = createAndPersistEvent();
+        Seat available1 = createAndPersistSeat(event, "A1", SeatStatus.AVAILABLE);
+        Seat available2 = createAndPersistSeat(event, "A2", SeatStatus.AVAILABLE);
+        Seat sold = createAndPersistSeat(event, "A3", SeatStatus.SOLD);
+        entityManager.flush();
+        entityManager.clear();
+
+        int updated = seatRepository.markSoldIfAvailable(List.of(available1.getId(), available2.getId(), sold.getId()));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(seatRepository.findAllById(List.of(available1.getId(), available2.getId())))
+                .extracting(Seat::getStatus)
+                .containsOnly(SeatStatus.SOLD);
+    }
+
+    @Test
+    @DisplayName("Should sell a seat only once with the conditional update")
+    void markSoldIfAvailable_SingleSeat_OnlyOnce() {
+        Event event = createAndPersistEvent();
+        Seat seat = createAndPersistSeat(event, "A1", SeatStatus.AVAILABLE);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(seatRepository.markSoldIfAvailable(seat.getId())).isEqualTo(1);
+        assertThat(seatRepository.markSoldIfAvailable(seat.getId())).isZero();
+        assertThat(seatRepository.findById(seat.getId()).orElseThrow().getStatus()).isEqualTo(SeatStatus.SOLD);
+    }
+
+    @Test
+    @DisplayName("Should project the id, number and status of every seat of the event, ordered by id")
+    void findSeatStates_ProjectsAllSeats() {
+        Event event = createAndPersistEvent();
+        Event otherEvent = createAndPersistEvent();
+        Seat first = createAndPersistSeat(event, "A1", SeatStatus.AVAILABLE);
+        Seat second = createAndPersistSeat(event, "A2", SeatStatus.SOLD);
+        createAndPersistSeat(otherEvent, "A1", SeatStatus.AVAILABLE);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SeatResponseDTO> seats = seatRepository.findSeatStates(event.getId());
+
+        assertThat(seats).containsExactly(
+                new SeatResponseDTO(first.getId(), "A1", "AVAILABLE"),
+                new SeatResponseDTO(second.getId(), "A2", "SOLD"));
+    }
+
+    @Test
+    @DisplayName("Should return only the ids of the sold seats of the event")
+    void findSoldSeatIds_OnlySoldSeatsOfEvent() {
+        Event event = createAndPersistEvent();
+        Event otherEvent = createAndPersistEvent();
+        createAndPersistSeat(event, "A1", SeatStatus.AVAILABLE);
+        Seat sold = createAndPersistSeat(event, "A2", SeatStatus.SOLD);
+        createAndPersistSeat(otherEvent, "A1", SeatStatus.SOLD);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(seatRepository.findSoldSeatIds(event.getId())).containsExactly(sold.getId());
+    }
+
+    @Test
+    @DisplayName("Should stream only the available seats of the event, ordered by id")
+    void streamAvailableSeats_OnlyAvailableOrderedById() {
+        Event event = createAndPersistEvent();
+        Event otherEvent = createAndPersistEvent();
+        Seat first = createAndPersistSeat(event, "A1", SeatStatus.AVAILABLE);
+        createAndPersistSeat(event, "A2", SeatStatus.SOLD);
+        Seat third = createAndPersistSeat(event, "A3", SeatStatus.AVAILABLE);
+        createAndPersistSeat(otherEvent, "A1", SeatStatus.AVAILABLE);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<SeatResponseDTO> seats = seatRepository.streamAvailableSeats(event.getId())) {
+            assertThat(seats.toList()).containsExactly(
+                    new SeatResponseDTO(first.getId(), "A1", "AVAILABLE"),
+                    new SeatResponseDTO(third.getId(), "A3", "AVAILABLE"));
+        }
+    }
+
+    private Seat createAndPersistSeat(Event event, String seatNumber, SeatStatus status) {
+        Seat seat = new Seat();
+        seat.setSeatNumber(seatNumber);
+        seat.setStatus(status);
+        seat.setEvent(event);
+        return entityManager.persist(seat);
+    }
+
     /**
      * Helper pour créer un événement parent car un Seat
      * est souvent dépendant de l'existence d'un Event.
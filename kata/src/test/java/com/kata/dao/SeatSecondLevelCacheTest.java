@@ -0,0 +1,102 @@
+package com.kata.dao;
+
+import com.kata.config.SecondLevelCacheConfig;
+import com.kata.dao.entities.Event;
+import com.kata.dao.entities.Seat;
+import com.kata.enums.SeatStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "app.jpa.cache.enabled=true")
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatSecondLevelCacheTest {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Seat first;
+    private Seat second;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Event event = new Event();
+        event.setTitle("Concert");
+        event.setDateTime(LocalDateTime.now().plusDays(1));
+        eventRepository.save(event);
+        first = seatRepository.save(seat(event, "A1"));
+        second = seatRepository.save(seat(event, "A2"));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a seat and its event from the second-level cache once loaded")
+    void findById_HitsCache() {
+        seatRepository.findById(first.getId()).orElseThrow();
+        Seat cached = seatRepository.findById(first.getId()).orElseThrow();
+
+        assertThat(cached.getSeatNumber()).isEqualTo("A1");
+        assertThat(statistics.getDomainDataRegionStatistics(Seat.class.getName()).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(Event.class.getName()).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict only the sold seats from the cache")
+    void markSoldIfAvailable_EvictsSoldSeats() {
+        seatRepository.findAllById(List.of(first.getId(), second.getId()));
+        assertThat(entityManagerFactory.getCache().contains(Seat.class, first.getId())).isTrue();
+
+        int sold = transaction.execute(status -> seatRepository.markSoldIfAvailable(List.of(first.getId())));
+
+        assertThat(sold).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(Seat.class, first.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Seat.class, second.getId())).isTrue();
+        assertThat(seatRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(SeatStatus.SOLD);
+    }
+
+    private static Seat seat(Event event, String seatNumber) {
+        Seat seat = new Seat();
+        seat.setEvent(event);
+        seat.setSeatNumber(seatNumber);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        return seat;
+    }
+}